@@ -0,0 +1,58 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs the JaplScript benchmarks. Accepts the regular JMH command line
+ * options (see {@code -h}), but by default writes the results as JSON to
+ * {@value #DEFAULT_RESULT_FILE}, so that results of different releases
+ * can be compared.
+ * <p>
+ * Usage: {@code java -jar japlscript-benchmarks/target/benchmarks.jar [JMH options] [regexp]}
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public final class BenchmarkRunner {
+
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackage().getName() + "\\..*Benchmark\\..*");
+        }
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks;
+
+import com.tagtraum.japlscript.JaplScript;
+import com.tagtraum.japlscript.Reference;
+import com.tagtraum.japlscript.benchmarks.music.Application;
+import com.tagtraum.japlscript.benchmarks.music.Track;
+import com.tagtraum.japlscript.language.ReferenceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.tagtraum.japlscript.benchmarks.Fixtures.APPLICATION_REFERENCE;
+
+/**
+ * Decoding of lists and records via {@link JaplScript#cast(Class, boolean, Reference)}.
+ * {@code size} is the number of list elements or record properties.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CastBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private Reference strings;
+    private Reference integers;
+    private Reference doubles;
+    private Reference tracks;
+    private Reference record;
+
+    @Setup
+    public void setup() {
+        // registers application classes and properties
+        Application.getInstance();
+        strings = new ReferenceImpl(Fixtures.stringList(size), APPLICATION_REFERENCE);
+        integers = new ReferenceImpl(Fixtures.integerList(size), APPLICATION_REFERENCE);
+        doubles = new ReferenceImpl(Fixtures.doubleList(size), APPLICATION_REFERENCE);
+        tracks = new ReferenceImpl(Fixtures.trackList(size), APPLICATION_REFERENCE);
+        record = new ReferenceImpl(Fixtures.record(size), APPLICATION_REFERENCE);
+    }
+
+    @Benchmark
+    public String[] castStringArray() {
+        return JaplScript.cast(String[].class, strings);
+    }
+
+    @Benchmark
+    public int[] castIntArray() {
+        return JaplScript.cast(int[].class, integers);
+    }
+
+    @Benchmark
+    public double[] castDoubleArray() {
+        return JaplScript.cast(double[].class, doubles);
+    }
+
+    @Benchmark
+    public Track[] castTrackArray() {
+        return JaplScript.cast(Track[].class, true, tracks);
+    }
+
+    @Benchmark
+    public Map<?, ?> castRecord() {
+        return JaplScript.cast(Map.class, record);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks;
+
+import com.tagtraum.japlscript.language.Data;
+import com.tagtraum.japlscript.language.Tdta;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.tagtraum.japlscript.benchmarks.Fixtures.APPLICATION_REFERENCE;
+
+/**
+ * Hex conversion in {@link Tdta} and {@link Data}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    @Param({"1024", "65536"})
+    private int size;
+
+    private String tdta;
+    private String data;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        tdta = Fixtures.tdta(size);
+        data = Fixtures.data(size);
+        bytes = Fixtures.bytes(size);
+    }
+
+    @Benchmark
+    public byte[] decodeTdta() {
+        return new Tdta(tdta, APPLICATION_REFERENCE).getTdta();
+    }
+
+    @Benchmark
+    public String encodeTdta() {
+        return new Tdta(bytes, APPLICATION_REFERENCE).getObjectReference();
+    }
+
+    @Benchmark
+    public byte[] decodeData() {
+        return new Data(data, APPLICATION_REFERENCE).getData();
+    }
+}
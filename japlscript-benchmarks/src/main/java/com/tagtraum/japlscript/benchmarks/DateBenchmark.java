@@ -0,0 +1,61 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks;
+
+import com.tagtraum.japlscript.DateParser;
+import com.tagtraum.japlscript.language.Date;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date decoding, both in the format produced by the native executor
+ * and in the localized format produced by {@code osascript}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateBenchmark {
+
+    private static final String RFC3339_DATE = "2021-05-03T10:15:30Z";
+    private static final String OSASCRIPT_DATE = "date \"Monday, May 3, 2021 at 10:15:30 AM\"";
+    private static final String LOCALIZED_DATE = "Monday, May 3, 2021 at 10:15:30 AM";
+
+    private DateParser dateParser;
+
+    @Setup
+    public void setup() {
+        dateParser = new DateParser(Locale.US);
+    }
+
+    @Benchmark
+    public java.util.Date decodeRfc3339() {
+        return Date.getInstance()._decode(RFC3339_DATE, null);
+    }
+
+    @Benchmark
+    public java.util.Date decodeOsascript() {
+        return Date.getInstance()._decode(OSASCRIPT_DATE, null);
+    }
+
+    @Benchmark
+    public java.util.Date parseWithNewParser() throws ParseException {
+        return new DateParser(Locale.US).parse(LOCALIZED_DATE);
+    }
+
+    @Benchmark
+    public java.util.Date parseWithExistingParser() throws ParseException {
+        return dateParser.parse(LOCALIZED_DATE);
+    }
+}
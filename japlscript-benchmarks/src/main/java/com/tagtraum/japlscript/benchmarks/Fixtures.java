@@ -0,0 +1,124 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks;
+
+/**
+ * Synthetic AppleScript results, formatted the way {@code osascript -s s}
+ * returns them.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+final class Fixtures {
+
+    static final String APPLICATION_REFERENCE = "application \"Music\"";
+
+    private Fixtures() {
+    }
+
+    /**
+     * @param size number of elements
+     * @return list of quoted strings
+     */
+    static String stringList(final int size) {
+        final StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("\"Track \\\"").append(i).append("\\\", Remastered\"");
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * @param size number of elements
+     * @return list of integers
+     */
+    static String integerList(final int size) {
+        final StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(i * 31);
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * @param size number of elements
+     * @return list of reals
+     */
+    static String doubleList(final int size) {
+        final StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(i * 1.5 + 0.25);
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * @param size number of elements
+     * @return list of object specifiers
+     */
+    static String trackList(final int size) {
+        final StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("«class cTrk» id ").append(1000 + i)
+                .append(" of «class cUsP» id 42 of «class cSrc» id 64 of application \"Music\"");
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * @param size number of entries
+     * @return record with nested lists and strings
+     */
+    static String record(final int size) {
+        final StringBuilder sb = new StringBuilder("{");
+        sb.append("class:«class cTrk», ");
+        sb.append("«property pnam»:\"A Name, with comma\", ");
+        sb.append("«property pArt»:\"An Artist\", ");
+        sb.append("«property pDur»:245.5, ");
+        sb.append("«property pYr »:1984");
+        for (int i = 4; i < size; i++) {
+            sb.append(", «property p").append(String.format("%03d", i)).append("»:{1, \"two\", {3}}");
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * @param size number of bytes
+     * @return hex encoded raw data
+     */
+    static String tdta(final int size) {
+        final StringBuilder sb = new StringBuilder(size * 2 + 12);
+        sb.append("«data tdta");
+        for (int i = 0; i < size; i++) {
+            sb.append(String.format("%02X", i & 0xFF));
+        }
+        return sb.append('»').toString();
+    }
+
+    /**
+     * @param size number of bytes
+     * @return hex encoded data
+     */
+    static String data(final int size) {
+        return tdta(size).replace("«data tdta", "«data ");
+    }
+
+    /**
+     * @param size number of bytes
+     * @return bytes
+     */
+    static byte[] bytes(final int size) {
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks;
+
+import com.tagtraum.japlscript.ObjectInvocationHandler;
+import com.tagtraum.japlscript.benchmarks.music.Application;
+import com.tagtraum.japlscript.benchmarks.music.Track;
+import com.tagtraum.japlscript.execution.ScriptExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proxy invocations via {@link ObjectInvocationHandler} against a
+ * {@link StubScriptExecutorProvider stub executor}, i.e. everything
+ * but the actual AppleScript execution.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvocationBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private Application application;
+    private Track track;
+    private ObjectInvocationHandler trackHandler;
+    private Method getArtistMethod;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        System.setProperty(ScriptExecutor.EXECUTOR_PROPERTY, StubScriptExecutorProvider.NAME);
+        final String trackList = Fixtures.trackList(size);
+        StubScriptExecutorProvider.setResponder(script -> {
+            if (script.contains("«property pnam»")) return "\"Track Name\"";
+            if (script.contains("«property pArt»")) return "\"An Artist\"";
+            if (script.contains("«property pYr »")) return "1984";
+            if (script.contains("count tracks")) return Integer.toString(size);
+            if (script.contains("return tracks")) return trackList;
+            return "";
+        });
+        application = Application.getInstance();
+        track = application.getTrack(0);
+        trackHandler = new ObjectInvocationHandler(track);
+        getArtistMethod = Track.class.getMethod("getArtist");
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(ScriptExecutor.EXECUTOR_PROPERTY);
+    }
+
+    @Benchmark
+    public String getStringProperty() {
+        return track.getName();
+    }
+
+    @Benchmark
+    public int getIntProperty() {
+        return track.getYear();
+    }
+
+    @Benchmark
+    public Object invokeHandler() {
+        return trackHandler.invoke(track, getArtistMethod, null);
+    }
+
+    @Benchmark
+    public Track getElementByIndex() {
+        return application.getTrack(17);
+    }
+
+    @Benchmark
+    public int countElements() {
+        return application.countTracks();
+    }
+
+    @Benchmark
+    public Track[] getElements() {
+        return application.getTracks();
+    }
+
+    @Benchmark
+    public String objectMethod() {
+        return track.toString();
+    }
+}
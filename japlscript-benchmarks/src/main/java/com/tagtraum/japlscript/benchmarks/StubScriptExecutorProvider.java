@@ -0,0 +1,61 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks;
+
+import com.tagtraum.japlscript.execution.ScriptExecutor;
+import com.tagtraum.japlscript.execution.ScriptExecutorProvider;
+
+import java.util.function.Function;
+
+/**
+ * Provider for executors that do not execute anything, but instantly
+ * answer scripts using a configurable {@link Function}.
+ * Select it with {@code -Djaplscript.executor=stub}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class StubScriptExecutorProvider implements ScriptExecutorProvider {
+
+    public static final String NAME = "stub";
+    private static volatile Function<String, String> responder = script -> "";
+
+    /**
+     * Sets the function that maps a script to its result.
+     *
+     * @param responder responder
+     */
+    public static void setResponder(final Function<String, String> responder) {
+        StubScriptExecutorProvider.responder = responder;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return -100;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public ScriptExecutor newInstance() {
+        return new StubScriptExecutor();
+    }
+
+    private static class StubScriptExecutor extends ScriptExecutor {
+        @Override
+        protected String executeImpl() {
+            return responder.apply(getScript().toString());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks;
+
+import com.tagtraum.japlscript.benchmarks.music.Application;
+import com.tagtraum.japlscript.language.TypeClass;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.tagtraum.japlscript.benchmarks.Fixtures.APPLICATION_REFERENCE;
+
+/**
+ * {@link TypeClass#intern()} by code and by name.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeClassBenchmark {
+
+    @Setup
+    public void setup() {
+        // registers application classes and properties
+        Application.getInstance();
+    }
+
+    @Benchmark
+    public TypeClass internByCode() {
+        return new TypeClass(null, "«class cTrk»", APPLICATION_REFERENCE, null).intern();
+    }
+
+    @Benchmark
+    public TypeClass internByName() {
+        return new TypeClass("track", null, APPLICATION_REFERENCE, null).intern();
+    }
+
+    @Benchmark
+    public TypeClass internByApplicationInterface() {
+        return new TypeClass("track", null, Application.class, null).intern();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks.music;
+
+import com.tagtraum.japlscript.JaplScript;
+import com.tagtraum.japlscript.language.TypeClass;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stripped down, hand-written equivalent of a generated Music application interface.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+@com.tagtraum.japlscript.Code("capp")
+@com.tagtraum.japlscript.Name("application")
+public interface Application extends com.tagtraum.japlscript.Reference {
+
+    TypeClass CLASS = new TypeClass("application", "\u00abclass capp\u00bb", Application.class, null);
+    Set<java.lang.Class<?>> APPLICATION_CLASSES = new java.util.HashSet<>(java.util.Arrays.asList(Application.class, Item.class, Track.class));
+
+    static Application getInstance() {
+        return JaplScript.getApplication(Application.class, "Music");
+    }
+
+    /**
+     * The name of the application.
+     */
+    @com.tagtraum.japlscript.Type("text")
+    @com.tagtraum.japlscript.Name("name")
+    @com.tagtraum.japlscript.Code("pnam")
+    @com.tagtraum.japlscript.Kind("property")
+    java.lang.String getName();
+
+    /**
+     * @return an array of all {@link Track}s
+     */
+    @com.tagtraum.japlscript.Type("track")
+    @com.tagtraum.japlscript.Kind("element")
+    default Track[] getTracks() {
+        return getTracks(null);
+    }
+
+    /**
+     * @param filter AppleScript filter clause without the leading "whose" or "where"
+     * @return a filtered array of {@link Track}s
+     */
+    @com.tagtraum.japlscript.Type("track")
+    @com.tagtraum.japlscript.Kind("element")
+    Track[] getTracks(String filter);
+
+    /**
+     * @param index index into the element list (zero-based)
+     * @return the {@link Track} with at the requested index
+     */
+    @com.tagtraum.japlscript.Type("track")
+    @com.tagtraum.japlscript.Kind("element")
+    Track getTrack(int index);
+
+    /**
+     * @return number of all {@link Track}s
+     */
+    @com.tagtraum.japlscript.Type("track")
+    @com.tagtraum.japlscript.Kind("element")
+    default int countTracks() {
+        return countTracks(null);
+    }
+
+    /**
+     * @param filter AppleScript filter clause without the leading "whose" or "where"
+     * @return the number of elements that pass the filter
+     */
+    @com.tagtraum.japlscript.Type("track")
+    @com.tagtraum.japlscript.Kind("element")
+    int countTracks(String filter);
+
+    /**
+     * Returns all properties for an instance of this class.
+     *
+     * @return Map containing all properties
+     */
+    Map<String, Object> getProperties();
+}
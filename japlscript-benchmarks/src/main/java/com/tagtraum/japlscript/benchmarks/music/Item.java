@@ -0,0 +1,69 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks.music;
+
+import com.tagtraum.japlscript.language.TypeClass;
+
+import java.util.Map;
+
+/**
+ * An item.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+@com.tagtraum.japlscript.Plural("items")
+@com.tagtraum.japlscript.Code("cobj")
+@com.tagtraum.japlscript.Name("item")
+public interface Item extends com.tagtraum.japlscript.Reference {
+
+    TypeClass CLASS = new TypeClass("item", "\u00abclass cobj\u00bb", Application.class, null);
+
+    /**
+     * The name of the item.
+     */
+    @com.tagtraum.japlscript.Type("text")
+    @com.tagtraum.japlscript.Name("name")
+    @com.tagtraum.japlscript.Code("pnam")
+    @com.tagtraum.japlscript.Kind("property")
+    java.lang.String getName();
+
+    /**
+     * The name of the item.
+     */
+    @com.tagtraum.japlscript.Type("text")
+    @com.tagtraum.japlscript.Name("name")
+    @com.tagtraum.japlscript.Code("pnam")
+    @com.tagtraum.japlscript.Kind("property")
+    void setName(java.lang.String object);
+
+    /**
+     * The id of the item.
+     */
+    @com.tagtraum.japlscript.Type("integer")
+    @com.tagtraum.japlscript.Name("id")
+    @com.tagtraum.japlscript.Code("ID  ")
+    @com.tagtraum.japlscript.Kind("property")
+    int getId();
+
+    /**
+     * The class of the item.
+     *
+     * @return Property value
+     */
+    @com.tagtraum.japlscript.Code("pcls")
+    @com.tagtraum.japlscript.Kind("property")
+    @com.tagtraum.japlscript.Name("class")
+    @com.tagtraum.japlscript.Type("type")
+    TypeClass getKlass();
+
+    /**
+     * Returns all properties for an instance of this class.
+     *
+     * @return Map containing all properties
+     */
+    Map<String, Object> getProperties();
+}
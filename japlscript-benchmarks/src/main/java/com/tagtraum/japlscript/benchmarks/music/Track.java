@@ -0,0 +1,77 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.benchmarks.music;
+
+import com.tagtraum.japlscript.language.TypeClass;
+
+import java.util.Map;
+
+/**
+ * A track.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+@com.tagtraum.japlscript.Plural("tracks")
+@com.tagtraum.japlscript.Code("cTrk")
+@com.tagtraum.japlscript.Name("track")
+@com.tagtraum.japlscript.Inherits("item")
+public interface Track extends com.tagtraum.japlscript.Reference, Item {
+
+    TypeClass CLASS = new TypeClass("track", "\u00abclass cTrk\u00bb", Application.class, Item.CLASS);
+
+    /**
+     * The artist/source of the track.
+     */
+    @com.tagtraum.japlscript.Type("text")
+    @com.tagtraum.japlscript.Name("artist")
+    @com.tagtraum.japlscript.Code("pArt")
+    @com.tagtraum.japlscript.Kind("property")
+    java.lang.String getArtist();
+
+    /**
+     * The artist/source of the track.
+     */
+    @com.tagtraum.japlscript.Type("text")
+    @com.tagtraum.japlscript.Name("artist")
+    @com.tagtraum.japlscript.Code("pArt")
+    @com.tagtraum.japlscript.Kind("property")
+    void setArtist(java.lang.String object);
+
+    /**
+     * The length of the track in seconds.
+     */
+    @com.tagtraum.japlscript.Type("real")
+    @com.tagtraum.japlscript.Name("duration")
+    @com.tagtraum.japlscript.Code("pDur")
+    @com.tagtraum.japlscript.Kind("property")
+    double getDuration();
+
+    /**
+     * The year the track was recorded/released.
+     */
+    @com.tagtraum.japlscript.Type("integer")
+    @com.tagtraum.japlscript.Name("year")
+    @com.tagtraum.japlscript.Code("pYr ")
+    @com.tagtraum.japlscript.Kind("property")
+    int getYear();
+
+    /**
+     * The date the track was added to the playlist.
+     */
+    @com.tagtraum.japlscript.Type("date")
+    @com.tagtraum.japlscript.Name("date added")
+    @com.tagtraum.japlscript.Code("pAdd")
+    @com.tagtraum.japlscript.Kind("property")
+    java.util.Date getDateAdded();
+
+    /**
+     * Returns all properties for an instance of this class.
+     *
+     * @return Map containing all properties
+     */
+    Map<String, Object> getProperties();
+}
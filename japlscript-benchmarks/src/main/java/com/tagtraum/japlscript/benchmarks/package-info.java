@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks for the JaplScript runtime's decode/encode and invocation hot paths.
+ */
+package com.tagtraum.japlscript.benchmarks;
\ No newline at end of file
@@ -0,0 +1,81 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@link CompletableFuture} that runs a {@link Callable} and, unlike a
+ * regular {@link CompletableFuture}, interrupts the running thread when it is
+ * {@link #cancel(boolean) cancelled} with {@code mayInterruptIfRunning=true}.
+ * <p>
+ * Note that dependent stages (e.g. created via {@link #thenApply(java.util.function.Function)})
+ * are regular {@link CompletableFuture}s, i.e. cancelling them does not interrupt the execution.
+ *
+ * @param <T> result type
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class CancellableFuture<T> extends CompletableFuture<T> implements Runnable {
+
+    private final Callable<? extends T> callable;
+    private Thread runner;
+
+    private CancellableFuture(final Callable<? extends T> callable) {
+        this.callable = callable;
+    }
+
+    /**
+     * Submits the given callable to the executor.
+     *
+     * @param callable callable
+     * @param executor executor
+     * @param <T> result type
+     * @return future, completed exceptionally, if the executor rejected the task
+     */
+    public static <T> CancellableFuture<T> callAsync(final Callable<? extends T> callable, final Executor executor) {
+        final CancellableFuture<T> future = new CancellableFuture<>(callable);
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public void run() {
+        if (isDone()) return;
+        synchronized (this) {
+            runner = Thread.currentThread();
+        }
+        try {
+            complete(callable.call());
+        } catch (Throwable t) {
+            completeExceptionally(t);
+        } finally {
+            synchronized (this) {
+                runner = null;
+            }
+            // don't leak our interrupt to the executor's thread
+            if (isCancelled()) Thread.interrupted();
+        }
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        final boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled && mayInterruptIfRunning) {
+            synchronized (this) {
+                if (runner != null) runner.interrupt();
+            }
+        }
+        return cancelled;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+/**
+ * Provider for the native {@link CocoaScriptExecutor}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class CocoaScriptExecutorProvider implements ScriptExecutorProvider {
+
+    public static final String NAME = "cocoa";
+    public static final int PRIORITY = 200;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return ScriptExecutor.isCocoaScriptExecutorAvailable();
+    }
+
+    @Override
+    public ScriptExecutor newInstance() {
+        return new CocoaScriptExecutor();
+    }
+
+    @Override
+    public String toString() {
+        return "CocoaScriptExecutorProvider{priority=" + PRIORITY + '}';
+    }
+}
@@ -10,10 +10,10 @@ import java.util.logging.Logger;
 import java.util.logging.Level;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-
-import static java.nio.charset.StandardCharsets.UTF_8;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Compiled script.
@@ -35,6 +35,10 @@ public class CompiledScript {
         return script;
     }
 
+    public String getScriptFile() {
+        return scriptFile;
+    }
+
     /**
      * Executes the script.
      *
@@ -42,31 +46,40 @@ public class CompiledScript {
      * @throws IOException in case of IO problems
      */
     public String execute() throws IOException {
-        final Process process = Runtime.getRuntime().exec(new String[]{"osascript", scriptFile});
-        final ReaderPump stderr = new ReaderPump(new InputStreamReader(process.getErrorStream(), UTF_8));
-        final ReaderPump stdout = new ReaderPump(new InputStreamReader(process.getInputStream(), UTF_8));
-        // TODO: investigate ThreadPool use
-        final Thread errThread = new Thread(stderr);
-        final Thread outThread = new Thread(stdout);
-        errThread.start();
-        outThread.start();
-        try {
-            process.waitFor();
-        } catch (InterruptedException e) {
-            throw new IOException(e.toString());
+        return execute(Collections.emptyList());
+    }
+
+    /**
+     * Executes the script, passing the given arguments to its {@code on run argv} handler.
+     *
+     * @param arguments arguments
+     * @return return value in source form
+     * @throws IOException in case of IO problems
+     * @see ScriptTemplate
+     */
+    public String execute(final List<String> arguments) throws IOException {
+        if (arguments.isEmpty()) {
+            final OsascriptWorkerPool pool = OsascriptWorkerPool.getInstance();
+            if (pool != null) return pool.execute(this);
         }
+        final List<String> command = new ArrayList<>(arguments.size() + 4);
+        command.addAll(Arrays.asList("osascript", "-s", "s", scriptFile));
+        command.addAll(arguments);
+        final Process process = new ProcessBuilder(command).start();
+        final ProcessOutputReader.ProcessOutput output = ProcessOutputReader.getInstance().register(process);
+        final int exit;
         try {
-            errThread.join();
-            outThread.join();
+            exit = output.waitFor();
         } catch (InterruptedException e) {
+            process.destroy();
             throw new IOException(e.toString(), e);
         }
-        if (LOG.isLoggable(Level.FINE)) LOG.fine("Exit value  : " + process.exitValue());
-        if (LOG.isLoggable(Level.FINE)) LOG.fine("Return value: " + stdout.getValue());
-        if (stderr.getIOException() != null) throw stderr.getIOException();
-        if (stdout.getIOException() != null) throw stdout.getIOException();
-        if (stderr.getValue().length() > 0) throw new JaplScriptException(stderr.getValue(), script.toString());
-        return stdout.getValue();
+        if (LOG.isLoggable(Level.FINE)) LOG.fine("Exit value  : " + exit);
+        if (LOG.isLoggable(Level.FINE)) LOG.fine("Return value: " + output.getStdout());
+        if (output.getStderrIOException() != null) throw output.getStderrIOException();
+        if (output.getStdoutIOException() != null) throw output.getStdoutIOException();
+        if (output.getStderr().length() > 0) throw new JaplScriptException(output.getStderr(), script.toString());
+        return output.getStdout();
     }
 
 }
@@ -0,0 +1,348 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Bounded, persistent cache for scripts compiled by {@link Osacompile}.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the script text, so that equal scripts
+ * hit the cache regardless of the {@link CharSequence} implementation used to pass them.
+ * Compiled scripts are stored as {@code <hash>.scpt} in the cache directory. The last
+ * access time of an entry is its script file's modification time, so that there is no
+ * shared index that several processes using the same directory could overwrite.
+ * Existing script files are picked up when the cache is created, so compiled scripts
+ * survive restarts. Access times are written back in batches and on {@link #flush()}.
+ * <p>
+ * The cache holds at most {@code maxEntries} entries and evicts the least
+ * recently used one, when full. Only script files created by this instance are deleted
+ * on such an eviction, as other processes may still use the others. Entries that have
+ * not been accessed by any process for longer than {@code maxAge} are evicted and deleted.
+ * A script file that has been deleted by another process is treated as a miss.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class CompiledScriptCache {
+
+    private static final Logger LOG = Logger.getLogger(CompiledScriptCache.class.getName());
+    public static final String SUFFIX = ".scpt";
+    /** Number of changed access times, after which they are written to disk. */
+    public static final int FLUSH_BATCH_SIZE = 32;
+    /** Index file written by earlier versions. */
+    private static final String LEGACY_INDEX_FILE = "index.properties";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path directory;
+    private final int maxEntries;
+    private final long maxAgeMillis;
+    private final LinkedHashMap<String, Long> lastAccess = new LinkedHashMap<>(16, 0.75f, true);
+    /** Entries whose access time has not been written to disk yet. */
+    private final Set<String> dirty = new HashSet<>();
+    /** Entries whose script files were created by this instance. */
+    private final Set<String> created = new HashSet<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a cache and loads the script files already present in its directory.
+     *
+     * @param directory cache directory
+     * @param maxEntries max number of compiled scripts to keep
+     * @param maxAge max time since last access
+     * @param unit time unit for {@code maxAge}
+     * @throws IOException if the cache directory cannot be created or read
+     */
+    public CompiledScriptCache(final Path directory, final int maxEntries, final long maxAge, final TimeUnit unit) throws IOException {
+        if (maxEntries < 1) throw new IllegalArgumentException("Max entries must be at least 1: " + maxEntries);
+        if (maxAge <= 0) throw new IllegalArgumentException("Max age must be positive: " + maxAge);
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.maxAgeMillis = unit.toMillis(maxAge);
+        Files.createDirectories(directory);
+        load();
+    }
+
+    /**
+     * Looks up the compiled version of the given script.
+     *
+     * @param script script
+     * @return compiled script or {@code null}, if not cached
+     */
+    public CompiledScript get(final CharSequence script) {
+        final String text = script.toString();
+        final String key = hash(text);
+        final Path file = getScriptFile(key);
+        final long now = System.currentTimeMillis();
+        final Long accessed;
+        synchronized (this) {
+            accessed = lastAccess.get(key);
+        }
+        if (accessed == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        // another process may have used or deleted the file in the meantime
+        final boolean evict = now - accessed > maxAgeMillis
+            ? now - getLastModified(file) > maxAgeMillis
+            : !Files.isRegularFile(file);
+        final boolean flush;
+        synchronized (this) {
+            if (evict) {
+                lastAccess.remove(key);
+                dirty.remove(key);
+                created.remove(key);
+                flush = false;
+            } else {
+                lastAccess.put(key, now);
+                dirty.add(key);
+                flush = dirty.size() >= FLUSH_BATCH_SIZE;
+            }
+        }
+        if (evict) {
+            misses.incrementAndGet();
+            evictions.incrementAndGet();
+            delete(file);
+            return null;
+        }
+        if (flush) flush();
+        hits.incrementAndGet();
+        return new CompiledScript(text, file.toString());
+    }
+
+    /**
+     * File the compiled version of the given script must be written to, before
+     * it is {@link #put(CharSequence) added} to the cache.
+     * To avoid other processes seeing incomplete files, compile to a temporary
+     * file in the {@link #getDirectory() cache directory} and move it.
+     *
+     * @param script script
+     * @return path
+     */
+    public Path getScriptFile(final CharSequence script) {
+        return getScriptFile(hash(script.toString()));
+    }
+
+    private Path getScriptFile(final String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    /**
+     * Adds the script, after it has been compiled to {@link #getScriptFile(CharSequence)}.
+     * Evicts the least recently used entries, if necessary.
+     *
+     * @param script script
+     * @return compiled script
+     */
+    public CompiledScript put(final CharSequence script) {
+        final String text = script.toString();
+        final String key = hash(text);
+        final List<String> deletable = new ArrayList<>();
+        int evicted = 0;
+        synchronized (this) {
+            // the file has just been written, so its modification time is current
+            lastAccess.put(key, System.currentTimeMillis());
+            dirty.remove(key);
+            created.add(key);
+            final Iterator<String> keys = lastAccess.keySet().iterator();
+            while (lastAccess.size() > maxEntries && keys.hasNext()) {
+                final String k = keys.next();
+                keys.remove();
+                dirty.remove(k);
+                evicted++;
+                if (created.remove(k)) deletable.add(k);
+            }
+        }
+        evictions.addAndGet(evicted);
+        for (final String k : deletable) {
+            if (LOG.isLoggable(Level.FINE)) LOG.fine("Evicting compiled script " + k);
+            delete(getScriptFile(k));
+        }
+        return new CompiledScript(text, getScriptFile(key).toString());
+    }
+
+    /**
+     * Removes all entries and deletes their script files.
+     */
+    public void clear() {
+        final List<String> keys;
+        synchronized (this) {
+            keys = new ArrayList<>(lastAccess.keySet());
+            lastAccess.clear();
+            dirty.clear();
+            created.clear();
+        }
+        for (final String key : keys) {
+            delete(getScriptFile(key));
+        }
+    }
+
+    /**
+     * Writes changed access times to disk, i.e. sets the modification times
+     * of the script files that were used since the last flush.
+     */
+    public void flush() {
+        final Map<String, Long> changed = new HashMap<>();
+        synchronized (this) {
+            for (final String key : dirty) {
+                changed.put(key, lastAccess.get(key));
+            }
+            dirty.clear();
+        }
+        for (final Map.Entry<String, Long> entry : changed.entrySet()) {
+            try {
+                Files.setLastModifiedTime(getScriptFile(entry.getKey()), FileTime.fromMillis(entry.getValue()));
+            } catch (NoSuchFileException e) {
+                // deleted by another process
+                if (LOG.isLoggable(Level.FINE)) LOG.fine("Compiled script " + entry.getKey() + " no longer exists.");
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Failed to update access time of compiled script " + entry.getKey() + ": " + e, e);
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        final long now = System.currentTimeMillis();
+        final List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        try (final Stream<Path> files = Files.list(directory)) {
+            files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).forEach(f -> {
+                final long accessed = getLastModified(f);
+                if (now - accessed <= maxAgeMillis) entries.add(Map.entry(stripSuffix(f), accessed));
+                else delete(f);
+            });
+        }
+        delete(directory.resolve(LEGACY_INDEX_FILE));
+        // restore LRU order, files beyond maxEntries are left to other processes or expire
+        entries.sort(Map.Entry.comparingByValue());
+        final int skip = Math.max(0, entries.size() - maxEntries);
+        for (int i = skip; i < entries.size(); i++) {
+            lastAccess.put(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+        if (LOG.isLoggable(Level.FINE)) LOG.fine("Loaded " + lastAccess.size() + " compiled scripts from " + directory);
+    }
+
+    private static String stripSuffix(final Path file) {
+        final String name = file.getFileName().toString();
+        return name.substring(0, name.length() - SUFFIX.length());
+    }
+
+    /**
+     * @param file file
+     * @return modification time or {@code 0}, if the file does not exist
+     */
+    private static long getLastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to delete " + file + ": " + e, e);
+        }
+    }
+
+    /**
+     * SHA-256 hash of the given text.
+     *
+     * @param text text
+     * @return hex encoded hash
+     */
+    static String hash(final String text) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(UTF_8));
+            final char[] chars = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                chars[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(chars);
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM must support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxAge(final TimeUnit unit) {
+        return unit.convert(maxAgeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return number of cached compiled scripts
+     */
+    public synchronized int size() {
+        return lastAccess.size();
+    }
+
+    /**
+     * @return number of successful lookups
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of failed lookups
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of entries evicted because of size or age
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledScriptCache{" +
+            "directory=" + directory +
+            ", size=" + size() +
+            ", maxEntries=" + maxEntries +
+            ", maxAgeMillis=" + maxAgeMillis +
+            ", hits=" + hits +
+            ", misses=" + misses +
+            ", evictions=" + evictions +
+            '}';
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers events synchronously on the thread that executes the script.
+ * Exceptions thrown by listeners are logged, but do not affect the execution.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class DirectExecutionEventDispatcher implements ExecutionEventDispatcher {
+
+    private static final Logger LOG = Logger.getLogger(DirectExecutionEventDispatcher.class.getName());
+    public static final String NAME = "direct";
+
+    @Override
+    public void dispatch(final ExecutionEvent event, final Iterable<ExecutionListener> listeners) {
+        deliver(event, listeners);
+    }
+
+    static void deliver(final ExecutionEvent event, final Iterable<ExecutionListener> listeners) {
+        for (final ExecutionListener listener : listeners) {
+            try {
+                listener.executing(event);
+            } catch (RuntimeException e) {
+                LOG.log(Level.SEVERE, "ExecutionListener " + listener + " failed: " + e, e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DirectExecutionEventDispatcher";
+    }
+}
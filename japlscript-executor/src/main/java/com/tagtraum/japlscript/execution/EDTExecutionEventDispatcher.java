@@ -0,0 +1,34 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import javax.swing.*;
+
+/**
+ * Delivers events on the AWT event dispatch thread (EDT).
+ * This is the default, as it allows listeners to update Swing components directly.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class EDTExecutionEventDispatcher implements ExecutionEventDispatcher {
+
+    public static final String NAME = "edt";
+
+    @Override
+    public void dispatch(final ExecutionEvent event, final Iterable<ExecutionListener> listeners) {
+        SwingUtilities.invokeLater(() -> {
+            for (final ExecutionListener l : listeners) {
+                l.executing(event);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "EDTExecutionEventDispatcher";
+    }
+}
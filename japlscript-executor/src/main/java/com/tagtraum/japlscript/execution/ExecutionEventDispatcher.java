@@ -0,0 +1,29 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+/**
+ * Delivers {@link ExecutionEvent}s to {@link ExecutionListener}s.
+ * Built-in implementations deliver events on the executing thread
+ * ({@link DirectExecutionEventDispatcher}), on the EDT ({@link EDTExecutionEventDispatcher}),
+ * or on a dedicated thread via a bounded buffer ({@link RingBufferExecutionEventDispatcher}).
+ * <p>
+ * Dispatchers are only called, if at least one listener is registered.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see ScriptExecutor#setExecutionEventDispatcher(ExecutionEventDispatcher)
+ */
+public interface ExecutionEventDispatcher {
+
+    /**
+     * Delivers the given event to the given listeners.
+     *
+     * @param event event
+     * @param listeners listeners, safe to iterate from any thread
+     */
+    void dispatch(ExecutionEvent event, Iterable<ExecutionListener> listeners);
+}
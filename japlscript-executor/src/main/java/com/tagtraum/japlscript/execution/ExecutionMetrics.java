@@ -0,0 +1,323 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry for execution metrics. Records, per executor type and
+ * application, call and error counts, latencies, and script/result sizes,
+ * as well as the time spent decoding results.
+ * <p>
+ * Metrics are disabled by default and can be enabled via the system property
+ * {@value #ENABLED_PROPERTY}{@code =true} or {@link #setEnabled(boolean)}.
+ * Once the shared registry is enabled, it is also registered as platform MBean
+ * {@value #OBJECT_NAME}, unless {@value #JMX_PROPERTY}{@code =false}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class ExecutionMetrics implements ExecutionMetricsMXBean {
+
+    private static final Logger LOG = Logger.getLogger(ExecutionMetrics.class.getName());
+    public static final String ENABLED_PROPERTY = "japlscript.metrics";
+    public static final String JMX_PROPERTY = "japlscript.metrics.jmx";
+    public static final String OBJECT_NAME = "com.tagtraum.japlscript:type=ExecutionMetrics";
+    public static final String UNKNOWN_APPLICATION = "unknown";
+    private static final String TELL_APPLICATION = "tell application ";
+    private static final ExecutionMetrics instance = new ExecutionMetrics();
+    private static boolean instanceRegistered;
+
+    static {
+        if (instance.isEnabled()) registerInstance();
+    }
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Recorder>> executions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> decodes = new ConcurrentHashMap<>();
+    private volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * Shared registry.
+     *
+     * @return registry
+     */
+    public static ExecutionMetrics getInstance() {
+        return instance;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+        if (enabled && this == instance) registerInstance();
+    }
+
+    private static synchronized void registerInstance() {
+        if (instanceRegistered || !Boolean.parseBoolean(System.getProperty(JMX_PROPERTY, "true"))) return;
+        instanceRegistered = true;
+        try {
+            register(ManagementFactory.getPlatformMBeanServer(), instance);
+        } catch (LinkageError e) {
+            LOG.log(Level.WARNING, "Failed to register " + OBJECT_NAME + ": " + e, e);
+        }
+    }
+
+    /**
+     * Registers the given registry as MBean {@value #OBJECT_NAME}.
+     *
+     * @param server MBean server
+     * @param metrics registry
+     * @return true, if the registry was registered
+     */
+    static boolean register(final MBeanServer server, final ExecutionMetrics metrics) {
+        try {
+            server.registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            return true;
+        } catch (InstanceAlreadyExistsException e) {
+            // e.g. registered by a copy of this class loaded by another class loader
+            if (LOG.isLoggable(Level.INFO)) LOG.info(OBJECT_NAME + " is already registered.");
+            return false;
+        } catch (Exception e) {
+            LOG.log(Level.WARNING, "Failed to register " + OBJECT_NAME + ": " + e, e);
+            return false;
+        }
+    }
+
+    /**
+     * Records a finished execution.
+     *
+     * @param executorType executor type, typically the simple class name
+     * @param script executed script
+     * @param result result or {@code null}
+     * @param error error or {@code null}
+     * @param nanos duration in nanoseconds
+     */
+    public void recordExecution(final String executorType, final CharSequence script, final String result,
+                                final Throwable error, final long nanos) {
+        if (!enabled) return;
+        final Recorder recorder = executions
+            .computeIfAbsent(executorType, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(getApplicationReference(script), k -> new Recorder());
+        recorder.calls.increment();
+        recorder.latency.record(nanos);
+        recorder.scriptBytes.add(utf8Length(script));
+        if (result != null) recorder.resultBytes.add(utf8Length(result));
+        if (error != null) {
+            recorder.errors.increment();
+            if (error instanceof JaplScriptException) {
+                recorder.errorsByNumber
+                    .computeIfAbsent(((JaplScriptException) error).getErrorNumber(), k -> new LongAdder())
+                    .increment();
+            }
+        }
+    }
+
+    /**
+     * Records the time it took to decode a result.
+     *
+     * @param applicationReference application reference
+     * @param nanos duration in nanoseconds
+     */
+    public void recordDecode(final String applicationReference, final long nanos) {
+        if (!enabled) return;
+        decodes.computeIfAbsent(applicationReference == null ? UNKNOWN_APPLICATION : applicationReference,
+            k -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Immutable copy of all recorded data.
+     *
+     * @return snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(getExecutions(), getDecodes());
+    }
+
+    @Override
+    public long getExecutionCount() {
+        long count = 0;
+        for (final Map<String, Recorder> recorders : executions.values()) {
+            for (final Recorder recorder : recorders.values()) {
+                count += recorder.calls.sum();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getErrorCount() {
+        long count = 0;
+        for (final Map<String, Recorder> recorders : executions.values()) {
+            for (final Recorder recorder : recorders.values()) {
+                count += recorder.errors.sum();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<ExecutionStatistics> getExecutions() {
+        final List<ExecutionStatistics> list = new ArrayList<>();
+        for (final Map.Entry<String, ConcurrentMap<String, Recorder>> type : executions.entrySet()) {
+            for (final Map.Entry<String, Recorder> application : type.getValue().entrySet()) {
+                list.add(application.getValue().toStatistics(type.getKey(), application.getKey()));
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public Map<String, LatencyHistogram.Snapshot> getDecodes() {
+        final Map<String, LatencyHistogram.Snapshot> map = new HashMap<>();
+        for (final Map.Entry<String, LatencyHistogram> e : decodes.entrySet()) {
+            map.put(e.getKey(), e.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public void reset() {
+        executions.clear();
+        decodes.clear();
+    }
+
+    /**
+     * Extracts the first application reference ({@code application "Name"} or
+     * {@code application id "id"}) a script is told to.
+     *
+     * @param script script
+     * @return application reference or {@value #UNKNOWN_APPLICATION}
+     */
+    static String getApplicationReference(final CharSequence script) {
+        final String s = script.toString();
+        final int tell = s.indexOf(TELL_APPLICATION);
+        if (tell < 0) return UNKNOWN_APPLICATION;
+        final int start = tell + "tell ".length();
+        final int openingQuote = s.indexOf('"', start);
+        if (openingQuote < 0) return UNKNOWN_APPLICATION;
+        final int closingQuote = s.indexOf('"', openingQuote + 1);
+        if (closingQuote < 0) return UNKNOWN_APPLICATION;
+        return s.substring(start, closingQuote + 1);
+    }
+
+    private static long utf8Length(final CharSequence s) {
+        long length = 0;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            final char c = s.charAt(i);
+            if (c < 0x80) length++;
+            else if (c < 0x800) length += 2;
+            else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else length += 3;
+        }
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionMetrics{" +
+            "enabled=" + enabled +
+            ", executions=" + getExecutionCount() +
+            ", errors=" + getErrorCount() +
+            '}';
+    }
+
+    private static class Recorder {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> errorsByNumber = new ConcurrentHashMap<>();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder scriptBytes = new LongAdder();
+        private final LongAdder resultBytes = new LongAdder();
+
+        private ExecutionStatistics toStatistics(final String executorType, final String applicationReference) {
+            final Map<Integer, Long> errorCounts = new HashMap<>();
+            for (final Map.Entry<Integer, LongAdder> e : errorsByNumber.entrySet()) {
+                errorCounts.put(e.getKey(), e.getValue().sum());
+            }
+            return new ExecutionStatistics(executorType, applicationReference, calls.sum(), errors.sum(),
+                errorCounts, latency.snapshot(), scriptBytes.sum(), resultBytes.sum());
+        }
+    }
+
+    /**
+     * Immutable copy of all recorded metrics.
+     */
+    public static class Snapshot {
+
+        private final long timestamp = System.currentTimeMillis();
+        private final List<ExecutionStatistics> executions;
+        private final Map<String, LatencyHistogram.Snapshot> decodes;
+
+        private Snapshot(final List<ExecutionStatistics> executions, final Map<String, LatencyHistogram.Snapshot> decodes) {
+            this.executions = executions;
+            this.decodes = decodes;
+        }
+
+        /**
+         * @return creation time in milliseconds since the epoch
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return statistics per executor type and application
+         */
+        public List<ExecutionStatistics> getExecutions() {
+            return executions;
+        }
+
+        /**
+         * Statistics for the given executor type and application.
+         *
+         * @param executorType executor type
+         * @param applicationReference application reference
+         * @return statistics or {@code null}, if nothing has been recorded
+         */
+        public ExecutionStatistics getExecutions(final String executorType, final String applicationReference) {
+            for (final ExecutionStatistics statistics : executions) {
+                if (statistics.getExecutorType().equals(executorType)
+                    && statistics.getApplicationReference().equals(applicationReference)) return statistics;
+            }
+            return null;
+        }
+
+        /**
+         * @return decode/cast latencies per application
+         */
+        public Map<String, LatencyHistogram.Snapshot> getDecodes() {
+            return decodes;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                "timestamp=" + timestamp +
+                ", executions=" + executions +
+                ", decodes=" + decodes +
+                '}';
+        }
+    }
+}
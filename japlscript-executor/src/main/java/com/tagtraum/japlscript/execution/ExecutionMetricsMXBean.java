@@ -0,0 +1,48 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of {@link ExecutionMetrics}, registered as
+ * {@value ExecutionMetrics#OBJECT_NAME}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public interface ExecutionMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return total number of executions
+     */
+    long getExecutionCount();
+
+    /**
+     * @return total number of failed executions
+     */
+    long getErrorCount();
+
+    /**
+     * @return statistics per executor type and application
+     */
+    List<ExecutionStatistics> getExecutions();
+
+    /**
+     * @return decode/cast latencies per application
+     */
+    Map<String, LatencyHistogram.Snapshot> getDecodes();
+
+    /**
+     * Discards all recorded data.
+     */
+    void reset();
+}
@@ -0,0 +1,107 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable statistics for all executions of one executor type
+ * against one application.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see ExecutionMetrics#snapshot()
+ */
+public class ExecutionStatistics {
+
+    private final String executorType;
+    private final String applicationReference;
+    private final long calls;
+    private final long errors;
+    private final Map<Integer, Long> errorsByNumber;
+    private final LatencyHistogram.Snapshot latency;
+    private final long scriptBytes;
+    private final long resultBytes;
+
+    public ExecutionStatistics(final String executorType, final String applicationReference,
+                               final long calls, final long errors, final Map<Integer, Long> errorsByNumber,
+                               final LatencyHistogram.Snapshot latency, final long scriptBytes, final long resultBytes) {
+        this.executorType = executorType;
+        this.applicationReference = applicationReference;
+        this.calls = calls;
+        this.errors = errors;
+        this.errorsByNumber = Collections.unmodifiableMap(errorsByNumber);
+        this.latency = latency;
+        this.scriptBytes = scriptBytes;
+        this.resultBytes = resultBytes;
+    }
+
+    /**
+     * @return simple class name of the {@link ScriptExecutor}
+     */
+    public String getExecutorType() {
+        return executorType;
+    }
+
+    /**
+     * @return application reference, e.g. {@code application "Music"}, or
+     * {@value ExecutionMetrics#UNKNOWN_APPLICATION}
+     */
+    public String getApplicationReference() {
+        return applicationReference;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * @return number of failed executions, regardless of the cause
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return counts of {@link JaplScriptException}s by {@link JaplScriptException#getErrorNumber() error number}
+     */
+    public Map<Integer, Long> getErrorsByNumber() {
+        return errorsByNumber;
+    }
+
+    public LatencyHistogram.Snapshot getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return total UTF-8 size of all executed scripts
+     */
+    public long getScriptBytes() {
+        return scriptBytes;
+    }
+
+    /**
+     * @return total UTF-8 size of all results
+     */
+    public long getResultBytes() {
+        return resultBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionStatistics{" +
+            "executorType='" + executorType + '\'' +
+            ", applicationReference='" + applicationReference + '\'' +
+            ", calls=" + calls +
+            ", errors=" + errors +
+            ", errorsByNumber=" + errorsByNumber +
+            ", latency=" + latency +
+            ", scriptBytes=" + scriptBytes +
+            ", resultBytes=" + resultBytes +
+            '}';
+    }
+}
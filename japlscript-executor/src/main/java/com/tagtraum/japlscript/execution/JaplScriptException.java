@@ -18,6 +18,7 @@ import java.util.regex.Pattern;
  */
 public class JaplScriptException extends RuntimeException {
 
+    private static final Pattern ERROR_NUMBER = Pattern.compile("\\((-?\\d+)\\)\\s*$");
     private final String error;
     private final String script;
 
@@ -66,6 +67,23 @@ public class JaplScriptException extends RuntimeException {
         return script;
     }
 
+    /**
+     * AppleScript error number, e.g. {@code -1728}, as found at the end of the
+     * error message (e.g. {@code "Can’t get name. (-1728)"}).
+     *
+     * @return error number or {@code 0}, if unknown
+     */
+    public int getErrorNumber() {
+        if (error == null) return 0;
+        final Matcher matcher = ERROR_NUMBER.matcher(error);
+        if (!matcher.find()) return 0;
+        try {
+            return Integer.parseInt(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     /**
      * Convert unicode sequences to their actual characters.
      *
@@ -0,0 +1,143 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe, fixed-size latency histogram with power-of-two buckets.
+ * Bucket {@code i} counts durations in {@code [2^i, 2^(i+1))} nanoseconds,
+ * so percentiles are accurate within a factor of two.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos duration in nanoseconds, negative values are treated as {@code 0}
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        min.accumulateAndGet(value, Math::min);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    private static int bucket(final long nanos) {
+        return nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * @return immutable copy of the current state
+     */
+    public Snapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(counts, count.sum(), sum.sum(), min.get(), max.get());
+    }
+
+    /**
+     * Immutable histogram state. All durations are in nanoseconds.
+     */
+    public static class Snapshot {
+
+        private final long[] buckets;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        private Snapshot(final long[] buckets, final long count, final long sum, final long min, final long max) {
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+            this.min = count == 0 ? 0 : min;
+            this.max = count == 0 ? 0 : max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSumNanos() {
+            return sum;
+        }
+
+        public long getMinNanos() {
+            return min;
+        }
+
+        public long getMaxNanos() {
+            return max;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        public long getP50Nanos() {
+            return getPercentileNanos(0.5);
+        }
+
+        public long getP90Nanos() {
+            return getPercentileNanos(0.9);
+        }
+
+        public long getP99Nanos() {
+            return getPercentileNanos(0.99);
+        }
+
+        /**
+         * Estimates the given percentile as the upper bound of the bucket it falls into,
+         * capped by the max value.
+         *
+         * @param percentile percentile between 0 and 1
+         * @return estimated duration in nanoseconds
+         */
+        public long getPercentileNanos(final double percentile) {
+            if (count == 0) return 0;
+            final long rank = Math.max(1, (long) Math.ceil(percentile * count));
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i];
+                if (cumulative >= rank) {
+                    final long upperBound = i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                    return Math.max(min, Math.min(max, upperBound));
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                "count=" + count +
+                ", mean=" + getMeanNanos() +
+                ", min=" + min +
+                ", p50=" + getP50Nanos() +
+                ", p90=" + getP90Nanos() +
+                ", p99=" + getP99Nanos() +
+                ", max=" + max +
+                '}';
+        }
+    }
+}
@@ -12,28 +12,69 @@ import java.util.logging.Level;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
-
-import static java.nio.charset.StandardCharsets.UTF_8;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Osacompile.
+ * Compiled scripts are kept in a {@link CompiledScriptCache} in {@code ~/Library/Caches/JaplScript/},
+ * configured via the system properties {@value #CACHE_SIZE_PROPERTY} (max number of compiled scripts,
+ * default {@value #DEFAULT_CACHE_SIZE}) and {@value #CACHE_MAX_AGE_PROPERTY} (max days since last use,
+ * default {@value #DEFAULT_CACHE_MAX_AGE_DAYS}).
  *
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
 public class Osacompile {
 
     private static final Logger LOG = Logger.getLogger(Osacompile.class.getName());
+    public static final String CACHE_SIZE_PROPERTY = "japlscript.osacompile.cache.size";
+    public static final String CACHE_MAX_AGE_PROPERTY = "japlscript.osacompile.cache.maxAge";
+    public static final int DEFAULT_CACHE_SIZE = 256;
+    public static final int DEFAULT_CACHE_MAX_AGE_DAYS = 30;
     private static final Path JAPLSCRIPT_CACHE_DIRECTORY = new File(System.getProperty("user.home") + "/Library/Caches/JaplScript/").toPath();
-    static {
-        try {
-            Files.createDirectories(JAPLSCRIPT_CACHE_DIRECTORY);
-        } catch (IOException e) {
-            LOG.log(Level.SEVERE, e.toString(), e);
+    private static CompiledScriptCache defaultCache;
+    private static boolean defaultCacheInitialized;
+    private final CompiledScriptCache cache;
+
+    /**
+     * Creates an instance backed by the shared default cache.
+     */
+    public Osacompile() {
+        this(getDefaultCache());
+    }
+
+    /**
+     * Creates an instance backed by the given cache.
+     *
+     * @param cache cache or {@code null} to not cache compiled scripts
+     */
+    public Osacompile(final CompiledScriptCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Shared cache, configured via {@value #CACHE_SIZE_PROPERTY} and {@value #CACHE_MAX_AGE_PROPERTY}.
+     *
+     * @return cache or {@code null}, if it could not be created
+     */
+    public static synchronized CompiledScriptCache getDefaultCache() {
+        if (!defaultCacheInitialized) {
+            defaultCacheInitialized = true;
+            try {
+                defaultCache = new CompiledScriptCache(JAPLSCRIPT_CACHE_DIRECTORY,
+                    Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE),
+                    Integer.getInteger(CACHE_MAX_AGE_PROPERTY, DEFAULT_CACHE_MAX_AGE_DAYS), TimeUnit.DAYS);
+                Runtime.getRuntime().addShutdownHook(new Thread(defaultCache::flush, "CompiledScriptCache flush"));
+            } catch (IOException | RuntimeException e) {
+                LOG.log(Level.SEVERE, "Failed to create compiled script cache: " + e, e);
+            }
         }
+        return defaultCache;
+    }
+
+    public CompiledScriptCache getCache() {
+        return cache;
     }
-    private final Map<CharSequence, CompiledScript> COMPILED_SCRIPTS = new HashMap<>();
 
     /**
      * Compiles the script.
@@ -43,53 +84,55 @@ public class Osacompile {
      * @throws IOException in case of IO issues
      */
     public CompiledScript compile(final CharSequence script) throws IOException {
-        CompiledScript compiledScript = getCachedCompiledScript(script);
+        CompiledScript compiledScript = cache == null ? null : cache.get(script);
         if (compiledScript != null) {
             if (LOG.isLoggable(Level.FINE)) LOG.fine("Script is already compiled.");
             return compiledScript;
         } else {
             if (LOG.isLoggable(Level.FINE)) LOG.fine("Script needs to be compiled.");
-            final Path scriptFile = Files.createTempFile(JAPLSCRIPT_CACHE_DIRECTORY, "japlscript", ".scpt");
-            // TODO: deleteOnExit() is evil! remove this somehow
-            scriptFile.toFile().deleteOnExit();
-            final Process process = Runtime.getRuntime().exec(new String[]{"osacompile", "-o", scriptFile.toString()});
-            final Writer stdin = new OutputStreamWriter(process.getOutputStream(), "MacRoman");
-            stdin.write(script.toString());
-            stdin.close();
-            final ReaderPump stderr = new ReaderPump(new InputStreamReader(process.getErrorStream(), UTF_8));
-            final ReaderPump stdout = new ReaderPump(new InputStreamReader(process.getInputStream(), UTF_8));
-            // TODO: investigate ThreadPool use
-            final Thread errThread = new Thread(stderr);
-            final Thread outThread = new Thread(stdout);
-            errThread.start();
-            outThread.start();
-            try {
-                process.waitFor();
-            } catch (InterruptedException e) {
-                throw new IOException(e.toString());
+            // copy, as the script may be a mutable StringBuilder
+            final String text = script.toString();
+            final Path scriptFile;
+            if (cache == null) {
+                Files.createDirectories(JAPLSCRIPT_CACHE_DIRECTORY);
+                scriptFile = Files.createTempFile(JAPLSCRIPT_CACHE_DIRECTORY, "japlscript", ".scpt");
+                scriptFile.toFile().deleteOnExit();
+            } else {
+                scriptFile = Files.createTempFile(cache.getDirectory(), "japlscript", ".tmp");
             }
             try {
-                errThread.join();
-                outThread.join();
-            } catch (InterruptedException e) {
-                throw new IOException(e.toString(), e);
+                compile(text, scriptFile);
+                if (cache == null) {
+                    compiledScript = new CompiledScript(text, scriptFile.toString());
+                } else {
+                    // move into place atomically, so that other processes never see incomplete files
+                    Files.move(scriptFile, cache.getScriptFile(text), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    compiledScript = cache.put(text);
+                }
+            } finally {
+                if (cache != null) Files.deleteIfExists(scriptFile);
             }
-            if (LOG.isLoggable(Level.FINE)) LOG.fine("Exit value  : " + process.exitValue());
-            if (stderr.getIOException() != null) throw stderr.getIOException();
-            if (stdout.getIOException() != null) throw stdout.getIOException();
-            if (stderr.getValue().length() > 0) throw new JaplScriptException(stderr.getValue(), script.toString());
-            compiledScript = new CompiledScript(script, scriptFile.toString());
-            cacheCompiledScript(compiledScript);
             return compiledScript;
         }
     }
 
-    private synchronized CompiledScript getCachedCompiledScript(final CharSequence script) {
-        return COMPILED_SCRIPTS.get(script);
-    }
-
-    private synchronized CompiledScript cacheCompiledScript(final CompiledScript compiledScript) {
-        return COMPILED_SCRIPTS.put(compiledScript.getScript(), compiledScript);
+    private static void compile(final String script, final Path scriptFile) throws IOException {
+        final Process process = Runtime.getRuntime().exec(new String[]{"osacompile", "-o", scriptFile.toString()});
+        final ProcessOutputReader.ProcessOutput output = ProcessOutputReader.getInstance().register(process);
+        final Writer stdin = new OutputStreamWriter(process.getOutputStream(), "MacRoman");
+        stdin.write(script);
+        stdin.close();
+        final int exit;
+        try {
+            exit = output.waitFor();
+        } catch (InterruptedException e) {
+            process.destroy();
+            throw new IOException(e.toString(), e);
+        }
+        if (LOG.isLoggable(Level.FINE)) LOG.fine("Exit value  : " + exit);
+        if (output.getStderrIOException() != null) throw output.getStderrIOException();
+        if (output.getStdoutIOException() != null) throw output.getStdoutIOException();
+        if (output.getStderr().length() > 0) throw new JaplScriptException(output.getStderr(), script);
     }
 
 }
@@ -10,15 +10,17 @@ import java.util.logging.Logger;
 import java.util.logging.Level;
 
 import java.io.*;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Osascript.
+ * Spawns a new {@code osascript} process for each script, unless an
+ * {@link OsascriptWorkerPool} is configured.
+ * <p>
+ * If the current {@link Session} compiles scripts, the script is split into a
+ * {@link ScriptTemplate} that is compiled once and executed with per-call arguments.
+ * Workers cannot pass arguments to a compiled script, so when a pool is configured,
+ * parameterized scripts are sent to a worker as source instead, i.e. the
+ * session's compile setting only applies to scripts without arguments.
  *
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
@@ -27,7 +29,6 @@ public class Osascript extends ScriptExecutor {
     private static final Logger LOG = Logger.getLogger(Osascript.class.getName());
     private static final Osacompile osacompile = new Osacompile();
     private static final int NO_ERRORS = 0;
-    private static final ExecutorService THREAD_POOL = Executors.newCachedThreadPool();
 
     public Osascript() {
     }
@@ -39,45 +40,42 @@ public class Osascript extends ScriptExecutor {
      */
     public String executeImpl() throws IOException {
         final Session session = Session.get();
+        final OsascriptWorkerPool pool = OsascriptWorkerPool.getInstance();
         if (session != null && session.isCompile()) {
-            if (LOG.isLoggable(Level.FINE)) LOG.fine("Using compiled script.");
-            final CompiledScript compiledScript = osacompile.compile(getScript());
-            if (compiledScript != null) return compiledScript.execute();
+            final ScriptTemplate template = ScriptTemplate.of(getScript());
+            if (pool != null && template.isParameterized()) {
+                // workers compile in-process and cannot pass arguments to a compiled template
+                if (LOG.isLoggable(Level.FINE)) LOG.fine("Not compiling parameterized script, executing its source in a worker.");
+            } else {
+                if (LOG.isLoggable(Level.FINE)) LOG.fine("Using compiled script.");
+                final CompiledScript compiledScript = osacompile.compile(template.getTemplate());
+                if (compiledScript != null) return compiledScript.execute(template.getArguments());
+            }
         }
+        if (pool != null) return pool.execute(getScript());
         final String[] cmdarray = new String[]{"osascript", "-s", "s", "-"};
         final Process process = Runtime.getRuntime().exec(cmdarray);
+        final ProcessOutputReader.ProcessOutput output = ProcessOutputReader.getInstance().register(process);
         final Writer stdin = new OutputStreamWriter(process.getOutputStream(), "MacRoman");
         stdin.write(getScript().toString());
         stdin.close();
-        final ReaderPump stderr = new ReaderPump(new InputStreamReader(process.getErrorStream(), UTF_8));
-        final ReaderPump stdout = new ReaderPump(new InputStreamReader(process.getInputStream(), UTF_8));
-        final Future<?> outFuture = THREAD_POOL.submit(stdout);
-        final Future<?> errFuture = THREAD_POOL.submit(stderr);
         final int exit;
         try {
-            exit = process.waitFor();
+            exit = output.waitFor();
             if (LOG.isLoggable(Level.FINE)) LOG.fine("Exit value: " + exit);
         } catch (InterruptedException e) {
+            process.destroy();
             throw new IOException(e.toString());
         }
-        try {
-            errFuture.get();
-            outFuture.get();
-        } catch (InterruptedException e) {
-            throw new IOException(e.toString(), e);
-        } catch (ExecutionException e) {
-            LOG.log(Level.SEVERE, e.toString(), e);
-            throw new IOException(e.toString(), e.getCause());
-        }
-        if (LOG.isLoggable(Level.FINE) && stdout.getValue() != null && stdout.getValue().length() > 0) {
-            final String returnValue = stdout.getValue();
+        if (LOG.isLoggable(Level.FINE) && output.getStdout().length() > 0) {
+            final String returnValue = output.getStdout();
             LOG.fine("Return value: " + returnValue.substring(0, Math.min(MAX_RETURNVALUE_LOG_LENGTH,
                     returnValue.length())));
         }
-        if (stderr.getIOException() != null) throw stderr.getIOException();
-        if (stdout.getIOException() != null) throw stdout.getIOException();
+        if (output.getStderrIOException() != null) throw output.getStderrIOException();
+        if (output.getStdoutIOException() != null) throw output.getStdoutIOException();
         if (exit != NO_ERRORS) {
-            final String stderrValue = stderr.getValue();
+            final String stderrValue = output.getStderr();
             if (stderrValue.length() > 0) {
                 if (BadScriptingAdditionException.isBadScriptingAdditionMessage(stderrValue)) {
                     throw new BadScriptingAdditionException(stderrValue);
@@ -87,6 +85,6 @@ public class Osascript extends ScriptExecutor {
             }
             else throw new JaplScriptException("Unknown Error", getScript().toString());
         }
-        return stdout.getValue();
+        return output.getStdout();
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+/**
+ * Provider for the command line based {@link Osascript} executor.
+ * It is considered available on macOS only, but still serves as
+ * the last resort, if no other provider is available.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class OsascriptProvider implements ScriptExecutorProvider {
+
+    public static final String NAME = "osascript";
+    public static final int PRIORITY = 100;
+    private static final boolean MAC_OS = System.getProperty("os.name").toLowerCase().contains("mac");
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return MAC_OS;
+    }
+
+    @Override
+    public ScriptExecutor newInstance() {
+        return new Osascript();
+    }
+
+    @Override
+    public String toString() {
+        return "OsascriptProvider{priority=" + PRIORITY + '}';
+    }
+}
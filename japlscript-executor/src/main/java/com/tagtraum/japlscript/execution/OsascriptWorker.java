@@ -0,0 +1,319 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.io.*;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Single long-lived interpreter process, talking the framed protocol
+ * described in {@link OsascriptWorkerPool}.
+ * Instances are not thread-safe, they are used by one thread at a time.
+ * <p>
+ * Responses are read by a dedicated daemon thread, so that the thread sending
+ * a request can wait with a deadline and can be interrupted.
+ * If a request times out or the waiting thread is interrupted, the process is
+ * destroyed, as its state is unknown. The tail of the process's stderr is kept
+ * for error messages.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+class OsascriptWorker implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(OsascriptWorker.class.getName());
+    static final char SOURCE = 'S';
+    static final char FILE = 'F';
+    static final char PING = 'P';
+    static final String OK = "OK";
+    static final String ERR = "ERR";
+    private static final int MAX_HEADER_LENGTH = 32;
+    /** Number of chars of stderr kept for error messages. */
+    static final int MAX_STDERR_LENGTH = 4096;
+    private static final long TERMINATION_WAIT_MILLIS = 1000;
+    private final Process process;
+    private final InputStream in;
+    private final OutputStream out;
+    private final BlockingQueue<Frame> responses = new LinkedBlockingQueue<>();
+    private final StringBuilder stderr = new StringBuilder();
+    private final Thread stdoutReader;
+    private final Thread stderrReader;
+    private int executions;
+    private long lastUsed;
+    private boolean broken;
+
+    OsascriptWorker(final List<String> command) throws IOException {
+        this.process = new ProcessBuilder(command).start();
+        this.in = new BufferedInputStream(process.getInputStream());
+        this.out = new BufferedOutputStream(process.getOutputStream());
+        this.lastUsed = System.nanoTime();
+        this.stdoutReader = new Thread(this::readResponses, "OsascriptWorker stdout " + process.pid());
+        this.stdoutReader.setDaemon(true);
+        this.stdoutReader.start();
+        this.stderrReader = new Thread(this::readStderr, "OsascriptWorker stderr " + process.pid());
+        this.stderrReader.setDaemon(true);
+        this.stderrReader.start();
+        if (LOG.isLoggable(Level.FINE)) LOG.fine("Started worker " + this);
+    }
+
+    /**
+     * Sends a request and waits for the response.
+     *
+     * @param type request type
+     * @param payload payload
+     * @param timeout max time to wait for the response
+     * @param unit time unit
+     * @return response
+     * @throws IOException if the worker cannot be reached, violates the protocol, does not
+     * respond in time or the current thread is interrupted ({@link InterruptedIOException}).
+     * In this case the worker is marked as {@link #isBroken() broken}.
+     */
+    Response send(final char type, final String payload, final long timeout, final TimeUnit unit) throws IOException {
+        executions++;
+        return request(type, payload, timeout, unit);
+    }
+
+    /**
+     * Checks whether the worker still responds within the given time.
+     *
+     * @param timeout timeout
+     * @param unit time unit
+     * @return true, if the worker answered the ping
+     */
+    boolean ping(final long timeout, final TimeUnit unit) {
+        if (!isAlive()) return false;
+        try {
+            return request(PING, "", timeout, unit).isOk();
+        } catch (InterruptedIOException e) {
+            return false;
+        } catch (IOException e) {
+            if (LOG.isLoggable(Level.FINE)) LOG.log(Level.FINE, "Ping failed for " + this, e);
+            return false;
+        }
+    }
+
+    private Response request(final char type, final String payload, final long timeout, final TimeUnit unit) throws IOException {
+        try {
+            write(type, payload);
+            final Frame frame = responses.poll(timeout, unit);
+            if (frame == null) {
+                fail();
+                throw new IOException("Worker did not respond within " + unit.toMillis(timeout) + "ms." + getStderrMessage());
+            }
+            if (frame.exception != null) {
+                fail();
+                throw new IOException(frame.exception.getMessage() + getStderrMessage(), frame.exception);
+            }
+            return frame.response;
+        } catch (InterruptedException e) {
+            fail();
+            Thread.currentThread().interrupt();
+            final InterruptedIOException interruptedIOException = new InterruptedIOException("Interrupted while waiting for worker.");
+            interruptedIOException.initCause(e);
+            throw interruptedIOException;
+        } catch (IOException e) {
+            if (!broken) {
+                fail();
+                throw new IOException(e.getMessage() + getStderrMessage(), e);
+            }
+            throw e;
+        } finally {
+            lastUsed = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks this worker as broken and destroys its process, as its state is unknown.
+     */
+    private void fail() {
+        broken = true;
+        process.destroyForcibly();
+    }
+
+    private void write(final char type, final String payload) throws IOException {
+        final byte[] bytes = payload.getBytes(UTF_8);
+        out.write((type + " " + bytes.length + "\n").getBytes(US_ASCII));
+        out.write(bytes);
+        out.flush();
+    }
+
+    private void readResponses() {
+        try {
+            while (true) {
+                responses.add(new Frame(read(), null));
+            }
+        } catch (IOException e) {
+            responses.add(new Frame(null, e));
+        }
+    }
+
+    private Response read() throws IOException {
+        final String header = readHeader();
+        final int space = header.indexOf(' ');
+        if (space < 0) throw new IOException("Malformed response header from worker: " + header);
+        final String status = header.substring(0, space);
+        final int length;
+        try {
+            length = Integer.parseInt(header.substring(space + 1));
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed response header from worker: " + header, e);
+        }
+        final byte[] payload = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            final int count = in.read(payload, offset, length - offset);
+            if (count == -1) throw new EOFException("Worker terminated while sending response.");
+            offset += count;
+        }
+        return new Response(status, new String(payload, UTF_8));
+    }
+
+    private String readHeader() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b == -1) throw new EOFException("Worker terminated unexpectedly.");
+            if (sb.length() >= MAX_HEADER_LENGTH) throw new IOException("Malformed response header from worker: " + sb);
+            sb.append((char) b);
+        }
+        return sb.toString();
+    }
+
+    private void readStderr() {
+        try (final Reader reader = new InputStreamReader(process.getErrorStream(), UTF_8)) {
+            final char[] buf = new char[1024];
+            int count;
+            while ((count = reader.read(buf)) != -1) {
+                synchronized (stderr) {
+                    stderr.append(buf, 0, count);
+                    if (stderr.length() > MAX_STDERR_LENGTH) stderr.delete(0, stderr.length() - MAX_STDERR_LENGTH);
+                }
+            }
+        } catch (IOException e) {
+            if (LOG.isLoggable(Level.FINE)) LOG.log(Level.FINE, e.toString(), e);
+        }
+    }
+
+    /**
+     * @return tail of what the worker wrote to stderr so far
+     */
+    String getStderr() {
+        synchronized (stderr) {
+            return stderr.toString().trim();
+        }
+    }
+
+    private String getStderrMessage() {
+        // give a terminating worker the chance to finish writing stderr
+        try {
+            if (process.waitFor(TERMINATION_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                stderrReader.join(TERMINATION_WAIT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final String value = getStderr();
+        return value.isEmpty() ? "" : " Worker stderr: " + value;
+    }
+
+    /**
+     * @return number of requests sent to this worker (excluding pings)
+     */
+    int getExecutions() {
+        return executions;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} of the last interaction
+     */
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * @return true, if a protocol or IO error occurred, or a request timed out
+     */
+    boolean isBroken() {
+        return broken;
+    }
+
+    boolean isAlive() {
+        return !broken && process.isAlive();
+    }
+
+    @Override
+    public void close() {
+        try {
+            // closing stdin lets the worker terminate gracefully
+            out.close();
+        } catch (IOException e) {
+            if (LOG.isLoggable(Level.FINE)) LOG.log(Level.FINE, e.toString(), e);
+        }
+        try {
+            if (!process.waitFor(1, TimeUnit.SECONDS)) process.destroyForcibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+        if (LOG.isLoggable(Level.FINE)) LOG.fine("Closed worker " + this);
+    }
+
+    @Override
+    public String toString() {
+        return "OsascriptWorker{" +
+            "pid=" + process.pid() +
+            ", executions=" + executions +
+            ", broken=" + broken +
+            '}';
+    }
+
+    /**
+     * Response or read failure, handed from the reader thread to the requesting thread.
+     */
+    private static class Frame {
+
+        private final Response response;
+        private final IOException exception;
+
+        private Frame(final Response response, final IOException exception) {
+            this.response = response;
+            this.exception = exception;
+        }
+    }
+
+    /**
+     * Response sent by a worker.
+     */
+    static class Response {
+
+        private final String status;
+        private final String value;
+
+        Response(final String status, final String value) {
+            this.status = status;
+            this.value = value;
+        }
+
+        boolean isOk() {
+            return OK.equals(status);
+        }
+
+        String getStatus() {
+            return status;
+        }
+
+        String getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pool of long-lived interpreter processes used by {@link Osascript} and
+ * {@link CompiledScript}, so that not every execution has to pay for spawning
+ * a new {@code osascript} process and loading the AppleScript component.
+ * <p>
+ * By default, workers run the bundled {@code osascript-worker.js}
+ * via {@code osascript -l JavaScript}. Workers communicate via stdin/stdout
+ * using a simple, length-framed protocol:
+ * <ul>
+ * <li>Request: {@code <type> <length>\n<payload>}, with type {@code S} (script source),
+ * {@code F} (path of a compiled script) or {@code P} (ping, empty payload).</li>
+ * <li>Response: {@code <status> <length>\n<payload>}, with status {@code OK} (payload is
+ * the result in source form, just like {@code osascript -s s}) or {@code ERR} (payload
+ * is the error message).</li>
+ * </ul>
+ * Lengths are byte counts, payloads are UTF-8 encoded. Workers terminate once their stdin is closed.
+ * Any program implementing this protocol may be used as worker, which allows
+ * testing without macOS.
+ * <p>
+ * Workers are started lazily, up to the pool size. A worker that has been idle
+ * for longer than the health check interval is pinged before it is used again,
+ * and workers are recycled after a given number of executions.
+ * Each request has a deadline. A worker that does not respond in time, or whose
+ * caller is interrupted while waiting, is destroyed and replaced by a new one.
+ * <p>
+ * The shared pool used by {@link Osascript} is configured via the system properties
+ * {@value #SIZE_PROPERTY} (number of workers, default {@code 0}, i.e. the pool is disabled) and
+ * {@value #MAX_EXECUTIONS_PROPERTY} (executions per worker before recycling,
+ * default {@value #DEFAULT_MAX_EXECUTIONS}) and {@value #TIMEOUT_PROPERTY} (max time in
+ * milliseconds a worker may take for a request, default {@value #DEFAULT_TIMEOUT_MILLIS}).
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class OsascriptWorkerPool implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(OsascriptWorkerPool.class.getName());
+    public static final String SIZE_PROPERTY = "japlscript.osascript.workers";
+    public static final String MAX_EXECUTIONS_PROPERTY = "japlscript.osascript.workers.maxExecutions";
+    public static final String TIMEOUT_PROPERTY = "japlscript.osascript.workers.timeout";
+    public static final int DEFAULT_MAX_EXECUTIONS = 500;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 600_000;
+    public static final long DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS = 30_000;
+    private static final String WORKER_SCRIPT = "osascript-worker.js";
+    private static OsascriptWorkerPool instance;
+    private static boolean instanceInitialized;
+
+    private final List<String> command;
+    private final int size;
+    private final int maxExecutions;
+    private final BlockingDeque<OsascriptWorker> idleWorkers = new LinkedBlockingDeque<>();
+    private final List<OsascriptWorker> workers = Collections.synchronizedList(new ArrayList<>());
+    private final Semaphore permits;
+    private final AtomicInteger startedWorkers = new AtomicInteger();
+    private final AtomicInteger recycledWorkers = new AtomicInteger();
+    private volatile long healthCheckIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS);
+    private volatile long healthCheckTimeoutNanos = TimeUnit.SECONDS.toNanos(5);
+    private volatile long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIMEOUT_MILLIS);
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool.
+     *
+     * @param command command to start a worker
+     * @param size max number of concurrently running workers
+     * @param maxExecutions number of executions after which a worker is replaced by a new one
+     */
+    public OsascriptWorkerPool(final List<String> command, final int size, final int maxExecutions) {
+        if (size < 1) throw new IllegalArgumentException("Pool size must be at least 1: " + size);
+        if (maxExecutions < 1) throw new IllegalArgumentException("Max executions must be at least 1: " + maxExecutions);
+        this.command = Collections.unmodifiableList(new ArrayList<>(command));
+        this.size = size;
+        this.maxExecutions = maxExecutions;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Shared pool, configured via {@value #SIZE_PROPERTY}, {@value #MAX_EXECUTIONS_PROPERTY}
+     * and {@value #TIMEOUT_PROPERTY}.
+     *
+     * @return shared pool or {@code null}, if the pool is disabled
+     */
+    public static synchronized OsascriptWorkerPool getInstance() {
+        if (!instanceInitialized) {
+            instanceInitialized = true;
+            final int size = Integer.getInteger(SIZE_PROPERTY, 0);
+            if (size > 0) {
+                try {
+                    instance = new OsascriptWorkerPool(createDefaultCommand(), size,
+                        Integer.getInteger(MAX_EXECUTIONS_PROPERTY, DEFAULT_MAX_EXECUTIONS));
+                    instance.setTimeout(Long.getLong(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT_MILLIS), TimeUnit.MILLISECONDS);
+                    Runtime.getRuntime().addShutdownHook(new Thread(instance::close, "OsascriptWorkerPool shutdown"));
+                    if (LOG.isLoggable(Level.INFO)) LOG.info("Using " + instance);
+                } catch (IOException | RuntimeException e) {
+                    LOG.log(Level.SEVERE, "Failed to create osascript worker pool. Falling back to one process per script.", e);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Sets the shared pool, closing a previously set one.
+     *
+     * @param pool pool or {@code null} to disable pooling
+     */
+    public static synchronized void setInstance(final OsascriptWorkerPool pool) {
+        if (instance != null && instance != pool) instance.close();
+        instance = pool;
+        instanceInitialized = true;
+    }
+
+    /**
+     * Command for the bundled worker script, extracted to a temporary file.
+     *
+     * @return command
+     * @throws IOException if the worker script cannot be extracted
+     */
+    public static List<String> createDefaultCommand() throws IOException {
+        final Path file = Files.createTempFile("japlscript_worker", ".js");
+        file.toFile().deleteOnExit();
+        try (final InputStream in = OsascriptWorkerPool.class.getResourceAsStream(WORKER_SCRIPT)) {
+            if (in == null) throw new IOException("Failed to find " + WORKER_SCRIPT);
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return Arrays.asList("osascript", "-l", "JavaScript", file.toString());
+    }
+
+    /**
+     * Executes the given script source.
+     *
+     * @param script script
+     * @return return value in source form
+     * @throws IOException in case of IO problems, if the worker does not respond in time
+     * or the current thread is interrupted
+     * @throws JaplScriptException if the script fails
+     */
+    public String execute(final CharSequence script) throws IOException {
+        return execute(OsascriptWorker.SOURCE, script.toString(), script);
+    }
+
+    /**
+     * Executes the given compiled script.
+     *
+     * @param compiledScript compiled script
+     * @return return value in source form
+     * @throws IOException in case of IO problems, if the worker does not respond in time
+     * or the current thread is interrupted
+     * @throws JaplScriptException if the script fails
+     */
+    public String execute(final CompiledScript compiledScript) throws IOException {
+        return execute(OsascriptWorker.FILE, new File(compiledScript.getScriptFile()).getAbsolutePath(),
+            compiledScript.getScript());
+    }
+
+    private String execute(final char type, final String payload, final CharSequence script) throws IOException {
+        final OsascriptWorker worker = acquire();
+        try {
+            final OsascriptWorker.Response response = worker.send(type, payload, timeoutNanos, TimeUnit.NANOSECONDS);
+            if (response.isOk()) {
+                if (LOG.isLoggable(Level.FINE) && !response.getValue().isEmpty()) {
+                    LOG.fine("Return value: " + response.getValue().substring(0,
+                        Math.min(ScriptExecutor.MAX_RETURNVALUE_LOG_LENGTH, response.getValue().length())));
+                }
+                return response.getValue().trim();
+            }
+            final String message = response.getValue();
+            if (BadScriptingAdditionException.isBadScriptingAdditionMessage(message)) {
+                throw new BadScriptingAdditionException(message);
+            }
+            throw new JaplScriptException(message.isEmpty() ? "Unknown Error" : message, script.toString());
+        } finally {
+            release(worker);
+        }
+    }
+
+    private OsascriptWorker acquire() throws IOException {
+        if (closed) throw new IOException("OsascriptWorkerPool is closed.");
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e.toString(), e);
+        }
+        try {
+            OsascriptWorker worker;
+            while ((worker = idleWorkers.pollFirst()) != null) {
+                if (isHealthy(worker)) return worker;
+                if (LOG.isLoggable(Level.WARNING)) LOG.warning("Discarding unhealthy worker " + worker);
+                discard(worker);
+            }
+            return start();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private boolean isHealthy(final OsascriptWorker worker) {
+        if (!worker.isAlive()) return false;
+        if (System.nanoTime() - worker.getLastUsed() < healthCheckIntervalNanos) return true;
+        return worker.ping(healthCheckTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private OsascriptWorker start() throws IOException {
+        final OsascriptWorker worker = new OsascriptWorker(command);
+        workers.add(worker);
+        startedWorkers.incrementAndGet();
+        return worker;
+    }
+
+    private void release(final OsascriptWorker worker) {
+        try {
+            if (closed || !worker.isAlive()) {
+                discard(worker);
+            } else if (worker.getExecutions() >= maxExecutions) {
+                if (LOG.isLoggable(Level.FINE)) LOG.fine("Recycling worker " + worker);
+                recycledWorkers.incrementAndGet();
+                discard(worker);
+            } else {
+                idleWorkers.offerFirst(worker);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(final OsascriptWorker worker) {
+        workers.remove(worker);
+        worker.close();
+    }
+
+    /**
+     * Idle time after which a worker is pinged before it is used again.
+     *
+     * @param interval interval
+     * @param unit time unit
+     */
+    public void setHealthCheckInterval(final long interval, final TimeUnit unit) {
+        this.healthCheckIntervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * Time a worker has to answer a ping.
+     *
+     * @param timeout timeout
+     * @param unit time unit
+     */
+    public void setHealthCheckTimeout(final long timeout, final TimeUnit unit) {
+        this.healthCheckTimeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Max time a worker may take to respond to a request. If the time is exceeded,
+     * the worker is destroyed and the execution fails with an {@link IOException}.
+     *
+     * @param timeout timeout
+     * @param unit time unit
+     */
+    public void setTimeout(final long timeout, final TimeUnit unit) {
+        if (timeout <= 0) throw new IllegalArgumentException("Timeout must be greater than 0: " + timeout);
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * @param unit time unit
+     * @return max time a worker may take to respond to a request
+     * @see #setTimeout(long, TimeUnit)
+     */
+    public long getTimeout(final TimeUnit unit) {
+        return unit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public List<String> getCommand() {
+        return command;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxExecutions() {
+        return maxExecutions;
+    }
+
+    /**
+     * @return number of currently running workers
+     */
+    public int getWorkerCount() {
+        return workers.size();
+    }
+
+    /**
+     * @return number of workers started since the pool was created
+     */
+    public int getStartedWorkerCount() {
+        return startedWorkers.get();
+    }
+
+    /**
+     * @return number of workers replaced, because they reached {@link #getMaxExecutions()}
+     */
+    public int getRecycledWorkerCount() {
+        return recycledWorkers.get();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Terminates all idle workers. Workers that are currently busy are
+     * terminated once their execution is done.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        OsascriptWorker worker;
+        while ((worker = idleWorkers.pollFirst()) != null) {
+            discard(worker);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OsascriptWorkerPool{" +
+            "size=" + size +
+            ", maxExecutions=" + maxExecutions +
+            ", workers=" + workers.size() +
+            ", command=" + command +
+            '}';
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Drains stdout and stderr of child processes using pooled threads,
+ * instead of starting two new {@link ReaderPump} threads per process.
+ * <p>
+ * Each stream is read with blocking reads by a task on a shared thread pool,
+ * so output is consumed as soon as it is written and a process never blocks on a full pipe.
+ * Therefore, every running process occupies two threads, one per stream, and the pool grows
+ * with the number of concurrently running processes. Pooling only saves starting new threads
+ * for each process: idle threads beyond the configured number terminate after a minute,
+ * the configured number of threads is kept for reuse.
+ * Output beyond the configured maximum is discarded and reported as {@link IOException}
+ * by {@link ProcessOutput#getStdout()} or {@link ProcessOutput#getStderr()}.
+ * <p>
+ * The shared instance is configured via the system properties {@value #THREADS_PROPERTY}
+ * (idle threads kept, default {@value #DEFAULT_THREADS}) and {@value #MAX_OUTPUT_PROPERTY}
+ * (max bytes per stream, default {@value #DEFAULT_MAX_OUTPUT}).
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class ProcessOutputReader implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(ProcessOutputReader.class.getName());
+    public static final String THREADS_PROPERTY = "japlscript.process.io.threads";
+    public static final String MAX_OUTPUT_PROPERTY = "japlscript.process.io.maxOutput";
+    public static final int DEFAULT_THREADS = 2;
+    public static final int DEFAULT_MAX_OUTPUT = 64 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static ProcessOutputReader instance;
+
+    private final int maxOutput;
+    private final int threads;
+    private final ThreadPoolExecutor executor;
+    private final Set<ProcessOutput> outputs = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Creates a reader.
+     *
+     * @param threads number of idle threads kept for reuse
+     * @param maxOutput max number of bytes kept per stream
+     */
+    public ProcessOutputReader(final int threads, final int maxOutput) {
+        if (threads < 1) throw new IllegalArgumentException("Number of threads must be at least 1: " + threads);
+        if (maxOutput < 0) throw new IllegalArgumentException("Max output must not be negative: " + maxOutput);
+        this.maxOutput = maxOutput;
+        this.threads = threads;
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, Integer.MAX_VALUE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), r -> {
+                final Thread thread = new Thread(r, "JaplScript Process I/O-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Shared reader, configured via {@value #THREADS_PROPERTY} and {@value #MAX_OUTPUT_PROPERTY}.
+     *
+     * @return shared instance
+     */
+    public static synchronized ProcessOutputReader getInstance() {
+        if (instance == null) {
+            instance = new ProcessOutputReader(Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS),
+                Integer.getInteger(MAX_OUTPUT_PROPERTY, DEFAULT_MAX_OUTPUT));
+        }
+        return instance;
+    }
+
+    /**
+     * Starts draining stdout and stderr of the given process.
+     * Register processes right after starting them, so that they never block on full pipes.
+     *
+     * @param process process
+     * @return handle to wait for the output
+     */
+    public ProcessOutput register(final Process process) {
+        if (closed) throw new IllegalStateException("ProcessOutputReader is closed.");
+        final ProcessOutput output = new ProcessOutput(process, maxOutput);
+        outputs.add(output);
+        try {
+            executor.execute(() -> drain(output, output.stdout));
+            executor.execute(() -> drain(output, output.stderr));
+        } catch (RejectedExecutionException e) {
+            output.abort(new IOException("ProcessOutputReader is closed.", e));
+            throw new IllegalStateException("ProcessOutputReader is closed.", e);
+        }
+        return output;
+    }
+
+    private void drain(final ProcessOutput output, final Stream stream) {
+        try {
+            stream.drain();
+        } finally {
+            output.done.countDown();
+            if (output.done.getCount() == 0) outputs.remove(output);
+        }
+    }
+
+    public int getMaxOutput() {
+        return maxOutput;
+    }
+
+    public int getThreadCount() {
+        return threads;
+    }
+
+    /**
+     * Stops all threads. Output of processes that are still registered is incomplete.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+        // blocking reads are not interruptible, so release waiting callers explicitly
+        for (final ProcessOutput output : outputs) {
+            output.abort(new IOException("ProcessOutputReader was closed."));
+        }
+        outputs.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessOutputReader{" +
+            "threads=" + threads +
+            ", maxOutput=" + maxOutput +
+            '}';
+    }
+
+    /**
+     * Output of a registered process.
+     */
+    public static class ProcessOutput {
+
+        private final Process process;
+        private final Stream stdout;
+        private final Stream stderr;
+        private final CountDownLatch done = new CountDownLatch(2);
+
+        private ProcessOutput(final Process process, final int maxOutput) {
+            this.process = process;
+            this.stdout = new Stream(process.getInputStream(), maxOutput);
+            this.stderr = new Stream(process.getErrorStream(), maxOutput);
+        }
+
+        /**
+         * Waits until the process has terminated and its output has been read.
+         *
+         * @return exit value
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public int waitFor() throws InterruptedException {
+            done.await();
+            return process.waitFor();
+        }
+
+        /**
+         * @return stdout, trimmed
+         * @throws IOException if reading stdout failed or the output exceeded the max size
+         */
+        public String getStdout() throws IOException {
+            return stdout.getValue();
+        }
+
+        /**
+         * @return stderr, trimmed
+         * @throws IOException if reading stderr failed or the output exceeded the max size
+         */
+        public String getStderr() throws IOException {
+            return stderr.getValue();
+        }
+
+        /**
+         * @return exception that occurred while reading stdout, or {@code null}
+         */
+        public IOException getStdoutIOException() {
+            return stdout.ioException;
+        }
+
+        /**
+         * @return exception that occurred while reading stderr, or {@code null}
+         */
+        public IOException getStderrIOException() {
+            return stderr.ioException;
+        }
+
+        private void abort(final IOException e) {
+            stdout.fail(e);
+            stderr.fail(e);
+            while (done.getCount() > 0) done.countDown();
+        }
+    }
+
+    /**
+     * Bounded buffer for one stream.
+     */
+    private static class Stream {
+
+        private final InputStream in;
+        private final int maxOutput;
+        private byte[] bytes = new byte[0];
+        private int length;
+        private volatile IOException ioException;
+
+        Stream(final InputStream in, final int maxOutput) {
+            this.in = in;
+            this.maxOutput = maxOutput;
+        }
+
+        /**
+         * Reads the stream to its end.
+         */
+        void drain() {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            try {
+                int count;
+                while ((count = in.read(buffer)) != -1) {
+                    append(buffer, count);
+                }
+            } catch (IOException e) {
+                fail(e);
+            } finally {
+                close();
+            }
+        }
+
+        private void append(final byte[] buffer, final int count) {
+            if (length + count > maxOutput) {
+                if (ioException == null) {
+                    ioException = new IOException("Process output exceeds " + maxOutput + " bytes.");
+                    if (LOG.isLoggable(Level.WARNING)) LOG.warning(ioException.getMessage() + " Discarding the rest.");
+                }
+                return;
+            }
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.min(maxOutput, Math.max(length + count, bytes.length * 2)));
+            }
+            System.arraycopy(buffer, 0, bytes, length, count);
+            length += count;
+        }
+
+        private void fail(final IOException e) {
+            if (LOG.isLoggable(Level.FINE)) LOG.log(Level.FINE, e.toString(), e);
+            if (ioException == null) ioException = e;
+        }
+
+        private void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                if (LOG.isLoggable(Level.FINE)) LOG.log(Level.FINE, e.toString(), e);
+            }
+        }
+
+        /**
+         * Must only be called after the stream has been drained.
+         */
+        String getValue() throws IOException {
+            if (ioException != null) throw ioException;
+            return new String(bytes, 0, length, UTF_8).trim();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe collection of recorded scripts and their results,
+ * used by the {@link ReplayScriptExecutor}.
+ * <p>
+ * Scripts are normalized before they are used as keys, i.e. line endings
+ * are unified and leading/trailing whitespace is removed.
+ * Corpora are persisted in the XML format of {@link Properties#storeToXML(OutputStream, String)},
+ * which copes with arbitrary, multi-line scripts.
+ * <p>
+ * To record a corpus on a Mac, register {@link #recorder()} as {@link ExecutionListener}
+ * and {@link #save(Path) save} the corpus once you are done.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class ReplayCorpus {
+
+    private final Map<String, String> results = new ConcurrentHashMap<>();
+
+    /**
+     * Loads a corpus previously stored with {@link #save(Path)}.
+     *
+     * @param file corpus file
+     * @return corpus
+     * @throws IOException if the file cannot be read
+     */
+    public static ReplayCorpus load(final Path file) throws IOException {
+        final Properties properties = new Properties();
+        try (final InputStream in = Files.newInputStream(file)) {
+            properties.loadFromXML(in);
+        }
+        final ReplayCorpus corpus = new ReplayCorpus();
+        for (final String script : properties.stringPropertyNames()) {
+            corpus.put(script, properties.getProperty(script));
+        }
+        return corpus;
+    }
+
+    /**
+     * Stores this corpus.
+     *
+     * @param file corpus file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final Path file) throws IOException {
+        final Properties properties = new Properties();
+        properties.putAll(results);
+        try (final OutputStream out = Files.newOutputStream(file)) {
+            properties.storeToXML(out, "JaplScript replay corpus");
+        }
+    }
+
+    /**
+     * Adds a script and its result.
+     *
+     * @param script script
+     * @param result result, as returned by {@link ScriptExecutor#execute()}
+     */
+    public void put(final CharSequence script, final String result) {
+        results.put(normalize(script), result == null ? "" : result);
+    }
+
+    /**
+     * Looks up the recorded result for the given script.
+     *
+     * @param script script
+     * @return result or {@code null}, if the script has not been recorded
+     */
+    public String get(final CharSequence script) {
+        return results.get(normalize(script));
+    }
+
+    /**
+     * Indicates whether the corpus contains a result for the given script.
+     *
+     * @param script script
+     * @return true or false
+     */
+    public boolean contains(final CharSequence script) {
+        return results.containsKey(normalize(script));
+    }
+
+    /**
+     * Number of recorded scripts.
+     *
+     * @return size
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Creates a listener that adds every finished execution to this corpus.
+     *
+     * @return recording listener
+     * @see ScriptExecutor#addExecutionListener(ExecutionListener)
+     */
+    public ExecutionListener recorder() {
+        return e -> {
+            if (e.isFinished() && e.getResult() != null) {
+                put(e.getScript(), e.getResult().toString());
+            }
+        };
+    }
+
+    private static String normalize(final CharSequence script) {
+        return script.toString().replace("\r\n", "\n").replace('\r', '\n').trim();
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayCorpus{size=" + results.size() + '}';
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executor that does not execute anything, but answers scripts from a
+ * recorded {@link ReplayCorpus}, optionally after some synthetic latency.
+ * This allows running and load-testing everything above the executor on
+ * systems that are not macOS.
+ * <p>
+ * The corpus and latency can be set programmatically or via the
+ * system properties {@value #CORPUS_PROPERTY} (path to a corpus file) and
+ * {@value #LATENCY_PROPERTY} (latency in milliseconds, either fixed, e.g. {@code 15},
+ * or a uniformly distributed range, e.g. {@code 5-20}).
+ * <p>
+ * Scripts that are not part of the corpus lead to a {@link JaplScriptException}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see ReplayScriptExecutorProvider
+ */
+public class ReplayScriptExecutor extends ScriptExecutor {
+
+    private static final Logger LOG = Logger.getLogger(ReplayScriptExecutor.class.getName());
+    public static final String CORPUS_PROPERTY = "japlscript.replay.corpus";
+    public static final String LATENCY_PROPERTY = "japlscript.replay.latency";
+    private static volatile ReplayCorpus corpus;
+    private static volatile long minLatencyNanos;
+    private static volatile long maxLatencyNanos;
+
+    static {
+        final String latency = System.getProperty(LATENCY_PROPERTY);
+        if (latency != null) {
+            try {
+                final int dash = latency.indexOf('-');
+                if (dash > 0) {
+                    setLatency(Long.parseLong(latency.substring(0, dash).trim()),
+                        Long.parseLong(latency.substring(dash + 1).trim()), TimeUnit.MILLISECONDS);
+                } else {
+                    final long millis = Long.parseLong(latency.trim());
+                    setLatency(millis, millis, TimeUnit.MILLISECONDS);
+                }
+            } catch (RuntimeException e) {
+                LOG.log(Level.SEVERE, "Failed to parse " + LATENCY_PROPERTY + "=" + latency, e);
+            }
+        }
+    }
+
+    /**
+     * Currently configured corpus. If none has been set explicitly, an attempt
+     * is made to load the file specified by {@value #CORPUS_PROPERTY}.
+     *
+     * @return corpus or {@code null}, if not configured
+     */
+    public static ReplayCorpus getCorpus() {
+        if (corpus == null) {
+            synchronized (ReplayScriptExecutor.class) {
+                final String corpusFile = System.getProperty(CORPUS_PROPERTY);
+                if (corpus == null && corpusFile != null) {
+                    try {
+                        corpus = ReplayCorpus.load(Paths.get(corpusFile));
+                        if (LOG.isLoggable(Level.INFO)) LOG.info("Loaded replay corpus " + corpusFile + ": " + corpus);
+                    } catch (IOException e) {
+                        LOG.log(Level.SEVERE, "Failed to load replay corpus " + corpusFile, e);
+                    }
+                }
+            }
+        }
+        return corpus;
+    }
+
+    /**
+     * Sets the corpus used by all replay executors.
+     *
+     * @param corpus corpus or {@code null} to disable replaying
+     */
+    public static void setCorpus(final ReplayCorpus corpus) {
+        ReplayScriptExecutor.corpus = corpus;
+    }
+
+    /**
+     * Sets the synthetic latency for each execution.
+     * The actual latency is uniformly distributed between min and max.
+     *
+     * @param min minimum latency
+     * @param max maximum latency
+     * @param unit time unit
+     */
+    public static void setLatency(final long min, final long max, final TimeUnit unit) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Illegal latency range: " + min + "-" + max);
+        }
+        minLatencyNanos = unit.toNanos(min);
+        maxLatencyNanos = unit.toNanos(max);
+    }
+
+    /**
+     * @return minimum latency in nanoseconds
+     */
+    public static long getMinLatencyNanos() {
+        return minLatencyNanos;
+    }
+
+    /**
+     * @return maximum latency in nanoseconds
+     */
+    public static long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    protected String executeImpl() throws IOException {
+        final ReplayCorpus corpus = getCorpus();
+        if (corpus == null) {
+            throw new IOException("No replay corpus configured. Set " + CORPUS_PROPERTY
+                + " or call ReplayScriptExecutor.setCorpus().");
+        }
+        simulateLatency();
+        final String returnValue = corpus.get(getScript());
+        if (returnValue == null) {
+            throw new JaplScriptException("No recorded result for script.", getScript().toString());
+        }
+        if (LOG.isLoggable(Level.FINE) && !returnValue.isEmpty()) {
+            LOG.fine("Return value: " + returnValue.substring(0, Math.min(MAX_RETURNVALUE_LOG_LENGTH,
+                returnValue.length())));
+        }
+        return returnValue;
+    }
+
+    private static void simulateLatency() throws IOException {
+        final long min = minLatencyNanos;
+        final long max = maxLatencyNanos;
+        if (max <= 0) return;
+        final long latency = min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+        try {
+            TimeUnit.NANOSECONDS.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e.toString(), e);
+        }
+    }
+}
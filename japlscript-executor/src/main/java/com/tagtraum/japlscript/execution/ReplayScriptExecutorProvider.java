@@ -0,0 +1,46 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+/**
+ * Provider for the {@link ReplayScriptExecutor}.
+ * It is only available, if a {@link ReplayCorpus} has been configured, and has
+ * the lowest priority of the built-in providers. On macOS you therefore
+ * have to select it explicitly via {@value ScriptExecutor#EXECUTOR_PROPERTY}{@code =}{@value #NAME}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class ReplayScriptExecutorProvider implements ScriptExecutorProvider {
+
+    public static final String NAME = "replay";
+    public static final int PRIORITY = 0;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return ReplayScriptExecutor.getCorpus() != null;
+    }
+
+    @Override
+    public ScriptExecutor newInstance() {
+        return new ReplayScriptExecutor();
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayScriptExecutorProvider{priority=" + PRIORITY + '}';
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+/**
+ * Single-pass tokenizer for AppleScript values in source form, as returned by
+ * {@code osascript -s s} or the Cocoa executor.
+ * <p>
+ * Emits the structural tokens of lists and records ({@code {}}, {@code ,} and {@code :})
+ * and {@link Token#VALUE values}, i.e. everything else, like numbers, strings with
+ * escapes, chevrons ({@code «class pnam»}), object specifiers
+ * ({@code track id 5 of playlist id 3 of application "Music"}) or {@code missing value}.
+ * Tokens are reported as offsets into the original text, so nothing is copied,
+ * unless {@link #getValue()} is called.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class ResultTokenizer {
+
+    /**
+     * Token types.
+     */
+    public enum Token {
+        /** Start of a list or record: <code>{</code> */
+        BEGIN,
+        /** End of a list or record: <code>}</code> */
+        END,
+        /** Item separator: {@code ,} */
+        COMMA,
+        /** Separator between record key and value: {@code :} */
+        COLON,
+        /** Any other value, without surrounding whitespace. */
+        VALUE,
+        /** End of input. */
+        EOF
+    }
+
+    private final CharSequence text;
+    private final int limit;
+    private int position;
+    private int start;
+    private int end;
+    private Token token;
+
+    /**
+     * Creates a tokenizer for the whole text.
+     *
+     * @param text text
+     */
+    public ResultTokenizer(final CharSequence text) {
+        this(text, 0, text.length());
+    }
+
+    /**
+     * Creates a tokenizer for a region of the given text.
+     *
+     * @param text text
+     * @param start start offset (inclusive)
+     * @param end end offset (exclusive)
+     */
+    public ResultTokenizer(final CharSequence text, final int start, final int end) {
+        if (start < 0 || end > text.length() || start > end) {
+            throw new IndexOutOfBoundsException("start=" + start + ", end=" + end + ", length=" + text.length());
+        }
+        this.text = text;
+        this.position = start;
+        this.limit = end;
+    }
+
+    /**
+     * Advances to the next token.
+     *
+     * @return token
+     */
+    public Token next() {
+        while (position < limit && Character.isWhitespace(text.charAt(position))) position++;
+        start = position;
+        if (position == limit) {
+            end = position;
+            return token = Token.EOF;
+        }
+        final char c = text.charAt(position);
+        switch (c) {
+            case '{':
+                end = ++position;
+                return token = Token.BEGIN;
+            case '}':
+                end = ++position;
+                return token = Token.END;
+            case ',':
+                end = ++position;
+                return token = Token.COMMA;
+            case ':':
+                end = ++position;
+                return token = Token.COLON;
+            default:
+                scanValue();
+                return token = Token.VALUE;
+        }
+    }
+
+    /**
+     * Looks at the next token without consuming it.
+     *
+     * @return next token
+     */
+    public Token peek() {
+        final int savedPosition = position;
+        final int savedStart = start;
+        final int savedEnd = end;
+        final Token savedToken = token;
+        final Token next = next();
+        position = savedPosition;
+        start = savedStart;
+        end = savedEnd;
+        token = savedToken;
+        return next;
+    }
+
+    /**
+     * Skips to the {@link Token#END} matching the current {@link Token#BEGIN}.
+     * Afterwards, {@link #getEnd()} points right after the closing brace.
+     *
+     * @throws IllegalStateException if the current token is not {@link Token#BEGIN}
+     */
+    public void skipNested() {
+        if (token != Token.BEGIN) throw new IllegalStateException("Current token is not BEGIN, but " + token);
+        final int begin = start;
+        int depth = 1;
+        while (depth > 0) {
+            final Token t = next();
+            if (t == Token.BEGIN) depth++;
+            else if (t == Token.END) depth--;
+            else if (t == Token.EOF) break;
+        }
+        start = begin;
+        token = Token.END;
+    }
+
+    /**
+     * Counts the remaining items of the current list or record without consuming any tokens,
+     * i.e. the non-empty items up to the next {@link Token#END} or {@link Token#EOF}
+     * on the current nesting level.
+     *
+     * @return number of items
+     */
+    public int countItems() {
+        final int savedPosition = position;
+        final int savedStart = start;
+        final int savedEnd = end;
+        final Token savedToken = token;
+        int count = 0;
+        boolean item = false;
+        boolean done = false;
+        while (!done) {
+            switch (next()) {
+                case BEGIN:
+                    skipNested();
+                    item = true;
+                    break;
+                case VALUE:
+                case COLON:
+                    item = true;
+                    break;
+                case COMMA:
+                    if (item) count++;
+                    item = false;
+                    break;
+                default:
+                    if (item) count++;
+                    done = true;
+            }
+        }
+        position = savedPosition;
+        start = savedStart;
+        end = savedEnd;
+        token = savedToken;
+        return count;
+    }
+
+    /**
+     * Checks without consuming any tokens, whether the current list or record is a record,
+     * i.e. whether its first item is a key followed by {@link Token#COLON}.
+     * Empty braces are reported as list.
+     *
+     * @return true, if the current list or record is a record
+     */
+    public boolean isRecord() {
+        final int savedPosition = position;
+        final int savedStart = start;
+        final int savedEnd = end;
+        final Token savedToken = token;
+        final boolean record = next() == Token.VALUE && next() == Token.COLON;
+        position = savedPosition;
+        start = savedStart;
+        end = savedEnd;
+        token = savedToken;
+        return record;
+    }
+
+    private void scanValue() {
+        int lastNonWhitespace = position;
+        int depth = 0;
+        while (position < limit) {
+            final char c = text.charAt(position);
+            if (depth == 0 && (c == ',' || c == '}' || c == ':')) break;
+            switch (c) {
+                case '"':
+                    position = skipString(position);
+                    break;
+                case '«':
+                    position = skipTo(position, '»');
+                    break;
+                case '|':
+                    position = skipTo(position, '|');
+                    break;
+                case '{':
+                    depth++;
+                    position++;
+                    break;
+                case '}':
+                    depth--;
+                    position++;
+                    break;
+                default:
+                    position++;
+            }
+            if (!Character.isWhitespace(c)) lastNonWhitespace = position;
+        }
+        end = lastNonWhitespace;
+    }
+
+    private int skipString(final int quote) {
+        for (int i = quote + 1; i < limit; i++) {
+            final char c = text.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '"') return i + 1;
+        }
+        return limit;
+    }
+
+    private int skipTo(final int open, final char close) {
+        for (int i = open + 1; i < limit; i++) {
+            if (text.charAt(i) == close) return i + 1;
+        }
+        return limit;
+    }
+
+    /**
+     * @return current token
+     */
+    public Token getToken() {
+        return token;
+    }
+
+    /**
+     * @return start offset of the current token (inclusive)
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * @return end offset of the current token (exclusive)
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return the underlying text
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Copies the current token.
+     *
+     * @return text of the current token
+     */
+    public String getValue() {
+        return text.subSequence(start, end).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultTokenizer{" +
+            "token=" + token +
+            ", start=" + start +
+            ", end=" + end +
+            '}';
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers events asynchronously on a single, dedicated daemon thread.
+ * Events are queued in a fixed-size ring buffer, so that executing threads
+ * never block on slow listeners. If the buffer is full, new events are dropped
+ * (see {@link #getDroppedEventCount()}).
+ * Events are delivered in the order in which they were dispatched.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class RingBufferExecutionEventDispatcher implements ExecutionEventDispatcher, AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(RingBufferExecutionEventDispatcher.class.getName());
+    public static final String NAME = "async";
+    public static final int DEFAULT_CAPACITY = 1024;
+    private final ExecutionEvent[] events;
+    private final Iterable<?>[] listeners;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final Thread consumer;
+    private int head;
+    private int count;
+    private boolean delivering;
+    private volatile boolean closed;
+
+    public RingBufferExecutionEventDispatcher() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a dispatcher and starts its delivery thread.
+     *
+     * @param capacity max number of undelivered events
+     */
+    public RingBufferExecutionEventDispatcher(final int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        this.events = new ExecutionEvent[capacity];
+        this.listeners = new Iterable<?>[capacity];
+        this.consumer = new Thread(this::deliverEvents, "JaplScript ExecutionEvent Dispatcher");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @Override
+    public void dispatch(final ExecutionEvent event, final Iterable<ExecutionListener> listeners) {
+        if (closed) return;
+        lock.lock();
+        try {
+            if (count == events.length) {
+                final long dropped = droppedEvents.incrementAndGet();
+                if (dropped == 1 && LOG.isLoggable(Level.WARNING)) {
+                    LOG.warning("ExecutionEvent buffer is full. Dropping events.");
+                }
+                return;
+            }
+            final int tail = (head + count) % events.length;
+            this.events[tail] = event;
+            this.listeners[tail] = listeners;
+            count++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliverEvents() {
+        while (!closed) {
+            final ExecutionEvent event;
+            final Iterable<ExecutionListener> eventListeners;
+            lock.lock();
+            try {
+                delivering = false;
+                while (count == 0) {
+                    idle.signalAll();
+                    notEmpty.await();
+                }
+                event = events[head];
+                eventListeners = (Iterable<ExecutionListener>) listeners[head];
+                events[head] = null;
+                listeners[head] = null;
+                head = (head + 1) % events.length;
+                count--;
+                delivering = true;
+            } catch (InterruptedException e) {
+                break;
+            } finally {
+                lock.unlock();
+            }
+            DirectExecutionEventDispatcher.deliver(event, eventListeners);
+        }
+    }
+
+    /**
+     * Waits until all dispatched events have been delivered.
+     *
+     * @param timeout timeout
+     * @param unit time unit
+     * @return true, if all events were delivered, false if the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitDelivery(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (count > 0 || delivering) {
+                if (nanos <= 0) return false;
+                nanos = idle.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return max number of undelivered events
+     */
+    public int getCapacity() {
+        return events.length;
+    }
+
+    /**
+     * @return number of events that were dropped, because the buffer was full
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Stops the delivery thread. Undelivered events are discarded.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        consumer.interrupt();
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferExecutionEventDispatcher{" +
+            "capacity=" + events.length +
+            ", dropped=" + droppedEvents.get() +
+            '}';
+    }
+}
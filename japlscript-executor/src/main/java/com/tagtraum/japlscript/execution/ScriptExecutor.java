@@ -6,10 +6,19 @@
  */
 package com.tagtraum.japlscript.execution;
 
-import javax.swing.*;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,10 +33,22 @@ import java.util.logging.Logger;
 public abstract class ScriptExecutor {
 
     private static final Logger LOG = Logger.getLogger(ScriptExecutor.class.getName());
-    private final static List<ExecutionListener> listeners = new ArrayList<>();
+    private final static List<ExecutionListener> listeners = new CopyOnWriteArrayList<>();
     private static boolean preferOsascript;
     private static boolean cocoaScriptExecutorAvailable;
     public static final int MAX_RETURNVALUE_LOG_LENGTH = 1024;
+    /**
+     * System property that allows forcing the use of a specific {@link ScriptExecutorProvider},
+     * identified by its {@link ScriptExecutorProvider#getName() name}.
+     */
+    public static final String EXECUTOR_PROPERTY = "japlscript.executor";
+    /**
+     * System property that selects the {@link ExecutionEventDispatcher}, either
+     * {@value EDTExecutionEventDispatcher#NAME} (default), {@value DirectExecutionEventDispatcher#NAME},
+     * or {@value RingBufferExecutionEventDispatcher#NAME}.
+     */
+    public static final String DISPATCHER_PROPERTY = "japlscript.listener.dispatcher";
+    private static volatile ExecutionEventDispatcher dispatcher = createDispatcher(System.getProperty(DISPATCHER_PROPERTY));
     static {
         try {
             new CocoaScriptExecutor();
@@ -38,14 +59,19 @@ public abstract class ScriptExecutor {
             if (LOG.isLoggable(Level.INFO)) LOG.info("Cocoa AppleScript support not available. Will use Osascript.");
         }
     }
+    private static final List<ScriptExecutorProvider> providers = loadProviders();
+    private static final ScriptExecutorProvider osascriptProvider = new OsascriptProvider();
+    private static final ExecutorService DEFAULT_ASYNC_EXECUTOR = Executors.newCachedThreadPool(new AsyncThreadFactory());
+    private static volatile Executor asyncExecutor = DEFAULT_ASYNC_EXECUTOR;
 
     private CharSequence script;
 
     /**
      * Adds an {@link ExecutionListener} to this executor.
-     * Notifications happen on the EDT.
+     * By default, notifications happen on the EDT.
      *
      * @param listener listener to add
+     * @see #setExecutionEventDispatcher(ExecutionEventDispatcher)
      */
     public static void addExecutionListener(final ExecutionListener listener) {
         listeners.add(listener);
@@ -61,6 +87,34 @@ public abstract class ScriptExecutor {
         return listeners.remove(listener);
     }
 
+    /**
+     * Current dispatcher for {@link ExecutionEvent}s.
+     *
+     * @return dispatcher
+     */
+    public static ExecutionEventDispatcher getExecutionEventDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Sets the dispatcher used to deliver {@link ExecutionEvent}s to listeners.
+     *
+     * @param dispatcher dispatcher or {@code null} to restore the default
+     * @see #DISPATCHER_PROPERTY
+     */
+    public static void setExecutionEventDispatcher(final ExecutionEventDispatcher dispatcher) {
+        ScriptExecutor.dispatcher = dispatcher == null ? new EDTExecutionEventDispatcher() : dispatcher;
+    }
+
+    private static ExecutionEventDispatcher createDispatcher(final String name) {
+        if (DirectExecutionEventDispatcher.NAME.equals(name)) return new DirectExecutionEventDispatcher();
+        if (RingBufferExecutionEventDispatcher.NAME.equals(name)) return new RingBufferExecutionEventDispatcher();
+        if (name != null && !EDTExecutionEventDispatcher.NAME.equals(name) && LOG.isLoggable(Level.WARNING)) {
+            LOG.warning("Unknown " + DISPATCHER_PROPERTY + "=" + name + ". Using " + EDTExecutionEventDispatcher.NAME + ".");
+        }
+        return new EDTExecutionEventDispatcher();
+    }
+
     /**
      * Sets the script to execute.
      *
@@ -88,31 +142,77 @@ public abstract class ScriptExecutor {
      * @see #getScript()
      */
     public String execute() throws IOException {
-        final String script = getScript().toString();
-        final ExecutionEvent startEvent = new ExecutionEvent(this, script, true, null);
-        SwingUtilities.invokeLater(
-            () -> {
-                for (final ExecutionListener l: listeners) {
-                    l.executing(startEvent);
-                }
-            }
-        );
+        // don't create any events, if nobody listens
+        final String script = listeners.isEmpty() ? null : getScript().toString();
+        if (script != null) dispatcher.dispatch(new ExecutionEvent(this, script, true, null), listeners);
+        final ExecutionMetrics metrics = ExecutionMetrics.getInstance();
+        final boolean measure = metrics.isEnabled();
+        final long start = measure ? System.nanoTime() : 0L;
         String result = null;
+        Throwable error = null;
         try {
             result = executeImpl();
             return result;
+        } catch (IOException | RuntimeException | Error e) {
+            error = e;
+            throw e;
         } finally {
-            final ExecutionEvent stopEvent = new ExecutionEvent(this, script, false, result);
-            SwingUtilities.invokeLater(
-                () -> {
-                    for (final ExecutionListener l: listeners) {
-                        l.executing(stopEvent);
-                    }
-                }
-            );
+            if (measure) {
+                metrics.recordExecution(getClass().getSimpleName(), getScript(), result, error, System.nanoTime() - start);
+            }
+            if (!listeners.isEmpty()) {
+                dispatcher.dispatch(new ExecutionEvent(this, script != null ? script : getScript().toString(),
+                    false, result), listeners);
+            }
         }
     }
 
+    /**
+     * Executes the current script asynchronously on the
+     * {@link #getAsyncExecutor() async executor}.
+     *
+     * @return future return value. Cancelling the future with {@code mayInterruptIfRunning=true}
+     * interrupts the execution.
+     * @see #execute()
+     */
+    public CompletableFuture<String> executeAsync() {
+        return executeAsync(asyncExecutor);
+    }
+
+    /**
+     * Executes the current script asynchronously on the given executor.
+     *
+     * @param executor executor
+     * @return future return value. Cancelling the future with {@code mayInterruptIfRunning=true}
+     * interrupts the execution.
+     * @see #execute()
+     */
+    public CompletableFuture<String> executeAsync(final Executor executor) {
+        return CancellableFuture.callAsync(this::execute, executor);
+    }
+
+    /**
+     * Executor used for asynchronous executions, unless specified otherwise.
+     * By default, this is an unbounded cached thread pool with daemon threads,
+     * i.e. every execution that runs concurrently with others gets its own thread,
+     * and threads are reused once idle. Use {@link #setAsyncExecutor(Executor)}
+     * to limit the number of threads.
+     *
+     * @return executor
+     */
+    public static Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Sets the executor used for asynchronous executions.
+     *
+     * @param executor executor or {@code null} to restore the default
+     */
+    public static void setAsyncExecutor(final Executor executor) {
+        ScriptExecutor.asyncExecutor = executor == null ? DEFAULT_ASYNC_EXECUTOR : executor;
+    }
+
     /**
      * Actual implementation for the execution.
      *
@@ -122,13 +222,54 @@ public abstract class ScriptExecutor {
     protected abstract String executeImpl() throws IOException;
 
     /**
-     * Create a new ScriptExecutor.
+     * Create a new ScriptExecutor, using the {@link ScriptExecutorProvider}
+     * returned by {@link #getProvider()}.
      *
      * @return script executor
      */
     public static ScriptExecutor newInstance() {
-        if (cocoaScriptExecutorAvailable && !preferOsascript) return new CocoaScriptExecutor();
-        else return new Osascript();
+        return getProvider().newInstance();
+    }
+
+    /**
+     * Selects the provider used by {@link #newInstance()} according to the
+     * rules described in {@link ScriptExecutorProvider}.
+     *
+     * @return provider
+     */
+    public static ScriptExecutorProvider getProvider() {
+        final String name = System.getProperty(EXECUTOR_PROPERTY);
+        if (name != null) {
+            for (final ScriptExecutorProvider provider : providers) {
+                if (provider.getName().equals(name) && provider.isAvailable()) return provider;
+            }
+            if (LOG.isLoggable(Level.WARNING)) LOG.warning("Requested ScriptExecutorProvider \"" + name
+                + "\" is not available. Available providers: " + providers);
+        }
+        if (preferOsascript) return osascriptProvider;
+        for (final ScriptExecutorProvider provider : providers) {
+            if (provider.isAvailable()) return provider;
+        }
+        return osascriptProvider;
+    }
+
+    /**
+     * All registered providers, ordered by descending priority.
+     *
+     * @return unmodifiable list of providers
+     */
+    public static List<ScriptExecutorProvider> getProviders() {
+        return providers;
+    }
+
+    private static List<ScriptExecutorProvider> loadProviders() {
+        final List<ScriptExecutorProvider> list = new ArrayList<>();
+        for (final ScriptExecutorProvider provider : ServiceLoader.load(ScriptExecutorProvider.class)) {
+            list.add(provider);
+        }
+        list.sort(Comparator.comparingInt(ScriptExecutorProvider::getPriority).reversed());
+        if (LOG.isLoggable(Level.FINE)) LOG.fine("ScriptExecutorProviders: " + list);
+        return Collections.unmodifiableList(list);
     }
 
     /**
@@ -165,4 +306,16 @@ public abstract class ScriptExecutor {
     public static boolean isCocoaScriptExecutorAvailable() {
         return cocoaScriptExecutorAvailable;
     }
+
+    private static class AsyncThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "JaplScript Async " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
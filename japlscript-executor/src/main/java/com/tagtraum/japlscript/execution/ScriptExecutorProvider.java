@@ -0,0 +1,64 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+/**
+ * Service provider interface for {@link ScriptExecutor} implementations.
+ * Providers are discovered via {@link java.util.ServiceLoader}, i.e. they
+ * have to be declared either in {@code module-info.java} using
+ * {@code provides ... with ...} or in
+ * {@code META-INF/services/com.tagtraum.japlscript.execution.ScriptExecutorProvider}.
+ * <p>
+ * When asked for a new executor via {@link ScriptExecutor#newInstance()}, the
+ * following rules apply:
+ * <ol>
+ * <li>If the system property {@value ScriptExecutor#EXECUTOR_PROPERTY} names an
+ * available provider, that provider is used.</li>
+ * <li>If {@link ScriptExecutor#isPreferOsascript()} is {@code true},
+ * the {@link Osascript} provider is used.</li>
+ * <li>Otherwise the available provider with the highest {@link #getPriority() priority}
+ * is used.</li>
+ * <li>If no provider is available at all, {@link Osascript} is used.</li>
+ * </ol>
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see ScriptExecutor#newInstance()
+ */
+public interface ScriptExecutorProvider {
+
+    /**
+     * Unique, short name of this provider, e.g. {@code osascript}.
+     * This name can be used with the system property
+     * {@value ScriptExecutor#EXECUTOR_PROPERTY} to force the use of this provider.
+     *
+     * @return name
+     */
+    String getName();
+
+    /**
+     * Priority of this provider. Among all available providers,
+     * the one with the highest priority is chosen.
+     *
+     * @return priority
+     */
+    int getPriority();
+
+    /**
+     * Indicates whether this provider can create working executors
+     * in the current environment.
+     *
+     * @return true or false
+     */
+    boolean isAvailable();
+
+    /**
+     * Creates a new {@link ScriptExecutor}.
+     *
+     * @return new executor
+     */
+    ScriptExecutor newInstance();
+}
@@ -0,0 +1,236 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Script split into a stable template and per-call arguments.
+ * <p>
+ * {@link #of(CharSequence)} replaces string and integer literals of a script with variables
+ * that are bound to the items of {@code argv} in an {@code on run argv} handler.
+ * Scripts that only differ in their literals, like {@code get name of track 17} and
+ * {@code get name of track 18}, therefore share the same template, which needs to be
+ * compiled only once. Arguments are passed as plain text, i.e. they do not need to be escaped.
+ * <p>
+ * Literals that have to be known at compile time, like application names in
+ * {@code tell application "Music"}, are kept, as are reals, whose text
+ * representation depends on the locale. Scripts that declare handlers, properties
+ * or script objects are not parameterized at all.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class ScriptTemplate {
+
+    /**
+     * Prefix of the variables, arguments are bound to.
+     */
+    public static final String ARGUMENT_PREFIX = "japlscript_arg";
+    /**
+     * Max total length of arguments. Longer literals are kept in the template,
+     * to stay well below the command line length limit.
+     */
+    public static final int MAX_ARGUMENTS_LENGTH = 64 * 1024;
+    private static final int MAX_INTEGER = 536870911;
+    private static final Pattern APPLICATION = Pattern.compile("(?i)\\b(application|app)(\\s+id)?\\s*$");
+    private static final Pattern DECLARATION = Pattern.compile("(?im)^\\s*(on(?!\\s+error\\b)|to|property|script)\\s");
+
+    private final String template;
+    private final List<String> arguments;
+
+    /**
+     * Creates a template.
+     *
+     * @param template script with an {@code on run argv} handler
+     * @param arguments arguments
+     */
+    public ScriptTemplate(final String template, final List<String> arguments) {
+        this.template = template;
+        this.arguments = Collections.unmodifiableList(new ArrayList<>(arguments));
+    }
+
+    /**
+     * Extracts literals from the given script.
+     *
+     * @param script script
+     * @return template, possibly without arguments, if the script cannot be or does not need to be parameterized
+     */
+    public static ScriptTemplate of(final CharSequence script) {
+        final String source = script.toString();
+        if (DECLARATION.matcher(source).find()) return new ScriptTemplate(source, Collections.emptyList());
+        final StringBuilder body = new StringBuilder(source.length());
+        final StringBuilder bindings = new StringBuilder();
+        final List<String> arguments = new ArrayList<>();
+        int argumentsLength = 0;
+        final int length = source.length();
+        int i = 0;
+        while (i < length) {
+            final char c = source.charAt(i);
+            if (c == '"') {
+                final int end = findStringEnd(source, i);
+                if (end < 0) return new ScriptTemplate(source, Collections.emptyList());
+                final String value = unescape(source, i + 1, end);
+                if (value != null && value.indexOf('\0') < 0
+                    && argumentsLength + value.length() <= MAX_ARGUMENTS_LENGTH
+                    && !APPLICATION.matcher(body.subSequence(Math.max(0, body.length() - 32), body.length())).find()) {
+                    arguments.add(value);
+                    argumentsLength += value.length();
+                    bind(bindings, body, arguments.size(), false);
+                } else {
+                    body.append(source, i, end + 1);
+                }
+                i = end + 1;
+            } else if (c == '«') {
+                i = copyUntil(source, i, "»", body);
+            } else if (c == '|') {
+                i = copyUntil(source, i, "|", body);
+            } else if (c == '-' && i + 1 < length && source.charAt(i + 1) == '-'
+                || c == '#' && (i == 0 || source.charAt(i - 1) == '\n' || source.charAt(i - 1) == '\r')) {
+                i = copyLineComment(source, i, body);
+            } else if (c == '(' && i + 1 < length && source.charAt(i + 1) == '*') {
+                i = copyUntil(source, i, "*)", body);
+            } else if (isDigit(c) && (i == 0 || !isIdentifierPart(source.charAt(i - 1)))) {
+                int end = i;
+                while (end < length && isDigit(source.charAt(end))) end++;
+                final boolean real = end < length && (source.charAt(end) == '.' || source.charAt(end) == 'e'
+                    || source.charAt(end) == 'E' || isIdentifierPart(source.charAt(end)));
+                if (real) {
+                    // copy reals (and anything else that's not a plain integer) as is
+                    while (end < length && (isIdentifierPart(source.charAt(end)) || source.charAt(end) == '.'
+                        || (source.charAt(end) == '+' || source.charAt(end) == '-')
+                            && (source.charAt(end - 1) == 'e' || source.charAt(end - 1) == 'E'))) end++;
+                    body.append(source, i, end);
+                } else {
+                    final String value = source.substring(i, end);
+                    if (end - i <= 9 && Integer.parseInt(value) <= MAX_INTEGER
+                        && argumentsLength + value.length() <= MAX_ARGUMENTS_LENGTH) {
+                        arguments.add(value);
+                        argumentsLength += value.length();
+                        bind(bindings, body, arguments.size(), true);
+                    } else {
+                        body.append(value);
+                    }
+                }
+                i = end;
+            } else {
+                body.append(c);
+                i++;
+            }
+        }
+        if (arguments.isEmpty()) return new ScriptTemplate(source, Collections.emptyList());
+        final String template = "on run argv\r\n" + bindings + body + "\r\nend run\r\n";
+        return new ScriptTemplate(template, arguments);
+    }
+
+    private static void bind(final StringBuilder bindings, final StringBuilder body, final int n, final boolean integer) {
+        bindings.append("set ").append(ARGUMENT_PREFIX).append(n).append(" to ");
+        if (integer) {
+            bindings.append("(item ").append(n).append(" of argv) as integer\r\n");
+        } else {
+            bindings.append("item ").append(n).append(" of argv\r\n");
+        }
+        body.append(ARGUMENT_PREFIX).append(n);
+    }
+
+    private static int findStringEnd(final String source, final int start) {
+        for (int i = start + 1; i < source.length(); i++) {
+            final char c = source.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '"') return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Resolves AppleScript escape sequences.
+     *
+     * @return unescaped string or {@code null}, if it contains unknown escape sequences
+     */
+    private static String unescape(final String source, final int start, final int end) {
+        final StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            final char c = source.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            final char next = source.charAt(++i);
+            switch (next) {
+                case '"':
+                case '\\':
+                    sb.append(next);
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int copyUntil(final String source, final int start, final String terminator, final StringBuilder body) {
+        final int end = source.indexOf(terminator, start + 1);
+        final int next = end < 0 ? source.length() : end + terminator.length();
+        body.append(source, start, next);
+        return next;
+    }
+
+    private static int copyLineComment(final String source, final int start, final StringBuilder body) {
+        int end = start;
+        while (end < source.length() && source.charAt(end) != '\n' && source.charAt(end) != '\r') end++;
+        body.append(source, start, end);
+        return end;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /**
+     * @return script to compile
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return arguments to pass to the compiled script
+     */
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @return true, if literals were extracted
+     */
+    public boolean isParameterized() {
+        return !arguments.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ScriptTemplate{" +
+            "arguments=" + arguments +
+            ", template='" + template + '\'' +
+            '}';
+    }
+}
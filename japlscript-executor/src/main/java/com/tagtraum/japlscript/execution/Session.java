@@ -9,6 +9,8 @@ package com.tagtraum.japlscript.execution;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Logger;
 
 /**
@@ -24,6 +26,11 @@ import java.util.logging.Logger;
  * </ul>
  * <p>
  * In order to "rollback" any uncommitted AppleScript fragments, call {@link #reset()}.
+ * <p>
+ * In {@link #setPipelined(boolean) pipelined} mode, fragments whose results are needed
+ * can be added via {@link #submit(CharSequence)}. Each of them returns a future, that is
+ * completed once the session is {@link #commit() committed} or {@link #flush() flushed}.
+ * All fragments are still executed in one script, which collects the results in a list.
  *
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
@@ -32,9 +39,13 @@ public class Session {
     private static final Logger LOG = Logger.getLogger(Session.class.getName());
     private static final ThreadLocal<Session> SESSIONS = new ThreadLocal<>();
     public static final int DEFAULT_TIMEOUT = -1;
+    private static final String RESULTS = "japlscript_results";
+    private static final String FRAGMENT = "japlscript_fragment";
     private StringBuilder script;
+    private List<CompletableFuture<String>> futures = new ArrayList<>();
     private boolean ignoreReturnValues;
     private boolean compile;
+    private boolean pipelined;
     private int timeout = DEFAULT_TIMEOUT;
     private final List<Aspect> aspects = new ArrayList<>();
 
@@ -114,6 +125,20 @@ public class Session {
         this.compile = compile;
     }
 
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * Enables pipelined mode, in which fragments added via {@link #submit(CharSequence)}
+     * return their results via futures.
+     *
+     * @param pipelined true to enable pipelining
+     */
+    public void setPipelined(final boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
     /**
      * Adds an AppleScript fragment to the session.
      *
@@ -129,12 +154,45 @@ public class Session {
     }
 
     /**
-     * Resets the session. All previously added, but uncommitted fragments are lost.
+     * Adds an AppleScript fragment, whose result is needed, to a {@link #isPipelined() pipelined} session.
+     * The fragment is wrapped in a script object, so it may use {@code return} and define handlers.
+     *
+     * @param applescriptFragment AppleScript fragment
+     * @return future result in source form, completed once the session is committed or flushed
+     * @throws IllegalStateException if the session is not pipelined or already committed
+     */
+    public CompletableFuture<String> submit(final CharSequence applescriptFragment) {
+        if (get() == null) {
+            throw new IllegalStateException("Session already committed.");
+        }
+        if (!pipelined) {
+            throw new IllegalStateException("Session is not pipelined.");
+        }
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        futures.add(future);
+        final int n = futures.size();
+        this.script.append("script ").append(FRAGMENT).append(n).append("\n")
+            .append(applescriptFragment).append("\n")
+            .append("end script\n")
+            .append("set end of ").append(RESULTS).append(" to (run ").append(FRAGMENT).append(n).append(")\n");
+        LOG.fine("Submitting fragment to session for thread "
+            + Thread.currentThread() + ": \"" + applescriptFragment + "\"");
+        return future;
+    }
+
+    /**
+     * Resets the session. All previously added, but uncommitted fragments are lost
+     * and futures of submitted fragments are cancelled.
      */
     public void reset() {
         LOG.fine("Resetting session for thread " + Thread.currentThread().getName());
         this.script = new StringBuilder();
         this.timeout = DEFAULT_TIMEOUT;
+        final List<CompletableFuture<String>> pending = futures;
+        this.futures = new ArrayList<>();
+        for (final CompletableFuture<String> future : pending) {
+            future.cancel(false);
+        }
     }
 
     /**
@@ -155,7 +213,97 @@ public class Session {
      * @return current script
      */
     public String getScript() {
-        return script.toString();
+        if (futures.isEmpty()) return script.toString();
+        return "set " + RESULTS + " to {}\n" + script + "return " + RESULTS + "\n";
+    }
+
+    /**
+     * Executes the current script (collection of fragments), completes the futures of
+     * {@link #submit(CharSequence) submitted} fragments and resets the session,
+     * but keeps it registered with the current thread.
+     */
+    public void flush() {
+        LOG.fine("Flushing session for thread " + Thread.currentThread().getName());
+        final List<CompletableFuture<String>> pending = futures;
+        try {
+            if (script.length() > 0) {
+                final ScriptExecutor scriptExecutor = ScriptExecutor.newInstance();
+                scriptExecutor.setScript(getScript());
+                complete(pending, scriptExecutor.execute());
+            }
+        } catch (IOException e) {
+            fail(pending, e);
+            throw new JaplScriptException(e);
+        } catch (RuntimeException e) {
+            fail(pending, e);
+            throw e;
+        } finally {
+            script = new StringBuilder();
+            futures = new ArrayList<>();
+        }
+    }
+
+    private static void complete(final List<CompletableFuture<String>> futures, final String result) {
+        if (futures.isEmpty()) return;
+        final List<String> results = splitResults(result);
+        if (results.size() != futures.size()) {
+            final JaplScriptException e = new JaplScriptException("Expected " + futures.size()
+                + " results, but got " + results.size() + ": " + result);
+            fail(futures, e);
+            throw e;
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            futures.get(i).complete(results.get(i));
+        }
+    }
+
+    private static void fail(final List<CompletableFuture<String>> futures, final Throwable t) {
+        for (final CompletableFuture<String> future : futures) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Splits the list of fragment results into its top-level items.
+     *
+     * @param list list in source form, e.g. <code>{"a", {1, 2}, «class pnam»}</code>
+     * @return items in source form
+     * @see ResultTokenizer
+     */
+    static List<String> splitResults(final String list) {
+        final String text = list == null ? "" : list;
+        final ResultTokenizer tokenizer = new ResultTokenizer(text);
+        if (tokenizer.next() != ResultTokenizer.Token.BEGIN) {
+            throw new JaplScriptException("Not a list: " + list);
+        }
+        final List<String> items = new ArrayList<>();
+        int start = -1;
+        int end = -1;
+        boolean done = false;
+        while (!done) {
+            final ResultTokenizer.Token token = tokenizer.next();
+            switch (token) {
+                case BEGIN:
+                    if (start < 0) start = tokenizer.getStart();
+                    tokenizer.skipNested();
+                    end = tokenizer.getEnd();
+                    break;
+                case VALUE:
+                case COLON:
+                    if (start < 0) start = tokenizer.getStart();
+                    end = tokenizer.getEnd();
+                    break;
+                case COMMA:
+                case END:
+                    done = token == ResultTokenizer.Token.END;
+                    if (start >= 0) items.add(text.substring(start, end));
+                    start = -1;
+                    break;
+                default:
+                    throw new JaplScriptException("Not a list: " + list);
+            }
+        }
+        return items;
     }
 
     /**
@@ -164,18 +312,47 @@ public class Session {
      */
     public void commit() {
         LOG.fine("Committing session for thread " + Thread.currentThread().getName());
+        try {
+            if (script.length() > 0) {
+                flush();
+            } else {
+                LOG.fine("Committing empty session.");
+            }
+        } finally {
+            script = new StringBuilder();
+            SESSIONS.remove();
+        }
+    }
+
+    /**
+     * Asynchronously executes the current script (collection of fragments) on the
+     * {@link ScriptExecutor#getAsyncExecutor() async executor}
+     * and removes the registered session.
+     *
+     * @return future that completes, once the script has been executed
+     */
+    public CompletableFuture<Void> commitAsync() {
+        LOG.fine("Committing session asynchronously for thread " + Thread.currentThread().getName());
         try {
             if (script.length() > 0) {
                 final ScriptExecutor scriptExecutor = ScriptExecutor.newInstance();
-                scriptExecutor.setScript(script);
-                scriptExecutor.execute();
+                scriptExecutor.setScript(getScript());
+                final List<CompletableFuture<String>> pending = futures;
+                final CompletableFuture<Void> future = CancellableFuture.callAsync(() -> {
+                    complete(pending, scriptExecutor.execute());
+                    return null;
+                }, ScriptExecutor.getAsyncExecutor());
+                future.whenComplete((v, t) -> {
+                    if (t != null) fail(pending, t instanceof CompletionException ? t.getCause() : t);
+                });
+                return future;
             } else {
                 LOG.fine("Committing empty session.");
+                return CompletableFuture.completedFuture(null);
             }
-        } catch (IOException e) {
-            throw new JaplScriptException(e);
         } finally {
             script = new StringBuilder();
+            futures = new ArrayList<>();
             SESSIONS.remove();
         }
     }
@@ -0,0 +1,97 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ *
+ * Long-lived AppleScript interpreter used by OsascriptWorkerPool.
+ * Run with: osascript -l JavaScript osascript-worker.js
+ *
+ * Requests (stdin):   <type> <length>\n<length bytes of UTF-8 payload>
+ *   S - payload is AppleScript source code to compile and execute
+ *   F - payload is the path of a compiled script file to execute
+ *   P - ping, payload is empty
+ * Responses (stdout): <status> <length>\n<length bytes of UTF-8 payload>
+ *   OK  - payload is the result in source form (like osascript -s s)
+ *   ERR - payload is the error message
+ *
+ * The worker exits when stdin is closed.
+ */
+ObjC.import('Foundation');
+ObjC.import('OSAKit');
+ObjC.import('stdlib');
+
+var stdin = $.NSFileHandle.fileHandleWithStandardInput;
+var stdout = $.NSFileHandle.fileHandleWithStandardOutput;
+var language = $.OSALanguage.languageForName('AppleScript');
+
+function decode(data) {
+    return $.NSString.alloc.initWithDataEncoding(data, $.NSUTF8StringEncoding).js;
+}
+
+function readHeader() {
+    var header = '';
+    while (true) {
+        var data = stdin.readDataOfLength(1);
+        if (data.length === 0) return null;
+        var c = decode(data);
+        if (c === '\n') return header;
+        header += c;
+    }
+}
+
+function respond(status, text) {
+    var payload = $(text).dataUsingEncoding($.NSUTF8StringEncoding);
+    stdout.writeData($(status + ' ' + payload.length + '\n').dataUsingEncoding($.NSUTF8StringEncoding));
+    stdout.writeData(payload);
+}
+
+function errorMessage(error) {
+    if (error.isNil()) return 'Unknown Error';
+    var message = ObjC.unwrap(error.objectForKey($.OSAScriptErrorMessageKey));
+    var number = ObjC.unwrap(error.objectForKey($.OSAScriptErrorNumberKey));
+    if (message === undefined) message = 'Unknown Error';
+    return number === undefined ? message : message + ' (' + number + ')';
+}
+
+function execute(script, error) {
+    if (script.isNil()) {
+        respond('ERR', errorMessage(error[0]));
+        return;
+    }
+    var display = Ref();
+    var result = script.executeAndReturnDisplayValueError(display, error);
+    if (result.isNil()) {
+        respond('ERR', errorMessage(error[0]));
+    } else {
+        respond('OK', display[0].isNil() ? '' : display[0].string.js);
+    }
+}
+
+while (true) {
+    var header = readHeader();
+    if (header === null) break;
+    var type = header.charAt(0);
+    var length = parseInt(header.substring(2), 10);
+    var payload = length > 0 ? decode(stdin.readDataOfLength(length)) : '';
+    var error = Ref();
+    try {
+        if (type === 'P') {
+            respond('OK', '');
+        } else if (type === 'S') {
+            var source = $.OSAScript.alloc.initWithSourceLanguage($(payload), language);
+            if (source.compileAndReturnError(error)) {
+                execute(source, error);
+            } else {
+                respond('ERR', errorMessage(error[0]));
+            }
+        } else if (type === 'F') {
+            execute($.OSAScript.alloc.initWithContentsOfURLError($.NSURL.fileURLWithPath($(payload)), error), error);
+        } else {
+            respond('ERR', 'Unknown request type: ' + type);
+        }
+    } catch (e) {
+        respond('ERR', '' + e);
+    }
+}
+$.exit(0);
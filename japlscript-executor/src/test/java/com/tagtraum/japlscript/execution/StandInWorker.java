@@ -0,0 +1,79 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Stand-in for {@code osascript-worker.js}, implementing the worker protocol
+ * described in {@link OsascriptWorkerPool} without any AppleScript.
+ * Only uses JDK classes, so that it can be started with just the test classes on the classpath.
+ * <p>
+ * Scripts are echoed, with the following exceptions:
+ * <ul>
+ * <li>{@code pid} returns the process id</li>
+ * <li>{@code error <message>} returns an error</li>
+ * <li>{@code crash} writes a message to stderr and terminates the worker</li>
+ * <li>{@code hang} is answered, but all subsequent requests are not</li>
+ * </ul>
+ * Compiled script files are answered with their content.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class StandInWorker {
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final InputStream in = new BufferedInputStream(System.in);
+        final OutputStream out = new BufferedOutputStream(System.out);
+        boolean hanging = false;
+        for (String header = readHeader(in); header != null; header = readHeader(in)) {
+            final char type = header.charAt(0);
+            final byte[] payload = new byte[Integer.parseInt(header.substring(2))];
+            new DataInputStream(in).readFully(payload);
+            if (hanging) continue;
+            final String request = new String(payload, UTF_8);
+            if (type == 'P') {
+                respond(out, "OK", "");
+            } else if (type == 'F') {
+                respond(out, "OK", new String(Files.readAllBytes(Paths.get(request)), UTF_8));
+            } else if (request.equals("pid")) {
+                respond(out, "OK", Long.toString(ProcessHandle.current().pid()));
+            } else if (request.startsWith("error ")) {
+                respond(out, "ERR", request.substring("error ".length()));
+            } else if (request.equals("crash")) {
+                System.err.println("Crashed on purpose.");
+                System.exit(1);
+            } else if (request.equals("hang")) {
+                respond(out, "OK", request);
+                hanging = true;
+            } else {
+                respond(out, "OK", request);
+            }
+        }
+    }
+
+    private static String readHeader(final InputStream in) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b == -1) return null;
+            sb.append((char) b);
+        }
+        return sb.toString();
+    }
+
+    private static void respond(final OutputStream out, final String status, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(UTF_8);
+        out.write((status + " " + bytes.length + "\n").getBytes(US_ASCII));
+        out.write(bytes);
+        out.flush();
+    }
+}
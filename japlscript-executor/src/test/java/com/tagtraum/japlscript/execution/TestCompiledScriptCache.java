@@ -0,0 +1,173 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestCompiledScriptCache.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestCompiledScriptCache {
+
+    private static CompiledScript compile(final CompiledScriptCache cache, final CharSequence script) throws IOException {
+        Files.write(cache.getScriptFile(script), new byte[]{1, 2, 3});
+        return cache.put(script);
+    }
+
+    @Test
+    public void testHitMiss(@TempDir final Path dir) throws IOException {
+        final CompiledScriptCache cache = new CompiledScriptCache(dir, 10, 1, TimeUnit.DAYS);
+        assertNull(cache.get("return 1"));
+        assertEquals(1, cache.getMissCount());
+
+        final StringBuilder script = new StringBuilder("return 1");
+        final CompiledScript compiledScript = compile(cache, script);
+        assertEquals("return 1", compiledScript.getScript());
+        assertEquals(cache.getScriptFile("return 1").toString(), compiledScript.getScriptFile());
+        // mutating the builder must not affect the cached entry
+        script.append("0");
+
+        // content-addressed, i.e. other CharSequence instances hit, too
+        final CompiledScript cached = cache.get(new StringBuilder("return 1"));
+        assertNotNull(cached);
+        assertEquals(compiledScript.getScriptFile(), cached.getScriptFile());
+        assertEquals(1, cache.getHitCount());
+        assertNull(cache.get(script));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLRUEviction(@TempDir final Path dir) throws IOException {
+        final CompiledScriptCache cache = new CompiledScriptCache(dir, 2, 1, TimeUnit.DAYS);
+        compile(cache, "return 1");
+        compile(cache, "return 2");
+        // touch 1, so that 2 is least recently used
+        assertNotNull(cache.get("return 1"));
+        compile(cache, "return 3");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertFalse(Files.exists(cache.getScriptFile("return 2")));
+        assertNull(cache.get("return 2"));
+        assertNotNull(cache.get("return 1"));
+        assertNotNull(cache.get("return 3"));
+    }
+
+    @Test
+    public void testPersistence(@TempDir final Path dir) throws IOException {
+        final CompiledScriptCache cache = new CompiledScriptCache(dir, 10, 1, TimeUnit.DAYS);
+        compile(cache, "return 1");
+        compile(cache, "return 2");
+        Files.setLastModifiedTime(cache.getScriptFile("return 1"), FileTime.fromMillis(System.currentTimeMillis() - 1000));
+
+        final CompiledScriptCache reloaded = new CompiledScriptCache(dir, 10, 1, TimeUnit.DAYS);
+        assertEquals(2, reloaded.size());
+        assertNotNull(reloaded.get("return 1"));
+        assertNotNull(reloaded.get("return 2"));
+
+        // shrinking keeps the most recently used entries
+        final CompiledScriptCache smaller = new CompiledScriptCache(dir, 1, 1, TimeUnit.DAYS);
+        assertEquals(1, smaller.size());
+        assertNotNull(smaller.get("return 2"));
+    }
+
+    @Test
+    public void testOnlyDeleteOwnFiles(@TempDir final Path dir) throws IOException {
+        // simulate another process using the same directory
+        final CompiledScriptCache other = new CompiledScriptCache(dir, 10, 1, TimeUnit.DAYS);
+        compile(other, "return 1");
+
+        final CompiledScriptCache cache = new CompiledScriptCache(dir, 1, 1, TimeUnit.DAYS);
+        assertEquals(1, cache.size());
+        compile(cache, "return 2");
+        compile(cache, "return 3");
+        assertEquals(2, cache.getEvictionCount());
+        // evicted, but still there for the other process
+        assertNull(cache.get("return 1"));
+        assertTrue(Files.exists(cache.getScriptFile("return 1")));
+        assertNotNull(other.get("return 1"));
+        // created by this cache, so it is deleted
+        assertFalse(Files.exists(cache.getScriptFile("return 2")));
+    }
+
+    @Test
+    public void testFlush(@TempDir final Path dir) throws IOException {
+        final CompiledScriptCache cache = new CompiledScriptCache(dir, 10, 1, TimeUnit.DAYS);
+        compile(cache, "return 1");
+        final Path file = cache.getScriptFile("return 1");
+        // whole seconds, as not all file systems store milliseconds
+        final long old = (System.currentTimeMillis() / 1000 - TimeUnit.HOURS.toSeconds(1)) * 1000;
+        Files.setLastModifiedTime(file, FileTime.fromMillis(old));
+        assertNotNull(cache.get("return 1"));
+        // access times are written in batches
+        assertEquals(old, Files.getLastModifiedTime(file).toMillis());
+        cache.flush();
+        assertTrue(Files.getLastModifiedTime(file).toMillis() > old);
+        // tolerates files deleted by other processes
+        assertNotNull(cache.get("return 1"));
+        Files.delete(file);
+        cache.flush();
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testMissingFile(@TempDir final Path dir) throws IOException {
+        final CompiledScriptCache cache = new CompiledScriptCache(dir, 10, 1, TimeUnit.DAYS);
+        compile(cache, "return 1");
+        Files.delete(cache.getScriptFile("return 1"));
+        assertNull(cache.get("return 1"));
+        assertEquals(0, cache.size());
+        assertEquals(0, new CompiledScriptCache(dir, 10, 1, TimeUnit.DAYS).size());
+    }
+
+    @Test
+    public void testMaxAge(@TempDir final Path dir) throws IOException, InterruptedException {
+        final CompiledScriptCache cache = new CompiledScriptCache(dir, 10, 50, TimeUnit.MILLISECONDS);
+        compile(cache, "return 1");
+        Thread.sleep(100);
+        assertNull(cache.get("return 1"));
+        assertEquals(1, cache.getEvictionCount());
+        assertFalse(Files.exists(cache.getScriptFile("return 1")));
+    }
+
+    @Test
+    public void testStaleFiles(@TempDir final Path dir) throws IOException {
+        final Path stale = Files.createFile(dir.resolve("japlscript123.scpt"));
+        final Path recent = Files.createFile(dir.resolve("japlscript456.scpt"));
+        Files.setLastModifiedTime(stale, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2)));
+        new CompiledScriptCache(dir, 10, 1, TimeUnit.DAYS);
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(recent));
+    }
+
+    @Test
+    public void testClear(@TempDir final Path dir) throws IOException {
+        final CompiledScriptCache cache = new CompiledScriptCache(dir, 10, 1, TimeUnit.DAYS);
+        compile(cache, "return 1");
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertFalse(Files.exists(cache.getScriptFile("return 1")));
+    }
+
+    @Test
+    public void testIllegalArguments(@TempDir final Path dir) {
+        assertThrows(IllegalArgumentException.class, () -> new CompiledScriptCache(dir, 0, 1, TimeUnit.DAYS));
+        assertThrows(IllegalArgumentException.class, () -> new CompiledScriptCache(dir, 1, 0, TimeUnit.DAYS));
+    }
+}
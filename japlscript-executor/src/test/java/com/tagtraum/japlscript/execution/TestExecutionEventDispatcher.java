@@ -0,0 +1,153 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestExecutionEventDispatcher.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestExecutionEventDispatcher {
+
+    @AfterEach
+    public void tearDown() {
+        ScriptExecutor.setExecutionEventDispatcher(null);
+        ReplayScriptExecutor.setCorpus(null);
+    }
+
+    private static ExecutionEvent event(final int i) {
+        return new ExecutionEvent("source", "return " + i, true, null);
+    }
+
+    @Test
+    public void testDirect() {
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final List<ExecutionListener> listeners = Collections.singletonList(e -> threads.add(Thread.currentThread()));
+        new DirectExecutionEventDispatcher().dispatch(event(0), listeners);
+        assertEquals(Collections.singletonList(Thread.currentThread()), threads);
+    }
+
+    @Test
+    public void testDirectFailingListener() {
+        final AtomicInteger count = new AtomicInteger();
+        final List<ExecutionListener> listeners = List.of(
+            e -> { throw new RuntimeException("failing listener"); },
+            e -> count.incrementAndGet());
+        new DirectExecutionEventDispatcher().dispatch(event(0), listeners);
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testEDT() throws Exception {
+        final List<Boolean> onEDT = new CopyOnWriteArrayList<>();
+        new EDTExecutionEventDispatcher().dispatch(event(0), Collections.singletonList(e -> onEDT.add(SwingUtilities.isEventDispatchThread())));
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(Collections.singletonList(true), onEDT);
+    }
+
+    @Test
+    public void testRingBuffer() throws InterruptedException {
+        final List<ExecutionEvent> events = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final List<ExecutionListener> listeners = Collections.singletonList(e -> {
+            events.add(e);
+            threads.add(Thread.currentThread());
+        });
+        try (final RingBufferExecutionEventDispatcher dispatcher = new RingBufferExecutionEventDispatcher(16)) {
+            for (int i = 0; i < 100; i++) {
+                dispatcher.dispatch(event(i), listeners);
+                if (i % 8 == 7) assertTrue(dispatcher.awaitDelivery(5, TimeUnit.SECONDS));
+            }
+            assertTrue(dispatcher.awaitDelivery(5, TimeUnit.SECONDS));
+            assertEquals(0, dispatcher.getDroppedEventCount());
+            assertEquals(100, events.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(event(i), events.get(i));
+                assertNotSame(Thread.currentThread(), threads.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testRingBufferOverflow() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger count = new AtomicInteger();
+        final List<ExecutionListener> listeners = Collections.singletonList(e -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            count.incrementAndGet();
+        });
+        try (final RingBufferExecutionEventDispatcher dispatcher = new RingBufferExecutionEventDispatcher(4)) {
+            assertEquals(4, dispatcher.getCapacity());
+            dispatcher.dispatch(event(0), listeners);
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            // consumer is blocked, the buffer takes 4 more events
+            for (int i = 1; i < 10; i++) {
+                dispatcher.dispatch(event(i), listeners);
+            }
+            assertEquals(5, dispatcher.getDroppedEventCount());
+            release.countDown();
+            assertTrue(dispatcher.awaitDelivery(5, TimeUnit.SECONDS));
+            assertEquals(5, count.get());
+        }
+    }
+
+    @Test
+    public void testIllegalCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferExecutionEventDispatcher(0));
+    }
+
+    @Test
+    public void testNoDispatchWithoutListeners() throws IOException {
+        final AtomicInteger dispatched = new AtomicInteger();
+        ScriptExecutor.setExecutionEventDispatcher((event, listeners) -> dispatched.incrementAndGet());
+        final ReplayCorpus corpus = new ReplayCorpus();
+        corpus.put("return 1", "1");
+        ReplayScriptExecutor.setCorpus(corpus);
+        final ScriptExecutor executor = new ReplayScriptExecutor();
+        executor.setScript("return 1");
+        executor.execute();
+        assertEquals(0, dispatched.get());
+
+        final List<ExecutionEvent> events = new CopyOnWriteArrayList<>();
+        final ExecutionListener listener = events::add;
+        ScriptExecutor.addExecutionListener(listener);
+        try {
+            ScriptExecutor.setExecutionEventDispatcher(new DirectExecutionEventDispatcher());
+            executor.execute();
+            assertEquals(2, events.size());
+            assertEquals(new ExecutionEvent(executor, "return 1", true, null), events.get(0));
+            assertEquals(new ExecutionEvent(executor, "return 1", false, "1"), events.get(1));
+        } finally {
+            ScriptExecutor.removeExecutionListener(listener);
+        }
+    }
+
+    @Test
+    public void testDefaultDispatcher() {
+        assertTrue(ScriptExecutor.getExecutionEventDispatcher() instanceof EDTExecutionEventDispatcher);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestExecutionMetrics.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestExecutionMetrics {
+
+    private static final String SCRIPT = "tell application \"Music\"\r\nreturn name\r\nend tell";
+
+    @BeforeEach
+    public void setUp() {
+        ExecutionMetrics.getInstance().reset();
+        ExecutionMetrics.getInstance().setEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ExecutionMetrics.getInstance().reset();
+        ExecutionMetrics.getInstance().setEnabled(false);
+        ReplayScriptExecutor.setCorpus(null);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertFalse(new ExecutionMetrics().isEnabled());
+    }
+
+    @Test
+    public void testRecordExecutions() throws IOException {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        corpus.put(SCRIPT, "\"Music\"");
+        ReplayScriptExecutor.setCorpus(corpus);
+        final ScriptExecutor executor = new ReplayScriptExecutor();
+        executor.setScript(SCRIPT);
+        executor.execute();
+        executor.execute();
+        executor.setScript("tell application \"Music\"\r\nreturn murx\r\nend tell");
+        assertThrows(JaplScriptException.class, executor::execute);
+
+        final ExecutionMetrics.Snapshot snapshot = ExecutionMetrics.getInstance().snapshot();
+        final ExecutionStatistics statistics = snapshot.getExecutions("ReplayScriptExecutor", "application \"Music\"");
+        assertNotNull(statistics, "Snapshot: " + snapshot);
+        assertEquals(3, statistics.getCalls());
+        assertEquals(1, statistics.getErrors());
+        assertEquals(Long.valueOf(1), statistics.getErrorsByNumber().get(0));
+        assertEquals(3, statistics.getLatency().getCount());
+        assertEquals(3 * SCRIPT.length(), statistics.getScriptBytes());
+        assertEquals(2 * "\"Music\"".length(), statistics.getResultBytes());
+        assertEquals(3, ExecutionMetrics.getInstance().getExecutionCount());
+        assertEquals(1, ExecutionMetrics.getInstance().getErrorCount());
+    }
+
+    @Test
+    public void testErrorNumbers() {
+        final ExecutionMetrics metrics = ExecutionMetrics.getInstance();
+        metrics.recordExecution("Test", "return 1", null, new JaplScriptException("Can’t get name. (-1728)", "return 1"), 1000);
+        metrics.recordExecution("Test", "return 1", null, new JaplScriptException("Can’t get name. (-1728)\n", "return 1"), 1000);
+        metrics.recordExecution("Test", "return 1", null, new JaplScriptException("User canceled. (-128)", "return 1"), 1000);
+        metrics.recordExecution("Test", "return 1", null, new IOException("broken pipe"), 1000);
+        final ExecutionStatistics statistics = metrics.snapshot().getExecutions("Test", ExecutionMetrics.UNKNOWN_APPLICATION);
+        assertEquals(4, statistics.getErrors());
+        assertEquals(Long.valueOf(2), statistics.getErrorsByNumber().get(-1728));
+        assertEquals(Long.valueOf(1), statistics.getErrorsByNumber().get(-128));
+        assertEquals(2, statistics.getErrorsByNumber().size());
+    }
+
+    @Test
+    public void testUtf8Size() {
+        final ExecutionMetrics metrics = ExecutionMetrics.getInstance();
+        metrics.recordExecution("Test", "aä€𝄞", "ü", null, 1000);
+        final ExecutionStatistics statistics = metrics.snapshot().getExecutions("Test", ExecutionMetrics.UNKNOWN_APPLICATION);
+        assertEquals(1 + 2 + 3 + 4, statistics.getScriptBytes());
+        assertEquals(2, statistics.getResultBytes());
+    }
+
+    @Test
+    public void testApplicationReference() {
+        assertEquals("application \"Finder\"",
+            ExecutionMetrics.getApplicationReference("with timeout of 5 seconds\r\ntell application \"Finder\"\r\nend tell"));
+        assertEquals("application id \"com.apple.Music\"",
+            ExecutionMetrics.getApplicationReference("tell application id \"com.apple.Music\" to return name"));
+        assertEquals(ExecutionMetrics.UNKNOWN_APPLICATION, ExecutionMetrics.getApplicationReference("return version"));
+    }
+
+    @Test
+    public void testDecodes() {
+        final ExecutionMetrics metrics = ExecutionMetrics.getInstance();
+        metrics.recordDecode("application \"Music\"", 100);
+        metrics.recordDecode("application \"Music\"", 300);
+        metrics.recordDecode(null, 300);
+        final LatencyHistogram.Snapshot decodes = metrics.snapshot().getDecodes().get("application \"Music\"");
+        assertEquals(2, decodes.getCount());
+        assertEquals(400, decodes.getSumNanos());
+        assertEquals(1, metrics.getDecodes().get(ExecutionMetrics.UNKNOWN_APPLICATION).getCount());
+    }
+
+    @Test
+    public void testDisabled() {
+        final ExecutionMetrics metrics = ExecutionMetrics.getInstance();
+        metrics.setEnabled(false);
+        try {
+            metrics.recordExecution("Test", "return 1", "1", null, 1000);
+            metrics.recordDecode("application \"Music\"", 100);
+            assertTrue(metrics.getExecutions().isEmpty());
+            assertTrue(metrics.getDecodes().isEmpty());
+        } finally {
+            metrics.setEnabled(true);
+        }
+    }
+
+    @Test
+    public void testHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getP50Nanos());
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(1000, snapshot.getMinNanos());
+        assertEquals(100_000, snapshot.getMaxNanos());
+        assertEquals(50_500, snapshot.getMeanNanos(), 0.001);
+        // power of two buckets are accurate within a factor of two
+        assertTrue(snapshot.getP50Nanos() >= 50_000 && snapshot.getP50Nanos() < 100_000, "p50: " + snapshot.getP50Nanos());
+        assertTrue(snapshot.getP99Nanos() >= 99_000 && snapshot.getP99Nanos() <= 100_000, "p99: " + snapshot.getP99Nanos());
+        assertTrue(snapshot.getP90Nanos() <= snapshot.getP99Nanos());
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        ExecutionMetrics.getInstance().recordExecution("Test", "tell application \"Music\" to return 1", "1", null, 1000);
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(ExecutionMetrics.OBJECT_NAME);
+        assertTrue(server.isRegistered(name));
+        assertEquals(1L, server.getAttribute(name, "ExecutionCount"));
+        final CompositeData[] executions = (CompositeData[]) server.getAttribute(name, "Executions");
+        assertEquals(1, executions.length);
+        assertEquals("application \"Music\"", executions[0].get("applicationReference"));
+        assertEquals(1L, ((CompositeData) executions[0].get("latency")).get("count"));
+        server.invoke(name, "reset", null, null);
+        assertEquals(0L, server.getAttribute(name, "ExecutionCount"));
+    }
+
+    @Test
+    public void testRegisterTwice() throws Exception {
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        assertTrue(ExecutionMetrics.register(server, new ExecutionMetrics()));
+        assertFalse(ExecutionMetrics.register(server, new ExecutionMetrics()));
+        assertTrue(server.isRegistered(new ObjectName(ExecutionMetrics.OBJECT_NAME)));
+    }
+}
@@ -57,4 +57,12 @@ public class TestJaplScriptException {
         final JaplScriptException e = new JaplScriptException("A unknown token can\\U2019t go after this identifier.");
         assertEquals("A unknown token can\u2019t go after this identifier.", e.getError());
     }
+
+    @Test
+    public void testErrorNumber() {
+        assertEquals(-1728, new JaplScriptException("execution error: Can’t get name. (-1728)", "script").getErrorNumber());
+        assertEquals(-2741, new JaplScriptException("syntax error: Expected end of line. (-2741)\n").getErrorNumber());
+        assertEquals(0, new JaplScriptException("message").getErrorNumber());
+        assertEquals(0, new JaplScriptException(new RuntimeException()).getErrorNumber());
+    }
 }
@@ -0,0 +1,237 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestOsascriptWorkerPool.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestOsascriptWorkerPool {
+
+    private OsascriptWorkerPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) pool.close();
+    }
+
+    private static List<String> standInCommand() throws URISyntaxException {
+        final String classpath = Paths.get(StandInWorker.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return Arrays.asList(java, "-cp", classpath, StandInWorker.class.getName());
+    }
+
+    @Test
+    public void testExecute() throws IOException, URISyntaxException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        assertEquals("return version", pool.execute("return version"));
+        final String script = "tell application \"Music\"\r\n  return name of track \"Motörhead – 𝄞\"\r\nend tell";
+        assertEquals(script, pool.execute(script));
+        assertEquals("", pool.execute(""));
+        assertEquals(1, pool.getStartedWorkerCount());
+        assertEquals(1, pool.getWorkerCount());
+    }
+
+    @Test
+    public void testError() throws URISyntaxException, IOException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        final JaplScriptException e = assertThrows(JaplScriptException.class, () -> pool.execute("error Something went wrong (-1728)"));
+        assertEquals("Something went wrong (-1728)", e.getError());
+        assertEquals("error Something went wrong (-1728)", e.getScript());
+        // worker is still usable
+        assertEquals("ok", pool.execute("ok"));
+        assertEquals(1, pool.getStartedWorkerCount());
+    }
+
+    @Test
+    public void testReuse() throws URISyntaxException, IOException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        final String pid = pool.execute("pid");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(pid, pool.execute("pid"));
+        }
+    }
+
+    @Test
+    public void testRecycling() throws URISyntaxException, IOException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 2);
+        final String pid0 = pool.execute("pid");
+        assertEquals(pid0, pool.execute("pid"));
+        final String pid1 = pool.execute("pid");
+        assertNotEquals(pid0, pid1);
+        assertEquals(2, pool.getStartedWorkerCount());
+        assertEquals(1, pool.getRecycledWorkerCount());
+        assertEquals(1, pool.getWorkerCount());
+    }
+
+    @Test
+    public void testCrash() throws URISyntaxException, IOException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        final String pid0 = pool.execute("pid");
+        final IOException e = assertThrows(IOException.class, () -> pool.execute("crash"));
+        assertTrue(e.getMessage().contains("Crashed on purpose."), e.getMessage());
+        assertEquals(0, pool.getWorkerCount());
+        assertNotEquals(pid0, pool.execute("pid"));
+        assertEquals(2, pool.getStartedWorkerCount());
+    }
+
+    @Test
+    public void testHealthCheck() throws URISyntaxException, IOException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        pool.setHealthCheckInterval(0, TimeUnit.MILLISECONDS);
+        pool.setHealthCheckTimeout(500, TimeUnit.MILLISECONDS);
+        final String pid0 = pool.execute("pid");
+        // healthy worker passes the ping
+        assertEquals(pid0, pool.execute("pid"));
+        // worker stops answering after this
+        assertEquals("hang", pool.execute("hang"));
+        assertNotEquals(pid0, pool.execute("pid"));
+        assertEquals(2, pool.getStartedWorkerCount());
+        assertEquals(1, pool.getWorkerCount());
+    }
+
+    @Test
+    public void testTimeout() throws URISyntaxException, IOException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        pool.setTimeout(500, TimeUnit.MILLISECONDS);
+        assertEquals(500, pool.getTimeout(TimeUnit.MILLISECONDS));
+        final String pid0 = pool.execute("pid");
+        // worker stops answering after this
+        assertEquals("hang", pool.execute("hang"));
+        final IOException e = assertThrows(IOException.class, () -> pool.execute("pid"));
+        assertTrue(e.getMessage().contains("did not respond"), e.getMessage());
+        assertEquals(0, pool.getWorkerCount());
+        // replaced
+        assertNotEquals(pid0, pool.execute("pid"));
+        assertEquals(2, pool.getStartedWorkerCount());
+        assertThrows(IllegalArgumentException.class, () -> pool.setTimeout(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testInterrupt() throws Exception {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        final String pid0 = pool.execute("pid");
+        assertEquals("hang", pool.execute("hang"));
+        final Thread caller = Thread.currentThread();
+        final Thread interrupter = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+            caller.interrupt();
+        });
+        interrupter.start();
+        try {
+            assertThrows(InterruptedIOException.class, () -> pool.execute("pid"));
+            assertTrue(Thread.interrupted());
+        } finally {
+            interrupter.join();
+            Thread.interrupted();
+        }
+        assertEquals(0, pool.getWorkerCount());
+        assertNotEquals(pid0, pool.execute("pid"));
+    }
+
+    @Test
+    public void testCompiledScript(@TempDir final Path dir) throws URISyntaxException, IOException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        final Path file = dir.resolve("compiled.scpt");
+        Files.write(file, "compiled".getBytes(UTF_8));
+        assertEquals("compiled", pool.execute(new CompiledScript("return version", file.toString())));
+    }
+
+    @Test
+    public void testParameterizedScriptInCompilingSession() throws URISyntaxException, IOException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        OsascriptWorkerPool.setInstance(pool);
+        final Session session = Session.startSession();
+        try {
+            session.setCompile(true);
+            final String script = "tell application \"Music\"\r\n  get name of track 17\r\nend tell";
+            assertTrue(ScriptTemplate.of(script).isParameterized());
+            final Osascript osascript = new Osascript();
+            osascript.setScript(script);
+            // executed as source by the worker, which echoes it
+            assertEquals(script, osascript.executeImpl());
+            assertEquals(1, pool.getStartedWorkerCount());
+        } finally {
+            session.reset();
+            session.commit();
+            OsascriptWorkerPool.setInstance(null);
+        }
+    }
+
+    @Test
+    public void testConcurrentExecution() throws Exception {
+        pool = new OsascriptWorkerPool(standInCommand(), 2, 1000);
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                final String script = "script " + i;
+                futures.add(executorService.submit(() -> pool.execute(script)));
+            }
+            for (int i = 0; i < 40; i++) {
+                assertEquals("script " + i, futures.get(i).get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertTrue(pool.getStartedWorkerCount() <= 2);
+    }
+
+    @Test
+    public void testClose() throws URISyntaxException, IOException {
+        pool = new OsascriptWorkerPool(standInCommand(), 1, 10);
+        pool.execute("pid");
+        pool.close();
+        assertTrue(pool.isClosed());
+        assertEquals(0, pool.getWorkerCount());
+        assertThrows(IOException.class, () -> pool.execute("pid"));
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new OsascriptWorkerPool(standInCommand(), 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new OsascriptWorkerPool(standInCommand(), 1, 0));
+    }
+
+    @Test
+    public void testDefaultCommand() throws IOException {
+        final List<String> command = OsascriptWorkerPool.createDefaultCommand();
+        assertEquals("osascript", command.get(0));
+        assertTrue(Files.exists(Paths.get(command.get(command.size() - 1))));
+    }
+
+    @Test
+    public void testSharedInstanceDisabledByDefault() {
+        assertNull(OsascriptWorkerPool.getInstance());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestProcessOutputReader.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestProcessOutputReader {
+
+    private static Process sh(final String command) throws IOException {
+        return new ProcessBuilder("sh", "-c", command).start();
+    }
+
+    @Test
+    public void testStdoutStderr() throws IOException, InterruptedException {
+        try (final ProcessOutputReader reader = new ProcessOutputReader(1, 1024)) {
+            final ProcessOutputReader.ProcessOutput output = reader.register(sh("echo out; echo err 1>&2; exit 3"));
+            assertEquals(3, output.waitFor());
+            assertEquals("out", output.getStdout());
+            assertEquals("err", output.getStderr());
+            assertNull(output.getStdoutIOException());
+            assertNull(output.getStderrIOException());
+        }
+    }
+
+    @Test
+    public void testManyProcesses() throws IOException, InterruptedException {
+        try (final ProcessOutputReader reader = new ProcessOutputReader(1, 1024)) {
+            final List<ProcessOutputReader.ProcessOutput> outputs = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                outputs.add(reader.register(sh("sleep 0.1; echo " + i)));
+            }
+            for (int i = 0; i < outputs.size(); i++) {
+                assertEquals(0, outputs.get(i).waitFor());
+                assertEquals(Integer.toString(i), outputs.get(i).getStdout());
+            }
+        }
+    }
+
+    @Test
+    public void testLargeOutput() throws IOException, InterruptedException {
+        try (final ProcessOutputReader reader = new ProcessOutputReader(2, 1024 * 1024)) {
+            // more than fits into a pipe buffer, i.e. the process blocks unless drained
+            final ProcessOutputReader.ProcessOutput output = reader.register(
+                sh("i=0; while [ $i -lt 20000 ]; do echo 0123456789; i=$((i+1)); done"));
+            assertEquals(0, output.waitFor());
+            assertEquals(20000 * 11 - 1, output.getStdout().length());
+            assertNull(output.getStdoutIOException());
+        }
+    }
+
+    @Test
+    public void testMaxOutput() throws IOException, InterruptedException {
+        try (final ProcessOutputReader reader = new ProcessOutputReader(1, 100)) {
+            final ProcessOutputReader.ProcessOutput output = reader.register(
+                sh("i=0; while [ $i -lt 20000 ]; do echo 0123456789; i=$((i+1)); done"));
+            // the process must not block, even though output is discarded
+            assertEquals(0, output.waitFor());
+            assertNotNull(output.getStdoutIOException());
+            assertSame(output.getStdoutIOException(), assertThrows(IOException.class, output::getStdout));
+            assertNull(output.getStderrIOException());
+            assertEquals("", output.getStderr());
+        }
+    }
+
+    @Test
+    public void testCloseReleasesWaitingCallers() throws IOException, InterruptedException {
+        final ProcessOutputReader reader = new ProcessOutputReader(1, 100);
+        final Process process = sh("sleep 10");
+        try {
+            final ProcessOutputReader.ProcessOutput output = reader.register(process);
+            reader.close();
+            process.destroy();
+            output.waitFor();
+            assertThrows(IOException.class, output::getStdout);
+        } finally {
+            process.destroy();
+        }
+    }
+
+    @Test
+    public void testClosed() throws IOException {
+        final ProcessOutputReader reader = new ProcessOutputReader(1, 100);
+        reader.close();
+        final Process process = sh("exit 0");
+        try {
+            assertThrows(IllegalStateException.class, () -> reader.register(process));
+        } finally {
+            process.destroy();
+        }
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ProcessOutputReader(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new ProcessOutputReader(1, -1));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestReplayScriptExecutor.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestReplayScriptExecutor {
+
+    @AfterEach
+    public void tearDown() {
+        ReplayScriptExecutor.setCorpus(null);
+        ReplayScriptExecutor.setLatency(0, 0, TimeUnit.MILLISECONDS);
+        System.clearProperty(ScriptExecutor.EXECUTOR_PROPERTY);
+    }
+
+    @Test
+    public void testCorpusNormalization() {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        corpus.put("tell application \"Music\"\r\n  return name\r\nend tell\r\n", "\"Music\"");
+        assertEquals(1, corpus.size());
+        assertTrue(corpus.contains("tell application \"Music\"\n  return name\nend tell"));
+        assertEquals("\"Music\"", corpus.get(new StringBuilder("tell application \"Music\"\r  return name\rend tell")));
+        assertNull(corpus.get("return version"));
+    }
+
+    @Test
+    public void testSaveLoad(@TempDir final Path dir) throws IOException {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        corpus.put("return version", "\"2.8\"");
+        corpus.put("return {1, 2}\n", "{1, 2}");
+        final Path file = dir.resolve("corpus.xml");
+        corpus.save(file);
+
+        final ReplayCorpus loaded = ReplayCorpus.load(file);
+        assertEquals(2, loaded.size());
+        assertEquals("\"2.8\"", loaded.get("return version"));
+        assertEquals("{1, 2}", loaded.get("return {1, 2}"));
+    }
+
+    @Test
+    public void testRecorder() {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        final ExecutionListener recorder = corpus.recorder();
+        recorder.executing(new ExecutionEvent(this, "return 1", true, null));
+        assertEquals(0, corpus.size());
+        recorder.executing(new ExecutionEvent(this, "return 1", false, "1"));
+        assertEquals("1", corpus.get("return 1"));
+    }
+
+    @Test
+    public void testExecute() throws IOException {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        corpus.put("return version", "\"2.8\"");
+        ReplayScriptExecutor.setCorpus(corpus);
+        final ScriptExecutor executor = new ReplayScriptExecutor();
+        executor.setScript("return version");
+        assertEquals("\"2.8\"", executor.execute());
+    }
+
+    @Test
+    public void testExecuteAsync() throws ExecutionException, InterruptedException {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        corpus.put("return version", "\"2.8\"");
+        ReplayScriptExecutor.setCorpus(corpus);
+        final ScriptExecutor executor = new ReplayScriptExecutor();
+        executor.setScript("return version");
+        assertEquals("\"2.8\"", executor.executeAsync().get());
+
+        executor.setScript("return name");
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> executor.executeAsync().get());
+        assertTrue(e.getCause() instanceof JaplScriptException);
+    }
+
+    @Test
+    public void testExecuteAsyncCancel() throws Exception {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        corpus.put("return version", "\"2.8\"");
+        ReplayScriptExecutor.setCorpus(corpus);
+        ReplayScriptExecutor.setLatency(10, 10, TimeUnit.SECONDS);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final ScriptExecutor executor = new ReplayScriptExecutor();
+            executor.setScript("return version");
+            final CompletableFuture<String> future = executor.executeAsync(executorService);
+            Thread.sleep(100);
+            assertTrue(future.cancel(true));
+            assertTrue(future.isCancelled());
+            // the single thread must have been interrupted and be available again
+            final Boolean interrupted = executorService.submit(() -> Thread.currentThread().isInterrupted())
+                .get(5, TimeUnit.SECONDS);
+            assertFalse(interrupted);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAsyncExecutor() {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            ScriptExecutor.setAsyncExecutor(executorService);
+            assertSame(executorService, ScriptExecutor.getAsyncExecutor());
+        } finally {
+            ScriptExecutor.setAsyncExecutor(null);
+            executorService.shutdown();
+        }
+        assertNotNull(ScriptExecutor.getAsyncExecutor());
+        assertNotSame(executorService, ScriptExecutor.getAsyncExecutor());
+    }
+
+    @Test
+    public void testExecuteUnknownScript() {
+        ReplayScriptExecutor.setCorpus(new ReplayCorpus());
+        final ScriptExecutor executor = new ReplayScriptExecutor();
+        executor.setScript("return version");
+        final JaplScriptException e = assertThrows(JaplScriptException.class, executor::execute);
+        assertEquals("return version", e.getScript());
+    }
+
+    @Test
+    public void testExecuteWithoutCorpus() {
+        final ScriptExecutor executor = new ReplayScriptExecutor();
+        executor.setScript("return version");
+        assertThrows(IOException.class, executor::execute);
+    }
+
+    @Test
+    public void testLatency() throws IOException {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        corpus.put("return version", "\"2.8\"");
+        ReplayScriptExecutor.setCorpus(corpus);
+        ReplayScriptExecutor.setLatency(20, 30, TimeUnit.MILLISECONDS);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), ReplayScriptExecutor.getMinLatencyNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30), ReplayScriptExecutor.getMaxLatencyNanos());
+        final ScriptExecutor executor = new ReplayScriptExecutor();
+        executor.setScript("return version");
+        final long start = System.nanoTime();
+        executor.execute();
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    public void testIllegalLatency() {
+        assertThrows(IllegalArgumentException.class, () -> ReplayScriptExecutor.setLatency(10, 5, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testProviderSelection() {
+        assertFalse(new ReplayScriptExecutorProvider().isAvailable());
+        ReplayScriptExecutor.setCorpus(new ReplayCorpus());
+        assertTrue(new ReplayScriptExecutorProvider().isAvailable());
+
+        System.setProperty(ScriptExecutor.EXECUTOR_PROPERTY, ReplayScriptExecutorProvider.NAME);
+        assertEquals(ReplayScriptExecutorProvider.NAME, ScriptExecutor.getProvider().getName());
+        assertEquals(ReplayScriptExecutor.class, ScriptExecutor.newInstance().getClass());
+
+        // unknown names fall back to regular selection
+        System.setProperty(ScriptExecutor.EXECUTOR_PROPERTY, "unknown");
+        assertNotNull(ScriptExecutor.getProvider());
+    }
+
+    @Test
+    public void testProviders() {
+        assertEquals(3, ScriptExecutor.getProviders().size());
+        int lastPriority = Integer.MAX_VALUE;
+        for (final ScriptExecutorProvider provider : ScriptExecutor.getProviders()) {
+            assertTrue(provider.getPriority() <= lastPriority);
+            lastPriority = provider.getPriority();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tagtraum.japlscript.execution.ResultTokenizer.Token.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestResultTokenizer.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestResultTokenizer {
+
+    private static List<String> values(final String text) {
+        final List<String> values = new ArrayList<>();
+        final ResultTokenizer tokenizer = new ResultTokenizer(text);
+        for (ResultTokenizer.Token token = tokenizer.next(); token != EOF; token = tokenizer.next()) {
+            values.add(token == VALUE ? tokenizer.getValue() : token.name());
+        }
+        return values;
+    }
+
+    @Test
+    public void testList() {
+        assertEquals(List.of("BEGIN", "1", "COMMA", "2", "COMMA", "missing value", "END"), values(" { 1 ,2, missing value } "));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(List.of(), values(""));
+        assertEquals(List.of("BEGIN", "END"), values("{}"));
+    }
+
+    @Test
+    public void testStrings() {
+        assertEquals(List.of("BEGIN", "\"a, \\\"b}\\\\\"", "COMMA", "\"c:d\"", "END"), values("{\"a, \\\"b}\\\\\", \"c:d\"}"));
+    }
+
+    @Test
+    public void testChevronsAndPipes() {
+        assertEquals(List.of("BEGIN", "«class pnam»", "COLON", "«data rdat0A,01»", "COMMA", "|a, b|", "COLON", "1", "END"),
+            values("{«class pnam»:«data rdat0A,01», |a, b|:1}"));
+    }
+
+    @Test
+    public void testRecord() {
+        assertEquals(List.of("BEGIN", "name", "COLON", "\"hendrik\"", "COMMA", "creation date", "COLON",
+            "date \"Sunday, January 7, 2007 at 23:32:16\"", "END"),
+            values("{name:\"hendrik\", creation date:date \"Sunday, January 7, 2007 at 23:32:16\"}"));
+    }
+
+    @Test
+    public void testSkipNested() {
+        final String text = "{{1, {2, \"}\"}}, 3}";
+        final ResultTokenizer tokenizer = new ResultTokenizer(text);
+        assertEquals(BEGIN, tokenizer.next());
+        assertEquals(BEGIN, tokenizer.next());
+        tokenizer.skipNested();
+        assertEquals("{1, {2, \"}\"}}", tokenizer.getValue());
+        assertEquals(COMMA, tokenizer.next());
+        assertEquals(VALUE, tokenizer.peek());
+        assertEquals(COMMA, tokenizer.getToken());
+        assertEquals(VALUE, tokenizer.next());
+        assertEquals("3", tokenizer.getValue());
+        assertEquals(END, tokenizer.next());
+        assertEquals(EOF, tokenizer.next());
+    }
+
+    @Test
+    public void testCountItems() {
+        final ResultTokenizer tokenizer = new ResultTokenizer("{1, {2, 3}, , a:\"b,c\"}, 4");
+        assertEquals(2, tokenizer.countItems());
+        assertEquals(BEGIN, tokenizer.next());
+        assertEquals(3, tokenizer.countItems());
+        assertEquals(VALUE, tokenizer.next());
+        assertEquals("1", tokenizer.getValue());
+        assertEquals(0, new ResultTokenizer("{}", 1, 2).countItems());
+    }
+
+    @Test
+    public void testIsRecord() {
+        final ResultTokenizer tokenizer = new ResultTokenizer("{«class pnam»:\"a\", b:{1, 2}}");
+        assertEquals(BEGIN, tokenizer.next());
+        assertTrue(tokenizer.isRecord());
+        assertEquals(VALUE, tokenizer.next());
+        assertEquals("«class pnam»", tokenizer.getValue());
+        final ResultTokenizer list = new ResultTokenizer("{\"a:b\", {c:1}}");
+        assertEquals(BEGIN, list.next());
+        assertFalse(list.isRecord());
+        final ResultTokenizer empty = new ResultTokenizer("{}");
+        assertEquals(BEGIN, empty.next());
+        assertFalse(empty.isRecord());
+    }
+
+    @Test
+    public void testRegion() {
+        final ResultTokenizer tokenizer = new ResultTokenizer("xx{1}yy", 2, 5);
+        assertEquals(BEGIN, tokenizer.next());
+        assertEquals(VALUE, tokenizer.next());
+        assertEquals(END, tokenizer.next());
+        assertEquals(EOF, tokenizer.next());
+        assertThrows(IndexOutOfBoundsException.class, () -> new ResultTokenizer("xx", 1, 3));
+    }
+}
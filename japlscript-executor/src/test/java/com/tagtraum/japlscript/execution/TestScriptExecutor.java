@@ -85,27 +85,31 @@ public class TestScriptExecutor {
         Thread.sleep(1000);
         final TestExecutionListener listener = new TestExecutionListener();
         ScriptExecutor.addExecutionListener(listener);
-        final ScriptExecutor scriptExecutor = ScriptExecutor.newInstance();
-        final String script = "return version";
-        scriptExecutor.setScript(script);
-        final String version = scriptExecutor.execute();
-        assertNotNull(version);
-
-        // wait until all events are delivered on EDT
-        SwingUtilities.invokeAndWait(() -> { });
-
-        assertEquals(2, listener.getEvents().size(), "Received these events: " + listener.getEvents());
-        final ExecutionEvent firstEvent = listener.getEvents().get(0);
-        assertEquals(new ExecutionEvent(scriptExecutor, script, true, null),
-            firstEvent);
-        assertEquals(new ExecutionEvent(scriptExecutor, script, false, version),
-            listener.getEvents().get(1));
-
-        assertEquals(scriptExecutor, firstEvent.getSource());
-        assertEquals(script, firstEvent.getScript());
-        assertNull(firstEvent.getResult());
-        assertTrue(firstEvent.isStarted());
-        assertFalse(firstEvent.isFinished());
+        try {
+            final ScriptExecutor scriptExecutor = ScriptExecutor.newInstance();
+            final String script = "return version";
+            scriptExecutor.setScript(script);
+            final String version = scriptExecutor.execute();
+            assertNotNull(version);
+
+            // wait until all events are delivered on EDT
+            SwingUtilities.invokeAndWait(() -> { });
+
+            assertEquals(2, listener.getEvents().size(), "Received these events: " + listener.getEvents());
+            final ExecutionEvent firstEvent = listener.getEvents().get(0);
+            assertEquals(new ExecutionEvent(scriptExecutor, script, true, null),
+                firstEvent);
+            assertEquals(new ExecutionEvent(scriptExecutor, script, false, version),
+                listener.getEvents().get(1));
+
+            assertEquals(scriptExecutor, firstEvent.getSource());
+            assertEquals(script, firstEvent.getScript());
+            assertNull(firstEvent.getResult());
+            assertTrue(firstEvent.isStarted());
+            assertFalse(firstEvent.isFinished());
+        } finally {
+            ScriptExecutor.removeExecutionListener(listener);
+        }
     }
 
     private static class TestExecutionListener implements ExecutionListener {
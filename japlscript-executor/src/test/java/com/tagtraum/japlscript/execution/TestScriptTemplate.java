@@ -0,0 +1,88 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestScriptTemplate.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestScriptTemplate {
+
+    @Test
+    public void testSameTemplate() {
+        final ScriptTemplate track17 = ScriptTemplate.of("tell application \"Music\"\r\nreturn name of track 17\r\nend tell\r\n");
+        final ScriptTemplate track18 = ScriptTemplate.of("tell application \"Music\"\r\nreturn name of track 18\r\nend tell\r\n");
+        assertTrue(track17.isParameterized());
+        assertEquals(track17.getTemplate(), track18.getTemplate());
+        assertEquals(Collections.singletonList("17"), track17.getArguments());
+        assertEquals(Collections.singletonList("18"), track18.getArguments());
+        assertEquals("on run argv\r\n"
+            + "set japlscript_arg1 to (item 1 of argv) as integer\r\n"
+            + "tell application \"Music\"\r\nreturn name of track japlscript_arg1\r\nend tell\r\n"
+            + "\r\nend run\r\n", track17.getTemplate());
+    }
+
+    @Test
+    public void testStrings() {
+        final ScriptTemplate template = ScriptTemplate.of("tell application \"Music\"\r\n"
+            + "set name of track id 5 to (\"say \\\"hi\\\"\\\\\")\r\n"
+            + "end tell");
+        assertEquals(Arrays.asList("5", "say \"hi\"\\"), template.getArguments());
+        assertTrue(template.getTemplate().contains("set japlscript_arg2 to item 2 of argv\r\n"));
+        assertTrue(template.getTemplate().contains("set name of track id japlscript_arg1 to (japlscript_arg2)"));
+    }
+
+    @Test
+    public void testApplicationIsKept() {
+        final ScriptTemplate template = ScriptTemplate.of("tell app \"Music\" to return 1\r\n"
+            + "tell application id \"com.apple.Music\" to return version");
+        assertEquals(Collections.singletonList("1"), template.getArguments());
+        assertTrue(template.getTemplate().contains("tell app \"Music\""));
+        assertTrue(template.getTemplate().contains("tell application id \"com.apple.Music\""));
+    }
+
+    @Test
+    public void testKeptLiterals() {
+        final String script = "return {1.5, 2.0E+3, x1, «data rdat0A01», «class pnam», |a 1|, 1234567890} -- 7\r\n(* \"8\" *)";
+        final ScriptTemplate template = ScriptTemplate.of(script);
+        assertFalse(template.isParameterized());
+        assertEquals(script, template.getTemplate());
+    }
+
+    @Test
+    public void testDeclarations() {
+        final String handler = "on foo(x)\r\nreturn x + 1\r\nend foo\r\nreturn foo(1)";
+        assertFalse(ScriptTemplate.of(handler).isParameterized());
+        final String property = "property p : 1\r\nreturn p";
+        assertFalse(ScriptTemplate.of(property).isParameterized());
+        final String tryBlock = "try\r\nreturn 1\r\non error\r\nreturn 2\r\nend try";
+        assertEquals(Arrays.asList("1", "2"), ScriptTemplate.of(tryBlock).getArguments());
+    }
+
+    @Test
+    public void testUnknownEscape() {
+        final ScriptTemplate template = ScriptTemplate.of("return \"a\\qb\" & \"c\"");
+        assertEquals(Collections.singletonList("c"), template.getArguments());
+        assertTrue(template.getTemplate().contains("return \"a\\qb\" & japlscript_arg1"));
+    }
+
+    @Test
+    public void testNoLiterals() {
+        final ScriptTemplate template = ScriptTemplate.of("return version");
+        assertFalse(template.isParameterized());
+        assertEquals("return version", template.getTemplate());
+        assertTrue(template.getArguments().isEmpty());
+    }
+}
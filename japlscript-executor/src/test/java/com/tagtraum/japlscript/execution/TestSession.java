@@ -12,7 +12,11 @@ import org.junit.jupiter.api.Test;
 import javax.swing.*;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -75,22 +79,26 @@ public class TestSession {
 
         final TestExecutionListener listener = new TestExecutionListener();
         ScriptExecutor.addExecutionListener(listener);
-        final Session session = Session.startSession();
+        try {
+            final Session session = Session.startSession();
 
-        session.add("return \"123\"");
-        session.add("return \"456\"");
+            session.add("return \"123\"");
+            session.add("return \"456\"");
 
-        // wait until all events are delivered on EDT
-        SwingUtilities.invokeAndWait(() -> { });
+            // wait until all events are delivered on EDT
+            SwingUtilities.invokeAndWait(() -> { });
 
-        assertTrue(listener.getEvents().isEmpty(), "Found the following events: " + listener.getEvents());
+            assertTrue(listener.getEvents().isEmpty(), "Found the following events: " + listener.getEvents());
 
-        session.commit();
+            session.commit();
 
-        // wait until all events are delivered on EDT
-        SwingUtilities.invokeAndWait(() -> { });
+            // wait until all events are delivered on EDT
+            SwingUtilities.invokeAndWait(() -> { });
 
-        assertEquals(2, listener.getEvents().size());
+            assertEquals(2, listener.getEvents().size());
+        } finally {
+            ScriptExecutor.removeExecutionListener(listener);
+        }
     }
 
     @Test
@@ -152,4 +160,101 @@ public class TestSession {
             }
         }
     }
+
+    @Test
+    public void testCommitAsync() throws ExecutionException, InterruptedException {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        corpus.put("return 1\nreturn 2", "2");
+        ReplayScriptExecutor.setCorpus(corpus);
+        System.setProperty(ScriptExecutor.EXECUTOR_PROPERTY, ReplayScriptExecutorProvider.NAME);
+        try {
+            final Session session = Session.startSession();
+            session.add("return 1");
+            session.add("return 2");
+            final CompletableFuture<Void> future = session.commitAsync();
+            assertNull(Session.get());
+            assertNull(future.get());
+            assertNull(Session.startSession().commitAsync().get());
+        } finally {
+            ReplayScriptExecutor.setCorpus(null);
+            System.clearProperty(ScriptExecutor.EXECUTOR_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testSplitResults() {
+        assertEquals(Arrays.asList("\"a, \\\"b\"", "{1, {2, 3}}", "«class pnam»", "|a, b|", "missing value"),
+            Session.splitResults("{\"a, \\\"b\", {1, {2, 3}}, «class pnam», |a, b|, missing value}"));
+        assertEquals(Collections.emptyList(), Session.splitResults("{}"));
+        assertEquals(Collections.singletonList("1"), Session.splitResults(" {1} "));
+        assertThrows(JaplScriptException.class, () -> Session.splitResults("1"));
+        assertThrows(JaplScriptException.class, () -> Session.splitResults("{1, 2"));
+    }
+
+    @Test
+    public void testPipelinedCommit() throws ExecutionException, InterruptedException {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        ReplayScriptExecutor.setCorpus(corpus);
+        System.setProperty(ScriptExecutor.EXECUTOR_PROPERTY, ReplayScriptExecutorProvider.NAME);
+        try {
+            final Session session = Session.startSession();
+            assertThrows(IllegalStateException.class, () -> session.submit("return 1"));
+            session.setPipelined(true);
+            assertTrue(session.isPipelined());
+            final CompletableFuture<String> one = session.submit("return 1");
+            session.add("set x to 2");
+            final CompletableFuture<String> two = session.submit("return {\"a\", 2}");
+            assertEquals("set japlscript_results to {}\n"
+                + "script japlscript_fragment1\nreturn 1\nend script\n"
+                + "set end of japlscript_results to (run japlscript_fragment1)\n"
+                + "set x to 2\n"
+                + "script japlscript_fragment2\nreturn {\"a\", 2}\nend script\n"
+                + "set end of japlscript_results to (run japlscript_fragment2)\n"
+                + "return japlscript_results\n", session.getScript());
+            corpus.put(session.getScript(), "{1, {\"a\", 2}}");
+            session.commit();
+            assertEquals("1", one.get());
+            assertEquals("{\"a\", 2}", two.get());
+            assertNull(Session.get());
+        } finally {
+            ReplayScriptExecutor.setCorpus(null);
+            System.clearProperty(ScriptExecutor.EXECUTOR_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testPipelinedCommitAsync() throws ExecutionException, InterruptedException {
+        final ReplayCorpus corpus = new ReplayCorpus();
+        ReplayScriptExecutor.setCorpus(corpus);
+        System.setProperty(ScriptExecutor.EXECUTOR_PROPERTY, ReplayScriptExecutorProvider.NAME);
+        try {
+            final Session session = Session.startSession();
+            session.setPipelined(true);
+            final CompletableFuture<String> one = session.submit("return 1");
+            final CompletableFuture<String> two = session.submit("return 2");
+            // wrong number of results
+            corpus.put(session.getScript(), "{1}");
+            final ExecutionException e = assertThrows(ExecutionException.class, () -> session.commitAsync().get());
+            assertTrue(e.getCause() instanceof JaplScriptException);
+            assertTrue(one.isCompletedExceptionally());
+            assertTrue(two.isCompletedExceptionally());
+        } finally {
+            ReplayScriptExecutor.setCorpus(null);
+            System.clearProperty(ScriptExecutor.EXECUTOR_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testPipelinedReset() {
+        final Session session = Session.startSession();
+        try {
+            session.setPipelined(true);
+            final CompletableFuture<String> future = session.submit("return 1");
+            session.reset();
+            assertTrue(future.isCancelled());
+            assertTrue(session.getScript().isEmpty());
+        } finally {
+            session.commit();
+        }
+    }
 }
@@ -105,6 +105,10 @@ public class ClassSignature {
         extendedClasses.add(extendsClass);
     }
 
+    public List<String> getExtendedClasses() {
+        return extendedClasses;
+    }
+
     public void addImplements(final String implementsClass) {
         implementedClasses.add(implementsClass);
     }
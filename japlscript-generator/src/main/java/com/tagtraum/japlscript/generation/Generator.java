@@ -57,6 +57,7 @@ public class Generator {
     private Map<String, List<Element>> recordMap;
     private Map<String, List<Element>> enumerationMap;
     private boolean generateElementSetters = false;
+    private boolean generateImplementations = false;
     private BiConsumer<String, Level> logMessageConsumer = (message, logLevel) -> Logger.getLogger(Generator.class.getName()).log(logLevel, message);
 
     public BiConsumer<String, Level> getLogMessageConsumer() {
@@ -102,6 +103,30 @@ public class Generator {
         }
     }
 
+    /**
+     * Indicates whether implementation classes are generated alongside the interfaces.
+     * For each interface {@code Xyz}, a class {@code XyzImpl} is generated that extends
+     * {@link GeneratedReference} and implements all methods with direct calls,
+     * i.e. without reflection. At runtime, {@link JaplScript#cast(Class, Reference)}
+     * prefers these classes over {@link java.lang.reflect.Proxy proxies}.
+     * This is {@code false} by default.
+     *
+     * @return true or false
+     */
+    public boolean isGenerateImplementations() {
+        return generateImplementations;
+    }
+
+    /**
+     * Turn generation of implementation classes on or off.
+     *
+     * @param generateImplementations true or false
+     * @see #isGenerateImplementations()
+     */
+    public void setGenerateImplementations(final boolean generateImplementations) {
+        this.generateImplementations = generateImplementations;
+    }
+
     /**
      * Lets you configure a custom mapping from AppleScript types
      * to Java types.
@@ -239,6 +264,7 @@ public class Generator {
         log("Package prefix: " + packagePrefix, Level.INFO);
         log("Package: " + getPackageName(), Level.INFO);
         log("Module: " + (module == null ? "<not specified>" : module), Level.INFO);
+        log("Generate implementations: " + generateImplementations, Level.INFO);
 
         final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
         documentBuilderFactory.setValidating(false);
@@ -288,6 +314,11 @@ public class Generator {
         writeClasses(classSignatures);
         writeClasses(recordSignatures);
         writeClasses(enumSignatures);
+        if (generateImplementations) {
+            final List<ClassSignature> interfaceSignatures = new ArrayList<>(classSignatures);
+            interfaceSignatures.addAll(recordSignatures);
+            writeClasses(createImplementations(interfaceSignatures));
+        }
 
         writePackageInfo();
 
@@ -364,6 +395,136 @@ public class Generator {
         return classes;
     }
 
+    /**
+     * Create implementation classes for the given interfaces.
+     *
+     * @param interfaces generated interfaces
+     * @return implementations
+     * @see #isGenerateImplementations()
+     */
+    private List<ClassSignature> createImplementations(final List<ClassSignature> interfaces) {
+        final Map<String, ClassSignature> interfaceMap = new HashMap<>();
+        for (final ClassSignature classSignature : interfaces) {
+            interfaceMap.put(classSignature.getName(), classSignature);
+            interfaceMap.put(classSignature.getFullyQualifiedClassName(), classSignature);
+        }
+        final List<ClassSignature> implementations = new ArrayList<>();
+        for (final ClassSignature classSignature : interfaces) {
+            final ClassSignature implementation = createImplementation(classSignature, interfaceMap);
+            if (implementation != null) {
+                implementations.add(implementation);
+            }
+        }
+        return implementations;
+    }
+
+    private ClassSignature createImplementation(final ClassSignature interfaceSignature,
+                                                final Map<String, ClassSignature> interfaceMap) {
+        final String interfaceName = interfaceSignature.getName();
+        final String implementationName = interfaceName + "Impl";
+        final ClassSignature implementation = new ClassSignature("final class", implementationName,
+            interfaceSignature.getPackageName(), "Generated implementation of " + interfaceName + ".");
+        implementation.addExtends(GeneratedReference.class.getName());
+        implementation.addImplements(interfaceName);
+
+        final MethodSignature constructor = new MethodSignature(implementationName);
+        constructor.setVisibility("public");
+        constructor.setDescription("Creates an implementation for the given reference.");
+        constructor.add(new ParameterSignature("reference", "reference", Reference.class.getName()));
+        constructor.setBody("super(reference);");
+        implementation.add(constructor);
+
+        // implement the methods of the interface and all its super interfaces,
+        // methods declared by more specific interfaces win
+        final Set<String> implemented = new HashSet<>();
+        final Deque<ClassSignature> todo = new ArrayDeque<>();
+        todo.add(interfaceSignature);
+        while (!todo.isEmpty()) {
+            final ClassSignature classSignature = todo.removeFirst();
+            for (final MethodSignature method : classSignature.getMethodSignatures()) {
+                if (method.isDefaultMethod() || method.getBody() != null) continue;
+                final String key = method.getName() + method.getParameterSignatures().stream()
+                    .map(ParameterSignature::getType)
+                    .collect(Collectors.joining(",", "(", ")"));
+                if (implemented.add(key)) {
+                    implementation.add(createImplementationMethod(interfaceName, method));
+                }
+            }
+            for (final String extendedClass : classSignature.getExtendedClasses()) {
+                if (Reference.class.getName().equals(extendedClass)) continue;
+                final ClassSignature superInterface = interfaceMap.get(extendedClass);
+                if (superInterface == null) {
+                    log("Cannot generate implementation for " + interfaceSignature.getFullyQualifiedClassName()
+                        + ", because its super interface " + extendedClass + " is not generated.", Level.WARNING);
+                    return null;
+                }
+                todo.add(superInterface);
+            }
+        }
+        return implementation;
+    }
+
+    private MethodSignature createImplementationMethod(final String interfaceName, final MethodSignature method) {
+        final MethodSignature implementationMethod = new MethodSignature(method.getName());
+        implementationMethod.setVisibility("public");
+        implementationMethod.setReturnType(method.getReturnType());
+        implementationMethod.setReturnTypeDescription(method.getReturnTypeDescription());
+        implementationMethod.setDescription(method.getDescription());
+        implementationMethod.add(new AnnotationSignature(Override.class));
+        for (final ParameterSignature parameter : method.getParameterSignatures()) {
+            implementationMethod.add(new ParameterSignature(parameter.getName(), parameter.getDescription(), parameter.getType()));
+        }
+        if ("getProperties".equals(method.getName()) && method.getParameterSignatures().isEmpty()) {
+            implementationMethod.setBody("return _getProperties(" + interfaceName + ".class);");
+        } else if (method.getImplementation() != null) {
+            implementationMethod.setBody(method.getImplementation());
+        } else {
+            // no direct implementation, invoke like a proxy would
+            final String parameterTypes = method.getParameterSignatures().stream()
+                .map(parameter -> toClassLiteral(parameter.getType().replace("...", "[]")))
+                .collect(Collectors.joining(", ", "new Class<?>[] {", "}"));
+            final String args = method.getParameterSignatures().stream()
+                .map(ParameterSignature::getName)
+                .collect(Collectors.joining(", ", "new Object[] {", "}"));
+            final String returnType = method.getReturnType();
+            final String call = "_invoke(" + interfaceName + ".class, " + toStringLiteral(method.getName()) + ", "
+                + parameterTypes + ", " + args + ")";
+            implementationMethod.setBody("void".equals(returnType)
+                ? call + ";"
+                : "return (" + returnType + ") " + call + ";");
+        }
+        return implementationMethod;
+    }
+
+    /**
+     * Call of a {@link GeneratedReference} method, prefixed with {@code return} and cast
+     * to the return type, if necessary.
+     *
+     * @param returnType Java return type
+     * @param call call, returning a value of the erased return type
+     * @return statement
+     */
+    private static String toReturnStatement(final String returnType, final String call) {
+        if ("void".equals(returnType)) return call + ";";
+        if (returnType.indexOf('<') != -1) return "return (" + returnType + ") " + call + ";";
+        return "return " + call + ";";
+    }
+
+    /**
+     * Class literal for the given, possibly generic, Java type.
+     *
+     * @param javaType Java type, e.g. {@code java.util.Map<String, Object>[]}
+     * @return class literal, e.g. {@code java.util.Map[].class}
+     */
+    private static String toClassLiteral(final String javaType) {
+        return javaType.replaceAll("<.*>", "") + ".class";
+    }
+
+    private static String toStringLiteral(final String s) {
+        if (s == null) return "null";
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
     private List<ClassSignature> createRecords() {
         final List<ClassSignature> classes = new ArrayList<>();
         for (Map.Entry<String, List<Element>> entry : recordMap.entrySet()) {
@@ -641,11 +802,24 @@ public class Generator {
 
         final List<MethodSignature> methods = new ArrayList<>();
 
+        // typed queries for classes that can be elements
+        final boolean queryable = !record && !isNullOrEmpty(klass.getAttribute("plural"));
+        if (queryable) {
+            final MethodSignature query = new MethodSignature("query");
+            query.setVisibility("static");
+            query.setDescription("Creates a query for {@link " + javaClassName + "} elements.");
+            query.setReturnType(Query.class.getName() + "<" + javaClassName + ">");
+            query.setReturnTypeDescription("query for all elements of this class");
+            query.setBody("return " + Query.class.getName() + ".of(" + javaClassName + ".class);");
+            methods.add(query);
+        }
+
         if (classSignature.isApplicationClass() || classSignature.isScriptingAdditionClass()) {
             // commands
             methods.addAll(createAllCommandMethods(klass.getOwnerDocument()));
         }
 
+        final Set<String> propertyKeys = new HashSet<>();
         for (final Element classElement : classList) {
             // elements
             final NodeList elements = classElement.getElementsByTagName("element");
@@ -658,6 +832,8 @@ public class Generator {
             for (int i = 0; i < properties.getLength(); i++) {
                 final Element property = (Element) properties.item(i);
                 methods.addAll(createPropertyMethods(property, true));
+                final FieldSignature propertyKey = createPropertyKey(property, queryable, propertyKeys);
+                if (propertyKey != null) classSignature.add(propertyKey);
             }
         }
 
@@ -714,6 +890,7 @@ public class Generator {
         for (int overloadCount = 0; overloadCount<overloadedVersions; overloadCount++) {
 
             final List<ParameterSignature> parameterSignatures = new ArrayList<>();
+            final List<String> parameterKeywords = new ArrayList<>();
             final Set<String> alreadyUsedJavaParameterNames = new HashSet<>();
             String returnType = "void";
             String returnTypeDescription = null;
@@ -756,6 +933,7 @@ public class Generator {
                                 parameterDescription,
                                 getJavaType(parameterType, array));
                             parameterSignatures.add(param);
+                            parameterKeywords.add(null);
                             break;
                         }
                         case "parameter": {
@@ -767,6 +945,7 @@ public class Generator {
                                 getJavaType(parameterType, array),
                                 annotationSignature);
                             parameterSignatures.add(param);
+                            parameterKeywords.add(parameterName);
                             break;
                         }
                         case "result":
@@ -787,6 +966,12 @@ public class Generator {
             }
             commandSignature.add(new AnnotationSignature(Kind.class, "\"command\""));
             commandSignature.add(new AnnotationSignature(Name.class, "\"" + name + "\""));
+            commandSignature.setImplementation(toReturnStatement(returnType, "_command("
+                + toStringLiteral(name) + ", "
+                + toClassLiteral(returnType) + ", "
+                + parameterKeywords.stream().map(Generator::toStringLiteral).collect(Collectors.joining(", ", "new String[]{", "}")) + ", "
+                + parameterSignatures.stream().map(ParameterSignature::getName).collect(Collectors.joining(", ", "new Object[]{", "}"))
+                + ")"));
 
             methods.add(commandSignature);
         }
@@ -799,6 +984,7 @@ public class Generator {
             specialMake.setReturnTypeDescription("a new object of type klass");
             specialMake.add(new ParameterSignature("klass", "Java type of the object to create.", "java.lang.Class<T>"));
             specialMake.add(new AnnotationSignature(com.tagtraum.japlscript.Kind.class, "\"make\""));
+            specialMake.setImplementation("return _make(klass);");
 
             methods.add(specialMake);
         }
@@ -951,8 +1137,36 @@ public class Generator {
             if (!isNullOrEmpty(type))
                 getter.add(new AnnotationSignature(Type.class, "\"" + type + "\""));
             getter.add(new ParameterSignature("filter", "AppleScript filter clause without the leading \"whose\" or \"where\"", String.class.getName()));
+            getter.setImplementation(toReturnStatement(javaClassName + "[]",
+                "_getElements(" + toClassLiteral(javaClassName + "[]") + ", filter)"));
             methods.add(getter);
 
+            // only references can be streamed in chunks
+            if (isReferenceType(type, javaClassName)) {
+                final String streamType = Stream.class.getName() + "<" + javaClassName + ">";
+                final MethodSignature streamNoFilter = new MethodSignature("stream" + propertyName + "s");
+                streamNoFilter.setDescription(toJavadocDescription(description));
+                streamNoFilter.setReturnType(streamType);
+                streamNoFilter.setReturnTypeDescription("a stream of all {@link " + javaClassName + "}s, fetched in chunks");
+                streamNoFilter.add(new AnnotationSignature(Kind.class, "\"element\""));
+                if (!isNullOrEmpty(type))
+                    streamNoFilter.add(new AnnotationSignature(Type.class, "\"" + type + "\""));
+                streamNoFilter.setBody("return stream" + propertyName + "s(null);");
+                streamNoFilter.setDefaultMethod(true);
+                methods.add(streamNoFilter);
+
+                final MethodSignature stream = new MethodSignature("stream" + propertyName + "s");
+                stream.setDescription(toJavadocDescription(description));
+                stream.setReturnType(streamType);
+                stream.setReturnTypeDescription("a stream of all {@link " + javaClassName + "}s that pass the filter, fetched in chunks");
+                stream.add(new AnnotationSignature(Kind.class, "\"element\""));
+                if (!isNullOrEmpty(type))
+                    stream.add(new AnnotationSignature(Type.class, "\"" + type + "\""));
+                stream.add(new ParameterSignature("filter", "AppleScript filter clause without the leading \"whose\" or \"where\"", String.class.getName()));
+                stream.setImplementation("return _streamElements(" + toClassLiteral(javaClassName) + ", filter);");
+                methods.add(stream);
+            }
+
             final MethodSignature getterWithIndex = new MethodSignature("get" + propertyName);
             getterWithIndex.setDescription(toJavadocDescription(description));
             getterWithIndex.setReturnType(javaClassName);
@@ -961,6 +1175,8 @@ public class Generator {
             if (!isNullOrEmpty(type))
                 getterWithIndex.add(new AnnotationSignature(Type.class, "\"" + type + "\""));
             getterWithIndex.add(new ParameterSignature("index", "index into the element list (zero-based)", "int"));
+            getterWithIndex.setImplementation(toReturnStatement(javaClassName,
+                "_getElement(" + toStringLiteral(type) + ", index, " + toClassLiteral(javaClassName) + ")"));
             methods.add(getterWithIndex);
 
             final MethodSignature getterWithId = new MethodSignature("get" + propertyName);
@@ -971,6 +1187,8 @@ public class Generator {
             if (!isNullOrEmpty(type))
                 getterWithId.add(new AnnotationSignature(Type.class, "\"" + type + "\""));
             getterWithId.add(new ParameterSignature("id", "id of the item", Id.class.getName()));
+            getterWithId.setImplementation(toReturnStatement(javaClassName,
+                "_getElement(" + toStringLiteral(type) + ", id, " + toClassLiteral(javaClassName) + ")"));
             methods.add(getterWithId);
 
             final MethodSignature countNoFilter = new MethodSignature("count" + propertyName + "s");
@@ -992,6 +1210,7 @@ public class Generator {
             if (!isNullOrEmpty(type))
                 count.add(new AnnotationSignature(Type.class, "\"" + type + "\""));
             count.add(new ParameterSignature("filter", "AppleScript filter clause without the leading \"whose\" or \"where\"", String.class.getName()));
+            count.setImplementation("return _countElements(" + toClassLiteral(javaClassName) + ", filter);");
             methods.add(count);
         }
         return methods;
@@ -1069,6 +1288,8 @@ public class Generator {
                 getter.add(new AnnotationSignature(Name.class, "\"" + name + "\""));
             if (!isNullOrEmpty(code))
                 getter.add(new AnnotationSignature(Code.class, "\"" + code + "\""));
+            getter.setImplementation(toReturnStatement(javaClassName,
+                "_getProperty(\"return \\u00abproperty " + code + "\\u00bb\", " + toClassLiteral(javaClassName) + ")"));
             methods.add(getter);
         }
 
@@ -1088,11 +1309,72 @@ public class Generator {
                 setter.add(new AnnotationSignature(Code.class, "\"" + code + "\""));
             
             setter.add(new ParameterSignature(javaParameterName, "new property value", javaClassName));
+            setter.setImplementation("_setProperty(\"set \\u00abproperty " + code + "\\u00bb\", " + javaParameterName + ");");
             methods.add(setter);
         }
         return methods;
     }
 
+    /**
+     * Create a {@link FieldSignature} for a {@link PropertyKey} constant,
+     * e.g. {@code PropertyKey<Track[]> TRACKS}, if the property is readable.
+     * If the class can be queried and the property has a simple type, the constant is a
+     * {@link FilterProperty}, e.g. {@code FilterProperty<Integer> YEAR}, or for text properties a
+     * {@link TextFilterProperty}, e.g. {@code TextFilterProperty NAME}.
+     *
+     * @param property XML element for a property
+     * @param queryable true, if the class has typed queries
+     * @param declared names of constants that have already been declared, the new constant is added
+     * @return field signature or {@code null}
+     */
+    private FieldSignature createPropertyKey(final Element property, final boolean queryable, final Set<String> declared) {
+        final String name = property.getAttribute("name");
+        final String code = property.getAttribute("code");
+        if (isNullOrEmpty(name) || isNullOrEmpty(code)) return null;
+        final String constant = Identifiers.toJavaConstant(name);
+        // already declared by all generated interfaces
+        if ("CLASS".equals(constant) || "APPLICATION_CLASSES".equals(constant)) return null;
+        final MethodSignature getter = createPropertyMethods(property, true).stream()
+            .filter(m -> m.getName().startsWith("get") || m.getName().startsWith("is"))
+            .findFirst()
+            .orElse(null);
+        if (getter == null) return null;
+        final String javaType = toBoxedType(getter.getReturnType());
+        if (!declared.add(constant)) return null;
+        final boolean generic = javaType.indexOf('<') != -1;
+        if (!queryable || generic || javaType.indexOf('[') != -1) {
+            final String propertyKey = PropertyKey.class.getName();
+            // class literals can't be generic
+            return new FieldSignature(propertyKey + "<" + (generic ? "?" : javaType) + "> " + constant
+                + " = new " + propertyKey + "<>(" + toStringLiteral(name) + ", " + toStringLiteral(code) + ", "
+                + javaType.replaceAll("<.*>", "") + ".class)", "Property " + name + " for fetching properties.");
+        }
+        if (String.class.getName().equals(javaType)) {
+            final String textFilterProperty = TextFilterProperty.class.getName();
+            return new FieldSignature(textFilterProperty + " " + constant
+                + " = new " + textFilterProperty + "(" + toStringLiteral(name) + ", " + toStringLiteral(code) + ")",
+                "Property " + name + " for typed query filters.");
+        }
+        final String filterProperty = FilterProperty.class.getName();
+        return new FieldSignature(filterProperty + "<" + javaType + "> " + constant
+            + " = new " + filterProperty + "<>(" + toStringLiteral(name) + ", " + toStringLiteral(code) + ", "
+            + javaType + ".class)", "Property " + name + " for typed query filters.");
+    }
+
+    private static String toBoxedType(final String javaType) {
+        switch (javaType) {
+            case "boolean": return Boolean.class.getName();
+            case "byte": return Byte.class.getName();
+            case "char": return Character.class.getName();
+            case "short": return Short.class.getName();
+            case "int": return Integer.class.getName();
+            case "long": return Long.class.getName();
+            case "float": return Float.class.getName();
+            case "double": return Double.class.getName();
+            default: return javaType;
+        }
+    }
+
     private String avoidForbiddenMethodNames(final String name) {
         if ("Class".equals(name)) return "Klass";
         return name;
@@ -1149,6 +1431,23 @@ public class Generator {
         return array ? javaType + "[]" : javaType;
     }
 
+    /**
+     * Indicates whether the given type is mapped to a {@link Reference}.
+     *
+     * @param applescriptType AppleScript type
+     * @param javaType Java type as returned by {@link #getJavaType(String)}
+     * @return true, if the type is a generated class or record, or a {@link Reference}
+     */
+    private boolean isReferenceType(final String applescriptType, final String javaType) {
+        if (!customTypeMapping.containsKey(applescriptType)
+            && (classMap.containsKey(applescriptType) || recordMap.containsKey(applescriptType))) return true;
+        try {
+            return Reference.class.isAssignableFrom(Class.forName(javaType));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
     private static String sdefNameToPackageName(final String suiteName) {
         return suiteName.toLowerCase().replace(' ', '_');
     }
@@ -126,6 +126,16 @@ public class GeneratorAntTask extends Task {
         this.generator.setScriptingAddition(scriptingAddition);
     }
 
+    /**
+     * Indicate whether implementation classes are generated alongside the interfaces.
+     *
+     * @param generateImplementations true or false
+     * @see Generator#isGenerateImplementations()
+     */
+    public void setGenerateImplementations(final boolean generateImplementations) {
+        this.generator.setGenerateImplementations(generateImplementations);
+    }
+
     /*
     public void setOut(final Path out) {
         generator.setOut(out);
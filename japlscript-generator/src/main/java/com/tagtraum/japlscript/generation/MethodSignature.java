@@ -29,6 +29,7 @@ public class MethodSignature {
     private boolean defaultMethod;
     private String description;
     private String visibility;
+    private String implementation;
 
     public MethodSignature(final String name) {
         Objects.requireNonNull(name, "name is mandatory");
@@ -95,6 +96,25 @@ public class MethodSignature {
         this.body = body;
     }
 
+    /**
+     * Body of this method in generated implementation classes.
+     *
+     * @return body or {@code null}
+     * @see Generator#isGenerateImplementations()
+     */
+    public String getImplementation() {
+        return implementation;
+    }
+
+    /**
+     * Set the body of this method in generated implementation classes.
+     *
+     * @param implementation body
+     */
+    public void setImplementation(final String implementation) {
+        this.implementation = implementation;
+    }
+
     public boolean isDefaultMethod() {
         return defaultMethod;
     }
@@ -36,6 +36,18 @@ public class ParameterSignature {
         this.description = description;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
     public String toJavadoc() {
         if (description == null) return " * @param " + name;
         else return " * @param " + name + " " + toHTML(description);
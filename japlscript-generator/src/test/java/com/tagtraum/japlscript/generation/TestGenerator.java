@@ -19,6 +19,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Files;
@@ -26,6 +27,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -147,7 +149,72 @@ public class TestGenerator {
         generateForSdef("Contacts_12_0.sdef", "testGenerateForContacts12_0", "Contacts");
     }
 
+    @Test
+    public void testGenerateImplementationsForFinder10_15_7() throws IOException, ClassNotFoundException, ParserConfigurationException, SAXException {
+        generateForSdef("Finder_10_15_7.sdef", "testGenerateImplementationsForFinder10_15_7", "Finder", true);
+    }
+
+    @Test
+    public void testGenerateImplementationsForSystemEvents10_15_7() throws IOException, ClassNotFoundException, ParserConfigurationException, SAXException {
+        generateForSdef("SystemEvents_10_15_7.sdef", "testGenerateImplementationsForSystemEvents10_15_7", "SystemEvents", true);
+    }
+
+    @Test
+    public void testGenerateImplementationsForMusic1_0_6_10() throws IOException, ClassNotFoundException, ParserConfigurationException, SAXException, NoSuchMethodException {
+        final String filename = "Music_1_0_6_10.sdef";
+        final File sdefFile = File.createTempFile("testGenerateImplementationsForMusic1_0_6_10", filename);
+        final Path out = Files.createTempDirectory("generated");
+        extractFile(filename, sdefFile);
+
+        try {
+            final Generator generator = new Generator();
+            assertFalse(generator.isGenerateImplementations());
+            generator.setGenerateImplementations(true);
+            assertTrue(generator.isGenerateImplementations());
+            // element setters have no direct implementation
+            generator.setGenerateElementSetters(true);
+            generator.setSdef(sdefFile);
+            generator.setOut(out);
+            generator.setApplication("Music");
+            generator.generate();
+
+            final String packageName = "com.tagtraum.japlscript." + sdefFile.getName().replace(".sdef", "").toLowerCase();
+            final URLClassLoader loader = compileGeneratedClasses(out);
+            final Class<?> trackClass = loader.loadClass(packageName + ".Track");
+            final Class<?> fileTrackClass = loader.loadClass(packageName + ".FileTrack");
+            final Class<?> fileTrackImplClass = loader.loadClass(packageName + ".FileTrackImpl");
+            assertTrue(GeneratedReference.class.isAssignableFrom(fileTrackImplClass));
+            assertTrue(fileTrackClass.isAssignableFrom(fileTrackImplClass));
+            assertFalse(java.lang.reflect.Modifier.isAbstract(fileTrackImplClass.getModifiers()));
+            // inherited from track
+            assertEquals(fileTrackImplClass, fileTrackImplClass.getMethod("getName").getDeclaringClass());
+            assertEquals(fileTrackImplClass, fileTrackImplClass.getMethod("getProperties").getDeclaringClass());
+
+            final Class<?> playlistImplClass = loader.loadClass(packageName + ".PlaylistImpl");
+            assertEquals(playlistImplClass, playlistImplClass.getMethod("setTrack", Integer.TYPE, trackClass).getDeclaringClass());
+            // no throwing stubs, methods without direct implementation are invoked like in proxies
+            try (final Stream<Path> files = Files.walk(out)) {
+                assertTrue(files.filter(file -> file.toString().endsWith(".java"))
+                    .map(TestGenerator::read)
+                    .noneMatch(source -> source.contains("UnsupportedOperationException")));
+            }
+
+            final Object track = JaplScript.cast(trackClass, new com.tagtraum.japlscript.language.ReferenceImpl("track 1", "application \"Music\""));
+            assertEquals(loader.loadClass(packageName + ".TrackImpl"), track.getClass());
+        } finally {
+            Files.walk(out)
+                .sorted(Comparator.reverseOrder())
+                .map(Path::toFile)
+                .forEach(File::delete);
+        }
+    }
+
     private void generateForSdef(final String filename, final String prefix, final String application) throws IOException, ClassNotFoundException, ParserConfigurationException, SAXException {
+        generateForSdef(filename, prefix, application, false);
+    }
+
+    private void generateForSdef(final String filename, final String prefix, final String application,
+                                 final boolean implementations) throws IOException, ClassNotFoundException, ParserConfigurationException, SAXException {
         final File sdefFile = File.createTempFile(prefix, filename);
         final Path out = Files.createTempDirectory("generated");
         extractFile(filename, sdefFile);
@@ -157,6 +224,7 @@ public class TestGenerator {
             generator.setSdef(sdefFile);
             generator.setOut(out);
             generator.setApplication(application);
+            generator.setGenerateImplementations(implementations);
             generator.generate();
 
             // TODO: test some basics
@@ -362,6 +430,14 @@ public class TestGenerator {
             final Type setVisibleType = setVisibleMethod.getDeclaredAnnotation(Type.class);
             assertEquals("boolean", setVisibleType.value());
 
+            // property keys for fetch(), also for classes without plural
+            final PropertyKey<?> visible = (PropertyKey<?>) applicationClass.getDeclaredField("VISIBLE").get(null);
+            assertSame(PropertyKey.class, visible.getClass());
+            assertEquals("pvis", visible.getCode());
+            assertSame(Boolean.class, visible.getJavaClass());
+            final PropertyKey<?> clipboard = (PropertyKey<?>) applicationClass.getDeclaredField("CLIPBOARD").get(null);
+            assertSame(Reference.class, clipboard.getJavaClass());
+
             final Field klass = applicationClass.getDeclaredField("CLASS");
             assertEquals(TypeClass.class, klass.getType());
             final TypeClass klassValue = (TypeClass)klass.get(null);
@@ -378,7 +454,7 @@ public class TestGenerator {
     }
 
     @Test
-    public void testElements() throws IOException, ClassNotFoundException, NoSuchMethodException, NoSuchFieldException, IllegalAccessException, ParserConfigurationException, SAXException {
+    public void testElements() throws IOException, ClassNotFoundException, NoSuchMethodException, NoSuchFieldException, IllegalAccessException, InvocationTargetException, ParserConfigurationException, SAXException {
         // copy resource to temp file
         final String filename = "Elements.sdef";
         final File sdefFile = File.createTempFile("Elements", filename);
@@ -461,6 +537,17 @@ public class TestGenerator {
             final Type countItemsWithFilterType = countItemsWithFilter.getDeclaredAnnotation(Type.class);
             assertEquals("item", countItemsWithFilterType.value());
 
+            final Method streamItems = applicationClass.getDeclaredMethod("streamItems");
+            assertEquals(Stream.class, streamItems.getReturnType());
+            assertEquals(itemClass, ((ParameterizedType) streamItems.getGenericReturnType()).getActualTypeArguments()[0]);
+            assertEquals("element", streamItems.getDeclaredAnnotation(Kind.class).value());
+            assertTrue(streamItems.isDefault());
+
+            final Method streamItemsWithFilter = applicationClass.getDeclaredMethod("streamItems", String.class);
+            assertEquals(Stream.class, streamItemsWithFilter.getReturnType());
+            assertEquals("element", streamItemsWithFilter.getDeclaredAnnotation(Kind.class).value());
+            assertEquals("item", streamItemsWithFilter.getDeclaredAnnotation(Type.class).value());
+
             final Method setItem = applicationClass.getDeclaredMethod("setItem", Integer.TYPE, itemClass);
             assertEquals(Void.TYPE, setItem.getReturnType());
             final Kind setItemKind = setItem.getDeclaredAnnotation(Kind.class);
@@ -468,6 +555,20 @@ public class TestGenerator {
             final Type setItemType = setItem.getDeclaredAnnotation(Type.class);
             assertEquals("item", setItemType.value());
 
+            // typed queries
+            final TextFilterProperty name = (TextFilterProperty) itemClass.getDeclaredField("NAME").get(null);
+            assertEquals("pnam", name.getCode());
+            assertSame(String.class, name.getJavaClass());
+            assertEquals("«property pnam» starts with (\"a\")", name.startsWith("a").toString());
+            assertNotNull(itemClass.getDeclaredField("DISPLAYED_NAME"));
+            final FilterProperty<?> stationery = (FilterProperty<?>) fileClass.getDeclaredField("STATIONERY").get(null);
+            assertSame(Boolean.class, stationery.getJavaClass());
+            assertEquals("«property pspd» is true", stationery.getClass().getMethod("is", Object.class)
+                .invoke(stationery, true).toString());
+            final Query<?> query = (Query<?>) itemClass.getDeclaredMethod("query").invoke(null);
+            assertSame(itemClass, query.getElementType());
+            assertThrows(NoSuchMethodException.class, () -> applicationClass.getDeclaredMethod("query"));
+
             // TODO: add missing methods
 
             final Field klass = applicationClass.getDeclaredField("CLASS");
@@ -562,6 +663,14 @@ public class TestGenerator {
         }
     }
 
+    private static String read(final Path file) {
+        try {
+            return new String(Files.readAllBytes(file), java.nio.charset.StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private static void extractFile(final String filename, final File file) throws IOException {
         try (final InputStream in = TestGenerator.class.getResourceAsStream(filename);
              final OutputStream out = new FileOutputStream(file)) {
@@ -0,0 +1,244 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.language.TypeClass;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe registry of application interfaces and the classes and properties they declare.
+ * <p>
+ * Each application interface is registered once. Its {@link Registration} is built completely
+ * before it is published, and it is immutable afterwards, so lookups need no locking.
+ * Type classes are indexed by their {@link TypeClass#equals(Object) identity} and by name,
+ * i.e. lookups take constant time, no matter how many classes an application declares.
+ * Names are resolved to codes per application, so that two applications may use
+ * the same name for different codes.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+final class ApplicationRegistry {
+
+    private final Map<String, Class<?>> interfaces = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Registration> registrations = new ConcurrentHashMap<>();
+    /** Registration that is being built by the current thread, visible only to this thread. */
+    private final ThreadLocal<Registration> building = new ThreadLocal<>();
+
+    /**
+     * Registers the interface for an application reference, unless one is already registered.
+     *
+     * @param applicationReference application reference, e.g. {@code application "Music"}
+     * @param applicationInterface application interface
+     */
+    void registerInterface(final String applicationReference, final Class<?> applicationInterface) {
+        interfaces.putIfAbsent(applicationReference, applicationInterface);
+    }
+
+    /**
+     * Looks up the application interface for an application reference.
+     *
+     * @param applicationReference application reference, e.g. {@code application "Music"}
+     * @return application interface or {@code null}
+     */
+    Class<?> getInterface(final String applicationReference) {
+        if (applicationReference == null) return null;
+        return interfaces.get(applicationReference);
+    }
+
+    /**
+     * Registers the classes and properties declared by an application interface in its
+     * {@code APPLICATION_CLASSES} field, unless this has already been done.
+     *
+     * @param applicationInterface application interface
+     * @return registration
+     * @throws JaplScriptException if the interface cannot be read
+     */
+    Registration register(final Class<?> applicationInterface) {
+        Registration registration = registrations.get(applicationInterface);
+        if (registration == null) {
+            // built outside of the map, as building may trigger lookups,
+            // concurrent duplicates are discarded
+            registration = new Registration(applicationInterface, building);
+            final Registration existing = registrations.putIfAbsent(applicationInterface, registration);
+            if (existing != null) registration = existing;
+        }
+        return registration;
+    }
+
+    /**
+     * @param applicationInterface application interface
+     * @return registration or {@code null}, if the interface has not been registered
+     */
+    Registration get(final Class<?> applicationInterface) {
+        final Registration registration = registrations.get(applicationInterface);
+        if (registration == null) {
+            // properties intern their types while the registration is built
+            final Registration inProgress = building.get();
+            if (inProgress != null && inProgress.applicationInterface == applicationInterface) return inProgress;
+        }
+        return registration;
+    }
+
+    /**
+     * Immutable index of the classes and properties of one application.
+     */
+    static final class Registration {
+
+        private final Class<?> applicationInterface;
+        /** Declared type classes in declaration order. */
+        private final List<TypeClass> typeClasses;
+        private final Map<TypeClass, TypeClass> declared = new HashMap<>();
+        private final Map<String, TypeClass> byName = new HashMap<>();
+        private final PrefixIndex<TypeClass> byNamePrefix = new PrefixIndex<>();
+        private final Map<TypeClass, Class<?>> javaClasses = new IdentityHashMap<>();
+        /** Immutable property tables, including inherited properties. */
+        private final Map<TypeClass, Map<String, Property>> properties = new IdentityHashMap<>();
+
+        private Registration(final Class<?> applicationInterface, final ThreadLocal<Registration> building) {
+            this.applicationInterface = applicationInterface;
+            final List<TypeClass> typeClasses = new ArrayList<>();
+            final Registration previous = building.get();
+            try {
+                final Field applicationClassesField = applicationInterface.getField("APPLICATION_CLASSES");
+                final Object applicationClassesValue = applicationClassesField.get(null);
+                if (!(applicationClassesValue instanceof Set)) {
+                    throw new JaplScriptException("APPLICATION_CLASSES of " + applicationInterface + " is not a Set.");
+                }
+                final List<Class<?>> applicationClasses = new ArrayList<>();
+                for (final Object applicationClass : (Set<?>) applicationClassesValue) {
+                    if (!(applicationClass instanceof Class)) {
+                        throw new JaplScriptException("APPLICATION_CLASSES of " + applicationInterface + " contains non-class " + applicationClass + ".");
+                    }
+                    applicationClasses.add((Class<?>) applicationClass);
+                }
+
+                // first get all TypeClasses, so that we can intern them
+                // while reading all Properties
+                for (final Class<?> klass : applicationClasses) {
+                    final TypeClass typeClass = TypeClass.fromClass(klass);
+                    if (typeClass == null) {
+                        throw new JaplScriptException("Generated class " + klass + " does not declare CLASS.");
+                    }
+                    // first declaration wins
+                    if (find(typeClass) != null) continue;
+                    typeClasses.add(typeClass);
+                    javaClasses.put(typeClass, klass);
+                    declared.put(typeClass, typeClass);
+                    if (typeClass.getName() != null) {
+                        byName.putIfAbsent(typeClass.getName(), typeClass);
+                        byNamePrefix.put(typeClass.getName(), typeClass);
+                    }
+                }
+
+                // now add all properties for each TypeClass, i.e. class declared in this app
+                building.set(this);
+                final Map<TypeClass, Map<String, Property>> declaredProperties = new IdentityHashMap<>();
+                for (final Class<?> klass : applicationClasses) {
+                    final Map<String, Property> classProperties = declaredProperties.computeIfAbsent(find(TypeClass.fromClass(klass)),
+                        k -> new HashMap<>());
+                    final Set<Property> properties = Property.fromAnnotations(klass, applicationInterface);
+                    for (final Property property : properties) {
+                        classProperties.put(property.getName(), property);
+                        classProperties.put(property.toChevron().toString(), property);
+                    }
+                }
+
+                // flatten inherited properties into one table per class
+                for (final TypeClass typeClass : typeClasses) {
+                    final Map<String, Property> table = new HashMap<>(declaredProperties.get(typeClass));
+                    final Set<TypeClass> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+                    visited.add(typeClass);
+                    for (TypeClass superClass = typeClass.getSuperClass(); superClass != null; superClass = superClass.getSuperClass()) {
+                        final TypeClass declaredSuperClass = find(superClass);
+                        if (declaredSuperClass == null) continue;
+                        if (!visited.add(declaredSuperClass)) break;
+                        final Map<String, Property> superProperties = declaredProperties.get(declaredSuperClass);
+                        if (superProperties == null) continue;
+                        // subclasses may override properties
+                        superProperties.forEach(table::putIfAbsent);
+                    }
+                    properties.put(typeClass, Collections.unmodifiableMap(table));
+                }
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new JaplScriptException("Failure while registering application-wide properties", e);
+            } finally {
+                if (previous == null) building.remove();
+                else building.set(previous);
+            }
+            this.typeClasses = Collections.unmodifiableList(typeClasses);
+        }
+
+        /**
+         * @return application interface
+         */
+        Class<?> getApplicationInterface() {
+            return applicationInterface;
+        }
+
+        /**
+         * @return all declared type classes in declaration order
+         */
+        List<TypeClass> getTypeClasses() {
+            return typeClasses;
+        }
+
+        /**
+         * Finds the declared type class that {@link TypeClass#equals(Object) equals} the given one
+         * or, if there is none, that has the same name.
+         *
+         * @param typeClass type class
+         * @return declared type class or {@code null}
+         */
+        TypeClass find(final TypeClass typeClass) {
+            final TypeClass declaredTypeClass = declared.get(typeClass);
+            if (declaredTypeClass != null) return declaredTypeClass;
+            // type classes without code are identified by name, resolve it for this application
+            final String name = typeClass.getName();
+            return name == null ? null : byName.get(name);
+        }
+
+        /**
+         * Finds the declared type class with the longest name that the given
+         * plain-text object specifier starts with.
+         *
+         * @param objectReference object reference, e.g. {@code file track id 1 of playlist id 2}
+         * @return declared type class, e.g. {@code file track}, or {@code null}
+         */
+        TypeClass findByPrefix(final String objectReference) {
+            return byNamePrefix.findLongestPrefix(objectReference);
+        }
+
+        /**
+         * @param typeClass type class
+         * @return Java interface for the given type class or {@code null}
+         */
+        Class<?> getJavaClass(final TypeClass typeClass) {
+            final TypeClass declared = find(typeClass);
+            return declared == null ? null : javaClasses.get(declared);
+        }
+
+        /**
+         * @param typeClass type class
+         * @return immutable table of the properties of the given type class, including
+         * inherited ones, by name and chevron, or {@code null}, if the type class is not declared
+         */
+        Map<String, Property> getProperties(final TypeClass typeClass) {
+            final TypeClass declared = find(typeClass);
+            return declared == null ? null : properties.get(declared);
+        }
+    }
+}
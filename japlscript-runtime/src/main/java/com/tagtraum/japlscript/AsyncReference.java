@@ -0,0 +1,135 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.CancellableFuture;
+import com.tagtraum.japlscript.execution.ScriptExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Asynchronous view of a {@link Reference}. Calls are executed on the
+ * {@link ScriptExecutor#getAsyncExecutor() async executor} or a
+ * custom executor set via {@link #using(Executor)}, and their results are
+ * delivered as {@link CompletableFuture}s:
+ * <pre>{@code
+ * AsyncReference<Track> track = currentTrack.async(Track.class);
+ * CompletableFuture<String> name = track.call(Track::getName);
+ * }</pre>
+ * Cancelling a returned future with {@code mayInterruptIfRunning=true}
+ * interrupts the execution.
+ * <p>
+ * By default, the async executor is an unbounded cached thread pool, i.e. each call
+ * that is running concurrently with others occupies its own daemon thread, and idle threads
+ * are reused. This avoids deadlocks between calls that wait for each other, but does not
+ * limit concurrency. To limit the number of threads, pass a bounded executor to
+ * {@link #using(Executor)} or {@link ScriptExecutor#setAsyncExecutor(Executor)}.
+ * <p>
+ * Note that asynchronous calls are executed on a different thread and therefore
+ * do not take part in the calling thread's {@link com.tagtraum.japlscript.execution.Session}.
+ *
+ * @param <T> reference type
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see Reference#async(Class)
+ */
+public class AsyncReference<T extends Reference> {
+
+    private final T reference;
+    private final Executor executor;
+
+    /**
+     * Creates an asynchronous view using the default
+     * {@link ScriptExecutor#getAsyncExecutor() async executor}.
+     *
+     * @param reference reference
+     */
+    public AsyncReference(final T reference) {
+        this(reference, null);
+    }
+
+    /**
+     * Creates an asynchronous view.
+     *
+     * @param reference reference
+     * @param executor executor or {@code null} for the default
+     * {@link ScriptExecutor#getAsyncExecutor() async executor}
+     */
+    public AsyncReference(final T reference, final Executor executor) {
+        if (reference == null) throw new NullPointerException("Reference must not be null");
+        this.reference = reference;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates an asynchronous view of the given reference.
+     *
+     * @param reference reference
+     * @param <T> reference type
+     * @return asynchronous view
+     */
+    public static <T extends Reference> AsyncReference<T> of(final T reference) {
+        return new AsyncReference<>(reference);
+    }
+
+    /**
+     * Asynchronous view of the same reference, using the given executor.
+     *
+     * @param executor executor
+     * @return asynchronous view
+     */
+    public AsyncReference<T> using(final Executor executor) {
+        return new AsyncReference<>(reference, executor);
+    }
+
+    /**
+     * Asynchronously invokes a method on the underlying reference.
+     *
+     * @param call call, e.g. {@code Track::getName}
+     * @param <R> return type
+     * @return future result
+     */
+    public <R> CompletableFuture<R> call(final Function<? super T, ? extends R> call) {
+        return CancellableFuture.callAsync(() -> call.apply(reference), getExecutor());
+    }
+
+    /**
+     * Asynchronously invokes a method without return value on the underlying reference.
+     *
+     * @param call call, e.g. {@code t -> t.setName("Name")}
+     * @return future that completes once the call is done
+     */
+    public CompletableFuture<Void> run(final Consumer<? super T> call) {
+        return CancellableFuture.callAsync(() -> {
+            call.accept(reference);
+            return null;
+        }, getExecutor());
+    }
+
+    /**
+     * Underlying (synchronous) reference.
+     *
+     * @return reference
+     */
+    public T get() {
+        return reference;
+    }
+
+    /**
+     * @return the executor used by this view
+     */
+    public Executor getExecutor() {
+        return executor == null ? ScriptExecutor.getAsyncExecutor() : executor;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncReference{" + reference + '}';
+    }
+}
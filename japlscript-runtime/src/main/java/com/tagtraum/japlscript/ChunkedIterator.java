@@ -0,0 +1,154 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.CancellableFuture;
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.execution.ScriptExecutor;
+import com.tagtraum.japlscript.execution.Session;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Iterator over a known number of elements that fetches them in chunks,
+ * e.g. {@code tracks 1 thru 500 of playlist 1}, and fetches the next chunk on the
+ * {@link ScriptExecutor#getAsyncExecutor() async executor}, while the
+ * current one is consumed. At most two chunks are held in memory.
+ * <p>
+ * If the elements change during iteration, the iteration may end early
+ * or fail with a {@link JaplScriptException}.
+ * Inside a {@link Session}, chunks are fetched synchronously.
+ *
+ * @param <T> element type
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see Elements#iterator()
+ */
+final class ChunkedIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final Fetcher<T> fetcher;
+    private final int size;
+    private final int chunkSize;
+    private final boolean prefetch;
+    /** Index of the first element of the next chunk. */
+    private int nextChunk;
+    private T[] chunk;
+    private int position;
+    private CompletableFuture<T[]> pending;
+    private boolean exhausted;
+
+    /**
+     * Creates an iterator.
+     *
+     * @param fetcher fetches a range of elements
+     * @param size number of elements
+     * @param chunkSize number of elements per chunk
+     */
+    ChunkedIterator(final Fetcher<T> fetcher, final int size, final int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be greater than 0: " + chunkSize);
+        this.fetcher = fetcher;
+        this.size = Math.max(0, size);
+        this.chunkSize = chunkSize;
+        this.prefetch = Session.get() == null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (chunk != null && position < chunk.length) return true;
+        if (exhausted || nextChunk >= size) {
+            close();
+            return false;
+        }
+        chunk = nextChunk();
+        position = 0;
+        // fewer elements than expected
+        if (chunk == null || chunk.length == 0) {
+            exhausted = true;
+            close();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        final T element = chunk[position];
+        // don't hold on to consumed elements
+        chunk[position++] = null;
+        return element;
+    }
+
+    /**
+     * Cancels a pending prefetch.
+     */
+    @Override
+    public void close() {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    private T[] nextChunk() {
+        final int from = nextChunk;
+        final int to = Math.min(size, from + chunkSize);
+        nextChunk = to;
+        final T[] result;
+        if (pending != null) {
+            result = join(pending);
+            pending = null;
+        } else {
+            result = fetch(from, to);
+        }
+        if (prefetch && nextChunk < size) {
+            final int nextFrom = nextChunk;
+            final int nextTo = Math.min(size, nextFrom + chunkSize);
+            pending = CancellableFuture.callAsync(() -> fetcher.fetch(nextFrom, nextTo),
+                ScriptExecutor.getAsyncExecutor());
+        }
+        return result;
+    }
+
+    private T[] fetch(final int from, final int to) {
+        try {
+            return fetcher.fetch(from, to);
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new JaplScriptException(e.getCause());
+        }
+    }
+
+    /**
+     * Fetches a range of elements.
+     *
+     * @param <T> element type
+     */
+    interface Fetcher<T> {
+
+        /**
+         * Fetches a range of elements.
+         *
+         * @param from zero-based index of the first element (inclusive)
+         * @param to zero-based index of the last element (exclusive)
+         * @return elements
+         * @throws IOException if the execution fails
+         */
+        T[] fetch(int from, int to) throws IOException;
+    }
+}
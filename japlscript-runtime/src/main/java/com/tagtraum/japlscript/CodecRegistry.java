@@ -0,0 +1,171 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.language.TypeClass;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thread-safe registry of {@link Codec}s.
+ * <p>
+ * Lookups by Java class are resolved once per class and cached in {@link ClassValue}s,
+ * so that they don't keep classes from being unloaded. Lookups by AppleScript type
+ * use maps that are rebuilt, whenever a codec is added or removed.
+ * Both are invalidated by bumping a generation counter, i.e. lookups
+ * never see stale results after {@link #add(Codec)} or {@link #remove(Codec)} returned.
+ * <p>
+ * If more than one codec matches, the first registered one wins.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+final class CodecRegistry {
+
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(0, Collections.emptyList());
+
+    private final ClassValue<Resolution> decoders = new ClassValue<Resolution>() {
+        @Override
+        protected Resolution computeValue(final Class<?> type) {
+            final Snapshot s = snapshot;
+            for (final Codec<?> codec : s.codecs) {
+                if (codec._getJavaType() == type) return new Resolution(s.generation, codec);
+            }
+            return new Resolution(s.generation, null);
+        }
+    };
+
+    private final ClassValue<Resolution> encoders = new ClassValue<Resolution>() {
+        @Override
+        protected Resolution computeValue(final Class<?> type) {
+            final Snapshot s = snapshot;
+            for (final Codec<?> codec : s.codecs) {
+                if (codec._getJavaType().isAssignableFrom(type)) return new Resolution(s.generation, codec);
+            }
+            return new Resolution(s.generation, null);
+        }
+    };
+
+    /**
+     * Adds a codec.
+     *
+     * @param codec codec
+     */
+    void add(final Codec<?> codec) {
+        synchronized (lock) {
+            final List<Codec<?>> codecs = new ArrayList<>(snapshot.codecs);
+            codecs.add(codec);
+            snapshot = new Snapshot(snapshot.generation + 1, codecs);
+        }
+    }
+
+    /**
+     * Removes a codec.
+     *
+     * @param codec codec
+     * @return true, if the codec was registered
+     */
+    boolean remove(final Codec<?> codec) {
+        synchronized (lock) {
+            final List<Codec<?>> codecs = new ArrayList<>(snapshot.codecs);
+            final boolean removed = codecs.remove(codec);
+            if (removed) snapshot = new Snapshot(snapshot.generation + 1, codecs);
+            return removed;
+        }
+    }
+
+    /**
+     * @return registered codecs in registration order (immutable)
+     */
+    List<Codec<?>> getCodecs() {
+        return snapshot.codecs;
+    }
+
+    /**
+     * Finds the codec for exactly the given Java type, i.e. the codec to decode values with.
+     *
+     * @param javaType Java type, e.g. {@code int.class}
+     * @return codec or {@code null}
+     */
+    Codec<?> getDecoder(final Class<?> javaType) {
+        return resolve(decoders, javaType);
+    }
+
+    /**
+     * Finds the codec for the given runtime class or one of its supertypes,
+     * i.e. the codec to encode values of this class with.
+     *
+     * @param javaClass runtime class, e.g. {@code Integer.class}
+     * @return codec or {@code null}
+     */
+    Codec<?> getEncoder(final Class<?> javaClass) {
+        return resolve(encoders, javaClass);
+    }
+
+    /**
+     * Finds the codec for the given AppleScript type, by code or, if the code is unknown, by name.
+     *
+     * @param typeClass type class, e.g. {@code «class utxt»}
+     * @return codec or {@code null}
+     */
+    Codec<?> getCodec(final TypeClass typeClass) {
+        final Snapshot s = snapshot;
+        final Chevron code = typeClass.getCode();
+        if (code != null) {
+            final Codec<?> codec = s.byCode.get(code.getCode());
+            if (codec != null) return codec;
+        }
+        final String name = typeClass.getName();
+        return name == null ? null : s.byName.get(name.toLowerCase());
+    }
+
+    private Codec<?> resolve(final ClassValue<Resolution> cache, final Class<?> type) {
+        while (true) {
+            final long generation = snapshot.generation;
+            final Resolution resolution = cache.get(type);
+            if (resolution.generation == generation) return resolution.codec;
+            // computed before the last change
+            cache.remove(type);
+        }
+    }
+
+    private static class Resolution {
+        private final long generation;
+        private final Codec<?> codec;
+
+        private Resolution(final long generation, final Codec<?> codec) {
+            this.generation = generation;
+            this.codec = codec;
+        }
+    }
+
+    /**
+     * Immutable state of the registry.
+     */
+    private static class Snapshot {
+        private final long generation;
+        private final List<Codec<?>> codecs;
+        private final Map<String, Codec<?>> byCode = new HashMap<>();
+        private final Map<String, Codec<?>> byName = new HashMap<>();
+
+        private Snapshot(final long generation, final List<Codec<?>> codecs) {
+            this.generation = generation;
+            this.codecs = Collections.unmodifiableList(codecs);
+            for (final Codec<?> codec : codecs) {
+                for (final TypeClass typeClass : codec._getAppleScriptTypes()) {
+                    final Chevron code = typeClass.getCode();
+                    if (code != null) byCode.putIfAbsent(code.getCode(), codec);
+                    if (typeClass.getName() != null) byName.putIfAbsent(typeClass.getName().toLowerCase(), codec);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import java.lang.reflect.Array;
+
+/**
+ * Columnar result of a {@link Elements#project(java.util.function.Function[]) projection},
+ * i.e. one array per projected property, all with the same length.
+ * Properties with primitive types are stored in primitive arrays.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public final class Columns {
+
+    private final Object[] columns;
+    private final int size;
+
+    /**
+     * Creates columns.
+     *
+     * @param columns arrays of equal length
+     * @throws IllegalArgumentException if the arrays are not of equal length
+     */
+    Columns(final Object[] columns) {
+        this.columns = columns;
+        this.size = columns.length == 0 ? 0 : Array.getLength(columns[0]);
+        for (final Object column : columns) {
+            if (Array.getLength(column) != size) {
+                throw new IllegalArgumentException("Columns must have the same length");
+            }
+        }
+    }
+
+    /**
+     * @return number of rows, i.e. elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of columns, i.e. properties
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Column for the property with the given index. To avoid copying, the
+     * array itself is returned and should not be modified.
+     *
+     * @param index index of the property in the projection
+     * @param arrayType array type, e.g. {@code String[].class} or {@code int[].class}
+     * @param <A> array type
+     * @return array
+     * @throws ClassCastException if the column is not of the given type
+     */
+    public <A> A getColumn(final int index, final Class<A> arrayType) {
+        return arrayType.cast(columns[index]);
+    }
+
+    /**
+     * Column for the property with the given index. To avoid copying, the
+     * array itself is returned and should not be modified.
+     *
+     * @param index index of the property in the projection
+     * @return array, e.g. {@code String[]} or {@code int[]}
+     */
+    public Object getColumn(final int index) {
+        return columns[index];
+    }
+
+    @Override
+    public String toString() {
+        return "Columns{columns=" + columns.length + ", size=" + size + '}';
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.language.ReferenceImpl;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Elements of a certain type of a container, optionally filtered, e.g.
+ * all tracks of a playlist. Unlike element getters, creating an instance
+ * does not execute any script. Instead, scripts are executed for operations
+ * on all elements at once, like {@link #project(Function[]) projections}:
+ * <pre>{@code
+ * Columns columns = Elements.of(playlist, Track.class)
+ *     .where("artist is \"Miles Davis\"")
+ *     .project(Track::getName, Track::getDuration);
+ * String[] names = columns.getColumn(0, String[].class);
+ * double[] durations = columns.getColumn(1, double[].class);
+ * }</pre>
+ * Large collections can be iterated or streamed in chunks, with the next chunk
+ * being fetched in the background, while the current one is consumed:
+ * <pre>{@code
+ * try (Stream<Track> tracks = Elements.of(playlist, Track.class).withChunkSize(1000).stream()) {
+ *     tracks.forEach(...);
+ * }
+ * }</pre>
+ * Instances are immutable.
+ *
+ * @param <T> element type
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class Elements<T extends Reference> implements Iterable<T> {
+
+    /**
+     * System property for the default number of elements fetched per script
+     * by {@link #iterator()} and {@link #stream()}.
+     */
+    public static final String CHUNK_SIZE_PROPERTY = "japlscript.elements.chunksize";
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final Reference container;
+    private final Class<T> elementType;
+    private final String filter;
+    private final int chunkSize;
+    private final int limit;
+
+    /**
+     * Creates the elements of the given type of a container.
+     *
+     * @param container container, e.g. a playlist
+     * @param elementType element type, e.g. {@code Track.class}, annotated with {@link Plural}
+     */
+    public Elements(final Reference container, final Class<T> elementType) {
+        this(container, elementType, null, Integer.getInteger(CHUNK_SIZE_PROPERTY, DEFAULT_CHUNK_SIZE), -1);
+    }
+
+    private Elements(final Reference container, final Class<T> elementType, final String filter, final int chunkSize,
+                     final int limit) {
+        if (container == null) throw new NullPointerException("Container must not be null");
+        if (elementType == null) throw new NullPointerException("Element type must not be null");
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be greater than 0: " + chunkSize);
+        this.container = container;
+        this.elementType = elementType;
+        this.filter = filter;
+        this.chunkSize = chunkSize;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates the elements of the given type of a container.
+     *
+     * @param container container, e.g. a playlist
+     * @param elementType element type, e.g. {@code Track.class}, annotated with {@link Plural}
+     * @param <T> element type
+     * @return elements
+     */
+    public static <T extends Reference> Elements<T> of(final Reference container, final Class<T> elementType) {
+        return new Elements<>(container, elementType);
+    }
+
+    /**
+     * Elements that also match the given filter.
+     *
+     * @param filter AppleScript filter clause without leading {@code where},
+     *               e.g. {@code name starts with "b"}
+     * @return filtered elements
+     */
+    public Elements<T> where(final String filter) {
+        if (filter == null || filter.trim().isEmpty()) return this;
+        if (this.filter == null) return new Elements<>(container, elementType, filter, chunkSize, limit);
+        return new Elements<>(container, elementType, "(" + this.filter + ") and (" + filter + ")", chunkSize, limit);
+    }
+
+    /**
+     * Elements that also match the given filter.
+     *
+     * @param filter filter or {@code null}
+     * @return filtered elements
+     */
+    public Elements<T> where(final Filter filter) {
+        return filter == null ? this : where(filter.toString());
+    }
+
+    /**
+     * At most the given number of elements, i.e. the first {@code limit} elements
+     * that match the filter. Limits are applied by the target application.
+     *
+     * @param limit maximum number of elements
+     * @return limited elements
+     */
+    public Elements<T> limit(final int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        return new Elements<>(container, elementType, filter, chunkSize, limit);
+    }
+
+    /**
+     * Elements that are iterated in chunks of the given size.
+     *
+     * @param chunkSize number of elements fetched per script
+     * @return elements
+     * @see #iterator()
+     */
+    public Elements<T> withChunkSize(final int chunkSize) {
+        return new Elements<>(container, elementType, filter, chunkSize, limit);
+    }
+
+    /**
+     * @return container
+     */
+    public Reference getContainer() {
+        return container;
+    }
+
+    /**
+     * @return element type
+     */
+    public Class<T> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * @return filter clause without leading {@code where} or {@code null}
+     */
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * @return maximum number of elements or {@code -1}, if not limited
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return number of elements fetched per script by {@link #iterator()} and {@link #stream()}
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Counts the elements, e.g. {@code count tracks of playlist 1}.
+     *
+     * @return number of elements, at most {@link #getLimit()}
+     * @throws JaplScriptException if the execution fails
+     */
+    public int count() {
+        try {
+            final int count = newHandler().countElements(InvocationPlan.getPlural(elementType), filter, Integer.TYPE, true);
+            return limit < 0 ? count : Math.min(count, limit);
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Gets all elements with one script, e.g. {@code return tracks of playlist 1 where year > 2000}.
+     * If the elements are {@link #limit(int) limited}, only the first elements are returned,
+     * e.g. {@code items 1 thru 50 of (tracks of playlist 1 where year > 2000)}.
+     *
+     * @return elements
+     * @throws JaplScriptException if the execution fails
+     */
+    public T[] toArray() {
+        final Class<T[]> arrayType = getArrayType();
+        final String plural = InvocationPlan.getPlural(elementType);
+        try {
+            final T[] elements = limit < 0
+                ? newHandler().getElements(plural, filter, arrayType, false)
+                : newHandler().getFirstElements(plural, filter, limit, arrayType);
+            return elements == null ? arrayType.cast(Array.newInstance(elementType, 0)) : elements;
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Iterates over the elements in chunks of {@link #getChunkSize()} elements, e.g.
+     * {@code return tracks 1 thru 500 of playlist 1}. Before the first chunk is fetched,
+     * the elements are {@link #count() counted}. While the current chunk is consumed,
+     * the next one is fetched on the {@link com.tagtraum.japlscript.execution.ScriptExecutor#getAsyncExecutor()
+     * async executor}, so at most two chunks are held in memory.
+     * <p>
+     * If the elements change during iteration, it may end early or fail.
+     *
+     * @return iterator
+     * @throws JaplScriptException if counting the elements fails
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return newIterator();
+    }
+
+    /**
+     * Sequential stream over the elements, fetched like {@link #iterator()}.
+     * Closing the stream cancels a pending prefetch.
+     *
+     * @return stream
+     * @throws JaplScriptException if counting the elements fails
+     */
+    public Stream<T> stream() {
+        final ChunkedIterator<T> iterator = newIterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+            Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(iterator::close);
+    }
+
+    private ChunkedIterator<T> newIterator() {
+        final ObjectInvocationHandler handler = newHandler();
+        final String plural = InvocationPlan.getPlural(elementType);
+        final Class<T[]> arrayType = getArrayType();
+        return new ChunkedIterator<>((from, to) -> handler.getElementRange(plural, filter, from, to, arrayType),
+            count(), chunkSize);
+    }
+
+    /**
+     * Stream over the elements of a container, used by generated {@code streamXxxs()} methods.
+     *
+     * @param container container
+     * @param elementType element type
+     * @param filter filter or {@code null}
+     * @param <T> element type
+     * @return stream
+     */
+    static <T extends Reference> Stream<T> stream(final Reference container, final Class<T> elementType, final String filter) {
+        return new Elements<>(container, elementType).where(filter).stream();
+    }
+
+    /**
+     * Reads the given properties of all elements with one script,
+     * e.g. {@code return {«property pnam» of tracks of playlist 1, «property pDur» of tracks of playlist 1}}.
+     * Each property is returned as one array, whose component type is the property getter's
+     * return type, i.e. primitive properties are decoded to primitive arrays.
+     *
+     * @param properties property getters, e.g. {@code Track::getName}
+     * @return one column per property
+     * @throws IllegalArgumentException if one of the functions does not return the result of exactly one
+     * property getter unchanged
+     * @throws IllegalStateException if the elements are {@link #limit(int) limited}
+     * @throws JaplScriptException if the execution fails
+     */
+    @SafeVarargs
+    public final Columns project(final Function<? super T, ?>... properties) {
+        if (limit >= 0) throw new IllegalStateException("Projections of limited elements are not supported");
+        final InvocationPlan[] plans = new InvocationPlan[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            plans[i] = InvocationPlan.get(record(properties[i]));
+            if (plans[i].getOperation() != InvocationPlan.Operation.GET_PROPERTY) {
+                throw new IllegalArgumentException(plans[i].getMethod() + " is not a property getter");
+            }
+        }
+        try {
+            final Object[] columns = newHandler().project(InvocationPlan.getPlural(elementType), filter, plans);
+            return columns == null ? null : new Columns(columns);
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Finds out which method the given function calls, by applying it to a proxy
+     * that only records calls. The function must return the result of that call unchanged,
+     * because the proxy only returns a placeholder.
+     */
+    private Method record(final Function<? super T, ?> function) {
+        final Method[] called = new Method[1];
+        final Object[] placeholder = new Object[1];
+        final T recorder = elementType.cast(Proxy.newProxyInstance(JaplScript.class.getClassLoader(),
+            new Class<?>[]{elementType}, (proxy, method, args) -> {
+                if (called[0] != null) {
+                    throw new IllegalArgumentException("Function calls more than one method of " + elementType.getName());
+                }
+                called[0] = method;
+                placeholder[0] = ObjectInvocationHandler.defaultValue(method.getReturnType());
+                return placeholder[0];
+            }));
+        final Object value;
+        try {
+            value = function.apply(recorder);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Function must return the property unchanged, e.g. Track::getName", e);
+        }
+        if (called[0] == null) {
+            throw new IllegalArgumentException("Function does not call any method of " + elementType.getName());
+        }
+        if (!Objects.equals(value, placeholder[0])) {
+            throw new IllegalArgumentException("Function must return the property unchanged, e.g. Track::getName, but returned " + value);
+        }
+        return called[0];
+    }
+
+    /**
+     * @return array class for the element type, e.g. {@code Track[].class}
+     */
+    @SuppressWarnings("unchecked")
+    private Class<T[]> getArrayType() {
+        // safe, an array created with component type Class<T> is a T[]
+        return (Class<T[]>) Array.newInstance(elementType, 0).getClass();
+    }
+
+    private ObjectInvocationHandler newHandler() {
+        return new ObjectInvocationHandler(toReferenceImpl(container));
+    }
+
+    private static Reference toReferenceImpl(final Reference reference) {
+        return reference instanceof ReferenceImpl
+            ? reference
+            : new ReferenceImpl(reference.getObjectReference(), reference.getApplicationReference());
+    }
+
+    @Override
+    public String toString() {
+        return "Elements{" + InvocationPlan.getPlural(elementType) + " of " + container.getObjectReference()
+            + (filter == null ? "" : " where " + filter)
+            + (limit < 0 ? "" : " limit " + limit) + '}';
+    }
+}
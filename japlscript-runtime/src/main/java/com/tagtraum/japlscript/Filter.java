@@ -0,0 +1,86 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import java.util.Objects;
+
+/**
+ * AppleScript filter clause (without leading {@code whose} or {@code where}), that is
+ * evaluated by the target application, typically created via the {@link FilterProperty}
+ * constants of generated interfaces:
+ * <pre>{@code
+ * Filter filter = Track.NAME.contains("love").and(Track.YEAR.gt(2000));
+ * Track[] tracks = playlist.getTracks(filter.toString());
+ * }</pre>
+ * Instances are immutable.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see Query
+ */
+public final class Filter {
+
+    private final String clause;
+
+    private Filter(final String clause) {
+        this.clause = clause;
+    }
+
+    /**
+     * Creates a filter from a hand-written clause.
+     *
+     * @param clause AppleScript filter clause without leading {@code whose} or {@code where},
+     *               e.g. {@code name starts with "b"}
+     * @return filter
+     */
+    public static Filter of(final String clause) {
+        if (clause == null || clause.trim().isEmpty()) throw new IllegalArgumentException("Clause must not be empty");
+        return new Filter(clause);
+    }
+
+    /**
+     * @param filter other filter
+     * @return filter that matches, if this and the other filter match
+     */
+    public Filter and(final Filter filter) {
+        return new Filter("(" + clause + ") and (" + filter.clause + ")");
+    }
+
+    /**
+     * @param filter other filter
+     * @return filter that matches, if this or the other filter match
+     */
+    public Filter or(final Filter filter) {
+        return new Filter("(" + clause + ") or (" + filter.clause + ")");
+    }
+
+    /**
+     * @return filter that matches, if this filter does not match
+     */
+    public Filter not() {
+        return new Filter("not (" + clause + ")");
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Filter)) return false;
+        return clause.equals(((Filter) o).clause);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(clause);
+    }
+
+    /**
+     * @return AppleScript filter clause, e.g. {@code «property pnam» contains ("love")}
+     */
+    @Override
+    public String toString() {
+        return clause;
+    }
+}
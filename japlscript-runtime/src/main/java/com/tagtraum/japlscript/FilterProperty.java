@@ -0,0 +1,89 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+/**
+ * Typed property of an application class, that {@link Filter}s can be created for,
+ * e.g. {@code Track.YEAR.gt(2000)}. Generated interfaces of classes that can be
+ * elements declare one constant per readable property with a simple type.
+ * <p>
+ * Properties are referred to by their 4char code and values are encoded
+ * with the registered {@link Codec}s, just like arguments of setters and commands.
+ * Text properties are {@link TextFilterProperty TextFilterProperties}, which
+ * additionally support string operators like {@code contains}.
+ *
+ * @param <T> property type
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class FilterProperty<T> extends PropertyKey<T> {
+
+    private final String chevron;
+
+    /**
+     * Creates a property.
+     *
+     * @param name AppleScript name, e.g. {@code name}
+     * @param code 4char code, e.g. {@code pnam}
+     * @param javaClass Java class of the property, primitives are boxed
+     */
+    public FilterProperty(final String name, final String code, final Class<T> javaClass) {
+        super(name, code, javaClass);
+        this.chevron = new Chevron("property", code).toString();
+    }
+
+    /**
+     * @param value value, {@code null} for {@code missing value}
+     * @return filter, e.g. {@code «property pnam» is ("Blue")}
+     */
+    public Filter is(final T value) {
+        return filter("is", value);
+    }
+
+    /**
+     * @param value value, {@code null} for {@code missing value}
+     * @return filter, e.g. {@code «property pnam» is not ("Blue")}
+     */
+    public Filter isNot(final T value) {
+        return filter("is not", value);
+    }
+
+    /**
+     * @param value value
+     * @return filter, e.g. {@code «property pYr » > 2000}
+     */
+    public Filter gt(final T value) {
+        return filter(">", value);
+    }
+
+    /**
+     * @param value value
+     * @return filter, e.g. {@code «property pYr » >= 2000}
+     */
+    public Filter ge(final T value) {
+        return filter(">=", value);
+    }
+
+    /**
+     * @param value value
+     * @return filter, e.g. {@code «property pYr » < 2000}
+     */
+    public Filter lt(final T value) {
+        return filter("<", value);
+    }
+
+    /**
+     * @param value value
+     * @return filter, e.g. {@code «property pYr » <= 2000}
+     */
+    public Filter le(final T value) {
+        return filter("<=", value);
+    }
+
+    Filter filter(final String operator, final T value) {
+        return Filter.of(chevron + " " + operator + " " + (value == null ? "missing value" : ObjectInvocationHandler.encode(value)));
+    }
+}
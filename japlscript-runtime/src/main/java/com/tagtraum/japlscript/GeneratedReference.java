@@ -0,0 +1,278 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.language.TypeClass;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Base class for implementations of application interfaces that are generated
+ * alongside the interfaces (see {@code Generator#setGenerateImplementations(boolean)}).
+ * <p>
+ * Generated methods call the {@code _}-prefixed methods of this class directly,
+ * with the AppleScript names and codes compiled into the code. Unlike
+ * {@link java.lang.reflect.Proxy proxies}, this requires no reflection
+ * and is easy to inline for the JIT.
+ * If present, {@link JaplScript#cast(Class, Reference)} prefers generated
+ * implementations over proxies.
+ * <p>
+ * Methods that have no dedicated {@code _}-prefixed counterpart call {@link #_invoke(Class, String, Class[], Object[])},
+ * i.e. they behave exactly like they do in a proxy.
+ * <p>
+ * Implementations must be named like their interface with the suffix {@code Impl},
+ * reside in the same package and have a public constructor that accepts a {@link Reference}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see JaplScript#IMPLEMENTATIONS_PROPERTY
+ */
+public abstract class GeneratedReference implements Reference {
+
+    private static final ClassValue<String> PLURALS = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> type) {
+            return InvocationPlan.getPlural(type);
+        }
+    };
+
+    private final Reference reference;
+    private final ObjectInvocationHandler handler;
+
+    /**
+     * Creates an implementation for the given reference.
+     *
+     * @param reference reference
+     */
+    protected GeneratedReference(final Reference reference) {
+        this.reference = reference;
+        this.handler = new ObjectInvocationHandler(reference);
+    }
+
+    @Override
+    public String getObjectReference() {
+        return reference.getObjectReference();
+    }
+
+    @Override
+    public String getApplicationReference() {
+        return reference.getApplicationReference();
+    }
+
+    @Override
+    public <T> T cast(final Class<T> klass) {
+        return JaplScript.cast(klass, reference);
+    }
+
+    @Override
+    public TypeClass getTypeClass() {
+        return handler.getTypeClass();
+    }
+
+    @Override
+    public boolean isInstanceOf(final TypeClass typeClass) {
+        return handler.isInstanceOf(typeClass);
+    }
+
+    /**
+     * Reads a property.
+     *
+     * @param script getter script, e.g. {@code return «property pnam»}
+     * @param returnType return type
+     * @param <T> return type
+     * @return property value
+     */
+    protected final <T> T _getProperty(final String script, final Class<T> returnType) {
+        try {
+            return ObjectInvocationHandler.internTypeClass(handler.getProperty(script, returnType,
+                InvocationPlan.isDecodeWithoutSubclass(returnType)));
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Writes a property.
+     *
+     * @param script setter script, e.g. {@code set «property pnam»}
+     * @param value new value
+     */
+    protected final void _setProperty(final String script, final Object value) {
+        try {
+            handler.setProperty(script, value);
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Gets all elements, optionally filtered.
+     *
+     * @param returnType array type, e.g. {@code Track[].class}
+     * @param filter filter clause without leading {@code where} or {@code null}
+     * @param <T> return type
+     * @return elements
+     */
+    protected final <T> T _getElements(final Class<T> returnType, final String filter) {
+        try {
+            return handler.getElements(PLURALS.get(returnType.getComponentType()), filter, returnType, false);
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Streams all elements, optionally filtered, in chunks.
+     *
+     * @param elementType element type, e.g. {@code Track.class}
+     * @param filter filter clause without leading {@code where} or {@code null}
+     * @param <T> element type
+     * @return elements
+     * @see Elements#stream()
+     */
+    protected final <T extends Reference> Stream<T> _streamElements(final Class<T> elementType, final String filter) {
+        return Elements.stream(this, elementType, filter);
+    }
+
+    /**
+     * Gets an element by index.
+     *
+     * @param type AppleScript element type, e.g. {@code track}
+     * @param index zero-based index
+     * @param returnType return type
+     * @param <T> return type
+     * @return element
+     */
+    protected final <T> T _getElement(final String type, final int index, final Class<T> returnType) {
+        try {
+            return handler.getElement(type, index, returnType, InvocationPlan.isDecodeWithoutSubclass(returnType));
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Gets an element by id.
+     *
+     * @param type AppleScript element type, e.g. {@code track}
+     * @param id id
+     * @param returnType return type
+     * @param <T> return type
+     * @return element
+     */
+    protected final <T> T _getElement(final String type, final Id id, final Class<T> returnType) {
+        try {
+            return handler.getElement(type, id, returnType, InvocationPlan.isDecodeWithoutSubclass(returnType));
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Counts elements, optionally filtered.
+     *
+     * @param elementType element type, e.g. {@code Track.class}
+     * @param filter filter clause without leading {@code where} or {@code null}
+     * @return number of elements
+     */
+    protected final int _countElements(final Class<?> elementType, final String filter) {
+        try {
+            return handler.countElements(PLURALS.get(elementType), filter, Integer.TYPE, true);
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Executes a command.
+     *
+     * @param name AppleScript name of the command
+     * @param returnType return type
+     * @param parameterKeywords AppleScript parameter keywords, {@code null} for the direct parameter
+     * @param args arguments, {@code null} arguments are omitted
+     * @param <T> return type
+     * @return result
+     */
+    protected final <T> T _command(final String name, final Class<T> returnType,
+                                   final String[] parameterKeywords, final Object... args) {
+        try {
+            return ObjectInvocationHandler.internTypeClass(handler.command(name, parameterKeywords, args, returnType,
+                InvocationPlan.isDecodeWithoutSubclass(returnType)));
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Makes a new object.
+     *
+     * @param klass class of the object, annotated with {@link Name}
+     * @param <T> type
+     * @return new object
+     */
+    protected final <T> T _make(final Class<T> klass) {
+        try {
+            return handler.make(klass);
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Returns all properties.
+     *
+     * @param interfaceClass the implemented interface, used to find the {@link TypeClass} of records
+     * @return map from Java property names to values
+     */
+    protected final Map<String, Object> _getProperties(final Class<?> interfaceClass) {
+        try {
+            return handler.getProperties(interfaceClass);
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
+    /**
+     * Invokes an interface method just like a {@link java.lang.reflect.Proxy proxy} would,
+     * i.e. via its {@link InvocationPlan}.
+     * Used for methods for which no direct implementation is generated.
+     *
+     * @param interfaceClass interface declaring the method
+     * @param name method name
+     * @param parameterTypes parameter types
+     * @param args arguments
+     * @return return value
+     */
+    protected final Object _invoke(final Class<?> interfaceClass, final String name,
+                                   final Class<?>[] parameterTypes, final Object[] args) {
+        final Method method;
+        try {
+            method = interfaceClass.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new JaplScriptException(e);
+        }
+        return handler.invoke(this, method, args);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return handler.referenceEquals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return reference.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return handler.referenceToString();
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.language.TypeClass;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Immutable description of how {@link ObjectInvocationHandler} executes a proxied {@link Method}.
+ * <p>
+ * Plans are compiled once per method from its annotations and cached, so that
+ * invocations don't need any reflection.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+final class InvocationPlan {
+
+    private static final Logger LOG = Logger.getLogger(InvocationPlan.class.getName());
+    private static final Method TO_STRING_METHOD;
+    private static final Method EQUALS_METHOD;
+    private static final Method HASHCODE_METHOD;
+    private static final Method OBJECT_REFERENCE_METHOD;
+    private static final Method APPLICATION_REFERENCE_METHOD;
+    private static final Method CAST_METHOD;
+    private static final Method IS_INSTANCE_OF_METHOD;
+    private static final Method TYPE_CLASS_METHOD;
+    private static final Method ASYNC_METHOD;
+    private static final Method FETCH_METHOD;
+
+    static {
+        try {
+            TO_STRING_METHOD = Object.class.getMethod("toString");
+            HASHCODE_METHOD = Object.class.getMethod("hashCode");
+            EQUALS_METHOD = Object.class.getMethod("equals", Object.class);
+            OBJECT_REFERENCE_METHOD = Reference.class.getMethod("getObjectReference");
+            APPLICATION_REFERENCE_METHOD = Reference.class.getMethod("getApplicationReference");
+            CAST_METHOD = Reference.class.getMethod("cast", Class.class);
+            IS_INSTANCE_OF_METHOD = Reference.class.getMethod("isInstanceOf", TypeClass.class);
+            TYPE_CLASS_METHOD = Reference.class.getMethod("getTypeClass");
+            ASYNC_METHOD = Reference.class.getMethod("async", Class.class);
+            FETCH_METHOD = Reference.class.getMethod("fetch", Class.class, PropertyKey[].class);
+        } catch (NoSuchMethodException e) {
+            throw new Error(e);
+        }
+    }
+
+    private static final ClassValue<Map<Method, InvocationPlan>> PLANS = new ClassValue<Map<Method, InvocationPlan>>() {
+        @Override
+        protected Map<Method, InvocationPlan> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ClassValue<Map<String, Method>> PROPERTY_GETTERS = new ClassValue<Map<String, Method>>() {
+        @Override
+        protected Map<String, Method> computeValue(final Class<?> type) {
+            final Map<String, Method> getters = new HashMap<>();
+            for (final Method method : type.getMethods()) {
+                if (method.getParameterCount() != 0 || method.getDeclaringClass() == Reference.class) continue;
+                final Kind kind = method.getAnnotation(Kind.class);
+                if (kind == null || !"property".equals(kind.value())) continue;
+                if (!method.getName().startsWith("get") && !method.getName().startsWith("is")) continue;
+                final Code code = method.getAnnotation(Code.class);
+                if (code != null) getters.putIfAbsent(code.value(), method);
+            }
+            return Collections.unmodifiableMap(getters);
+        }
+    };
+
+    /**
+     * What an invocation does.
+     */
+    enum Operation {
+        TO_STRING, OBJECT_REFERENCE, EQUALS, HASHCODE, APPLICATION_REFERENCE, CAST, IS_INSTANCE_OF, TYPE_CLASS, ASYNC,
+        PROPERTIES,
+        /** Several properties in one script, see {@link Reference#fetch(Class, PropertyKey[])}. */
+        FETCH,
+        /** All elements, e.g. {@code Track[] getTracks(String filter)}. */
+        GET_ELEMENTS,
+        /** All elements as chunked stream, e.g. {@code Stream<Track> streamTracks(String filter)}. */
+        STREAM_ELEMENTS,
+        GET_ELEMENT_BY_INDEX,
+        GET_ELEMENT_BY_ID,
+        SET_ELEMENT,
+        COUNT_ELEMENTS,
+        GET_PROPERTY,
+        SET_PROPERTY,
+        COMMAND,
+        MAKE,
+        /** Method with unknown kind, returns {@code null}. */
+        NONE,
+        /** Method that cannot be invoked, throws {@link #newError()}. */
+        INVALID
+    }
+
+    private final Method method;
+    private final Operation operation;
+    private final Class<?> returnType;
+    private final boolean decodeWithoutSubclass;
+    private final Class<?> elementType;
+    private final boolean lazyList;
+    private final boolean filterable;
+    private final int parameterCount;
+    private final String script;
+    private final String[] parameterKeywords;
+    private final String errorMessage;
+    private final Throwable errorCause;
+
+    private InvocationPlan(final Method method, final Operation operation, final Class<?> returnType, final Class<?> elementType,
+                           final boolean lazyList, final boolean filterable, final int parameterCount,
+                           final String script, final String[] parameterKeywords,
+                           final String errorMessage, final Throwable errorCause) {
+        this.method = method;
+        this.operation = operation;
+        this.returnType = returnType;
+        this.decodeWithoutSubclass = isDecodeWithoutSubclass(returnType);
+        this.elementType = elementType;
+        this.lazyList = lazyList;
+        this.filterable = filterable;
+        this.parameterCount = parameterCount;
+        this.script = script;
+        this.parameterKeywords = parameterKeywords;
+        this.errorMessage = errorMessage;
+        this.errorCause = errorCause;
+    }
+
+    private static InvocationPlan of(final Operation operation, final Method method) {
+        return new InvocationPlan(method, operation, method.getReturnType(), null, false, false,
+            method.getParameterCount(), null, null, null, null);
+    }
+
+    private static InvocationPlan of(final Operation operation, final Method method, final String script) {
+        return new InvocationPlan(method, operation, method.getReturnType(), null, false, false,
+            method.getParameterCount(), script, null, null, null);
+    }
+
+    private static InvocationPlan invalid(final Method method, final String message, final Throwable cause) {
+        return new InvocationPlan(method, Operation.INVALID, method.getReturnType(), null, false, false,
+            method.getParameterCount(), null, null, message, cause);
+    }
+
+    /**
+     * Returns the cached plan for the given method.
+     *
+     * @param method method
+     * @return plan
+     */
+    static InvocationPlan get(final Method method) {
+        final Map<Method, InvocationPlan> plans = PLANS.get(method.getDeclaringClass());
+        InvocationPlan plan = plans.get(method);
+        if (plan == null) {
+            plan = compile(method);
+            final InvocationPlan existing = plans.putIfAbsent(method, plan);
+            if (existing != null) plan = existing;
+        }
+        return plan;
+    }
+
+    /**
+     * Compiles a plan for the given method.
+     *
+     * @param method method
+     * @return plan
+     */
+    static InvocationPlan compile(final Method method) {
+        if (TO_STRING_METHOD.equals(method)) return of(Operation.TO_STRING, method);
+        if (OBJECT_REFERENCE_METHOD.equals(method)) return of(Operation.OBJECT_REFERENCE, method);
+        if (EQUALS_METHOD.equals(method)) return of(Operation.EQUALS, method);
+        if (HASHCODE_METHOD.equals(method)) return of(Operation.HASHCODE, method);
+        if (APPLICATION_REFERENCE_METHOD.equals(method)) return of(Operation.APPLICATION_REFERENCE, method);
+        if (CAST_METHOD.equals(method)) return of(Operation.CAST, method);
+        if (IS_INSTANCE_OF_METHOD.equals(method)) return of(Operation.IS_INSTANCE_OF, method);
+        if (TYPE_CLASS_METHOD.equals(method)) return of(Operation.TYPE_CLASS, method);
+        if (ASYNC_METHOD.equals(method)) return of(Operation.ASYNC, method);
+        if (FETCH_METHOD.equals(method)) return of(Operation.FETCH, method);
+        if ("getProperties".equals(method.getName()) && method.getParameterCount() == 0) return of(Operation.PROPERTIES, method);
+
+        final Kind kind = method.getAnnotation(Kind.class);
+        if (kind == null) {
+            return invalid(method, "Method is not annotated with @Kind: " + method, null);
+        }
+        switch (kind.value()) {
+            case "element":
+                return compileElement(method);
+            case "property":
+                return compileProperty(method);
+            case "command":
+                return new InvocationPlan(method, Operation.COMMAND, method.getReturnType(), null, false, false,
+                    method.getParameterCount(), method.getAnnotation(Name.class).value(),
+                    getParameterKeywords(method), null, null);
+            case "make":
+                return of(Operation.MAKE, method);
+            default:
+                return of(Operation.NONE, method);
+        }
+    }
+
+    private static InvocationPlan compileElement(final Method method) {
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        final String name = method.getName();
+        if (name.startsWith("get")) {
+            if (method.getReturnType().isArray() || method.getReturnType().equals(List.class)) {
+                final Class<?> elementType = getElementType(method);
+                return new InvocationPlan(method, Operation.GET_ELEMENTS, method.getReturnType(), elementType,
+                    !method.getReturnType().isArray(),
+                    parameterTypes.length == 1 && parameterTypes[0] == String.class,
+                    parameterTypes.length, getPlural(elementType), null, null, null);
+            }
+            final Type type = method.getAnnotation(Type.class);
+            if (parameterTypes.length == 1 && parameterTypes[0] == Integer.TYPE) {
+                return of(Operation.GET_ELEMENT_BY_INDEX, method, type.value());
+            }
+            if (parameterTypes.length == 1 && parameterTypes[0] == Id.class) {
+                return of(Operation.GET_ELEMENT_BY_ID, method, type.value());
+            }
+            return invalid(method, "Unknown method signature. " + method, null);
+        }
+        if (name.startsWith("stream") && method.getReturnType().equals(Stream.class)) {
+            final Class<?> elementType = getElementType(method);
+            return new InvocationPlan(method, Operation.STREAM_ELEMENTS, method.getReturnType(), elementType,
+                false, parameterTypes.length == 1 && parameterTypes[0] == String.class,
+                parameterTypes.length, getPlural(elementType), null, null, null);
+        }
+        if (name.startsWith("set")) {
+            if (parameterTypes.length == 2 && parameterTypes[0] == Integer.TYPE) {
+                return of(Operation.SET_ELEMENT, method);
+            }
+            return invalid(method, "Unknown method signature. " + method, null);
+        }
+        if (name.startsWith("count")) {
+            try {
+                final Method getMethod = method.getDeclaringClass().getMethod("get" + name.substring("count".length()));
+                return new InvocationPlan(method, Operation.COUNT_ELEMENTS, method.getReturnType(), null, false,
+                    parameterTypes.length == 1 && parameterTypes[0] == String.class,
+                    parameterTypes.length, getPlural(getElementType(getMethod)), null, null, null);
+            } catch (NoSuchMethodException e) {
+                return invalid(method, e.toString(), e);
+            }
+        }
+        return of(Operation.NONE, method);
+    }
+
+    private static InvocationPlan compileProperty(final Method method) {
+        final Code code = method.getAnnotation(Code.class);
+        final String propertyChevron = new Chevron("property", code.value()).toString();
+        final String name = method.getName();
+        if (name.startsWith("get") || name.startsWith("is")) {
+            return of(Operation.GET_PROPERTY, method, "return " + propertyChevron);
+        }
+        if (name.startsWith("set")) {
+            return of(Operation.SET_PROPERTY, method, "set " + propertyChevron);
+        }
+        return of(Operation.NONE, method);
+    }
+
+    private static String[] getParameterKeywords(final Method method) {
+        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        final String[] keywords = new String[parameterAnnotations.length];
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            // only the first annotation is considered
+            if (parameterAnnotations[i].length > 0) keywords[i] = ((Parameter) parameterAnnotations[i][0]).value();
+        }
+        return keywords;
+    }
+
+    /**
+     * Element type of an element getter, which either returns an array, a {@code List} or a {@code Stream}.
+     *
+     * @param method element getter
+     * @return element type
+     */
+    private static Class<?> getElementType(final Method method) {
+        final Class<?> returnType = method.getReturnType();
+        if (returnType.isArray()) return returnType.getComponentType();
+        final java.lang.reflect.Type genericReturnType = method.getGenericReturnType();
+        if (genericReturnType instanceof ParameterizedType) {
+            final java.lang.reflect.Type elementType = ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+            if (elementType instanceof Class) return (Class<?>) elementType;
+        }
+        throw new JaplScriptException("Cannot determine element type of " + method);
+    }
+
+    /**
+     * Find the AppleScript plural for a type.
+     *
+     * @param type type
+     * @return the plural or its singular, if no plural is defined (e.g. Photos.app).
+     */
+    static String getPlural(final Class<?> type) {
+        final Plural pluralAnnotation = type.getAnnotation(Plural.class);
+        final String plural;
+        if (pluralAnnotation != null) {
+            plural = pluralAnnotation.value();
+        }
+        else {
+            LOG.warning("Type " + type.getName() + " does not have a defined AppleScript plural. " +
+                "Trying to simply add an 's'.");
+            plural = type.getAnnotation(Name.class).value() + "s";
+        }
+        return plural;
+    }
+
+    /**
+     * Finds the getter of a property by its 4char code.
+     *
+     * @param type interface
+     * @param code 4char code, e.g. {@code pnam}
+     * @return getter or {@code null}
+     */
+    static Method getPropertyGetter(final Class<?> type, final String code) {
+        return PROPERTY_GETTERS.get(type).get(code);
+    }
+
+    /**
+     * Indicates whether results of the given type can be cast without
+     * {@link JaplScript#guessMostSpecificSubclass(Class, Reference) guessing} a more specific subclass.
+     * There is no need to look for more specific application interfaces, if the type is not
+     * an interface. Array elements however may still need more specific interfaces.
+     *
+     * @param type return type
+     * @return true or false
+     */
+    static boolean isDecodeWithoutSubclass(final Class<?> type) {
+        return !type.isInterface() && !type.isArray() && type != Object.class;
+    }
+
+    /**
+     * @return method this plan was compiled for
+     */
+    Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return operation
+     */
+    Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the method's return type
+     */
+    Class<?> getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * @return true, if results can be cast to {@link #getReturnType()} without
+     * {@link JaplScript#guessMostSpecificSubclass(Class, Reference) guessing} a more specific subclass,
+     * e.g. because it's a primitive or {@code String}
+     */
+    boolean isDecodeWithoutSubclass() {
+        return decodeWithoutSubclass;
+    }
+
+    /**
+     * @return element type of {@link Operation#GET_ELEMENTS} and {@link Operation#STREAM_ELEMENTS} plans
+     */
+    Class<?> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * @return true, if {@link Operation#GET_ELEMENTS} returns a lazily decoded {@code List}
+     */
+    boolean isLazyList() {
+        return lazyList;
+    }
+
+    /**
+     * @return true, if the single parameter of a {@link Operation#GET_ELEMENTS}, {@link Operation#STREAM_ELEMENTS} or
+     * {@link Operation#COUNT_ELEMENTS} method is a filter
+     */
+    boolean isFilterable() {
+        return filterable;
+    }
+
+    /**
+     * @return number of parameters
+     */
+    int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * Pre-rendered part of the script, e.g. the plural for element plans,
+     * the element type for element getters by index or id,
+     * {@code return «property pnam»} for property getters or the command name for commands.
+     *
+     * @return script fragment
+     */
+    String getScript() {
+        return script;
+    }
+
+    /**
+     * @return AppleScript parameter keywords of a command, {@code null} for direct parameters
+     */
+    String[] getParameterKeywords() {
+        return parameterKeywords;
+    }
+
+    /**
+     * @return new exception to throw for {@link Operation#INVALID} plans
+     */
+    JaplScriptException newError() {
+        return new JaplScriptException(errorMessage, errorCause);
+    }
+
+    @Override
+    public String toString() {
+        return "InvocationPlan{" +
+            "method=" + method +
+            ", operation=" + operation +
+            ", script='" + script + '\'' +
+            '}';
+    }
+}
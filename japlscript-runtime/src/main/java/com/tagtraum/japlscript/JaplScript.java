@@ -7,15 +7,23 @@
 package com.tagtraum.japlscript;
 
 import com.tagtraum.japlscript.execution.Aspect;
+import com.tagtraum.japlscript.execution.ExecutionMetrics;
 import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.execution.ResultTokenizer;
 import com.tagtraum.japlscript.execution.Session;
 import com.tagtraum.japlscript.language.ReferenceImpl;
 import com.tagtraum.japlscript.language.TypeClass;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -25,14 +33,26 @@ import java.util.logging.Logger;
  */
 public final class JaplScript {
 
+    /**
+     * System property to turn the use of {@link GeneratedReference generated implementations}
+     * off, i.e. to always use {@link Proxy proxies}. Defaults to {@code true}.
+     */
+    public static final String IMPLEMENTATIONS_PROPERTY = "japlscript.implementations";
     private static final Logger LOG = Logger.getLogger(JaplScript.class.getName());
+    private static final MethodType IMPLEMENTATION_CONSTRUCTOR = MethodType.methodType(void.class, Reference.class);
+    /** Constructors of generated implementations, {@code null} if an interface has none. */
+    private static final ClassValue<MethodHandle> IMPLEMENTATIONS = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(final Class<?> interfaceClass) {
+            return findImplementation(interfaceClass);
+        }
+    };
     private static final int LAST_ASCII_CHAR = 127;
-    private static final List<Codec<?>> types = new ArrayList<>();
-    private static final List<Aspect> globalAspects = new ArrayList<>();
-    private static final Map<String, Class<?>> applicationInterfaces = new HashMap<>();
-    private static final Map<Class<?>, Map<TypeClass, Map<String, Property>>> applicationProperties = new HashMap<>();
-    private static final Map<Class<?>, Map<TypeClass, Class<?>>> applicationClasses = new HashMap<>();
-    private static final Map<String, Class<?>> APPLESCRIPT_TO_JAVA = new HashMap<>();
+    private static final CodecRegistry codecs = new CodecRegistry();
+    /** Copy-on-write, because aspects are read for every invocation, but rarely changed. */
+    private static final List<Aspect> globalAspects = new CopyOnWriteArrayList<>();
+    private static final ApplicationRegistry applications = new ApplicationRegistry();
+    private static final Map<String, Class<?>> APPLESCRIPT_TO_JAVA = new ConcurrentHashMap<>();
     private static final String SCRIPTING_ADDITION = "scripting addition";
     private static final String APPLICATION = "application";
 
@@ -96,21 +116,52 @@ public final class JaplScript {
     }
 
     public static void addType(final Codec<?> type) {
-        types.add(type);
+        codecs.add(type);
         for (final TypeClass tc : type._getAppleScriptTypes()) {
             APPLESCRIPT_TO_JAVA.put(tc.getName().toLowerCase(), type._getJavaType());
         }
     }
 
     public static boolean removeType(final Codec<?> type) {
-        return types.remove(type);
+        return codecs.remove(type);
     }
 
     /**
      * @return copy of the types list
      */
     public static List<Codec<?>> getTypes() {
-        return new ArrayList<>(types);
+        return new ArrayList<>(codecs.getCodecs());
+    }
+
+    /**
+     * Finds the codec that decodes the given Java type.
+     *
+     * @param javaType Java type, e.g. {@code int.class} or {@code String.class}
+     * @return codec or {@code null}, if there is none
+     */
+    public static Codec<?> getCodec(final Class<?> javaType) {
+        return codecs.getDecoder(javaType);
+    }
+
+    /**
+     * Finds the codec for the given AppleScript type.
+     *
+     * @param typeClass AppleScript type, looked up by code or, if not found, by name
+     * @return codec or {@code null}, if there is none
+     */
+    public static Codec<?> getCodec(final TypeClass typeClass) {
+        return codecs.getCodec(typeClass);
+    }
+
+    /**
+     * Finds the codec that encodes instances of the given class, i.e. the first registered
+     * codec whose Java type is the class itself or one of its supertypes.
+     *
+     * @param javaClass runtime class
+     * @return codec or {@code null}, if there is none
+     */
+    static Codec<?> getEncoder(final Class<?> javaClass) {
+        return codecs.getEncoder(javaClass);
     }
 
     /**
@@ -154,9 +205,7 @@ public final class JaplScript {
 
     private static <T> void registerApplicationInterface(final Class<T> interfaceClass, final Reference reference) {
         // avoid registering twice, in order to avoid annoying messages.
-        if (!applicationInterfaces.containsKey(reference.getApplicationReference())) {
-            applicationInterfaces.put(reference.getApplicationReference(), interfaceClass);
-        }
+        applications.registerInterface(reference.getApplicationReference(), interfaceClass);
     }
 
     /**
@@ -183,11 +232,15 @@ public final class JaplScript {
                 "an application interface nor an application reference: " + typeClass);
             return typeClass;
         }
-        final Map<TypeClass, Map<String, Property>> typeClassMap = applicationProperties.get(applicationInterface);
-        for (final TypeClass appTypeClass : typeClassMap.keySet()) {
-            if (Objects.equals(appTypeClass.getCode(), typeClass.getCode()) || Objects.equals(appTypeClass.getName(), typeClass.getName())) {
-                return appTypeClass;
-            }
+        final ApplicationRegistry.Registration registration = applications.get(applicationInterface);
+        if (registration == null) {
+            LOG.warning("TypeClass intern failure: Application interface " + applicationInterface.getName()
+                + " has not been registered.");
+            return typeClass;
+        }
+        final TypeClass appTypeClass = registration.find(typeClass);
+        if (appTypeClass != null) {
+            return appTypeClass;
         }
         if (getStandardJavaType(typeClass.getObjectReference()) == null) {
             LOG.warning("TypeClass intern failure: TypeClass " + typeClass
@@ -197,10 +250,24 @@ public final class JaplScript {
     }
 
     private static Class<?> getApplicationInterface(final Reference reference) {
-        return applicationInterfaces.get(reference.getApplicationReference());
+        return applications.getInterface(reference.getApplicationReference());
     }
 
     public static Property getProperty(final Reference reference, final TypeClass typeClass, final String name) {
+        final Map<String, Property> properties = getProperties(reference, typeClass);
+        return properties == null ? null : properties.get(name);
+    }
+
+    /**
+     * Looks up the properties of a given {@link TypeClass}, including inherited ones.
+     * The table is computed once, when the application is registered.
+     *
+     * @param reference reference, used to look up the application
+     * @param typeClass type class
+     * @return immutable map from AppleScript property names and chevron codes (e.g. {@code «property pnam»})
+     * to properties or {@code null}, if the type class is unknown
+     */
+    public static Map<String, Property> getProperties(final Reference reference, final TypeClass typeClass) {
         if (reference.getApplicationReference() == null) {
             throw new JaplScriptException("Property lookup failure. Cannot lookup property for null application reference: " + reference);
         }
@@ -209,55 +276,17 @@ public final class JaplScript {
             LOG.warning("An application interface for application reference " + reference.getApplicationReference() + " has not been registered.");
             return null;
         }
-        final Map<TypeClass, Map<String, Property>> typeClassMap = applicationProperties.get(applicationInterface);
-        for (TypeClass appTypeClass=typeClass; appTypeClass!=null; appTypeClass = appTypeClass.getSuperClass()) {
-            if (!typeClassMap.containsKey(typeClass)) {
-                LOG.warning("TypeClass " + typeClass  + " of property " + name
-                    + " is not declared in " + applicationInterface.getSimpleName());
-                return null;
-            } else {
-                final Property property = typeClassMap.get(typeClass).get(name);
-                if (property != null) return property;
-            }
+        final ApplicationRegistry.Registration registration = applications.get(applicationInterface);
+        final Map<String, Property> properties = registration == null ? null : registration.getProperties(typeClass);
+        if (properties == null) {
+            LOG.warning("TypeClass " + typeClass + " is not declared in " + applicationInterface.getSimpleName());
         }
-        return null;
+        return properties;
     }
 
     private static void registerApplicationProperties(final Class<?> applicationInterface) {
         // avoid registering twice, in order to avoid annoying messages.
-        if (!applicationProperties.containsKey(applicationInterface)) {
-            final Map<TypeClass, Map<String, Property>> appMap = new HashMap<>();
-            final Map<TypeClass, Class<?>> appClassMap = new HashMap<>();
-            applicationProperties.put(applicationInterface, appMap);
-            applicationClasses.put(applicationInterface, appClassMap);
-            try {
-                final Field applicationClassesField = applicationInterface.getField("APPLICATION_CLASSES");
-                final Set<Class<?>> applicationClasses = (Set<Class<?>>) applicationClassesField.get(null);
-
-                // first get all TypeClasses, so that we can intern them
-                // while reading all Properties
-                for (final Class<?> klass : applicationClasses) {
-                    final TypeClass typeClass = TypeClass.fromClass(klass);
-                    if (typeClass == null) {
-                        throw new JaplScriptException("Generated class " + klass + " does not declare CLASS.");
-                    }
-                    appMap.put(typeClass, new HashMap<>());
-                    appClassMap.put(typeClass, klass);
-                }
-
-                // now add all properties for each TypeClass, i.e. class declared in this app
-                for (final Class<?> klass : applicationClasses) {
-                    final Map<String, Property> classProperties = appMap.get(TypeClass.fromClass(klass));
-                    final Set<Property> properties = Property.fromAnnotations(klass, applicationInterface);
-                    for (final Property property : properties) {
-                        classProperties.put(property.getName(), property);
-                        classProperties.put(property.toChevron().toString(), property);
-                    }
-                }
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                throw new JaplScriptException("Failure while registering application-wide properties", e);
-            }
-        }
+        applications.register(applicationInterface);
     }
 
     /**
@@ -298,23 +327,13 @@ public final class JaplScript {
             return interfaceClass;
         }
 
-        final String trimmedObjectReference = objectReference.trim();
-        TypeClass typeClass = null;
-        if (trimmedObjectReference.startsWith("«class ")) {
-            final String code = trimmedObjectReference.substring(0, trimmedObjectReference.indexOf("»") + 1);
-            final TypeClass tc = new TypeClass(code, code, reference.getApplicationReference(), applicationInterface, null);
-            typeClass = tc.intern();
-        } else {
-            final Set<TypeClass> typeClasses = applicationProperties.get(applicationInterface).keySet();
-            for (final TypeClass tc : typeClasses) {
-                if (trimmedObjectReference.startsWith(tc.getName())) {
-                    typeClass = tc;
-                    break;
-                }
-            }
+        final ApplicationRegistry.Registration registration = applications.get(applicationInterface);
+        if (registration == null) {
+            return interfaceClass;
         }
+        final TypeClass typeClass = guessTypeClass(registration, reference);
         if (typeClass != null) {
-            final Class<?> interfaceClassSubClass = applicationClasses.get(applicationInterface).get(typeClass);
+            final Class<?> interfaceClassSubClass = registration.getJavaClass(typeClass);
             if (!interfaceClass.equals(interfaceClassSubClass) && interfaceClassSubClass != null && interfaceClass.isAssignableFrom(interfaceClassSubClass)) {
                 LOG.fine("Mapped requested class " + interfaceClass + " to more specific class " + interfaceClassSubClass + " for " + reference);
                 return (Class<? extends T>)interfaceClassSubClass;
@@ -323,6 +342,53 @@ public final class JaplScript {
         return interfaceClass;
     }
 
+    /**
+     * Guesses the declared {@link TypeClass} of a reference from its object reference,
+     * without executing a script (see {@link #guessMostSpecificSubclass(Class, Reference)}).
+     *
+     * @param reference reference
+     * @return declared type class or {@code null}, if unknown
+     */
+    static TypeClass guessTypeClass(final Reference reference) {
+        final Class<?> applicationInterface = getApplicationInterface(reference);
+        if (applicationInterface == null || reference.getObjectReference() == null) return null;
+        final ApplicationRegistry.Registration registration = applications.get(applicationInterface);
+        return registration == null ? null : guessTypeClass(registration, reference);
+    }
+
+    private static TypeClass guessTypeClass(final ApplicationRegistry.Registration registration, final Reference reference) {
+        final String trimmedObjectReference = reference.getObjectReference().trim();
+        if (trimmedObjectReference.startsWith("«class ")) {
+            final String code = trimmedObjectReference.substring(0, trimmedObjectReference.indexOf("»") + 1);
+            return registration.find(new TypeClass(code, code, reference.getApplicationReference(),
+                registration.getApplicationInterface(), null));
+        }
+        // most specific, i.e. longest matching name, e.g. "file track" rather than "file"
+        return registration.findByPrefix(trimmedObjectReference);
+    }
+
+    /**
+     * Reads several properties of a reference with a single script.
+     *
+     * @param type interface of the returned view
+     * @param reference proxy or {@link GeneratedReference generated implementation}
+     * @param properties properties
+     * @param <T> reference type
+     * @return view of the reference, whose getters return the fetched values
+     * @throws IllegalArgumentException if the type is not an interface or does not declare a getter
+     * for one of the properties
+     * @see Reference#fetch(Class, PropertyKey[])
+     */
+    public static <T extends Reference> T fetch(final Class<T> type, final T reference, final PropertyKey<?>... properties) {
+        if (!type.isInterface()) throw new IllegalArgumentException("Not an interface: " + type.getName());
+        try {
+            return new ObjectInvocationHandler(new ReferenceImpl(reference.getObjectReference(), reference.getApplicationReference()))
+                .fetch(type, properties);
+        } catch (IOException e) {
+            throw new JaplScriptException(e);
+        }
+    }
+
     /**
      * Casts a reference to a specific Java class.
      *
@@ -347,17 +413,57 @@ public final class JaplScript {
      */
     public static <T> T cast(final java.lang.Class<T> interfaceClass, final boolean useMostSpecificSubClass, final Reference reference) {
         if (reference == null) return null;
+        final ExecutionMetrics metrics = ExecutionMetrics.getInstance();
+        if (!metrics.isEnabled()) return castImpl(interfaceClass, useMostSpecificSubClass, reference);
+        final long start = System.nanoTime();
         try {
+            return castImpl(interfaceClass, useMostSpecificSubClass, reference);
+        } finally {
+            metrics.recordDecode(reference.getApplicationReference(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Casts a reference to an AppleScript list to a lazily decoded {@link List}.
+     * <p>
+     * Unlike {@link #cast(Class, boolean, Reference)} with an array type, this only scans
+     * the list for element boundaries. Elements are decoded when first accessed,
+     * which is much cheaper for very large lists of which only few elements are read.
+     * The returned list is immutable.
+     *
+     * @param elementType element type, boxed types like {@code Integer.class} are supported
+     * @param useMostSpecificSubClass attempt to create instances of the most specific subclass of elementType
+     * @param reference reference to an AppleScript list
+     * @param <T> element type
+     * @return list or {@code null}, if the reference or its object reference is {@code null}
+     */
+    public static <T> List<T> castList(final java.lang.Class<T> elementType, final boolean useMostSpecificSubClass, final Reference reference) {
+        if (reference == null || reference.getObjectReference() == null) return null;
+        final ExecutionMetrics metrics = ExecutionMetrics.getInstance();
+        if (!metrics.isEnabled()) return new LazyList<>(elementType, useMostSpecificSubClass, reference);
+        final long start = System.nanoTime();
+        try {
+            return new LazyList<>(elementType, useMostSpecificSubClass, reference);
+        } finally {
+            metrics.recordDecode(reference.getApplicationReference(), System.nanoTime() - start);
+        }
+    }
+
+    static <T> T castImpl(final java.lang.Class<T> interfaceClass, final boolean useMostSpecificSubClass, final Reference reference) {
+        try {
+            if (reference instanceof ParsedReference) {
+                final Object parsed = castParsed(interfaceClass, useMostSpecificSubClass, (ParsedReference) reference);
+                if (parsed != null) return (T) parsed;
+            }
             final String objectReference = reference.getObjectReference();
             Class<? extends T> icc = interfaceClass;
             if (useMostSpecificSubClass) {
                 icc = guessMostSpecificSubclass(interfaceClass, reference);
             }
 
-            for (final Codec<?> type : types) {
-                if (icc == type._getJavaType()) {
-                    return (T)type._decode(reference);
-                }
+            final Codec<?> codec = codecs.getDecoder(icc);
+            if (codec != null) {
+                return (T) codec._decode(reference);
             }
             if (icc.isArray()) {
                 if (objectReference == null) {
@@ -384,56 +490,121 @@ public final class JaplScript {
                 throw new JaplScriptException("Cannot create proxy for non-interface class " + icc);
             }
 
+            final MethodHandle implementation = isUseImplementations() ? IMPLEMENTATIONS.get(icc) : null;
+            if (implementation != null) {
+                return (T) (Reference) implementation.invokeExact(reference);
+            }
             return (T) Proxy.newProxyInstance(JaplScript.class.getClassLoader(),
                     new Class[]{icc}, new ObjectInvocationHandler(reference));
         } catch (JaplScriptException e) {
             throw e;
         } catch (RuntimeException e) {
             throw new JaplScriptException("Failed to cast " + reference + " to " + interfaceClass, e);
+        } catch (Throwable e) {
+            if (e instanceof Error) throw (Error) e;
+            throw new JaplScriptException("Failed to cast " + reference + " to " + interfaceClass, e);
+        }
+    }
+
+    private static boolean isUseImplementations() {
+        return !"false".equalsIgnoreCase(System.getProperty(IMPLEMENTATIONS_PROPERTY));
+    }
+
+    /**
+     * Looks for a {@link GeneratedReference generated implementation} of the given interface,
+     * i.e. a class with the same name plus {@code Impl} in the same package.
+     *
+     * @param interfaceClass interface
+     * @return constructor handle of type {@code (Reference)Reference} or {@code null}
+     */
+    private static MethodHandle findImplementation(final Class<?> interfaceClass) {
+        if (!interfaceClass.isInterface() || !Reference.class.isAssignableFrom(interfaceClass)) return null;
+        final Class<?> implementationClass;
+        try {
+            implementationClass = Class.forName(interfaceClass.getName() + "Impl", false, interfaceClass.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        if (!GeneratedReference.class.isAssignableFrom(implementationClass)
+            || !interfaceClass.isAssignableFrom(implementationClass)) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup()
+                .findConstructor(implementationClass, IMPLEMENTATION_CONSTRUCTOR)
+                .asType(MethodType.methodType(Reference.class, Reference.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            if (LOG.isLoggable(Level.WARNING)) {
+                LOG.log(Level.WARNING, "Failed to access constructor of " + implementationClass.getName()
+                    + ". Using proxies instead.", e);
+            }
+            return null;
         }
     }
 
     private static Object parseList(final Class<?> interfaceClass, final boolean useMostSpecificSubClass, final Reference reference) {
         final String objectReference = reference.getObjectReference();
-        final String applicationReference = reference.getApplicationReference();
-        //if (LOG.isLoggable(Level.FINE)) LOG.fine("objectReference: " + objectReference);
-        //if (LOG.isLoggable(Level.FINE)) LOG.fine("applicationReference: " + applicationReference);
-        //if (LOG.isLoggable(Level.FINE)) LOG.fine("interfaceClass: " + interfaceClass);
+        final ResultTokenizer tokenizer = new ResultTokenizer(objectReference);
+        // without curlies, we simply split at commas
+        if (objectReference.startsWith("{")) tokenizer.next();
+        return parseList(tokenizer, interfaceClass, useMostSpecificSubClass, reference.getApplicationReference());
+    }
+
+    /**
+     * Parses list items up to and including the closing {@link ResultTokenizer.Token#END},
+     * if any. Nested lists are parsed directly from the same tokenizer, if they are
+     * decoded to arrays, records or plain {@link Reference}s. All other items are passed
+     * to {@link #castImpl(Class, boolean, Reference)}.
+     */
+    private static Object parseList(final ResultTokenizer tokenizer, final Class<?> interfaceClass,
+                                    final boolean useMostSpecificSubClass, final String applicationReference) {
+        if (interfaceClass.isPrimitive() && isDefaultCodecType(interfaceClass)) {
+            return parsePrimitiveList(tokenizer, interfaceClass);
+        }
         final List<Object> result = new ArrayList<>();
-        int depth = 0;
-        boolean quotes = false;
-        final boolean curlies = objectReference.startsWith("{");
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < objectReference.length(); i++) {
-            final char c = objectReference.charAt(i);
-            final char previousChar = i==0 ? 0 : objectReference.charAt(i-1);
-            switch (c) {
-                case '"':
-                    if (previousChar != '\\') {
-                        quotes = !quotes;
+        final CharSequence text = tokenizer.getText();
+        final boolean parseNestedArray = interfaceClass.isArray() && !isCodecType(interfaceClass);
+        final boolean parseNestedRecord = interfaceClass.equals(Map.class) && !isCodecType(interfaceClass);
+        int start = -1;
+        int end = -1;
+        boolean done = false;
+        while (!done) {
+            final ResultTokenizer.Token token = tokenizer.next();
+            switch (token) {
+                case BEGIN:
+                    if (start < 0 && parseNestedArray) {
+                        result.add(parseList(tokenizer, interfaceClass.getComponentType(), useMostSpecificSubClass, applicationReference));
+                        break;
+                    }
+                    if (start < 0 && parseNestedRecord) {
+                        result.add(parseRecord(tokenizer, applicationReference));
+                        break;
+                    }
+                    if (start < 0 && interfaceClass == Reference.class) {
+                        result.add(parseNested(tokenizer, applicationReference));
+                        break;
                     }
+                    if (start < 0) start = tokenizer.getStart();
+                    tokenizer.skipNested();
+                    end = tokenizer.getEnd();
                     break;
-                case '{':
-                    depth++;
+                case VALUE:
+                case COLON:
+                    if (start < 0) start = tokenizer.getStart();
+                    end = tokenizer.getEnd();
                     break;
-                case '}':
-                    depth--;
+                case END:
+                case EOF:
+                case COMMA:
+                    done = token != ResultTokenizer.Token.COMMA;
+                    if (start >= 0) {
+                        result.add(castImpl(interfaceClass, useMostSpecificSubClass,
+                            new ReferenceImpl(text.subSequence(start, end).toString(), applicationReference)));
+                        start = -1;
+                    }
                     break;
                 default:
             }
-            final boolean lastChar = i == objectReference.length() - 1;
-            if (quotes) {
-                sb.append(c);
-            } else if (depth == 1 && c == ',' || depth == 0 && c == '}' || !curlies && (c == ',' || lastChar)) {
-                if (!curlies && lastChar) sb.append(c);
-                if (sb.length() > 0) {
-                    //if (LOG.isLoggable(Level.FINE)) LOG.fine("arr ref: " + sb);
-                    result.add(cast(interfaceClass, useMostSpecificSubClass, new ReferenceImpl(sb.toString(), applicationReference)));
-                    sb.setLength(0);
-                }
-            } else if (depth == 1 && c != '{') sb.append(c);
-            else if (!curlies) sb.append(c);
-            else if (depth > 1) sb.append(c);
         }
         final Object resultArray;
         if (interfaceClass.isPrimitive()) {
@@ -444,6 +615,82 @@ public final class JaplScript {
         return resultArray;
     }
 
+    /**
+     * Parses a list of numbers or booleans directly into a primitive array, without boxing.
+     *
+     * @param tokenizer tokenizer positioned before the first item
+     * @param type primitive type
+     * @return primitive array
+     */
+    private static Object parsePrimitiveList(final ResultTokenizer tokenizer, final Class<?> type) {
+        final String text = tokenizer.getText().toString();
+        final Object array = Array.newInstance(type, tokenizer.countItems());
+        int i = 0;
+        boolean done = false;
+        while (!done) {
+            final ResultTokenizer.Token token = tokenizer.next();
+            switch (token) {
+                case END:
+                case EOF:
+                    done = true;
+                    break;
+                case COMMA:
+                    break;
+                case VALUE:
+                    final int start = tokenizer.getStart();
+                    final int end = tokenizer.getEnd();
+                    try {
+                        if (type == java.lang.Integer.TYPE) {
+                            ((int[]) array)[i] = java.lang.Integer.parseInt(text, start, end, 10);
+                        } else if (type == java.lang.Long.TYPE) {
+                            ((long[]) array)[i] = java.lang.Long.parseLong(text, start, end, 10);
+                        } else if (type == java.lang.Double.TYPE) {
+                            ((double[]) array)[i] = java.lang.Double.parseDouble(text.substring(start, end));
+                        } else if (type == java.lang.Float.TYPE) {
+                            ((float[]) array)[i] = java.lang.Float.parseFloat(text.substring(start, end));
+                        } else if (type == java.lang.Short.TYPE) {
+                            final int value = java.lang.Integer.parseInt(text, start, end, 10);
+                            if (value < java.lang.Short.MIN_VALUE || value > java.lang.Short.MAX_VALUE) {
+                                throw new NumberFormatException("Value out of range: " + value);
+                            }
+                            ((short[]) array)[i] = (short) value;
+                        } else {
+                            ((boolean[]) array)[i] = end - start == 4 && text.regionMatches(true, start, "true", 0, 4);
+                        }
+                    } catch (NumberFormatException e) {
+                        throw new JaplScriptException("Failed to cast " + text.substring(start, end) + " to " + type, e);
+                    }
+                    i++;
+                    break;
+                default:
+                    throw new JaplScriptException("Unexpected " + token + " at offset " + tokenizer.getStart()
+                        + " in list of " + type + ": " + text);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * @param javaType primitive type
+     * @return true, if {@code javaType} is decoded by one of the built-in number or boolean codecs,
+     * which {@link #parsePrimitiveList(ResultTokenizer, Class)} can replace
+     */
+    private static boolean isDefaultCodecType(final Class<?> javaType) {
+        final Codec<?> codec = codecs.getDecoder(javaType);
+        if (codec == null) return false;
+        final Class<?> codecClass = codec.getClass();
+        return codecClass == com.tagtraum.japlscript.language.Integer.class
+            || codecClass == com.tagtraum.japlscript.language.Long.class
+            || codecClass == com.tagtraum.japlscript.language.Short.class
+            || codecClass == com.tagtraum.japlscript.language.Double.class
+            || codecClass == com.tagtraum.japlscript.language.Float.class
+            || codecClass == com.tagtraum.japlscript.language.Boolean.class;
+    }
+
+    private static boolean isCodecType(final Class<?> javaType) {
+        return codecs.getDecoder(javaType) != null;
+    }
+
     /**
      * Convert a list of full blown objects to their corresponding primitive arrays.
      *
@@ -504,53 +751,135 @@ public final class JaplScript {
     }
 
     private static java.util.Map<String, Reference> parseRecord(final Reference reference) {
-        final String objectReference = reference.getObjectReference();
-        final String applicationReference = reference.getApplicationReference();
-        //if (LOG.isLoggable(Level.FINE)) LOG.fine("objectReference: " + objectReference);
-        //if (LOG.isLoggable(Level.FINE)) LOG.fine("applicationReference: " + applicationReference);
-        //if (LOG.isLoggable(Level.FINE)) LOG.fine("interfaceClass: " + interfaceClass);
+        return parseRecord(reference.getObjectReference(), reference.getApplicationReference());
+    }
+
+    /**
+     * Parses a record in a single pass. Nested lists and records are parsed from the same
+     * tokenizer and returned as {@link ParsedReference}s.
+     *
+     * @param text record
+     * @param applicationReference application reference
+     * @return record
+     */
+    static java.util.Map<String, Reference> parseRecord(final CharSequence text, final String applicationReference) {
+        final ResultTokenizer tokenizer = new ResultTokenizer(text);
+        if (text.length() > 0 && text.charAt(0) == '{') tokenizer.next();
+        return parseRecord(tokenizer, applicationReference);
+    }
+
+    /**
+     * Parses record entries up to and including the closing {@link ResultTokenizer.Token#END},
+     * if any. Values that are lists or records are parsed directly from the same tokenizer.
+     */
+    private static java.util.Map<String, Reference> parseRecord(final ResultTokenizer tokenizer, final String applicationReference) {
         final Map<String, Reference> result = new HashMap<>();
-        int depth = 0;
-        boolean quotes = false;
-        final boolean curlies = objectReference.startsWith("{");
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < objectReference.length(); i++) {
-            final char c = objectReference.charAt(i);
-            final char previousChar = i==0 ? 0 : objectReference.charAt(i-1);
-            final boolean isLastChar = i == objectReference.length() - 1;
-            switch (c) {
-                case '"':
-                    if (previousChar != '\\') {
-                        quotes = !quotes;
+        final CharSequence text = tokenizer.getText();
+        String key = null;
+        ParsedReference nested = null;
+        int start = -1;
+        int end = -1;
+        boolean done = false;
+        while (!done) {
+            final ResultTokenizer.Token token = tokenizer.next();
+            switch (token) {
+                case BEGIN:
+                    if (start < 0 && key != null) {
+                        start = tokenizer.getStart();
+                        nested = parseNested(tokenizer, applicationReference);
+                        end = tokenizer.getEnd();
+                        break;
                     }
+                    if (start < 0) start = tokenizer.getStart();
+                    nested = null;
+                    tokenizer.skipNested();
+                    end = tokenizer.getEnd();
                     break;
-                case '{':
-                    depth++;
+                case COLON:
+                    if (key == null) {
+                        if (start < 0) throw new JaplScriptException("Missing record key at offset " + tokenizer.getStart() + ": " + text);
+                        key = text.subSequence(start, end).toString();
+                        start = -1;
+                    } else {
+                        // colons are legal in values
+                        if (start < 0) start = tokenizer.getStart();
+                        nested = null;
+                        end = tokenizer.getEnd();
+                    }
                     break;
-                case '}':
-                    depth--;
+                case VALUE:
+                    if (start < 0) start = tokenizer.getStart();
+                    // the value is more than just a list or record
+                    nested = null;
+                    end = tokenizer.getEnd();
+                    break;
+                case END:
+                case EOF:
+                case COMMA:
+                    done = token != ResultTokenizer.Token.COMMA;
+                    if (key != null) {
+                        if (nested != null) {
+                            result.put(key, nested);
+                        } else {
+                            final String value = start < 0 ? "" : text.subSequence(start, end).toString();
+                            result.put(key, ReferenceImpl.getInstance()._decode(value, applicationReference));
+                        }
+                    } else if (start >= 0) {
+                        throw new JaplScriptException("Missing record key for value " + text.subSequence(start, end) + ": " + text);
+                    }
+                    key = null;
+                    nested = null;
+                    start = -1;
                     break;
                 default:
             }
-            if (quotes) {
-                sb.append(c);
-            } else if (depth == 1 && c == ',' || depth == 0 && c == '}' || !curlies && (c == ',' || isLastChar)) {
-                if (!curlies && isLastChar) sb.append(c);
-                if (sb.length() > 0) {
-                    // split into key and value
-                    final int afterKey = sb.indexOf(":");
-                    final String key = sb.substring(0, afterKey).trim();
-                    final String value = sb.substring(afterKey + 1).trim();
-                    result.put(key, ReferenceImpl.getInstance()._decode(value, applicationReference));
-                    sb.setLength(0);
-                }
-            } else if (depth == 1 && c != '{') sb.append(c);
-            else if (!curlies) sb.append(c);
-            else if (depth > 1) sb.append(c);
         }
         return result;
     }
 
+    /**
+     * Parses the list or record starting at the current {@link ResultTokenizer.Token#BEGIN}
+     * up to and including its closing {@link ResultTokenizer.Token#END}.
+     *
+     * @param tokenizer tokenizer positioned on {@link ResultTokenizer.Token#BEGIN}
+     * @param applicationReference application reference
+     * @return parsed reference
+     */
+    private static ParsedReference parseNested(final ResultTokenizer tokenizer, final String applicationReference) {
+        final int start = tokenizer.getStart();
+        if (tokenizer.isRecord()) {
+            final Map<String, Reference> record = parseRecord(tokenizer, applicationReference);
+            return new ParsedReference(tokenizer.getText(), start, tokenizer.getEnd(), record, null, applicationReference);
+        }
+        final Reference[] list = (Reference[]) parseList(tokenizer, Reference.class, false, applicationReference);
+        return new ParsedReference(tokenizer.getText(), start, tokenizer.getEnd(), null, list, applicationReference);
+    }
+
+    /**
+     * Casts an already parsed list or record to a record, an array or a plain {@link Reference}.
+     *
+     * @return cast value or {@code null}, if the reference must be decoded from its text
+     */
+    private static Object castParsed(final Class<?> interfaceClass, final boolean useMostSpecificSubClass, final ParsedReference reference) {
+        if (interfaceClass == Reference.class) return reference;
+        if (isCodecType(interfaceClass)) return null;
+        if (interfaceClass.equals(Map.class)) {
+            if (reference.getRecord() != null) return new HashMap<>(reference.getRecord());
+            // empty braces are parsed as list
+            if (reference.getList().length == 0) return new HashMap<>();
+            return null;
+        }
+        if (!interfaceClass.isArray() || reference.getList() == null) return null;
+        final Class<?> componentType = interfaceClass.getComponentType();
+        final List<Object> result = new ArrayList<>();
+        for (final Reference item : reference.getList()) {
+            if (item == null && componentType.isPrimitive()) return null;
+            result.add(item == null ? null : castImpl(componentType, useMostSpecificSubClass, item));
+        }
+        if (componentType.isPrimitive()) return listToPrimitiveArray(componentType, result);
+        return result.toArray((Object[]) Array.newInstance(componentType, result.size()));
+    }
+
     /**
      * Quotes the string to make it usable for AppleScript.
      *
@@ -562,7 +891,7 @@ public final class JaplScript {
         sb.append("(\"");
         for (int i = 0, max=s.length(); i < max; i++) {
             final char c = s.charAt(i);
-            if (c == '"') {
+            if (c == '"' || c == '\\') {
                 sb.append('\\');
             }
             sb.append(c);
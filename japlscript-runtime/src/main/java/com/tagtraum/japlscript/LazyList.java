@@ -0,0 +1,154 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.ResultTokenizer;
+import com.tagtraum.japlscript.language.ReferenceImpl;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable list view of an AppleScript list, which decodes its elements on first access.
+ * <p>
+ * Construction scans the raw result once and only keeps the start and end offsets
+ * of the elements. {@link ReferenceImpl References}, proxies or codec values are
+ * created by {@link #get(int)} and then kept, i.e. memory is proportional
+ * to the number of elements actually read.
+ * <p>
+ * Instances are thread-safe. Decoded elements are published via an
+ * {@link AtomicReferenceArray}, and if several threads decode the same element
+ * concurrently, all of them return the instance that was published first.
+ *
+ * @param <T> element type
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see JaplScript#castList(Class, boolean, Reference)
+ */
+final class LazyList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final Object UNDECODED = new Object();
+
+    private final String text;
+    private final String applicationReference;
+    private final Class<?> elementType;
+    private final boolean useMostSpecificSubClass;
+    /** Start and end offset of each element, i.e. element {@code i} is {@code text[offsets[2i], offsets[2i+1])}. */
+    private final int[] offsets;
+    private final AtomicReferenceArray<Object> elements;
+
+    LazyList(final Class<T> elementType, final boolean useMostSpecificSubClass, final Reference reference) {
+        this.text = reference.getObjectReference();
+        this.applicationReference = reference.getApplicationReference();
+        this.elementType = toPrimitive(elementType);
+        this.useMostSpecificSubClass = useMostSpecificSubClass;
+        this.offsets = scan(text);
+        this.elements = new AtomicReferenceArray<>(offsets.length / 2);
+        for (int i = 0; i < elements.length(); i++) {
+            elements.lazySet(i, UNDECODED);
+        }
+    }
+
+    /**
+     * Finds the offsets of all top level elements.
+     * Like {@link JaplScript#cast(Class, Reference)}, texts without curlies are split at commas.
+     */
+    private static int[] scan(final String text) {
+        final ResultTokenizer tokenizer = new ResultTokenizer(text);
+        if (text.startsWith("{")) tokenizer.next();
+        final int[] offsets = new int[tokenizer.countItems() * 2];
+        int count = 0;
+        int start = -1;
+        int end = -1;
+        boolean done = false;
+        while (!done) {
+            final ResultTokenizer.Token token = tokenizer.next();
+            switch (token) {
+                case BEGIN:
+                    if (start < 0) start = tokenizer.getStart();
+                    tokenizer.skipNested();
+                    end = tokenizer.getEnd();
+                    break;
+                case VALUE:
+                case COLON:
+                    if (start < 0) start = tokenizer.getStart();
+                    end = tokenizer.getEnd();
+                    break;
+                case END:
+                case EOF:
+                case COMMA:
+                    done = token != ResultTokenizer.Token.COMMA;
+                    if (start >= 0) {
+                        offsets[count * 2] = start;
+                        offsets[count * 2 + 1] = end;
+                        count++;
+                        start = -1;
+                    }
+                    break;
+                default:
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Codecs are registered for primitive types, so we decode
+     * boxed element types like {@code Integer} with their primitive codecs.
+     */
+    private static Class<?> toPrimitive(final Class<?> type) {
+        if (type == java.lang.Integer.class) return java.lang.Integer.TYPE;
+        if (type == java.lang.Long.class) return java.lang.Long.TYPE;
+        if (type == java.lang.Short.class) return java.lang.Short.TYPE;
+        if (type == java.lang.Double.class) return java.lang.Double.TYPE;
+        if (type == java.lang.Float.class) return java.lang.Float.TYPE;
+        if (type == java.lang.Boolean.class) return java.lang.Boolean.TYPE;
+        return type;
+    }
+
+    // castImpl() returns an instance of T or, for primitive types, its wrapper
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(final int index) {
+        Objects.checkIndex(index, elements.length());
+        Object element = elements.get(index);
+        if (element == UNDECODED) {
+            // decoding is idempotent, so a concurrent duplicate decode does no harm
+            final ReferenceImpl reference = new ReferenceImpl(text.substring(offsets[index * 2], offsets[index * 2 + 1]), applicationReference);
+            final Object decoded = JaplScript.castImpl(elementType, useMostSpecificSubClass, reference);
+            element = elements.compareAndSet(index, UNDECODED, decoded) ? decoded : elements.get(index);
+        }
+        return (T) element;
+    }
+
+    /**
+     * Raw AppleScript text of an element, without decoding it.
+     *
+     * @param index index
+     * @return element text
+     */
+    String getObjectReference(final int index) {
+        Objects.checkIndex(index, elements.length());
+        return text.substring(offsets[index * 2], offsets[index * 2 + 1]);
+    }
+
+    /**
+     * @return number of elements that have been decoded so far
+     */
+    int getDecodedCount() {
+        int count = 0;
+        for (int i = 0; i < elements.length(); i++) {
+            if (elements.get(i) != UNDECODED) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        return elements.length();
+    }
+}
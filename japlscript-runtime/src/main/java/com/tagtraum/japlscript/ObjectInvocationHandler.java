@@ -7,6 +7,7 @@
 package com.tagtraum.japlscript;
 
 import com.tagtraum.japlscript.execution.Aspect;
+import com.tagtraum.japlscript.execution.CancellableFuture;
 import com.tagtraum.japlscript.execution.JaplScriptException;
 import com.tagtraum.japlscript.execution.ScriptExecutor;
 import com.tagtraum.japlscript.execution.Session;
@@ -18,10 +19,14 @@ import java.util.logging.Logger;
 import java.util.logging.Level;
 
 import java.io.IOException;
-import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.tagtraum.japlscript.JaplScript.*;
@@ -36,31 +41,12 @@ import static com.tagtraum.japlscript.JaplScript.*;
 public class ObjectInvocationHandler implements InvocationHandler {
 
     private static final Logger LOG = Logger.getLogger(ObjectInvocationHandler.class.getName());
-    private static final Method TO_STRING_METHOD;
-    private static final Method EQUALS_METHOD;
-    private static final Method HASHCODE_METHOD;
-    private static final Method OBJECT_REFERENCE_METHOD;
-    private static final Method APPLICATION_REFERENCE_METHOD;
-    private static final Method CAST_METHOD;
-    private static final Method IS_INSTANCE_OF_METHOD;
-    private static final Method TYPE_CLASS_METHOD;
-
-    static {
-        try {
-            TO_STRING_METHOD = Object.class.getMethod("toString");
-            HASHCODE_METHOD = Object.class.getMethod("hashCode");
-            EQUALS_METHOD = Object.class.getMethod("equals", Object.class);
-            OBJECT_REFERENCE_METHOD = Reference.class.getMethod("getObjectReference");
-            APPLICATION_REFERENCE_METHOD = Reference.class.getMethod("getApplicationReference");
-            CAST_METHOD = Reference.class.getMethod("cast", Class.class);
-            IS_INSTANCE_OF_METHOD = Reference.class.getMethod("isInstanceOf", TypeClass.class);
-            TYPE_CLASS_METHOD = Reference.class.getMethod("getTypeClass");
-        } catch (NoSuchMethodException e) {
-            throw new Error(e);
-        }
-    }
-
+    // safe, because fetched values are only ever produced by decodeFetched(), never cast to this type
+    @SuppressWarnings("unchecked")
+    private static final Class<Map<Method, Object>> FETCHED_VALUES = (Class<Map<Method, Object>>) (Class<?>) Map.class;
     private final Reference reference;
+    /** Property values that were {@link #fetch(Class, PropertyKey[]) fetched} in advance or {@code null}. */
+    private final Map<Method, Object> fetched;
     private boolean reduceScriptExecutions = true;
 
     /**
@@ -69,7 +55,19 @@ public class ObjectInvocationHandler implements InvocationHandler {
      * @param reference reference that methods are called upon
      */
     public ObjectInvocationHandler(final Reference reference) {
+        this(reference, null);
+    }
+
+    /**
+     * Creates the {@link InvocationHandler} for a view of a {@link Reference},
+     * whose getters return the given values instead of executing a script.
+     *
+     * @param reference reference that methods are called upon
+     * @param fetched property values by getter
+     */
+    ObjectInvocationHandler(final Reference reference, final Map<Method, Object> fetched) {
         this.reference = reference;
+        this.fetched = fetched;
     }
 
     /**
@@ -117,8 +115,10 @@ public class ObjectInvocationHandler implements InvocationHandler {
      */
     public TypeClass getTypeClass() {
         try {
-            final TypeClass typeClass = executeAppleScript(reference, "return class of " + reference.getObjectReference(), TypeClass.class);
-            return typeClass.intern();
+            return cached("pcls", () -> {
+                final TypeClass typeClass = executeAppleScript(reference, "return class of " + reference.getObjectReference(), TypeClass.class);
+                return typeClass.intern();
+            });
         } catch (IOException e) {
             throw new JaplScriptException(e);
         }
@@ -131,7 +131,7 @@ public class ObjectInvocationHandler implements InvocationHandler {
      * @param interfaceClass Java interface class the property map belongs to, i.e.,
  *                           that {@code getProperties()} was invoked on
      * @return type class
-     * @see #invokeProperties(Class)
+     * @see #getProperties(Class)
      */
     private TypeClass getTypeClass(final Map<String, Reference> propertyMap, final Class<?> interfaceClass) {
         // Is it always just "class"/<<property pcls>> ?
@@ -161,44 +161,81 @@ public class ObjectInvocationHandler implements InvocationHandler {
     @Override
     public Object invoke(final Object proxy, final Method method, final Object[] args) {
         try {
+            final InvocationPlan plan = InvocationPlan.get(method);
             Object returnValue = null;
-            // check standard/JaplScript methods
-            if (TO_STRING_METHOD.equals(method)) {
-                return toString(reference);
-            } else if (OBJECT_REFERENCE_METHOD.equals(method)) {
-                return reference.getObjectReference();
-            } else if (EQUALS_METHOD.equals(method)) {
-                return equals(reference, args[0]);
-            } else if (HASHCODE_METHOD.equals(method)) {
-                return reference.hashCode();
-            } else if (APPLICATION_REFERENCE_METHOD.equals(method)) {
-                return reference.getApplicationReference();
-            } else if (CAST_METHOD.equals(method)) {
-                return cast((Class<?>) args[0], reference);
-            } else if (IS_INSTANCE_OF_METHOD.equals(method)) {
-                if (args.length != 1 || args[0] == null) return false;
-                final TypeClass typeClass = ((TypeClass) args[0]).intern();
-                return typeClass.isInstance(reference);
-            } else if (TYPE_CLASS_METHOD.equals(method) && (args == null || args.length == 0)) {
-                return getTypeClass();
-            } else if ("getProperties".equals(method.getName()) && (args == null || args.length == 0)) {
-                return invokeProperties(method.getDeclaringClass());
-            }
-            final Kind kind = method.getAnnotation(Kind.class);
-            // interface methods
-            if ("element".equals(kind.value())) {
-                returnValue = invokeElement(method, method.getReturnType(), args);
-            } else if ("property".equals(kind.value())) {
-                returnValue = invokeProperty(method, method.getReturnType(), args);
-            } else if ("command".equals(kind.value())) {
-                returnValue = invokeCommand(method, method.getReturnType(), args);
-            } else if ("make".equals(kind.value())) {
-                returnValue = invokeMake(method, args);
-            }
-            if (returnValue instanceof TypeClass && ((TypeClass) returnValue).getApplicationReference() != null) {
-                returnValue = JaplScript.internTypeClass((TypeClass) returnValue);
+            switch (plan.getOperation()) {
+                // standard/JaplScript methods
+                case TO_STRING:
+                    return toString(reference);
+                case OBJECT_REFERENCE:
+                    return reference.getObjectReference();
+                case EQUALS:
+                    return equals(reference, args[0]);
+                case HASHCODE:
+                    return reference.hashCode();
+                case APPLICATION_REFERENCE:
+                    return reference.getApplicationReference();
+                case CAST:
+                    return cast((Class<?>) args[0], reference);
+                case IS_INSTANCE_OF:
+                    return isInstanceOf(args[0]);
+                case TYPE_CLASS:
+                    return getTypeClass();
+                case ASYNC:
+                    return new AsyncReference<>(((Class<?>) args[0]).asSubclass(Reference.class).cast(proxy));
+                case PROPERTIES:
+                    return getProperties(method.getDeclaringClass());
+                case FETCH:
+                    return fetch(((Class<?>) args[0]).asSubclass(Reference.class), proxy, (PropertyKey<?>[]) args[1]);
+                // interface methods
+                case GET_ELEMENTS:
+                    if (plan.isLazyList()) {
+                        returnValue = getElementList(plan.getScript(), getFilter(plan, args), plan.getElementType());
+                    } else {
+                        returnValue = getElements(plan.getScript(), getFilter(plan, args), plan.getReturnType(),
+                            plan.isDecodeWithoutSubclass());
+                    }
+                    break;
+                case STREAM_ELEMENTS:
+                    returnValue = Elements.stream(reference, plan.getElementType().asSubclass(Reference.class), getFilter(plan, args));
+                    break;
+                case GET_ELEMENT_BY_INDEX:
+                    returnValue = getElement(plan.getScript(), (Integer) args[0], plan.getReturnType(),
+                        plan.isDecodeWithoutSubclass());
+                    break;
+                case GET_ELEMENT_BY_ID:
+                    returnValue = getElement(plan.getScript(), (Id) args[0], plan.getReturnType(),
+                        plan.isDecodeWithoutSubclass());
+                    break;
+                case SET_ELEMENT:
+                    setElement(plan.getReturnType(), (Integer) args[0], (Reference) args[1]);
+                    break;
+                case COUNT_ELEMENTS:
+                    returnValue = countElements(plan.getScript(), getFilter(plan, args), plan.getReturnType(),
+                        plan.isDecodeWithoutSubclass());
+                    break;
+                case GET_PROPERTY:
+                    if (fetched != null && fetched.containsKey(method)) {
+                        returnValue = fetched.get(method);
+                    } else {
+                        returnValue = getProperty(plan.getScript(), plan.getReturnType(), plan.isDecodeWithoutSubclass());
+                    }
+                    break;
+                case SET_PROPERTY:
+                    setProperty(plan.getScript(), args[0]);
+                    break;
+                case COMMAND:
+                    returnValue = command(plan.getScript(), plan.getParameterKeywords(), args, plan.getReturnType(),
+                        plan.isDecodeWithoutSubclass());
+                    break;
+                case MAKE:
+                    returnValue = invokeMake(method, args);
+                    break;
+                case INVALID:
+                    throw plan.newError();
+                default:
             }
-            return returnValue;
+            return internTypeClass(returnValue);
         } catch (RuntimeException rte) {
             throw rte;
         } catch (Exception e) {
@@ -206,7 +243,30 @@ public class ObjectInvocationHandler implements InvocationHandler {
         }
     }
 
-    private Map<String, Object> invokeProperties(final Class<?> interfaceClass) throws IOException {
+    /**
+     * Makes sure that {@link TypeClass}es belonging to an application are
+     * the {@link JaplScript#internTypeClass(TypeClass) interned} instances.
+     *
+     * @param value value
+     * @param <T> type
+     * @return interned type class or the given value
+     */
+    static <T> T internTypeClass(final T value) {
+        if (value instanceof TypeClass && ((TypeClass) value).getApplicationReference() != null) {
+            return (T) JaplScript.internTypeClass((TypeClass) value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns all properties of the reference.
+     *
+     * @param interfaceClass interface {@code getProperties()} was invoked on,
+     *                       used to find the {@link TypeClass} of records
+     * @return map from Java property names to values
+     * @throws IOException if the execution fails
+     */
+    Map<String, Object> getProperties(final Class<?> interfaceClass) throws IOException {
         final Reference properties;
         if (!isRecord()) {
             properties = executeAppleScript(reference, "return properties" + getOfClause(), Record.class);
@@ -220,11 +280,13 @@ public class ObjectInvocationHandler implements InvocationHandler {
         final Map<String, Reference> stringReferenceMap = (Map<String, Reference>)cast(Map.class, record);
         final TypeClass typeClass = getTypeClass(stringReferenceMap, interfaceClass);
 
+        // one table per record, not one lookup per property
+        final Map<String, Property> properties = JaplScript.getProperties(this.reference, typeClass);
         final Map<String, Object> javaMap = new HashMap<>();
         for (final Map.Entry<String, Reference> e : stringReferenceMap.entrySet()) {
             final String propertyName = e.getKey();
             final Reference propertyValue = e.getValue();
-            final Property property = getProperty(this.reference, typeClass, propertyName);
+            final Property property = properties == null ? null : properties.get(propertyName);
             if (property != null) {
                 javaMap.put(property.getJavaName(), cast(property.getJavaClass(), true, propertyValue));
             } else {
@@ -246,6 +308,36 @@ public class ObjectInvocationHandler implements InvocationHandler {
         return toString(ref1).equals(toString((Reference)ref2));
     }
 
+    /**
+     * {@code toString()} of references backed by this handler.
+     *
+     * @return application and object reference
+     */
+    String referenceToString() {
+        return toString(reference);
+    }
+
+    /**
+     * {@code equals()} of references backed by this handler.
+     *
+     * @param other other object
+     * @return true, if the other object is a reference to the same object
+     */
+    boolean referenceEquals(final Object other) {
+        return equals(reference, other);
+    }
+
+    /**
+     * {@code isInstanceOf()} of references backed by this handler.
+     *
+     * @param typeClass type class
+     * @return true or false
+     */
+    boolean isInstanceOf(final Object typeClass) {
+        if (typeClass == null) return false;
+        return ((TypeClass) typeClass).intern().isInstance(reference);
+    }
+
     private <T> T invokeMake(final Method method, final Object... args) throws IOException {
         if (args.length != 1) {
             throw new JaplScriptException("Wrong number of arguments for " + method + ": " + args.length);
@@ -253,7 +345,18 @@ public class ObjectInvocationHandler implements InvocationHandler {
         if (!(args[0] instanceof Class)) {
             throw new JaplScriptException("Argument is not a class object: " + args[0].getClass());
         }
-        final Class<T> klass = (Class<T>) args[0];
+        return make((Class<T>) args[0]);
+    }
+
+    /**
+     * Makes a new object.
+     *
+     * @param klass class of the object, annotated with {@link Name}
+     * @param <T> type
+     * @return new object
+     * @throws IOException if the execution fails or the class has no name
+     */
+    <T> T make(final Class<T> klass) throws IOException {
         final Name applescriptClassname = klass.getAnnotation(Name.class);
         if (applescriptClassname == null) {
             throw new IOException("\"make\" failed, because we failed to find a Name annotation for class " + klass);
@@ -262,157 +365,413 @@ public class ObjectInvocationHandler implements InvocationHandler {
         return executeAppleScript(reference, applescript, klass);
     }
 
-    private <T> T invokeCommand(final Method method, final Class<T> returnType,
-                                final Object... args) throws IOException {
-        final Name name = method.getAnnotation(Name.class);
-        final Parameter[] parameters = getFirstParameterAnnotations(method);
-        final StringBuilder applescript = new StringBuilder(name.value() + " ");
-        //if (LOG.isLoggable(Level.FINE)) LOG.fine(Arrays.asList(parameters.value()));
+    /**
+     * Executes a command.
+     *
+     * @param name AppleScript name of the command
+     * @param parameterKeywords AppleScript parameter keywords, {@code null} for the direct parameter
+     * @param args arguments, {@code null} arguments are omitted
+     * @param returnType return type
+     * @param decodeWithoutSubclass see {@link InvocationPlan#isDecodeWithoutSubclass()}
+     * @param <T> return type
+     * @return result
+     * @throws IOException if the execution fails
+     */
+    <T> T command(final String name, final String[] parameterKeywords, final Object[] args,
+                  final Class<T> returnType, final boolean decodeWithoutSubclass) throws IOException {
+        final StringBuilder applescript = new StringBuilder(name).append(' ');
         if (args != null) {
             for (int i = 0; i < args.length; i++) {
                 final Object arg = args[i];
                 if (arg == null) continue;
-                if (parameters[i] != null) {
-                    applescript.append(parameters[i].value());
+                if (parameterKeywords[i] != null) {
+                    applescript.append(parameterKeywords[i]);
                 }
                 applescript.append(' ');
                 applescript.append(encode(arg));
                 applescript.append(" ");
             }
         }
-        return executeAppleScript(reference, applescript.toString(), returnType);
-    }
-
-    private static Parameter[] getFirstParameterAnnotations(final Method method) {
-        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-        final Parameter[] parameters = new Parameter[parameterAnnotations.length];
-        int j=0;
-        for (final Annotation[] anns : parameterAnnotations) {
-            if (anns.length > 0) parameters[j] = (Parameter) anns[0];
-            j++;
-        }
-        return parameters;
-    }
-
-    private <T> T invokeElement(final Method method, final Class<T> returnType, final Object... args)
-            throws IOException, NoSuchMethodException {
-        T returnValue = null;
-        final Type type = method.getAnnotation(Type.class);
-        if (method.getName().startsWith("get")) {
-            if (method.getReturnType().isArray()) {
-                final String plural = getPlural(method.getReturnType().getComponentType());
-                final String applescript;
-                if (args != null && args[0] != null && !((String)args[0]).trim().isEmpty() && method.getParameterTypes().length == 1 && method.getParameterTypes()[0] == String.class) {
-                    applescript = "return " + plural + getOfClause() + " where " + args[0];
-                } else if (args == null || args[0] == null || ((String)args[0]).trim().isEmpty() || method.getParameterTypes().length == 0) {
-                    applescript = "return " + plural + getOfClause();
-                } else {
-                    throw new JaplScriptException("Unknown method signature. " + method);
-                }
-                returnValue = executeAppleScript(reference, applescript, returnType);
-            } else if (method.getParameterTypes().length == 1 && method.getParameterTypes()[0] == Integer.TYPE) {
-                final int index = ((Integer) args[0] + 1);
-                final String objectreference = type.value() + " " + index + getOfClause();
-                if (reduceScriptExecutions) {
-                    if (index < 1) throw new ArrayIndexOutOfBoundsException("Index has to be greater than 0");
-                    returnValue = cast(returnType,
-                            new ReferenceImpl(objectreference, reference.getApplicationReference()));
-                } else {
-                    final String applescript = "return " + objectreference;
-                    returnValue = executeAppleScript(reference, applescript, returnType);
-                }
-            } else if (method.getParameterTypes().length == 1 && method.getParameterTypes()[0] == Id.class) {
-                final Id id = (Id) args[0];
-                final String objectreference = type.value() + " " + id + getOfClause();
-                if (reduceScriptExecutions) {
-                    returnValue = cast(returnType,
-                            new ReferenceImpl(objectreference, reference.getApplicationReference()));
-                } else {
-                    final String applescript = "return " + objectreference;
-                    returnValue = executeAppleScript(reference, applescript, returnType);
-                }
-            } else {
-                throw new JaplScriptException("Unknown method signature. " + method);
-            }
-        } else if (method.getName().startsWith("set")) {
-            // this is untested and probably does not work
-            // generation of element setters is disabled by default
-            if (method.getParameterTypes().length == 2 && method.getParameterTypes()[0] == Integer.TYPE) {
-                final String plural = getPlural(method.getReturnType());
-                final int index = ((Integer) args[0] + 1);
-                final Reference ref = (Reference) args[1];
-                // really?
-                final String applescript = "set item " + index + " of " + plural + getOfClause() + " to (" + ref.getObjectReference() + ")";
-                executeAppleScript(reference, applescript, returnType);
-            } else {
-                throw new JaplScriptException("Unknown method signature. " + method);
+        // commands may change anything about their target and arguments,
+        // invalidate afterwards, too, in case values were read concurrently
+        invalidate(args);
+        try {
+            return executeAppleScript(reference, applescript.toString(), returnType, decodeWithoutSubclass);
+        } finally {
+            invalidate(args);
+        }
+    }
+
+    private void invalidate(final Object[] args) {
+        final PropertyCache cache = PropertyCache.getInstance();
+        if (!cache.isActive()) return;
+        cache.invalidate(reference);
+        if (args != null) {
+            for (final Object arg : args) {
+                if (arg instanceof Reference) cache.invalidate((Reference) arg);
             }
-        } else if (method.getName().startsWith("count")) {
-            final Method getMethod = method.getDeclaringClass().getMethod("get"
-                    + method.getName().substring("count".length()));
-            final String plural = getPlural(getMethod.getReturnType().getComponentType());
-            final String applescript;
-            if (args != null && args[0] != null && !((String) args[0]).trim().isEmpty() && method.getParameterTypes().length == 1 && method.getParameterTypes()[0] == String.class) {
-                applescript = "count " + plural + getOfClause() + " where " + args[0];
-            } else if (args == null || args[0] == null || ((String)args[0]).trim().isEmpty() || method.getParameterTypes().length == 0) {
-                applescript = "count " + plural + getOfClause();
-            } else {
-                throw new JaplScriptException("Unknown method signature. " + method);
+        }
+    }
+
+    /**
+     * Gets all elements, optionally filtered.
+     *
+     * @param plural AppleScript plural of the element type, e.g. {@code tracks}
+     * @param filter filter clause without leading {@code where} or {@code null}
+     * @param returnType array type
+     * @param decodeWithoutSubclass see {@link InvocationPlan#isDecodeWithoutSubclass()}
+     * @param <T> return type
+     * @return elements
+     * @throws IOException if the execution fails
+     */
+    <T> T getElements(final String plural, final String filter, final Class<T> returnType,
+                      final boolean decodeWithoutSubclass) throws IOException {
+        final String applescript = "return " + plural + getOfClause() + getWhereClause(filter);
+        return executeAppleScript(reference, applescript, returnType, decodeWithoutSubclass);
+    }
+
+    /**
+     * Gets all elements, optionally filtered, as lazily decoded list.
+     *
+     * @param plural AppleScript plural of the element type, e.g. {@code tracks}
+     * @param filter filter clause without leading {@code where} or {@code null}
+     * @param elementType element type
+     * @param <T> element type
+     * @return elements
+     * @throws IOException if the execution fails
+     * @see JaplScript#castList(Class, boolean, Reference)
+     */
+    <T> List<T> getElementList(final String plural, final String filter, final Class<T> elementType) throws IOException {
+        final String applescript = "return " + plural + getOfClause() + getWhereClause(filter);
+        final String applicationReference = reference.getApplicationReference();
+        final Class<List<T>> returnType = (Class<List<T>>) (Class<?>) List.class;
+        return executeAppleScript(tell(applicationReference, applescript), returnType,
+            r -> castList(elementType, true, r));
+    }
+
+    /**
+     * Gets a range of elements, optionally filtered, e.g. {@code return tracks 1 thru 500 of playlist 1}
+     * or {@code return items 1 thru 500 of (tracks of playlist 1 where name starts with "b")}.
+     *
+     * @param plural AppleScript plural of the element type, e.g. {@code tracks}
+     * @param filter filter clause without leading {@code where} or {@code null}
+     * @param from zero-based index of the first element (inclusive)
+     * @param to zero-based index of the last element (exclusive)
+     * @param returnType array type
+     * @param <T> return type
+     * @return elements
+     * @throws IOException if the execution fails
+     * @see ChunkedIterator
+     */
+    <T> T getElementRange(final String plural, final String filter, final int from, final int to,
+                          final Class<T> returnType) throws IOException {
+        final String whereClause = getWhereClause(filter);
+        final String range = (from + 1) + " thru " + to;
+        final String applescript = whereClause.isEmpty()
+            ? "return " + plural + " " + range + getOfClause()
+            : "return items " + range + " of (" + plural + getOfClause() + whereClause + ")";
+        return executeAppleScript(reference, applescript, returnType, false);
+    }
+
+    /**
+     * Gets at most {@code limit} elements, optionally filtered, with one script.
+     * Since ranges beyond the last element fail, the limit is reduced to the number
+     * of elements by the script, e.g.:
+     * <pre>
+     * set n to count tracks of playlist 1 where year &gt; 2000
+     * if n &gt; 50 then set n to 50
+     * if n &lt; 1 then return {}
+     * return items 1 thru n of (tracks of playlist 1 where year &gt; 2000)
+     * </pre>
+     *
+     * @param plural AppleScript plural of the element type, e.g. {@code tracks}
+     * @param filter filter clause without leading {@code where} or {@code null}
+     * @param limit maximum number of elements
+     * @param returnType array type
+     * @param <T> return type
+     * @return elements
+     * @throws IOException if the execution fails
+     * @see Elements#toArray()
+     */
+    <T> T getFirstElements(final String plural, final String filter, final int limit,
+                           final Class<T> returnType) throws IOException {
+        final String whereClause = getWhereClause(filter);
+        final String applescript = "set n to count " + plural + getOfClause() + whereClause + "\r\n"
+            + "if n > " + limit + " then set n to " + limit + "\r\n"
+            + "if n < 1 then return {}\r\n"
+            + (whereClause.isEmpty()
+                ? "return " + plural + " 1 thru n" + getOfClause()
+                : "return items 1 thru n of (" + plural + getOfClause() + whereClause + ")");
+        return executeAppleScript(reference, applescript, returnType, false);
+    }
+
+    /**
+     * Reads properties of all elements, optionally filtered, with one script, e.g.
+     * {@code return {«property pnam» of tracks of playlist 1, «property pDur» of tracks of playlist 1}}.
+     *
+     * @param plural AppleScript plural of the element type, e.g. {@code tracks}
+     * @param filter filter clause without leading {@code where} or {@code null}
+     * @param plans {@link InvocationPlan.Operation#GET_PROPERTY} plans of the property getters
+     * @return one array per property, with the getter's return type as component type
+     * @throws IOException if the execution fails
+     * @see Elements#project(java.util.function.Function[])
+     */
+    Object[] project(final String plural, final String filter, final InvocationPlan[] plans) throws IOException {
+        final String whereClause = getWhereClause(filter);
+        final String elements = whereClause.isEmpty()
+            ? plural + getOfClause()
+            : "(" + plural + getOfClause() + whereClause + ")";
+        final StringBuilder script = new StringBuilder("return {");
+        for (int i = 0; i < plans.length; i++) {
+            if (i > 0) script.append(", ");
+            // "return «property xxxx»"
+            script.append(plans[i].getScript(), "return ".length(), plans[i].getScript().length())
+                .append(" of ").append(elements);
+        }
+        script.append('}');
+        return executeAppleScript(tell(reference.getApplicationReference(), script.toString()),
+            Object[].class, r -> decodeColumns(plans, r));
+    }
+
+    private static Object[] decodeColumns(final InvocationPlan[] plans, final Reference lists) {
+        final Reference[] items = cast(Reference[].class, false, lists);
+        if (items == null || items.length != plans.length) {
+            throw new JaplScriptException("Expected " + plans.length + " columns, but got: " + lists.getObjectReference());
+        }
+        final Object[] columns = new Object[plans.length];
+        for (int i = 0; i < plans.length; i++) {
+            final Class<?> arrayType = Array.newInstance(plans[i].getReturnType(), 0).getClass();
+            final Object column = cast(arrayType, true, items[i]);
+            columns[i] = column == null ? Array.newInstance(plans[i].getReturnType(), 0) : column;
+            if (Array.getLength(columns[i]) != Array.getLength(columns[0])) {
+                throw new JaplScriptException("Columns have different lengths, maybe the elements changed: "
+                    + lists.getObjectReference());
             }
-            returnValue = executeAppleScript(reference, applescript, returnType);
         }
-        return returnValue;
+        return columns;
     }
 
     /**
-     * Find the AppleScript plural for a type.
+     * Gets an element by index.
      *
-     * @param type type
-     * @return the plural or its singular, if no plural is defined (e.g. Photos.app).
+     * @param type AppleScript element type, e.g. {@code track}
+     * @param index zero-based index
+     * @param returnType return type
+     * @param decodeWithoutSubclass see {@link InvocationPlan#isDecodeWithoutSubclass()}
+     * @param <T> return type
+     * @return element
+     * @throws IOException if the execution fails
      */
-    private String getPlural(final Class<?> type) {
-        final Plural pluralAnnotation = type.getAnnotation(Plural.class);
-        final String plural;
-        if (pluralAnnotation != null) {
-            plural = pluralAnnotation.value();
+    <T> T getElement(final String type, final int index, final Class<T> returnType,
+                     final boolean decodeWithoutSubclass) throws IOException {
+        final int appleScriptIndex = index + 1;
+        final String objectreference = type + " " + appleScriptIndex + getOfClause();
+        if (reduceScriptExecutions) {
+            if (appleScriptIndex < 1) throw new ArrayIndexOutOfBoundsException("Index has to be greater than 0");
+            return cast(returnType, new ReferenceImpl(objectreference, reference.getApplicationReference()));
         }
-        else {
-            LOG.warning("Type " + type.getName() + " does not have a defined AppleScript plural. " +
-                "Trying to simply add an 's'.");
-            plural = type.getAnnotation(Name.class).value() + "s";
+        return executeAppleScript(reference, "return " + objectreference, returnType, decodeWithoutSubclass);
+    }
+
+    /**
+     * Gets an element by id.
+     *
+     * @param type AppleScript element type, e.g. {@code track}
+     * @param id id
+     * @param returnType return type
+     * @param decodeWithoutSubclass see {@link InvocationPlan#isDecodeWithoutSubclass()}
+     * @param <T> return type
+     * @return element
+     * @throws IOException if the execution fails
+     */
+    <T> T getElement(final String type, final Id id, final Class<T> returnType,
+                     final boolean decodeWithoutSubclass) throws IOException {
+        final String objectreference = type + " " + id + getOfClause();
+        if (reduceScriptExecutions) {
+            return cast(returnType, new ReferenceImpl(objectreference, reference.getApplicationReference()));
+        }
+        return executeAppleScript(reference, "return " + objectreference, returnType, decodeWithoutSubclass);
+    }
+
+    private void setElement(final Class<?> returnType, final int index, final Reference ref) throws IOException {
+        // this is untested and probably does not work
+        // generation of element setters is disabled by default
+        final String plural = InvocationPlan.getPlural(returnType);
+        // really?
+        final String applescript = "set item " + (index + 1) + " of " + plural + getOfClause() + " to (" + ref.getObjectReference() + ")";
+        executeAppleScript(reference, applescript, returnType);
+    }
+
+    /**
+     * Counts elements, optionally filtered.
+     *
+     * @param plural AppleScript plural of the element type, e.g. {@code tracks}
+     * @param filter filter clause without leading {@code where} or {@code null}
+     * @param returnType return type, typically {@code int}
+     * @param decodeWithoutSubclass see {@link InvocationPlan#isDecodeWithoutSubclass()}
+     * @param <T> return type
+     * @return number of elements
+     * @throws IOException if the execution fails
+     */
+    <T> T countElements(final String plural, final String filter, final Class<T> returnType,
+                        final boolean decodeWithoutSubclass) throws IOException {
+        final String applescript = "count " + plural + getOfClause() + getWhereClause(filter);
+        return executeAppleScript(reference, applescript, returnType, decodeWithoutSubclass);
+    }
+
+    /**
+     * Filter argument of element getters and counters.
+     *
+     * @param plan plan
+     * @param args arguments, possibly containing a filter
+     * @return filter or {@code null}
+     */
+    private static String getFilter(final InvocationPlan plan, final Object[] args) {
+        if (args == null || args[0] == null || ((String)args[0]).trim().isEmpty()) {
+            return null;
+        } else if (plan.isFilterable()) {
+            return (String) args[0];
         }
-        return plural;
+        throw new JaplScriptException("Unknown method signature. " + plan.getMethod());
+    }
+
+    /**
+     * Where clause for element getters and counters.
+     *
+     * @param filter filter or {@code null}
+     * @return where clause (with leading space) or an empty string
+     */
+    private static String getWhereClause(final String filter) {
+        if (filter == null || filter.trim().isEmpty()) return "";
+        return " where " + filter;
     }
 
-    private <T> T invokeProperty(final Method method, final Class<T> returnType, final Object[] args)
+    /**
+     * Reads a property.
+     *
+     * @param script getter script, e.g. {@code return «property pnam»}
+     * @param returnType return type
+     * @param decodeWithoutSubclass see {@link InvocationPlan#isDecodeWithoutSubclass()}
+     * @param <T> return type
+     * @return property value
+     * @throws IOException if the execution fails
+     */
+    <T> T getProperty(final String script, final Class<T> returnType, final boolean decodeWithoutSubclass)
             throws IOException {
-        T returnValue = null;
-        final Name name = method.getAnnotation(Name.class);
-        final Code code = method.getAnnotation(Code.class);
-        final Chevron propertyChevron = new Chevron("property", code.value());
-        if (method.getName().startsWith("get") || method.getName().startsWith("is")) {
-            final String applescript = "return " + propertyChevron + getOfClause();
-            returnValue = executeAppleScript(reference, applescript, returnType);
-
-//            if (!isRecord()) {
-//                final String applescript = "return " + name.value() + getOfClause();
-//                returnValue = executeAppleScript(reference, applescript, returnType);
-//            } else {
-//                // let's assume we have record
-//                final Map<String, Reference> stringReferenceMap = (Map<String, Reference>)cast(Map.class, reference);
-//                if (stringReferenceMap.containsKey(code)) {
-//                    returnValue = cast(returnType, stringReferenceMap.get(code));
-//                } else if (stringReferenceMap.containsKey(name)) {
-//                    returnValue = cast(returnType, stringReferenceMap.get(name));
-//                } else {
-//                    returnValue = null;
-//                }
-//            }
-        } else if (method.getName().startsWith("set")) {
-            final String applescript = "set " + propertyChevron + getOfClause() + " to " + encode(args[0]);
-            returnValue = executeAppleScript(reference, applescript, returnType);
-        }
-        return returnValue;
+        return cached(toPropertyCode(script),
+            () -> executeAppleScript(reference, script + getOfClause(), returnType, decodeWithoutSubclass));
+    }
+
+    /**
+     * Reads a value from the {@link PropertyCache}, if it is cacheable and cached.
+     * Otherwise, reads it with the given reader and caches it.
+     *
+     * @param propertyCode 4char property code, e.g. {@code pnam}
+     * @param reader reader that executes a script
+     * @param <T> value type
+     * @return value
+     * @throws IOException if the execution fails
+     */
+    private <T> T cached(final String propertyCode, final PropertyReader<T> reader) throws IOException {
+        final PropertyCache cache = PropertyCache.getInstance();
+        // results of sessions may not be available yet
+        if (!cache.isActive() || Session.get() != null) return reader.read();
+        final long ttl = cache.getTtl(reference, propertyCode);
+        if (ttl <= 0) return reader.read();
+        final PropertyCache.Value cached = cache.get(reference, propertyCode);
+        if (cached != null) return (T) cached.get();
+        final T value = reader.read();
+        cache.put(reference, propertyCode, value, ttl);
+        return value;
+    }
+
+    /**
+     * @param script getter or setter script, e.g. {@code return «property pnam»}
+     * @return 4char code, e.g. {@code pnam}
+     */
+    private static String toPropertyCode(final String script) {
+        final int end = script.lastIndexOf('»');
+        return script.substring(end - 4, end);
+    }
+
+    /**
+     * Reads a property value by executing a script.
+     *
+     * @param <T> value type
+     */
+    private interface PropertyReader<T> {
+        T read() throws IOException;
+    }
+
+    /**
+     * Reads several properties with one script, e.g.
+     * {@code return {«property pnam», «property pArt»} of track 1}, and returns
+     * a view of the reference, whose getters for these properties return the read values.
+     *
+     * @param interfaceClass interface of the view
+     * @param properties properties
+     * @param <T> interface type
+     * @return view
+     * @throws IOException if the execution fails
+     * @throws IllegalArgumentException if the interface does not have one of the properties
+     */
+    <T> T fetch(final Class<T> interfaceClass, final PropertyKey<?>... properties) throws IOException {
+        final InvocationPlan[] plans = new InvocationPlan[properties.length];
+        final StringBuilder script = new StringBuilder("return {");
+        for (int i = 0; i < properties.length; i++) {
+            final Method getter = InvocationPlan.getPropertyGetter(interfaceClass, properties[i].getCode());
+            if (getter == null) {
+                throw new IllegalArgumentException("Unknown property \"" + properties[i].getName() + "\" of " + interfaceClass.getName());
+            }
+            plans[i] = InvocationPlan.get(getter);
+            if (i > 0) script.append(", ");
+            // "return «property xxxx»"
+            script.append(plans[i].getScript(), "return ".length(), plans[i].getScript().length());
+        }
+        script.append('}').append(getOfClause());
+        final Map<Method, Object> values = executeAppleScript(tell(reference.getApplicationReference(), script.toString()),
+            FETCHED_VALUES, r -> decodeFetched(plans, r));
+        if (values == null) return null;
+        return interfaceClass.cast(Proxy.newProxyInstance(JaplScript.class.getClassLoader(),
+            new Class<?>[]{interfaceClass}, new ObjectInvocationHandler(reference, values)));
+    }
+
+    private static <T extends Reference> T fetch(final Class<T> type, final Object proxy, final PropertyKey<?>[] properties) {
+        return JaplScript.fetch(type, type.cast(proxy), properties);
+    }
+
+    private static Map<Method, Object> decodeFetched(final InvocationPlan[] plans, final Reference list) {
+        final Reference[] items = cast(Reference[].class, false, list);
+        if (items == null || items.length != plans.length) {
+            throw new JaplScriptException("Expected " + plans.length + " property values, but got: " + list.getObjectReference());
+        }
+        final Map<Method, Object> values = new HashMap<>();
+        for (int i = 0; i < plans.length; i++) {
+            final Class<?> returnType = plans[i].getReturnType();
+            final Object value = plans[i].isDecodeWithoutSubclass()
+                ? cast(returnType, items[i])
+                : cast(guessMostSpecificSubclass(returnType, items[i]), true, items[i]);
+            values.put(plans[i].getMethod(), internTypeClass(value));
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Writes a property.
+     *
+     * @param script setter script, e.g. {@code set «property pnam»}
+     * @param value new value
+     * @throws IOException if the execution fails
+     */
+    void setProperty(final String script, final Object value) throws IOException {
+        final String applescript = script + getOfClause() + " to " + encode(value);
+        final PropertyCache cache = PropertyCache.getInstance();
+        if (cache.isActive()) cache.invalidate(reference, toPropertyCode(script));
+        try {
+            executeAppleScript(reference, applescript, Void.TYPE, false);
+        } finally {
+            if (cache.isActive()) cache.invalidate(reference, toPropertyCode(script));
+        }
     }
 
     private boolean isRecord() {
@@ -427,16 +786,21 @@ public class ObjectInvocationHandler implements InvocationHandler {
         else return " of " + reference.getObjectReference();
     }
 
-    private String encode(final Object arg) {
+    /**
+     * Encodes a value as AppleScript literal, using the registered {@link Codec}s.
+     *
+     * @param arg value, array, list or map
+     * @return AppleScript
+     */
+    static String encode(final Object arg) {
         if (arg instanceof Object[]) return encode((Object[]) arg);
         else if (arg instanceof java.util.List) return encode((List<?>) arg);
         else if (arg instanceof java.util.Map) return encode((Map<String, ?>) arg);
         else {
             // all regular types from JaplScript
-            for (final Codec<?> type : JaplScript.getTypes()) {
-                if (type._getJavaType().isAssignableFrom(arg.getClass())) {
-                    return type._encode(arg);
-                }
+            final Codec<?> codec = JaplScript.getEncoder(arg.getClass());
+            if (codec != null) {
+                return codec._encode(arg);
             }
             // special case: enums
             if (JaplEnum.class.isAssignableFrom(arg.getClass())) {
@@ -446,19 +810,19 @@ public class ObjectInvocationHandler implements InvocationHandler {
         return arg.toString();
     }
 
-    private String encode(final Object[] array) {
+    private static String encode(final Object[] array) {
         return Arrays.stream(array)
-            .map(this::encode)
+            .map(ObjectInvocationHandler::encode)
             .collect(Collectors.joining(", ", "{", "}"));
     }
 
-    private String encode(final List<?> list) {
+    private static String encode(final List<?> list) {
         return list.stream()
-            .map(this::encode)
+            .map(ObjectInvocationHandler::encode)
             .collect(Collectors.joining(", ", "{", "}"));
     }
 
-    private String encode(final Map<String, ?> map) {
+    private static String encode(final Map<String, ?> map) {
         return map.entrySet().stream()
             .map(e -> e.getKey() + ": " + encode(e.getValue()))
             .collect(Collectors.joining(", ", "{", "}"));
@@ -468,11 +832,53 @@ public class ObjectInvocationHandler implements InvocationHandler {
         return executeAppleScript(reference.getApplicationReference(), appleScript, returnType);
     }
 
+    private <T> T executeAppleScript(final Reference reference, final String appleScript, final Class<T> returnType,
+                                     final boolean decodeWithoutSubclass) throws IOException {
+        final CharSequence script = tell(reference.getApplicationReference(), appleScript);
+        if (decodeWithoutSubclass && !returnType.equals(Void.TYPE)) {
+            return executeAppleScript(script, returnType, r -> cast(returnType, r));
+        }
+        return executeAppleScript(script, returnType);
+    }
+
+    /**
+     * Asynchronously executes the given script on the
+     * {@link ScriptExecutor#getAsyncExecutor() async executor}.
+     * The script is executed outside of any {@link Session}.
+     *
+     * @param reference reference whose application the script is sent to
+     * @param appleScript script
+     * @param returnType return type
+     * @param <T> return type
+     * @return future result
+     * @see #executeAppleScript(Reference, String, Class)
+     */
+    public <T> CompletableFuture<T> executeAppleScriptAsync(final Reference reference, final String appleScript, final Class<T> returnType) {
+        return CancellableFuture.callAsync(() -> executeAppleScript(reference, appleScript, returnType),
+            ScriptExecutor.getAsyncExecutor());
+    }
+
     private <T> T executeAppleScript(final String application, final String appleScript, final Class<T> returnType) throws IOException {
         return executeAppleScript(tell(application, appleScript), returnType);
     }
 
     private <T> T executeAppleScript(final CharSequence appleScript, final Class<T> returnType) throws IOException {
+        return executeAppleScript(appleScript, returnType, null);
+    }
+
+    /**
+     * Executes the given script.
+     *
+     * @param appleScript script
+     * @param returnType return type
+     * @param decoder decoder for the result or {@code null} to {@link JaplScript#cast(Class, Reference) cast}
+     *                it to the return type
+     * @param <T> return type
+     * @return result
+     * @throws IOException if the execution fails
+     */
+    private <T> T executeAppleScript(final CharSequence appleScript, final Class<T> returnType,
+                                     final Function<ReferenceImpl, T> decoder) throws IOException {
         final Session session = Session.get();
         if (session == null) {
             final ScriptExecutor scriptExecutor = ScriptExecutor.newInstance();
@@ -480,12 +886,32 @@ public class ObjectInvocationHandler implements InvocationHandler {
             final String returnValue = scriptExecutor.execute();
             if (LOG.isLoggable(Level.FINE)) LOG.fine(appleScript + " == > " + returnValue);
             final ReferenceImpl reference = new ReferenceImpl(returnValue, this.reference.getApplicationReference());
+            if (decoder != null) {
+                return decoder.apply(reference);
+            }
             if (!returnType.equals(Void.TYPE)) {
                 return cast(guessMostSpecificSubclass(returnType, reference), true, reference);
             }
             return null;
         } else if (returnType.equals(Void.TYPE) || session.isIgnoreReturnValues()) {
             session.add(appleScript);
+        } else if (session.isPipelined()) {
+            final String applicationReference = reference.getApplicationReference();
+            final Class<? extends T> klass = guessMostSpecificSubclass(returnType, reference);
+            final CompletableFuture<T> future = session.submit(appleScript)
+                .thenApply(returnValue -> decoder != null
+                    ? decoder.apply(new ReferenceImpl(returnValue, applicationReference))
+                    : cast(klass, new ReferenceImpl(returnValue, applicationReference)));
+            // called via Pipeline.submit(), i.e. the caller only wants the future
+            final T placeholder = defaultValue(returnType);
+            if (Pipeline.capture(future, placeholder)) return placeholder;
+            session.flush();
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw new JaplScriptException(e.getCause());
+            }
         } else {
             try {
                 // implicit commit forced by a return value
@@ -493,6 +919,9 @@ public class ObjectInvocationHandler implements InvocationHandler {
                 final ScriptExecutor scriptExecutor = ScriptExecutor.newInstance();
                 scriptExecutor.setScript(session.getScript());
                 final String returnValue = scriptExecutor.execute();
+                if (decoder != null) {
+                    return decoder.apply(new ReferenceImpl(returnValue, reference.getApplicationReference()));
+                }
                 return cast(guessMostSpecificSubclass(returnType, reference), new ReferenceImpl(returnValue, reference.getApplicationReference()));
             } finally {
                 session.reset();
@@ -501,6 +930,26 @@ public class ObjectInvocationHandler implements InvocationHandler {
         return null;
     }
 
+    /**
+     * Value returned for calls whose result is delivered via a {@link Pipeline} future.
+     *
+     * @param returnType return type
+     * @return {@code null} or, for primitive types, zero or {@code false}
+     */
+    static <T> T defaultValue(final Class<T> returnType) {
+        if (!returnType.isPrimitive()) return null;
+        final Object value;
+        if (returnType == Boolean.TYPE) value = false;
+        else if (returnType == Character.TYPE) value = '\0';
+        else if (returnType == Byte.TYPE) value = (byte) 0;
+        else if (returnType == Short.TYPE) value = (short) 0;
+        else if (returnType == Integer.TYPE) value = 0;
+        else if (returnType == Long.TYPE) value = 0L;
+        else if (returnType == Float.TYPE) value = 0f;
+        else value = 0d;
+        return (T) value;
+    }
+
     private CharSequence tell(final String application, final String appleScript) {
         final StringBuilder sb = new StringBuilder();
         final List<Aspect> globalAspects = JaplScript.getGlobalAspects();
@@ -0,0 +1,72 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.language.ReferenceImpl;
+
+import java.util.Map;
+
+/**
+ * Reference to a list or record nested in a result, which was already parsed in the
+ * same pass as the enclosing list or record.
+ * <p>
+ * Casting it to {@link Map} or an array type uses the parsed items instead of tokenizing
+ * the text again. The object reference is only copied from the original text, when it is
+ * actually needed.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+final class ParsedReference extends ReferenceImpl {
+
+    private final CharSequence text;
+    private final int start;
+    private final int end;
+    private final Map<String, Reference> record;
+    private final Reference[] list;
+    private String objectReference;
+
+    /**
+     * @param text text of the enclosing result
+     * @param start start offset of the opening brace (inclusive)
+     * @param end end offset of the closing brace (exclusive)
+     * @param record parsed record or {@code null}
+     * @param list parsed list or {@code null}
+     * @param applicationReference application reference
+     */
+    ParsedReference(final CharSequence text, final int start, final int end,
+                    final Map<String, Reference> record, final Reference[] list,
+                    final String applicationReference) {
+        super(null, applicationReference);
+        this.text = text;
+        this.start = start;
+        this.end = end;
+        this.record = record;
+        this.list = list;
+    }
+
+    /**
+     * @return parsed record or {@code null}, if this is a list
+     */
+    Map<String, Reference> getRecord() {
+        return record;
+    }
+
+    /**
+     * @return parsed list or {@code null}, if this is a record
+     */
+    Reference[] getList() {
+        return list;
+    }
+
+    @Override
+    public synchronized String getObjectReference() {
+        if (objectReference == null) {
+            objectReference = text.subSequence(start, end).toString();
+        }
+        return objectReference;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.Session;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Obtains futures for calls in a {@link Session#isPipelined() pipelined} {@link Session}.
+ * <p>
+ * Calls made via {@link #submit(Supplier)} do not execute any script right away.
+ * Instead, their script fragment is added to the current session and the returned
+ * future is completed, once the session is committed:
+ * <pre>{@code
+ * Session session = Session.startSession();
+ * session.setPipelined(true);
+ * CompletableFuture<String> name = Pipeline.submit(track::getName);
+ * CompletableFuture<Integer> rating = Pipeline.submit(track::getRating);
+ * session.commit(); // executes both calls in one script
+ * }</pre>
+ * Without pipelined session, calls are executed immediately.
+ * <p>
+ * <b>The call must consist of exactly one method call, whose result is returned unchanged</b>,
+ * like {@code track::getName}. Inside the call, the result is not known yet: the method
+ * returns {@code null}, zero or {@code false} as placeholder. Calls that use the placeholder,
+ * e.g. {@code () -> track.getName().trim()} or {@code () -> track.getRating() + 1}, or that
+ * make more than one pipelined call, fail with an {@link IllegalStateException}.
+ * Process the result via the future instead, e.g.
+ * {@code Pipeline.submit(track::getName).thenApply(String::trim)}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public final class Pipeline {
+
+    private static final ThreadLocal<Capture> CAPTURE = new ThreadLocal<>();
+
+    private Pipeline() {
+    }
+
+    /**
+     * Submits a call to the current pipelined session.
+     *
+     * @param call call, e.g. {@code track::getName}, which must return the result of
+     *             a single method call unchanged
+     * @param <R> return type
+     * @return future result
+     * @throws IllegalStateException if the call uses the placeholder result or makes more than one
+     * pipelined call
+     */
+    public static <R> CompletableFuture<R> submit(final Supplier<R> call) {
+        final Session session = Session.get();
+        if (session == null || !session.isPipelined()) {
+            return CompletableFuture.completedFuture(call.get());
+        }
+        final Capture previous = CAPTURE.get();
+        final Capture capture = new Capture();
+        CAPTURE.set(capture);
+        try {
+            final R value;
+            try {
+                value = call.get();
+            } catch (RuntimeException e) {
+                if (capture.future == null || e instanceof IllegalStateException) throw e;
+                throw new IllegalStateException("The result of a pipelined call is not available inside Pipeline.submit(). Use the returned future instead.", e);
+            }
+            if (capture.future != null) {
+                if (!Objects.equals(value, capture.placeholder)) {
+                    throw new IllegalStateException("Pipeline.submit() must return the result of the pipelined call unchanged, but returned "
+                        + value + ". Use the returned future instead.");
+                }
+                return (CompletableFuture<R>) capture.future;
+            }
+            // the call did not need to execute a script, e.g. because it just built a reference
+            return CompletableFuture.completedFuture(value);
+        } finally {
+            if (previous == null) CAPTURE.remove();
+            else CAPTURE.set(previous);
+        }
+    }
+
+    /**
+     * Hands the future for a submitted fragment to the enclosing {@link #submit(Supplier)} call.
+     *
+     * @param future future
+     * @param placeholder value returned to the call instead of the actual result
+     * @return true, if the future was captured, false, if there is no enclosing submit call
+     * @throws IllegalStateException if the enclosing submit call already captured a future
+     */
+    static boolean capture(final CompletableFuture<?> future, final Object placeholder) {
+        final Capture capture = CAPTURE.get();
+        if (capture == null) return false;
+        if (capture.future != null) {
+            throw new IllegalStateException("Pipeline.submit() supports only one pipelined call per submission.");
+        }
+        capture.future = future;
+        capture.placeholder = placeholder;
+        return true;
+    }
+
+    private static class Capture {
+        private CompletableFuture<?> future;
+        private Object placeholder;
+    }
+}
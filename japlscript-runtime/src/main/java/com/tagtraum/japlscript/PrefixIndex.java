@@ -0,0 +1,103 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import java.util.Arrays;
+
+/**
+ * Trie that finds the value of the longest key that is a prefix of a given string,
+ * in time proportional to the length of that prefix. A key only matches at a word
+ * boundary, i.e. it must be followed by a space or the end of the string.
+ * So {@code track} is a prefix of {@code track 1}, but not of {@code tracks}.
+ * <p>
+ * Instances are filled once with {@link #put(String, Object)} and must be
+ * safely published afterwards. Lookups do not modify the index and may
+ * be executed concurrently.
+ *
+ * @param <V> value type
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+final class PrefixIndex<V> {
+
+    private final Node<V> root = new Node<>();
+
+    /**
+     * Adds a key, unless it has already been added (first one wins).
+     *
+     * @param key non-empty key, e.g. {@code file track}
+     * @param value value
+     */
+    void put(final String key, final V value) {
+        if (key == null || key.isEmpty()) return;
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+        if (node.value == null) node.value = value;
+    }
+
+    /**
+     * Finds the value of the longest key that the given string starts with,
+     * followed by a space or the end of the string.
+     *
+     * @param s string, e.g. {@code file track id 1234 of user playlist id 5678}
+     * @return value or {@code null}, if no key is a prefix of {@code s}
+     */
+    V findLongestPrefix(final String s) {
+        if (s == null) return null;
+        V value = null;
+        Node<V> node = root;
+        for (int i = 0; i < s.length() && node != null; i++) {
+            node = node.getChild(s.charAt(i));
+            if (node != null && node.value != null && isBoundary(s, i + 1)) value = node.value;
+        }
+        return value;
+    }
+
+    private static boolean isBoundary(final String s, final int index) {
+        return index == s.length() || s.charAt(index) == ' ';
+    }
+
+    private static final class Node<V> {
+
+        private static final char[] NO_KEYS = new char[0];
+
+        /** Sorted child keys. */
+        private char[] keys = NO_KEYS;
+        private Node<V>[] children = newArray(0);
+        private V value;
+
+        // generic arrays cannot be created, but the array never leaves the node
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static <V> Node<V>[] newArray(final int length) {
+            return (Node<V>[]) new Node[length];
+        }
+
+        private Node<V> getChild(final char c) {
+            final int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+
+        private Node<V> getOrAddChild(final char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+            i = -(i + 1);
+            final char[] newKeys = new char[keys.length + 1];
+            final Node<V>[] newChildren = newArray(children.length + 1);
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            final Node<V> child = new Node<>();
+            newKeys[i] = c;
+            newChildren[i] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+}
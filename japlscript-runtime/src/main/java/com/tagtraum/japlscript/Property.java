@@ -73,7 +73,7 @@ public class Property {
      * @param method method
      * @return valid Java property name
      */
-    private static String toJavaPropertyName(final Method method) {
+    static String toJavaPropertyName(final Method method) {
         final String methodName = method.getName();
         return methodName.startsWith("is")
             ? methodName.substring(2, 3).toLowerCase(Locale.ROOT) + methodName.substring(3)
@@ -0,0 +1,368 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.language.TypeClass;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in, client-side cache for property values, keyed by application reference,
+ * object reference and property code.
+ * <p>
+ * By default, nothing is cached. Values are only cached, if a time-to-live (TTL)
+ * greater than zero applies to them. TTLs can be set per property code
+ * (e.g. {@code pPIS} for immutable persistent IDs), per {@link TypeClass}
+ * (including subclasses) or as default via {@link #setTtl(long, TimeUnit)} or
+ * the system property {@value #TTL_PROPERTY} (in milliseconds).
+ * Property codes take precedence over type classes, which take precedence over the default.
+ * <p>
+ * Setting a property through a proxy or generated implementation invalidates
+ * the cached value of this property. Executing a command invalidates all cached
+ * values of the reference the command is sent to and of all references passed as arguments.
+ * Changes made by other means, e.g. by the user, are only noticed once the TTL has expired.
+ * <p>
+ * The cache holds at most {@value #SIZE_PROPERTY} (default {@value #DEFAULT_SIZE}) values.
+ * If it is full, the values of the least recently used reference are evicted.
+ * Values read inside a {@link com.tagtraum.japlscript.execution.Session} are not cached.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class PropertyCache {
+
+    public static final String TTL_PROPERTY = "japlscript.propertycache.ttl";
+    public static final String SIZE_PROPERTY = "japlscript.propertycache.size";
+    public static final int DEFAULT_SIZE = 10000;
+
+    private static final PropertyCache instance = new PropertyCache(
+        Integer.getInteger(SIZE_PROPERTY, DEFAULT_SIZE),
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong(TTL_PROPERTY, 0L)));
+
+    private final Object lock = new Object();
+    private final int maxSize;
+    /** Cached values by reference and code, in access order. */
+    private final LinkedHashMap<ReferenceKey, Map<String, Value>> values = new LinkedHashMap<>(16, 0.75f, true);
+    private int size;
+    private volatile long defaultTtl;
+    private volatile Map<String, Long> codeTtls = new HashMap<>();
+    private volatile Map<TypeClass, Long> typeClassTtls = new HashMap<>();
+    private volatile boolean active;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize maximum number of cached values
+     * @param defaultTtl default TTL in nanoseconds
+     */
+    PropertyCache(final int maxSize, final long defaultTtl) {
+        this.maxSize = maxSize;
+        this.defaultTtl = defaultTtl;
+        updateActive();
+    }
+
+    /**
+     * @return the cache used by all proxies and generated implementations
+     */
+    public static PropertyCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Sets the default TTL.
+     *
+     * @param ttl TTL, {@code 0} to cache only values with a specific TTL
+     * @param unit unit
+     */
+    public void setTtl(final long ttl, final TimeUnit unit) {
+        this.defaultTtl = unit.toNanos(ttl);
+        updateActive();
+    }
+
+    /**
+     * Sets the TTL for a property.
+     *
+     * @param propertyCode 4char property code, e.g. {@code pPIS}
+     * @param ttl TTL, {@code 0} to never cache the property, {@code Long.MAX_VALUE} to cache until invalidated
+     * @param unit unit
+     */
+    public void setTtl(final String propertyCode, final long ttl, final TimeUnit unit) {
+        synchronized (lock) {
+            final Map<String, Long> ttls = new HashMap<>(codeTtls);
+            ttls.put(propertyCode, unit.toNanos(ttl));
+            codeTtls = ttls;
+        }
+        updateActive();
+    }
+
+    /**
+     * Sets the TTL for all properties of a class and its subclasses.
+     *
+     * @param typeClass type class, e.g. {@code Track.CLASS}
+     * @param ttl TTL, {@code 0} to never cache properties of this class
+     * @param unit unit
+     */
+    public void setTtl(final TypeClass typeClass, final long ttl, final TimeUnit unit) {
+        synchronized (lock) {
+            final Map<TypeClass, Long> ttls = new HashMap<>(typeClassTtls);
+            ttls.put(typeClass, unit.toNanos(ttl));
+            typeClassTtls = ttls;
+        }
+        updateActive();
+    }
+
+    /**
+     * Removes all TTLs and cached values.
+     */
+    public void reset() {
+        synchronized (lock) {
+            codeTtls = new HashMap<>();
+            typeClassTtls = new HashMap<>();
+            defaultTtl = 0;
+            updateActive();
+            clear();
+            hits.reset();
+            misses.reset();
+            evictions.reset();
+        }
+    }
+
+    private void updateActive() {
+        boolean active = defaultTtl > 0;
+        for (final Long ttl : codeTtls.values()) active |= ttl > 0;
+        for (final Long ttl : typeClassTtls.values()) active |= ttl > 0;
+        this.active = active;
+    }
+
+    /**
+     * @return true, if any TTL greater than zero is set
+     */
+    boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Finds the TTL for a property of a reference.
+     *
+     * @param reference reference
+     * @param propertyCode 4char property code
+     * @return TTL in nanoseconds, {@code 0} if the property must not be cached
+     */
+    long getTtl(final Reference reference, final String propertyCode) {
+        final Long codeTtl = codeTtls.get(propertyCode);
+        if (codeTtl != null) return codeTtl;
+        final Map<TypeClass, Long> typeClassTtls = this.typeClassTtls;
+        if (!typeClassTtls.isEmpty()) {
+            for (TypeClass typeClass = JaplScript.guessTypeClass(reference); typeClass != null; typeClass = typeClass.getSuperClass()) {
+                final Long ttl = typeClassTtls.get(typeClass);
+                if (ttl != null) return ttl;
+            }
+        }
+        return defaultTtl;
+    }
+
+    /**
+     * Looks up a cached value.
+     *
+     * @param reference reference
+     * @param propertyCode 4char property code
+     * @return cached value or {@code null}, if there is none
+     */
+    Value get(final Reference reference, final String propertyCode) {
+        final ReferenceKey key = new ReferenceKey(reference);
+        synchronized (lock) {
+            final Map<String, Value> referenceValues = values.get(key);
+            final Value value = referenceValues == null ? null : referenceValues.get(propertyCode);
+            if (value != null && value.isExpired()) {
+                remove(key, referenceValues, propertyCode);
+            } else if (value != null) {
+                hits.increment();
+                return value;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches a value.
+     *
+     * @param reference reference
+     * @param propertyCode 4char property code
+     * @param value value
+     * @param ttl TTL in nanoseconds, see {@link #getTtl(Reference, String)}
+     */
+    void put(final Reference reference, final String propertyCode, final Object value, final long ttl) {
+        if (ttl <= 0) return;
+        final long now = System.nanoTime();
+        // saturate instead of overflowing for very long TTLs
+        final long expiration = now + ttl < now ? Long.MAX_VALUE : now + ttl;
+        final ReferenceKey key = new ReferenceKey(reference);
+        synchronized (lock) {
+            final Map<String, Value> referenceValues = values.computeIfAbsent(key, k -> new HashMap<>());
+            if (referenceValues.put(propertyCode, new Value(value, expiration)) == null) size++;
+            evict(key);
+        }
+    }
+
+    private void evict(final ReferenceKey keep) {
+        final Iterator<Map.Entry<ReferenceKey, Map<String, Value>>> iterator = values.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            final Map.Entry<ReferenceKey, Map<String, Value>> eldest = iterator.next();
+            if (eldest.getKey().equals(keep)) continue;
+            size -= eldest.getValue().size();
+            evictions.add(eldest.getValue().size());
+            iterator.remove();
+        }
+    }
+
+    private void remove(final ReferenceKey key, final Map<String, Value> referenceValues, final String propertyCode) {
+        if (referenceValues.remove(propertyCode) != null) size--;
+        if (referenceValues.isEmpty()) values.remove(key);
+    }
+
+    /**
+     * Removes the cached value of a property.
+     *
+     * @param reference reference
+     * @param propertyCode 4char property code
+     */
+    public void invalidate(final Reference reference, final String propertyCode) {
+        final ReferenceKey key = new ReferenceKey(reference);
+        synchronized (lock) {
+            final Map<String, Value> referenceValues = values.get(key);
+            if (referenceValues != null) remove(key, referenceValues, propertyCode);
+        }
+    }
+
+    /**
+     * Removes all cached values of a reference.
+     *
+     * @param reference reference
+     */
+    public void invalidate(final Reference reference) {
+        final ReferenceKey key = new ReferenceKey(reference);
+        synchronized (lock) {
+            final Map<String, Value> referenceValues = values.remove(key);
+            if (referenceValues != null) size -= referenceValues.size();
+        }
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void clear() {
+        synchronized (lock) {
+            values.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * @return number of cached values
+     */
+    public int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+     * @return maximum number of cached values
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return number of lookups that were answered from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups of cacheable properties that were not answered from the cache
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of values evicted, because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyCache{" +
+            "size=" + size() +
+            ", maxSize=" + maxSize +
+            ", hits=" + getHitCount() +
+            ", misses=" + getMissCount() +
+            ", evictions=" + getEvictionCount() +
+            '}';
+    }
+
+    /**
+     * Cached value.
+     */
+    static final class Value {
+        private final Object value;
+        private final long expiration;
+
+        private Value(final Object value, final long expiration) {
+            this.value = value;
+            this.expiration = expiration;
+        }
+
+        /**
+         * @return cached value, may be {@code null}
+         */
+        Object get() {
+            return value;
+        }
+
+        private boolean isExpired() {
+            return expiration != Long.MAX_VALUE && System.nanoTime() - expiration > 0;
+        }
+    }
+
+    private static final class ReferenceKey {
+        private final String applicationReference;
+        private final String objectReference;
+
+        private ReferenceKey(final Reference reference) {
+            this.applicationReference = reference.getApplicationReference();
+            this.objectReference = reference.getObjectReference();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ReferenceKey)) return false;
+            final ReferenceKey that = (ReferenceKey) o;
+            return Objects.equals(applicationReference, that.applicationReference)
+                && Objects.equals(objectReference, that.objectReference);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(applicationReference) + Objects.hashCode(objectReference);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+/**
+ * Typed key of a readable property of an application class, which can be
+ * {@link Reference#fetch(Class, PropertyKey[]) fetched} together with other properties,
+ * e.g. {@code track.fetch(Track.class, Track.NAME, Track.ARTIST)}. Generated interfaces
+ * declare one constant per readable property.
+ * <p>
+ * Unlike {@link Property}, which is created via reflection, keys are plain constants
+ * and only know the property's name, 4char code and Java class.
+ *
+ * @param <T> property type
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see FilterProperty
+ */
+public class PropertyKey<T> {
+
+    private final String name;
+    private final String code;
+    private final Class<T> javaClass;
+
+    /**
+     * Creates a property key.
+     *
+     * @param name AppleScript name, e.g. {@code name}
+     * @param code 4char code, e.g. {@code pnam}
+     * @param javaClass Java class of the property, primitives are boxed
+     */
+    public PropertyKey(final String name, final String code, final Class<T> javaClass) {
+        this.name = name;
+        this.code = code;
+        this.javaClass = javaClass;
+    }
+
+    /**
+     * @return AppleScript name, e.g. {@code name}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 4char code, e.g. {@code pnam}
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * @return Java class
+     */
+    public Class<T> getJavaClass() {
+        return javaClass;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+            "name='" + name + '\'' +
+            ", code='" + code + '\'' +
+            ", javaClass=" + javaClass.getName() +
+            '}';
+    }
+}
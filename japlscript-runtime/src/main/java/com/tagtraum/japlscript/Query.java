@@ -0,0 +1,135 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+/**
+ * Typed query for elements of a certain type, that is evaluated by the target
+ * application, i.e. filtering and limiting happens before anything is transferred.
+ * Generated interfaces offer a static {@code query()} method to create one:
+ * <pre>{@code
+ * Track[] tracks = Track.query()
+ *     .where(Track.NAME.contains("love"))
+ *     .and(Track.YEAR.gt(2000))
+ *     .limit(50)
+ *     .in(playlist)
+ *     .toArray();
+ * }</pre>
+ * Instances are immutable and not bound to a container, so they can be
+ * reused for different containers.
+ *
+ * @param <T> element type
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ * @see Elements
+ */
+public final class Query<T extends Reference> {
+
+    private final Class<T> elementType;
+    private final Filter filter;
+    private final int limit;
+
+    private Query(final Class<T> elementType, final Filter filter, final int limit) {
+        if (elementType == null) throw new NullPointerException("Element type must not be null");
+        this.elementType = elementType;
+        this.filter = filter;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a query for all elements of the given type.
+     *
+     * @param elementType element type, e.g. {@code Track.class}, annotated with {@link Plural}
+     * @param <T> element type
+     * @return query
+     */
+    public static <T extends Reference> Query<T> of(final Class<T> elementType) {
+        return new Query<>(elementType, null, -1);
+    }
+
+    /**
+     * Query for elements that also match the given filter.
+     *
+     * @param filter filter
+     * @return query
+     */
+    public Query<T> where(final Filter filter) {
+        return and(filter);
+    }
+
+    /**
+     * Query for elements that also match the given filter.
+     *
+     * @param filter filter
+     * @return query
+     */
+    public Query<T> and(final Filter filter) {
+        if (filter == null) return this;
+        return new Query<>(elementType, this.filter == null ? filter : this.filter.and(filter), limit);
+    }
+
+    /**
+     * Query for elements that match the current or the given filter.
+     *
+     * @param filter filter
+     * @return query
+     * @throws IllegalStateException if there is no current filter
+     */
+    public Query<T> or(final Filter filter) {
+        if (filter == null) return this;
+        if (this.filter == null) throw new IllegalStateException("Query without filter already matches all elements");
+        return new Query<>(elementType, this.filter.or(filter), limit);
+    }
+
+    /**
+     * Query for at most the given number of elements.
+     *
+     * @param limit maximum number of elements
+     * @return query
+     */
+    public Query<T> limit(final int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        return new Query<>(elementType, filter, limit);
+    }
+
+    /**
+     * @return element type
+     */
+    public Class<T> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * @return filter or {@code null}
+     */
+    public Filter getFilter() {
+        return filter;
+    }
+
+    /**
+     * @return maximum number of elements or {@code -1}, if not limited
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Binds this query to a container.
+     *
+     * @param container container, e.g. a playlist
+     * @return matching elements of the container
+     */
+    public Elements<T> in(final Reference container) {
+        final Elements<T> elements = Elements.of(container, elementType).where(filter);
+        return limit < 0 ? elements : elements.limit(limit);
+    }
+
+    @Override
+    public String toString() {
+        return "Query{" + InvocationPlan.getPlural(elementType)
+            + (filter == null ? "" : " where " + filter)
+            + (limit < 0 ? "" : " limit " + limit) + '}';
+    }
+}
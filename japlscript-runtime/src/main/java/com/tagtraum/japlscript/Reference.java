@@ -76,4 +76,45 @@ public interface Reference {
      * @return true or false
      */
     boolean isInstanceOf(TypeClass typeClass);
+
+    /**
+     * Asynchronous view of this reference.
+     * Because Java cannot express the type of {@code this}, pass the desired type
+     * or use {@link AsyncReference#of(Reference)}:
+     * <pre>{@code
+     * AsyncReference<Track> track = currentTrack.async(Track.class);
+     * }</pre>
+     * Calls are executed on the {@link com.tagtraum.japlscript.execution.ScriptExecutor#getAsyncExecutor()
+     * async executor}, see {@link AsyncReference} for the threading model.
+     *
+     * @param type reference type, must be implemented by this reference
+     * @param <T> reference type
+     * @return asynchronous view
+     * @throws ClassCastException if this reference is not an instance of the given type
+     */
+    default <T extends Reference> AsyncReference<T> async(final Class<T> type) {
+        return new AsyncReference<>(type.cast(this));
+    }
+
+    /**
+     * Reads the given properties with a single script and returns a view of this
+     * reference, whose getters for these properties return the values read,
+     * without executing any further scripts. All other methods behave as usual.
+     * Because Java cannot express the type of {@code this}, pass the desired type.
+     * Properties are identified by the {@link PropertyKey} constants of the generated interfaces:
+     * <pre>{@code
+     * Track track = currentTrack.fetch(Track.class, Track.NAME, Track.ARTIST, Track.ALBUM);
+     * String name = track.getName(); // no additional script
+     * }</pre>
+     *
+     * @param type interface of the view, must be implemented by this reference
+     * @param properties properties
+     * @param <T> reference type
+     * @return view with fetched properties
+     * @throws IllegalArgumentException if the type does not declare a getter for one of the properties
+     * @throws ClassCastException if this reference is not an instance of the given type
+     */
+    default <T extends Reference> T fetch(final Class<T> type, final PropertyKey<?>... properties) {
+        return JaplScript.fetch(type, type.cast(this), properties);
+    }
 }
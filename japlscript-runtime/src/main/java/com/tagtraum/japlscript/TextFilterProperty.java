@@ -0,0 +1,58 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+/**
+ * Text property of an application class, e.g. {@code Track.NAME}, that in addition
+ * to comparisons supports string operators like {@code Track.NAME.startsWith("Blue")}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public final class TextFilterProperty extends FilterProperty<String> {
+
+    /**
+     * Creates a property.
+     *
+     * @param name AppleScript name, e.g. {@code name}
+     * @param code 4char code, e.g. {@code pnam}
+     */
+    public TextFilterProperty(final String name, final String code) {
+        super(name, code, String.class);
+    }
+
+    /**
+     * @param value value
+     * @return filter, e.g. {@code «property pnam» contains ("Blue")}
+     */
+    public Filter contains(final String value) {
+        return filter("contains", value);
+    }
+
+    /**
+     * @param value value
+     * @return filter, e.g. {@code «property pnam» does not contain ("Blue")}
+     */
+    public Filter doesNotContain(final String value) {
+        return filter("does not contain", value);
+    }
+
+    /**
+     * @param value value
+     * @return filter, e.g. {@code «property pnam» starts with ("Blue")}
+     */
+    public Filter startsWith(final String value) {
+        return filter("starts with", value);
+    }
+
+    /**
+     * @param value value
+     * @return filter, e.g. {@code «property pnam» ends with ("Blue")}
+     */
+    public Filter endsWith(final String value) {
+        return filter("ends with", value);
+    }
+}
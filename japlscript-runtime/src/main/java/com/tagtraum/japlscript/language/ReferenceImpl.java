@@ -75,11 +75,12 @@ public class ReferenceImpl implements Reference, Codec<Reference> {
 
     @Override
     public String toString() {
-        return "[" + applicationReference + "]: " + objectReference;
+        return "[" + applicationReference + "]: " + getObjectReference();
     }
 
     @Override
     public int hashCode() {
+        final String objectReference = getObjectReference();
         if (objectReference == null) return 0;
         return objectReference.hashCode();
     }
@@ -91,7 +92,8 @@ public class ReferenceImpl implements Reference, Codec<Reference> {
 
         final ReferenceImpl reference = (ReferenceImpl) o;
 
-        if (objectReference != null ? !objectReference.equals(reference.objectReference) : reference.objectReference != null)
+        final String objectReference = getObjectReference();
+        if (objectReference != null ? !objectReference.equals(reference.getObjectReference()) : reference.getObjectReference() != null)
             return false;
         return applicationReference != null ? applicationReference.equals(reference.applicationReference) : reference.applicationReference == null;
     }
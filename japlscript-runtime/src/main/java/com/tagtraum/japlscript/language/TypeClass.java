@@ -17,6 +17,11 @@ import java.util.Objects;
  *
  * You may lookup {@code TypeClass} instances via their full name or via their
  * AppleScript 4char code.
+ * <p>
+ * Two instances are equal, if they have the same 4char code. Instances without code
+ * are identified by their name, i.e. they are only equal to instances with the same name
+ * and without code. The identity is fixed at construction time.
+ * To resolve a name to the class declared by an application, use {@link #intern()}.
  *
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
@@ -30,16 +35,14 @@ public class TypeClass implements Reference, Codec<Reference> {
     };
     private final String objectReference;
     private final String applicationReference;
-    private String code;
-    private TypeClass superClass;
-    private Class<?> applicationInterface;
+    private final String code;
+    private final TypeClass superClass;
+    private final Class<?> applicationInterface;
+    private final String identity;
     private TypeClass typeClass;
 
     public TypeClass() {
         this(null, (String)null);
-        this.code = null;
-        this.superClass = null;
-        this.applicationInterface = null;
     }
 
     /**
@@ -48,11 +51,8 @@ public class TypeClass implements Reference, Codec<Reference> {
      * @param applicationReference app ref
      */
     public TypeClass(final String objectReference, final String applicationReference) {
-        this.objectReference = objectReference;
-        this.applicationReference = applicationReference;
-        if (objectReference != null && objectReference.startsWith("\u00ab")) {
-            this.code = objectReference;
-        }
+        this(objectReference, objectReference != null && objectReference.startsWith("\u00ab") ? objectReference : null,
+            applicationReference, null, null);
     }
 
     /**
@@ -94,10 +94,12 @@ public class TypeClass implements Reference, Codec<Reference> {
      * @param superClass AppleScript super class
      */
     public TypeClass(final String name, final String code, final String applicationReference, final Class<?> applicationInterface, final TypeClass superClass) {
-        this(name, applicationReference);
+        this.objectReference = name;
+        this.applicationReference = applicationReference;
         this.code = code;
         this.superClass = superClass;
         this.applicationInterface = applicationInterface;
+        this.identity = code != null ? toIdentity(code) : toIdentity(name);
     }
 
     @Override
@@ -208,10 +210,26 @@ public class TypeClass implements Reference, Codec<Reference> {
         return thisClass != null && thisClass.equals(this);
     }
 
+    /**
+     * Canonical identity of this type class, i.e. {@code «} followed by the
+     * 4char code, or, if the code is not known, the name.
+     *
+     * @param nameOrCode name or code
+     * @return identity or {@code null}, if neither name nor code are known
+     */
+    private static String toIdentity(final String nameOrCode) {
+        if (nameOrCode == null) return null;
+        final String trimmed = nameOrCode.trim();
+        if (trimmed.startsWith("\u00ab") && trimmed.endsWith("\u00bb") && trimmed.indexOf(' ') != -1) {
+            final String fourCharCode = trimmed.substring(trimmed.indexOf(' ') + 1, trimmed.length() - 1);
+            if (fourCharCode.length() == 4) return "\u00ab" + fourCharCode;
+        }
+        return nameOrCode;
+    }
+
     @Override
     public int hashCode() {
-        // because of weird equals logic, we accept bad hashcode distr.
-        return 1;
+        return Objects.hashCode(identity);
     }
 
     @Override
@@ -219,10 +237,7 @@ public class TypeClass implements Reference, Codec<Reference> {
         if (!(obj instanceof TypeClass)) return false;
         final TypeClass that = (TypeClass)obj;
         if (this == that) return true;
-        return Objects.equals(getObjectReference(), that.getObjectReference())
-                || Objects.equals(getObjectReference(), that.code)
-                || (this.code != null && this.code.equals(that.code))
-                || (this.code != null && this.code.equals(that.getObjectReference()));
+        return Objects.equals(identity, that.identity);
     }
 
     @Override
@@ -0,0 +1,65 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.ReplayCorpus;
+import com.tagtraum.japlscript.execution.ReplayScriptExecutor;
+import com.tagtraum.japlscript.execution.ReplayScriptExecutorProvider;
+import com.tagtraum.japlscript.execution.ScriptExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays canned results instead of executing scripts, so that tests run without macOS.
+ * Call {@link #replay(String, String...)} to install a corpus and {@link #reset()} in {@code @AfterEach}.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+final class ReplayFixture {
+
+    private ReplayFixture() {
+    }
+
+    /**
+     * Installs a corpus with the given scripts, each wrapped in a {@code tell} block
+     * for the given application, and selects the replay executor.
+     *
+     * @param applicationReference application reference, e.g. {@code application "Finder"}
+     * @param scriptsAndResults script, result, script, result, ...
+     * @return corpus, for adding more scripts later
+     */
+    static ReplayCorpus replay(final String applicationReference, final String... scriptsAndResults) {
+        if (scriptsAndResults.length % 2 != 0) throw new IllegalArgumentException("Scripts and results must come in pairs.");
+        final ReplayCorpus corpus = new ReplayCorpus();
+        for (int i = 0; i < scriptsAndResults.length; i += 2) {
+            corpus.put(tell(applicationReference, scriptsAndResults[i]), scriptsAndResults[i + 1]);
+        }
+        ReplayScriptExecutor.setCorpus(corpus);
+        System.setProperty(ScriptExecutor.EXECUTOR_PROPERTY, ReplayScriptExecutorProvider.NAME);
+        return corpus;
+    }
+
+    /**
+     * Wraps a script in a {@code tell} block, just like the invocation handler does.
+     *
+     * @param applicationReference application reference
+     * @param script script
+     * @return script told to the application
+     */
+    static String tell(final String applicationReference, final String script) {
+        return "tell " + applicationReference + "\r\n" + script + "\r\nend tell";
+    }
+
+    /**
+     * Removes the corpus, latency and executor selection.
+     */
+    static void reset() {
+        ReplayScriptExecutor.setCorpus(null);
+        ReplayScriptExecutor.setLatency(0, 0, TimeUnit.MILLISECONDS);
+        System.clearProperty(ScriptExecutor.EXECUTOR_PROPERTY);
+    }
+}
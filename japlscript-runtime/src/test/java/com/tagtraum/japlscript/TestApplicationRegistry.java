@@ -0,0 +1,158 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.language.TypeClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestApplicationRegistry.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestApplicationRegistry {
+
+    @Test
+    public void testRegisterOnce() {
+        final ApplicationRegistry registry = new ApplicationRegistry();
+        assertNull(registry.get(TestObjectInvocationHandler.Finder.class));
+        final ApplicationRegistry.Registration registration = registry.register(TestObjectInvocationHandler.Finder.class);
+        assertSame(registration, registry.register(TestObjectInvocationHandler.Finder.class));
+        assertSame(registration, registry.get(TestObjectInvocationHandler.Finder.class));
+        assertSame(TestObjectInvocationHandler.Finder.class, registration.getApplicationInterface());
+        assertEquals(5, registration.getTypeClasses().size());
+    }
+
+    @Test
+    public void testInterfaces() {
+        final ApplicationRegistry registry = new ApplicationRegistry();
+        assertNull(registry.getInterface(null));
+        assertNull(registry.getInterface("application \"Finder\""));
+        registry.registerInterface("application \"Finder\"", TestObjectInvocationHandler.Finder.class);
+        // first registration wins
+        registry.registerInterface("application \"Finder\"", Object.class);
+        assertSame(TestObjectInvocationHandler.Finder.class, registry.getInterface("application \"Finder\""));
+    }
+
+    @Test
+    public void testFindByCodeAndName() {
+        final ApplicationRegistry.Registration registration = new ApplicationRegistry()
+            .register(TestObjectInvocationHandler.Finder.class);
+        final TypeClass item = TestObjectInvocationHandler.Item.CLASS;
+        assertSame(item, registration.find(typeClass("item", null)));
+        assertSame(item, registration.find(typeClass("«class cobj»", null)));
+        assertSame(item, registration.find(typeClass("whatever", "«class cobj»")));
+        assertNull(registration.find(typeClass("unknown", null)));
+        assertSame(TestObjectInvocationHandler.Item.class, registration.getJavaClass(typeClass("item", null)));
+        assertNull(registration.getJavaClass(typeClass("unknown", null)));
+    }
+
+    @Test
+    public void testNamesArePerApplication() {
+        final ApplicationRegistry registry = new ApplicationRegistry();
+        final ApplicationRegistry.Registration app = registry.register(App.class);
+        final ApplicationRegistry.Registration otherApp = registry.register(OtherApp.class);
+        assertSame(Base.CLASS, app.find(typeClass("base", null)));
+        assertSame(OtherBase.CLASS, otherApp.find(typeClass("base", null)));
+        assertNull(otherApp.find(typeClass("«class tbas»", null)));
+    }
+
+    @Test
+    public void testFindByPrefix() {
+        final ApplicationRegistry.Registration registration = new ApplicationRegistry()
+            .register(TestObjectInvocationHandler.Finder.class);
+        assertSame(TestObjectInvocationHandler.Folder.CLASS, registration.findByPrefix("folder \"a\" of disk \"b\""));
+        assertSame(TestObjectInvocationHandler.Item.CLASS, registration.findByPrefix("item 1 of disk \"b\""));
+        assertNull(registration.findByPrefix("disk \"b\""));
+    }
+
+    @Test
+    public void testProperties() {
+        final ApplicationRegistry.Registration registration = new ApplicationRegistry()
+            .register(TestObjectInvocationHandler.Finder.class);
+        final Map<String, Property> properties = registration.getProperties(typeClass("«class cobj»", null));
+        assertNotNull(properties);
+        final Property name = properties.get("name");
+        assertNotNull(name);
+        assertSame(name, properties.get("«property pnam»"));
+        assertEquals(String.class, name.getJavaClass());
+        assertNull(registration.getProperties(typeClass("unknown", null)));
+    }
+
+    @Test
+    public void testInheritedProperties() {
+        final ApplicationRegistry.Registration registration = new ApplicationRegistry().register(App.class);
+        final Map<String, Property> properties = registration.getProperties(Sub.CLASS);
+        assertEquals(Sub.class, registration.getJavaClass(Sub.CLASS));
+        // own and inherited, by name and chevron
+        assertEquals(4, properties.size());
+        assertEquals("size", properties.get("size").getJavaName());
+        assertEquals("name", properties.get("name").getJavaName());
+        assertSame(properties.get("name"), properties.get("«property pnam»"));
+        assertEquals(2, registration.getProperties(Base.CLASS).size());
+        assertThrows(UnsupportedOperationException.class, () -> properties.put("x", null));
+    }
+
+    private static TypeClass typeClass(final String name, final String code) {
+        return new TypeClass(name, code, (String) null, null);
+    }
+
+    @Code("tapp")
+    @Name("application")
+    public interface App extends Reference {
+        TypeClass CLASS = new TypeClass("application", "«class tapp»", App.class, null);
+        java.util.Set<java.lang.Class<?>> APPLICATION_CLASSES = new java.util.HashSet<>(java.util.Arrays.asList(App.class, Base.class, Sub.class));
+    }
+
+    @Code("tbas")
+    @Name("base")
+    public interface Base extends Reference {
+        TypeClass CLASS = new TypeClass("base", "«class tbas»", App.class, null);
+
+        @Type("text")
+        @Name("name")
+        @Code("pnam")
+        @Kind("property")
+        String getName();
+    }
+
+    /**
+     * Inherits from {@link Base} in AppleScript only.
+     */
+    @Code("tsub")
+    @Name("sub")
+    @Inherits("base")
+    public interface Sub extends Reference {
+        TypeClass CLASS = new TypeClass("sub", "«class tsub»", App.class, Base.CLASS);
+
+        @Type("integer")
+        @Name("size")
+        @Code("ptsz")
+        @Kind("property")
+        int getSize();
+    }
+
+    @Code("toap")
+    @Name("application")
+    public interface OtherApp extends Reference {
+        TypeClass CLASS = new TypeClass("application", "«class toap»", OtherApp.class, null);
+        java.util.Set<java.lang.Class<?>> APPLICATION_CLASSES = new java.util.HashSet<>(java.util.Arrays.asList(OtherApp.class, OtherBase.class));
+    }
+
+    /**
+     * Same name as {@link Base}, but different code.
+     */
+    @Code("tob2")
+    @Name("base")
+    public interface OtherBase extends Reference {
+        TypeClass CLASS = new TypeClass("base", "«class tob2»", OtherApp.class, null);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.execution.ReplayCorpus;
+import com.tagtraum.japlscript.execution.ReplayScriptExecutor;
+import com.tagtraum.japlscript.language.ReferenceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestAsyncReference.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestAsyncReference {
+
+    @BeforeEach
+    public void setUp() {
+        ReplayFixture.replay("application \"Finder\"", "return «property pnam»", "\"Finder\"");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReplayFixture.reset();
+    }
+
+    @Test
+    public void testCall() throws ExecutionException, InterruptedException {
+        final AsyncReference<TestObjectInvocationHandler.Finder> finder = TestObjectInvocationHandler.Finder.getInstance().async(TestObjectInvocationHandler.Finder.class);
+        final Thread caller = Thread.currentThread();
+        final CompletableFuture<Thread> thread = finder.call(f -> Thread.currentThread());
+        assertNotSame(caller, thread.get());
+        assertEquals("Finder", finder.call(TestObjectInvocationHandler.Finder::getName).get());
+    }
+
+    @Test
+    public void testFailedCall() throws InterruptedException {
+        final AsyncReference<TestObjectInvocationHandler.Finder> finder = TestObjectInvocationHandler.Finder.getInstance().async(TestObjectInvocationHandler.Finder.class);
+        ReplayScriptExecutor.setCorpus(new ReplayCorpus());
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> finder.call(TestObjectInvocationHandler.Finder::getName).get());
+        assertTrue(e.getCause() instanceof JaplScriptException);
+    }
+
+    @Test
+    public void testRun() throws ExecutionException, InterruptedException {
+        final StringBuilder sb = new StringBuilder();
+        final AsyncReference<ReferenceImpl> reference = new ReferenceImpl("objRef", "appRef").async(ReferenceImpl.class);
+        reference.run(r -> sb.append(r.getObjectReference())).get();
+        assertEquals("objRef", sb.toString());
+    }
+
+    @Test
+    public void testUsing() throws ExecutionException, InterruptedException {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor(r -> new Thread(r, "custom"));
+        try {
+            final AsyncReference<TestObjectInvocationHandler.Finder> finder = AsyncReference.of(TestObjectInvocationHandler.Finder.getInstance())
+                .using(executorService);
+            assertSame(executorService, finder.getExecutor());
+            assertEquals("custom", finder.call(f -> Thread.currentThread().getName()).get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        ReplayScriptExecutor.setLatency(10, 10, TimeUnit.SECONDS);
+        final AsyncReference<TestObjectInvocationHandler.Finder> finder = TestObjectInvocationHandler.Finder.getInstance().async(TestObjectInvocationHandler.Finder.class);
+        final CompletableFuture<String> name = finder.call(TestObjectInvocationHandler.Finder::getName);
+        Thread.sleep(100);
+        assertTrue(name.cancel(true));
+        assertTrue(name.isCancelled());
+    }
+
+    @Test
+    public void testProxy() {
+        final TestObjectInvocationHandler.Finder finder = TestObjectInvocationHandler.Finder.getInstance();
+        final AsyncReference<TestObjectInvocationHandler.Finder> async = finder.async(TestObjectInvocationHandler.Finder.class);
+        assertSame(finder, async.get());
+        assertThrows(ClassCastException.class, () -> finder.async(ReferenceImpl.class));
+    }
+
+    @Test
+    public void testExecuteAppleScriptAsync() throws ExecutionException, InterruptedException {
+        final TestObjectInvocationHandler.Finder finder = TestObjectInvocationHandler.Finder.getInstance();
+        final ObjectInvocationHandler handler = new ObjectInvocationHandler(finder);
+        assertEquals("Finder", handler.executeAppleScriptAsync(finder, "return «property pnam»", String.class).get());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestChunkedIterator.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestChunkedIterator {
+
+    @Test
+    public void testChunks() {
+        final List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+        final ChunkedIterator<Integer> iterator = new ChunkedIterator<>((from, to) -> {
+            ranges.add(from + "-" + to);
+            return IntStream.range(from, to).boxed().toArray(Integer[]::new);
+        }, 7, 3);
+        final List<Integer> elements = new ArrayList<>();
+        iterator.forEachRemaining(elements::add);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), elements);
+        assertEquals(Arrays.asList("0-3", "3-6", "6-7"), ranges);
+    }
+
+    @Test
+    public void testNoFetchForEmpty() {
+        final ChunkedIterator<Integer> iterator = new ChunkedIterator<>((from, to) -> {
+            throw new IOException("must not be called");
+        }, 0, 3);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testPrefetchFailure() {
+        final ChunkedIterator<Integer> iterator = new ChunkedIterator<>((from, to) -> {
+            if (from > 0) throw new IOException("gone");
+            return new Integer[]{0};
+        }, 2, 1);
+        assertEquals(0, iterator.next());
+        assertThrows(JaplScriptException.class, iterator::hasNext);
+    }
+
+    @Test
+    public void testInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedIterator<Integer>((from, to) -> null, 1, 0));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.language.Date;
+import com.tagtraum.japlscript.language.Integer;
+import com.tagtraum.japlscript.language.ReferenceImpl;
+import com.tagtraum.japlscript.language.Text;
+import com.tagtraum.japlscript.language.TypeClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestCodecRegistry.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestCodecRegistry {
+
+    @Test
+    public void testDecoder() {
+        final CodecRegistry registry = new CodecRegistry();
+        assertNull(registry.getDecoder(String.class));
+        registry.add(Text.getInstance());
+        registry.add(Integer.getInstance());
+        assertSame(Text.getInstance(), registry.getDecoder(String.class));
+        assertSame(Integer.getInstance(), registry.getDecoder(int.class));
+        // decoders are matched exactly
+        assertNull(registry.getDecoder(java.lang.Integer.class));
+        assertNull(registry.getDecoder(Object.class));
+    }
+
+    @Test
+    public void testEncoderSupertypes() {
+        final CodecRegistry registry = new CodecRegistry();
+        registry.add(Date.getInstance());
+        registry.add(ReferenceImpl.getInstance());
+        assertSame(Date.getInstance(), registry.getEncoder(new java.util.Date() {}.getClass()));
+        assertSame(ReferenceImpl.getInstance(), registry.getEncoder(TypeClass.class));
+        assertNull(registry.getEncoder(String.class));
+    }
+
+    @Test
+    public void testInvalidation() {
+        final CodecRegistry registry = new CodecRegistry();
+        assertNull(registry.getDecoder(String.class));
+        assertNull(registry.getEncoder(String.class));
+        registry.add(Text.getInstance());
+        assertSame(Text.getInstance(), registry.getDecoder(String.class));
+        assertSame(Text.getInstance(), registry.getEncoder(String.class));
+        assertTrue(registry.remove(Text.getInstance()));
+        assertFalse(registry.remove(Text.getInstance()));
+        assertNull(registry.getDecoder(String.class));
+        assertNull(registry.getEncoder(String.class));
+        assertNull(registry.getCodec(new TypeClass("text", new Chevron("class", "ctxt"))));
+    }
+
+    @Test
+    public void testFirstRegisteredWins() {
+        final CodecRegistry registry = new CodecRegistry();
+        final Codec<String> other = new Codec<String>() {
+            @Override
+            public String _decode(final String objectReference, final String applicationReference) {
+                return objectReference;
+            }
+
+            @Override
+            public String _encode(final Object object) {
+                return object.toString();
+            }
+
+            @Override
+            public Class<? extends String> _getJavaType() {
+                return String.class;
+            }
+
+            @Override
+            public TypeClass[] _getAppleScriptTypes() {
+                return new TypeClass[0];
+            }
+        };
+        registry.add(Text.getInstance());
+        registry.add(other);
+        assertSame(Text.getInstance(), registry.getDecoder(String.class));
+        registry.remove(Text.getInstance());
+        assertSame(other, registry.getDecoder(String.class));
+        assertEquals(1, registry.getCodecs().size());
+    }
+
+    @Test
+    public void testTypeClass() {
+        final CodecRegistry registry = new CodecRegistry();
+        registry.add(Text.getInstance());
+        registry.add(Integer.getInstance());
+        assertSame(Text.getInstance(), registry.getCodec(new TypeClass("whatever", new Chevron("class", "utxt"))));
+        assertSame(Integer.getInstance(), registry.getCodec(new TypeClass("Integer", (Chevron) null)));
+        assertNull(registry.getCodec(new TypeClass("track", new Chevron("class", "cTrk"))));
+        assertSame(Text.getInstance(), JaplScript.getCodec(new TypeClass("string", (Chevron) null)));
+        assertSame(Integer.getInstance(), JaplScript.getCodec(int.class));
+    }
+
+    @Test
+    public void testConcurrentChanges() throws Exception {
+        final CodecRegistry registry = new CodecRegistry();
+        registry.add(Integer.getInstance());
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        assertSame(Integer.getInstance(), registry.getDecoder(int.class));
+                        final Codec<?> text = registry.getDecoder(String.class);
+                        assertTrue(text == null || text == Text.getInstance());
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    registry.add(Text.getInstance());
+                    registry.remove(Text.getInstance());
+                }
+            }));
+            for (final Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+            assertNull(registry.getDecoder(String.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
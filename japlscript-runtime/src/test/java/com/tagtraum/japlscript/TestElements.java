@@ -0,0 +1,273 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.language.ReferenceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestElements.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestElements {
+
+    private static final String MUSIC = "application \"Music\"";
+    private static final Reference PLAYLIST = new ReferenceImpl("playlist id 1", MUSIC);
+
+    @AfterEach
+    public void tearDown() {
+        ReplayFixture.reset();
+    }
+
+    @Test
+    public void testWhere() {
+        final Elements<Track> tracks = Elements.of(PLAYLIST, Track.class);
+        assertNull(tracks.getFilter());
+        assertSame(tracks, tracks.where(" "));
+        assertEquals("year > 2000", tracks.where("year > 2000").getFilter());
+        assertEquals("(year > 2000) and (name contains \"a\")",
+            tracks.where("year > 2000").where("name contains \"a\"").getFilter());
+        assertSame(PLAYLIST, tracks.getContainer());
+        assertSame(Track.class, tracks.getElementType());
+        assertEquals("Elements{tracks of playlist id 1 where year > 2000}", tracks.where("year > 2000").toString());
+    }
+
+    @Test
+    public void testProject() {
+        ReplayFixture.replay(MUSIC, "return {«property pnam» of tracks of playlist id 1, «property pDur» of tracks of playlist id 1, "
+            + "«property pYr » of tracks of playlist id 1}",
+            "{{\"A\", \"B\"}, {1.5, 2.5}, {1999, 2001}}");
+        final Columns columns = Elements.of(PLAYLIST, Track.class)
+            .project(Track::getName, Track::getDuration, Track::getYear);
+        assertEquals(3, columns.getColumnCount());
+        assertEquals(2, columns.size());
+        assertArrayEquals(new String[]{"A", "B"}, columns.getColumn(0, String[].class));
+        assertArrayEquals(new double[]{1.5, 2.5}, columns.getColumn(1, double[].class));
+        assertArrayEquals(new int[]{1999, 2001}, columns.getColumn(2, int[].class));
+        assertThrows(ClassCastException.class, () -> columns.getColumn(2, long[].class));
+    }
+
+    @Test
+    public void testProjectFiltered() {
+        ReplayFixture.replay(MUSIC, "return {«property pnam» of (tracks of playlist id 1 where year > 2000)}", "{{}}");
+        final Columns columns = Elements.of(PLAYLIST, Track.class)
+            .where("year > 2000")
+            .project(Track::getName);
+        assertEquals(0, columns.size());
+        assertArrayEquals(new String[0], columns.getColumn(0, String[].class));
+    }
+
+    @Test
+    public void testProjectReferences() {
+        ReplayFixture.replay(MUSIC, "return {«property pArt» of tracks of playlist id 1}", "{{artist id 5, artist id 6}}");
+        final Columns columns = Elements.of(PLAYLIST, Track.class).project(Track::getArtist);
+        final Artist[] artists = columns.getColumn(0, Artist[].class);
+        assertEquals("artist id 6", artists[1].getObjectReference());
+    }
+
+    @Test
+    public void testProjectDifferentLengths() {
+        ReplayFixture.replay(MUSIC, "return {«property pnam» of tracks of playlist id 1, «property pYr » of tracks of playlist id 1}",
+            "{{\"A\", \"B\"}, {1999}}");
+        assertThrows(JaplScriptException.class, () -> Elements.of(PLAYLIST, Track.class)
+            .project(Track::getName, Track::getYear));
+    }
+
+    @Test
+    public void testProjectNoProperty() {
+        assertThrows(IllegalArgumentException.class, () -> Elements.of(PLAYLIST, Track.class)
+            .project(Track::getObjectReference));
+        assertThrows(IllegalArgumentException.class, () -> Elements.of(PLAYLIST, Track.class)
+            .project(t -> "constant"));
+    }
+
+    @Test
+    public void testProjectModifiedProperty() {
+        final Elements<Track> tracks = Elements.of(PLAYLIST, Track.class);
+        assertThrows(IllegalArgumentException.class, () -> tracks.project(t -> t.getName().trim()));
+        assertThrows(IllegalArgumentException.class, () -> tracks.project(t -> t.getYear() + 1));
+        assertThrows(IllegalArgumentException.class, () -> tracks.project(t -> t.getName() + t.getArtist()));
+    }
+
+    @Test
+    public void testIterateInChunks() {
+        ReplayFixture.replay(MUSIC, "count tracks of playlist id 1", "5",
+            "return tracks 1 thru 2 of playlist id 1", "{track id 1 of playlist id 1, track id 2 of playlist id 1}",
+            "return tracks 3 thru 4 of playlist id 1", "{track id 3 of playlist id 1, track id 4 of playlist id 1}",
+            "return tracks 5 thru 5 of playlist id 1", "{track id 5 of playlist id 1}");
+        final Elements<Track> tracks = Elements.of(PLAYLIST, Track.class).withChunkSize(2);
+        assertEquals(2, tracks.getChunkSize());
+        final List<String> references = new ArrayList<>();
+        for (final Track track : tracks) {
+            references.add(track.getObjectReference());
+        }
+        assertEquals(Arrays.asList("track id 1 of playlist id 1", "track id 2 of playlist id 1",
+            "track id 3 of playlist id 1", "track id 4 of playlist id 1", "track id 5 of playlist id 1"), references);
+    }
+
+    @Test
+    public void testStreamFiltered() {
+        ReplayFixture.replay(MUSIC, "count tracks of playlist id 1 where year > 2000", "3",
+            "return items 1 thru 3 of (tracks of playlist id 1 where year > 2000)",
+            "{track id 1 of playlist id 1, track id 2 of playlist id 1, track id 3 of playlist id 1}");
+        try (Stream<Track> tracks = Elements.of(PLAYLIST, Track.class).where("year > 2000").stream()) {
+            assertEquals(3, tracks.count());
+        }
+    }
+
+    @Test
+    public void testIterateFewerThanCounted() {
+        ReplayFixture.replay(MUSIC, "count tracks of playlist id 1", "4",
+            "return tracks 1 thru 2 of playlist id 1", "{track id 1 of playlist id 1, track id 2 of playlist id 1}",
+            "return tracks 3 thru 4 of playlist id 1", "{}");
+        final Iterator<Track> iterator = Elements.of(PLAYLIST, Track.class).withChunkSize(2).iterator();
+        iterator.next();
+        iterator.next();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void testIterateEmpty() {
+        ReplayFixture.replay(MUSIC, "count tracks of playlist id 1", "0");
+        assertFalse(Elements.of(PLAYLIST, Track.class).iterator().hasNext());
+    }
+
+    @Test
+    public void testInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> Elements.of(PLAYLIST, Track.class).withChunkSize(0));
+    }
+
+    @Test
+    public void testStreamElementsMethod() {
+        ReplayFixture.replay(MUSIC, "count tracks of playlist id 1 where year > 2000", "1",
+            "return items 1 thru 1 of (tracks of playlist id 1 where year > 2000)", "{track id 1 of playlist id 1}",
+            "count tracks of playlist id 1", "0");
+        final Playlist playlist = JaplScript.cast(Playlist.class, PLAYLIST);
+        try (Stream<Track> tracks = playlist.streamTracks("year > 2000")) {
+            assertEquals("track id 1 of playlist id 1", tracks.findFirst().get().getObjectReference());
+        }
+        try (Stream<Track> tracks = playlist.streamTracks()) {
+            assertEquals(0, tracks.count());
+        }
+    }
+
+    @Test
+    public void testToArray() {
+        ReplayFixture.replay(MUSIC, "return tracks of playlist id 1 where «property pYr » > 2000", "{track id 1 of playlist id 1}");
+        final Track[] tracks = Elements.of(PLAYLIST, Track.class).where(Track.YEAR.gt(2000)).toArray();
+        assertEquals(1, tracks.length);
+        assertEquals("track id 1 of playlist id 1", tracks[0].getObjectReference());
+    }
+
+    @Test
+    public void testToArrayLimited() {
+        ReplayFixture.replay(MUSIC, "set n to count tracks of playlist id 1 where «property pnam» contains (\"a\")\r\n"
+                + "if n > 2 then set n to 2\r\n"
+                + "if n < 1 then return {}\r\n"
+                + "return items 1 thru n of (tracks of playlist id 1 where «property pnam» contains (\"a\"))",
+            "{track id 1 of playlist id 1, track id 2 of playlist id 1}",
+            "set n to count tracks of playlist id 1\r\n"
+                + "if n > 5 then set n to 5\r\n"
+                + "if n < 1 then return {}\r\n"
+                + "return tracks 1 thru n of playlist id 1",
+            "{}");
+        final Elements<Track> tracks = Elements.of(PLAYLIST, Track.class).where(Track.NAME.contains("a")).limit(2);
+        assertEquals(2, tracks.getLimit());
+        assertEquals(2, tracks.toArray().length);
+        assertEquals(0, Elements.of(PLAYLIST, Track.class).limit(5).toArray().length);
+        assertThrows(IllegalArgumentException.class, () -> tracks.limit(-1));
+        assertThrows(IllegalStateException.class, () -> tracks.project(Track::getName));
+    }
+
+    @Test
+    public void testCountLimited() {
+        ReplayFixture.replay(MUSIC, "count tracks of playlist id 1", "7");
+        assertEquals(7, Elements.of(PLAYLIST, Track.class).count());
+        assertEquals(3, Elements.of(PLAYLIST, Track.class).limit(3).count());
+    }
+
+    /**
+     * A playlist.
+     */
+    @Plural("playlists")
+    @Code("cPly")
+    @Name("playlist")
+    public interface Playlist extends Reference {
+
+        @Kind("element")
+        @Type("track")
+        default Stream<Track> streamTracks() {
+            return streamTracks(null);
+        }
+
+        @Kind("element")
+        @Type("track")
+        Stream<Track> streamTracks(String filter);
+    }
+
+    /**
+     * A track.
+     */
+    @Plural("tracks")
+    @Code("cTrk")
+    @Name("track")
+    public interface Track extends Reference {
+
+        TextFilterProperty NAME = new TextFilterProperty("name", "pnam");
+        FilterProperty<Integer> YEAR = new FilterProperty<>("year", "pYr ", Integer.class);
+
+        static Query<Track> query() {
+            return Query.of(Track.class);
+        }
+
+        @Type("text")
+        @Name("name")
+        @Code("pnam")
+        @Kind("property")
+        String getName();
+
+        @Type("real")
+        @Name("duration")
+        @Code("pDur")
+        @Kind("property")
+        double getDuration();
+
+        @Type("integer")
+        @Name("year")
+        @Code("pYr ")
+        @Kind("property")
+        int getYear();
+
+        @Type("artist")
+        @Name("artist")
+        @Code("pArt")
+        @Kind("property")
+        Artist getArtist();
+    }
+
+    /**
+     * An artist.
+     */
+    @Plural("artists")
+    @Code("cArt")
+    @Name("artist")
+    public interface Artist extends Reference {
+    }
+}
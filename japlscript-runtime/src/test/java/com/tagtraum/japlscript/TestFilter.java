@@ -0,0 +1,67 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestFilter.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestFilter {
+
+    private static final TextFilterProperty NAME = new TextFilterProperty("name", "pnam");
+    private static final FilterProperty<Integer> YEAR = new FilterProperty<>("year", "pYr ", Integer.class);
+    private static final FilterProperty<Boolean> ENABLED = new FilterProperty<>("enabled", "enbl", Boolean.class);
+
+    @Test
+    public void testOperators() {
+        assertEquals("«property pnam» is (\"Blue\")", NAME.is("Blue").toString());
+        assertEquals("«property pnam» is not (\"Blue\")", NAME.isNot("Blue").toString());
+        assertEquals("«property pnam» contains (\"Blue\")", NAME.contains("Blue").toString());
+        assertEquals("«property pnam» does not contain (\"Blue\")", NAME.doesNotContain("Blue").toString());
+        assertEquals("«property pnam» starts with (\"Blue\")", NAME.startsWith("Blue").toString());
+        assertEquals("«property pnam» ends with (\"Blue\")", NAME.endsWith("Blue").toString());
+        assertEquals("«property pYr » > 2000", YEAR.gt(2000).toString());
+        assertEquals("«property pYr » >= 2000", YEAR.ge(2000).toString());
+        assertEquals("«property pYr » < 2000", YEAR.lt(2000).toString());
+        assertEquals("«property pYr » <= 2000", YEAR.le(2000).toString());
+    }
+
+    @Test
+    public void testTextProperty() {
+        assertSame(String.class, NAME.getJavaClass());
+        assertEquals("TextFilterProperty{name='name', code='pnam', javaClass=java.lang.String}", NAME.toString());
+        assertEquals("FilterProperty{name='year', code='pYr ', javaClass=java.lang.Integer}", YEAR.toString());
+    }
+
+    @Test
+    public void testEncoding() {
+        assertEquals("«property pnam» is (\"say \\\"hi\\\"\")", NAME.is("say \"hi\"").toString());
+        assertEquals("«property enbl» is true", ENABLED.is(true).toString());
+        assertEquals("«property pnam» is missing value", NAME.is(null).toString());
+    }
+
+    @Test
+    public void testCombination() {
+        final Filter filter = NAME.contains("a").and(YEAR.gt(2000)).or(YEAR.is(1999)).not();
+        assertEquals("not (((«property pnam» contains (\"a\")) and («property pYr » > 2000)) or («property pYr » is 1999))",
+            filter.toString());
+        assertEquals(Filter.of("name is \"a\""), Filter.of("name is \"a\""));
+        assertThrows(IllegalArgumentException.class, () -> Filter.of(" "));
+    }
+
+    @Test
+    public void testProperty() {
+        assertEquals("name", NAME.getName());
+        assertEquals("pnam", NAME.getCode());
+        assertSame(String.class, NAME.getJavaClass());
+    }
+}
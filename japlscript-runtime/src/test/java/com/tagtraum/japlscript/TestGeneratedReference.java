@@ -0,0 +1,274 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.ReplayCorpus;
+import com.tagtraum.japlscript.execution.ReplayScriptExecutor;
+import com.tagtraum.japlscript.language.ReferenceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestGeneratedReference.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestGeneratedReference {
+
+    private static final String DISK = "disk \"A\"";
+    private static final String FINDER = "application \"Finder\"";
+
+    @AfterEach
+    public void tearDown() {
+        ReplayFixture.reset();
+        System.clearProperty(JaplScript.IMPLEMENTATIONS_PROPERTY);
+    }
+
+    @Test
+    public void testCastPrefersImplementation() {
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        assertTrue(disk instanceof DiskImpl);
+        assertEquals(DISK, disk.getObjectReference());
+        assertEquals(FINDER, disk.getApplicationReference());
+
+        System.setProperty(JaplScript.IMPLEMENTATIONS_PROPERTY, "false");
+        final Disk proxy = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        assertTrue(Proxy.isProxyClass(proxy.getClass()));
+
+        // same semantics as proxies
+        assertEquals(proxy.toString(), disk.toString());
+        assertEquals(proxy.hashCode(), disk.hashCode());
+        assertEquals(disk, proxy);
+        assertEquals(proxy, disk);
+    }
+
+    @Test
+    public void testCastWithoutImplementation() {
+        final TestObjectInvocationHandler.Item item = JaplScript.cast(TestObjectInvocationHandler.Item.class,
+            new ReferenceImpl("item 1", FINDER));
+        assertTrue(Proxy.isProxyClass(item.getClass()));
+    }
+
+    @Test
+    public void testGetProperty() {
+        ReplayFixture.replay(FINDER, "return «property pnam» of " + DISK, "\"A\"");
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        assertEquals("A", disk.getName());
+    }
+
+    @Test
+    public void testGetElements() {
+        ReplayFixture.replay(FINDER, "return items of " + DISK + " where name starts with \"b\"", "{folder \"b\" of " + DISK + "}");
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        final TestObjectInvocationHandler.Item[] items = disk.getItems("name starts with \"b\"");
+        assertEquals(1, items.length);
+        assertEquals("folder \"b\" of " + DISK, items[0].getObjectReference());
+    }
+
+    @Test
+    public void testCountElements() {
+        ReplayFixture.replay(FINDER, "count items of " + DISK, "3");
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        assertEquals(3, disk.countItems(null));
+    }
+
+    @Test
+    public void testGetElementByIndex() {
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        // reduced script executions, i.e. no script is executed
+        assertEquals("item 2 of " + DISK, disk.getItem(1).getObjectReference());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> disk.getItem(-1));
+    }
+
+    @Test
+    public void testCommand() {
+        // same script as for proxies, i.e. parameters are separated by extra spaces
+        ReplayFixture.replay(FINDER, "exists  item 1 of " + DISK + " ", "true");
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        assertTrue(disk.exists(disk.getItem(0)));
+    }
+
+    @Test
+    public void testInvokeLikeProxy() {
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        ReplayFixture.replay(FINDER, "return «property frsp» of " + DISK, "2.0");
+        assertEquals(2.0, disk.getFreeSpace());
+    }
+
+    @Test
+    public void testFetch() {
+        ReplayFixture.replay(FINDER, "return {«property pnam», «property capa»} of " + DISK, "{\"A\", 1.5E+9}");
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        final Disk fetched = disk.fetch(Disk.class, Disk.NAME, Disk.CAPACITY);
+        assertEquals(DISK, fetched.getObjectReference());
+        // no further scripts
+        ReplayScriptExecutor.setCorpus(new ReplayCorpus());
+        assertEquals("A", fetched.getName());
+        assertEquals(1.5E9, fetched.getCapacity());
+        assertEquals(disk, fetched);
+    }
+
+    @Test
+    public void testFetchFromProxy() {
+        System.setProperty(JaplScript.IMPLEMENTATIONS_PROPERTY, "false");
+        ReplayFixture.replay(FINDER, "return {«property capa»} of " + DISK, "{2.0}");
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        assertTrue(Proxy.isProxyClass(disk.getClass()));
+        final Disk fetched = disk.fetch(Disk.class, Disk.CAPACITY);
+        assertEquals(2.0, fetched.getCapacity());
+        // not fetched, i.e. executed
+        ReplayFixture.replay(FINDER, "return «property pnam» of " + DISK, "\"A\"");
+        assertEquals("A", fetched.getName());
+    }
+
+    @Test
+    public void testFetchPropertyKeys() {
+        ReplayFixture.replay(FINDER, "return {«property frsp», «property dfmt»} of " + DISK, "{2.0, {\"APFS\", \"HFS+\"}}");
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        final Disk fetched = disk.fetch(Disk.class, Disk.FREE_SPACE, Disk.FORMATS);
+        // no further scripts
+        ReplayScriptExecutor.setCorpus(new ReplayCorpus());
+        assertEquals(2.0, fetched.getFreeSpace());
+        assertArrayEquals(new String[]{"APFS", "HFS+"}, fetched.getFormats());
+    }
+
+    @Test
+    public void testFetchUnknownProperty() {
+        final Disk disk = JaplScript.cast(Disk.class, new ReferenceImpl(DISK, FINDER));
+        assertThrows(IllegalArgumentException.class, () -> disk.fetch(Disk.class, Disk.NAME, Disk.SIZE));
+        assertThrows(ClassCastException.class, () -> disk.fetch(TestObjectInvocationHandler.Item.class, Disk.NAME));
+    }
+
+    /**
+     * A disk.
+     */
+    @Plural("disks")
+    @Code("cdis")
+    @Name("disk")
+    public interface Disk extends Reference {
+
+        TextFilterProperty NAME = new TextFilterProperty("name", "pnam");
+        FilterProperty<Double> CAPACITY = new FilterProperty<>("capacity", "capa", Double.class);
+        FilterProperty<Long> SIZE = new FilterProperty<>("size", "ptsz", Long.class);
+        PropertyKey<Double> FREE_SPACE = new PropertyKey<>("free space", "frsp", Double.class);
+        PropertyKey<String[]> FORMATS = new PropertyKey<>("formats", "dfmt", String[].class);
+
+        @Type("text")
+        @Name("name")
+        @Code("pnam")
+        @Kind("property")
+        String getName();
+
+        @Type("text")
+        @Name("name")
+        @Code("pnam")
+        @Kind("property")
+        void setName(String name);
+
+        @Type("real")
+        @Name("capacity")
+        @Code("capa")
+        @Kind("property")
+        double getCapacity();
+
+        @Kind("element")
+        @Type("item")
+        TestObjectInvocationHandler.Item[] getItems(String filter);
+
+        @Kind("element")
+        @Type("item")
+        TestObjectInvocationHandler.Item getItem(int index);
+
+        @Kind("element")
+        @Type("item")
+        int countItems(String filter);
+
+        @Type("real")
+        @Name("free space")
+        @Code("frsp")
+        @Kind("property")
+        double getFreeSpace();
+
+        @Type("text")
+        @Name("formats")
+        @Code("dfmt")
+        @Kind("property")
+        String[] getFormats();
+
+        @Kind("command")
+        @Name("exists")
+        boolean exists(Reference theObjectInQuestion);
+
+        Map<String, Object> getProperties();
+    }
+
+    /**
+     * Implementation of {@link Disk}, as generated.
+     */
+    public static final class DiskImpl extends GeneratedReference implements Disk {
+
+        public DiskImpl(final Reference reference) {
+            super(reference);
+        }
+
+        @Override
+        public String getName() {
+            return _getProperty("return «property pnam»", String.class);
+        }
+
+        @Override
+        public void setName(final String name) {
+            _setProperty("set «property pnam»", name);
+        }
+
+        @Override
+        public double getCapacity() {
+            return _getProperty("return «property capa»", double.class);
+        }
+
+        @Override
+        public TestObjectInvocationHandler.Item[] getItems(final String filter) {
+            return _getElements(TestObjectInvocationHandler.Item[].class, filter);
+        }
+
+        @Override
+        public TestObjectInvocationHandler.Item getItem(final int index) {
+            return _getElement("item", index, TestObjectInvocationHandler.Item.class);
+        }
+
+        @Override
+        public int countItems(final String filter) {
+            return _countElements(TestObjectInvocationHandler.Item.class, filter);
+        }
+
+        @Override
+        public double getFreeSpace() {
+            // as generated for methods without direct implementation
+            return (double) _invoke(Disk.class, "getFreeSpace", new Class<?>[] {}, new Object[] {});
+        }
+
+        @Override
+        public String[] getFormats() {
+            return _getProperty("return «property dfmt»", String[].class);
+        }
+
+        @Override
+        public boolean exists(final Reference theObjectInQuestion) {
+            return _command("exists", boolean.class, new String[]{null}, theObjectInQuestion);
+        }
+
+        @Override
+        public Map<String, Object> getProperties() {
+            return _getProperties(Disk.class);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static com.tagtraum.japlscript.InvocationPlan.Operation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestInvocationPlan.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestInvocationPlan {
+
+    @Test
+    public void testCached() throws NoSuchMethodException {
+        final Method method = TestObjectInvocationHandler.Finder.class.getMethod("getName");
+        assertSame(InvocationPlan.get(method), InvocationPlan.get(method));
+    }
+
+    @Test
+    public void testStandardMethods() throws NoSuchMethodException {
+        assertEquals(TO_STRING, InvocationPlan.get(Object.class.getMethod("toString")).getOperation());
+        assertEquals(OBJECT_REFERENCE, InvocationPlan.get(Reference.class.getMethod("getObjectReference")).getOperation());
+        assertEquals(PROPERTIES, InvocationPlan.get(TestObjectInvocationHandler.Item.class.getMethod("getProperties")).getOperation());
+    }
+
+    @Test
+    public void testProperty() throws NoSuchMethodException {
+        final InvocationPlan getter = InvocationPlan.get(TestObjectInvocationHandler.Item.class.getMethod("getName"));
+        assertEquals(GET_PROPERTY, getter.getOperation());
+        assertEquals("return «property pnam»", getter.getScript());
+        assertTrue(getter.isDecodeWithoutSubclass());
+        final InvocationPlan setter = InvocationPlan.get(TestObjectInvocationHandler.Item.class.getMethod("setName", String.class));
+        assertEquals(SET_PROPERTY, setter.getOperation());
+        assertEquals("set «property pnam»", setter.getScript());
+    }
+
+    @Test
+    public void testElements() throws NoSuchMethodException {
+        final Class<TestObjectInvocationHandler.Finder> finder = TestObjectInvocationHandler.Finder.class;
+        final InvocationPlan items = InvocationPlan.get(finder.getMethod("getItems", String.class));
+        assertEquals(GET_ELEMENTS, items.getOperation());
+        assertEquals("items", items.getScript());
+        assertEquals(TestObjectInvocationHandler.Item.class, items.getElementType());
+        assertTrue(items.isFilterable());
+        assertFalse(items.isLazyList());
+        assertFalse(items.isDecodeWithoutSubclass());
+
+        final InvocationPlan itemList = InvocationPlan.get(finder.getMethod("getItemList", String.class));
+        assertTrue(itemList.isLazyList());
+
+        final InvocationPlan count = InvocationPlan.get(finder.getMethod("countItems", String.class));
+        assertEquals(COUNT_ELEMENTS, count.getOperation());
+        assertEquals("items", count.getScript());
+
+        final InvocationPlan byIndex = InvocationPlan.get(finder.getMethod("getItem", int.class));
+        assertEquals(GET_ELEMENT_BY_INDEX, byIndex.getOperation());
+        assertEquals("item", byIndex.getScript());
+        assertEquals(GET_ELEMENT_BY_ID, InvocationPlan.get(finder.getMethod("getItem", Id.class)).getOperation());
+    }
+
+    @Test
+    public void testCommand() throws NoSuchMethodException {
+        final InvocationPlan exists = InvocationPlan.get(TestObjectInvocationHandler.Finder.class.getMethod("exists", Reference.class));
+        assertEquals(COMMAND, exists.getOperation());
+        assertEquals("exists", exists.getScript());
+        assertArrayEquals(new String[]{""}, exists.getParameterKeywords());
+    }
+
+    @Test
+    public void testInvalid() throws NoSuchMethodException {
+        final InvocationPlan plan = InvocationPlan.get(Runnable.class.getMethod("run"));
+        assertEquals(INVALID, plan.getOperation());
+        assertNotSame(plan.newError(), plan.newError());
+        assertThrows(JaplScriptException.class, () -> {
+            throw plan.newError();
+        });
+    }
+}
@@ -1,7 +1,9 @@
 package com.tagtraum.japlscript;
 
 import com.tagtraum.japlscript.execution.Aspect;
+import com.tagtraum.japlscript.execution.ExecutionMetrics;
 import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.execution.ResultTokenizer;
 import com.tagtraum.japlscript.execution.ScriptExecutor;
 import com.tagtraum.japlscript.execution.Session;
 import com.tagtraum.japlscript.language.*;
@@ -76,6 +78,8 @@ public class TestJaplScript {
             assertNotEquals(session, otherThreadSession);
         } finally {
             executorService.shutdown();
+            // don't leak the session to other tests running on this thread
+            session.commit();
         }
     }
 
@@ -288,6 +292,93 @@ public class TestJaplScript {
         assertArrayEquals(new int[]{1, 2, 3}, result);
     }
 
+    @Test
+    public void testCastNestedIntArrayObjectReference() {
+        final int[][] result = JaplScript.cast(int[][].class, new ReferenceImpl("{{1, 2}, {}, {3}}", null));
+        assertArrayEquals(new int[][]{{1, 2}, {}, {3}}, result);
+    }
+
+    @Test
+    public void testCastStringArrayWithSeparators() {
+        final String[] result = JaplScript.cast(String[].class, new ReferenceImpl("{\"a, {b}\", \"c:d\"}", null));
+        assertArrayEquals(new String[]{"a, {b}", "c:d"}, result);
+    }
+
+    @Test
+    public void testCastRecordArray() {
+        final Map[] result = JaplScript.cast(Map[].class, new ReferenceImpl("{{a:1, b:{2, 3}}, {c:\"x:y\"}}", null));
+        assertEquals(2, result.length);
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), result[0].keySet());
+        assertEquals(new HashSet<>(Collections.singletonList("c")), result[1].keySet());
+    }
+
+    @Test
+    public void testCastNestedRecordInSinglePass() {
+        final String record = "{a:{{b:{c:1, d:\"x, {y}\"}}, {e:{2, 3}}, missing value}, f:\"z\"}";
+        final CountingCharSequence text = new CountingCharSequence(record);
+        final Map<String, Reference> result = JaplScript.parseRecord(text, null);
+        assertEquals(new HashSet<>(Arrays.asList("a", "f")), result.keySet());
+        final Reference[] a = JaplScript.cast(Reference[].class, result.get("a"));
+        assertEquals(3, a.length);
+        assertNull(a[2]);
+        final Map<String, Reference> b = JaplScript.cast(Map.class, a[0]);
+        final Map<String, Reference> c = JaplScript.cast(Map.class, b.get("b"));
+        assertEquals(1, (int) JaplScript.cast(java.lang.Integer.TYPE, c.get("c")));
+        assertEquals("x, {y}", JaplScript.cast(String.class, c.get("d")));
+        final Map<String, Reference> e = JaplScript.cast(Map.class, a[1]);
+        assertArrayEquals(new int[]{2, 3}, JaplScript.cast(int[].class, e.get("e")));
+        assertEquals("z", JaplScript.cast(String.class, result.get("f")));
+
+        // no nested list or record was copied or tokenized again, i.e. about as many
+        // characters were read as by tokenizing the record once
+        final CountingCharSequence once = new CountingCharSequence(record);
+        final ResultTokenizer tokenizer = new ResultTokenizer(once);
+        ResultTokenizer.Token token;
+        do {
+            token = tokenizer.next();
+        } while (token != ResultTokenizer.Token.EOF);
+        assertEquals(0, text.nestedCopies);
+        assertTrue(text.reads < once.reads * 3 / 2, "Characters read: " + text.reads + ", single pass: " + once.reads);
+
+        // object references are still available
+        assertEquals("{2, 3}", e.get("e").getObjectReference());
+        assertEquals(new ReferenceImpl("{2, 3}", null), e.get("e"));
+    }
+
+    private static class CountingCharSequence implements CharSequence {
+
+        private final String s;
+        private int reads;
+        private int nestedCopies;
+
+        private CountingCharSequence(final String s) {
+            this.s = s;
+        }
+
+        @Override
+        public int length() {
+            return s.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            reads++;
+            return s.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            final String copy = s.substring(start, end);
+            if (copy.startsWith("{")) nestedCopies++;
+            return copy;
+        }
+
+        @Override
+        public String toString() {
+            return s;
+        }
+    }
+
     @Test
     public void testCastShortArrayObjectReference() {
         final short[] result = JaplScript.cast(short[].class, new ReferenceImpl("{1, 2, 3}", null));
@@ -318,6 +409,20 @@ public class TestJaplScript {
         assertArrayEquals(new boolean[]{true, false}, result);
     }
 
+    @Test
+    public void testCastPrimitiveArrayWithoutCurlies() {
+        assertArrayEquals(new long[]{1, -2, 3000000000L}, JaplScript.cast(long[].class, new ReferenceImpl("1, -2, 3000000000", null)));
+        assertArrayEquals(new boolean[]{true, false, true}, JaplScript.cast(boolean[].class, new ReferenceImpl("{ TRUE ,false,true}", null)));
+        assertArrayEquals(new double[]{1.5E3, 2}, JaplScript.cast(double[].class, new ReferenceImpl("{1.5E+3,, 2}", null)));
+    }
+
+    @Test
+    public void testCastInvalidPrimitiveArray() {
+        assertThrows(JaplScriptException.class, () -> JaplScript.cast(int[].class, new ReferenceImpl("{1, x}", null)));
+        assertThrows(JaplScriptException.class, () -> JaplScript.cast(int[].class, new ReferenceImpl("{1, {2}}", null)));
+        assertThrows(JaplScriptException.class, () -> JaplScript.cast(short[].class, new ReferenceImpl("{40000}", null)));
+    }
+
     @Test
     public void testCastEmptyStringObjectReference() {
         final Color result = JaplScript.cast(Color.class, new ReferenceImpl("", null));
@@ -368,6 +473,11 @@ public class TestJaplScript {
         assertEquals("(\"\\\"Hallo\\\"\")", quotedHallo);
     }
 
+    @Test
+    public void testQuoteBackslash() {
+        assertEquals("(\"C:\\\\Temp\\\\\")", JaplScript.quote("C:\\Temp\\"));
+    }
+
     @Test
 	public void testUnicodeQuote() {
         final String s = "A\u00afB";
@@ -445,4 +555,20 @@ public class TestJaplScript {
         assertNull(property);
     }
 
+    @Test
+    public void testCastRecordsDecodeTime() {
+        final ExecutionMetrics metrics = ExecutionMetrics.getInstance();
+        metrics.reset();
+        metrics.setEnabled(true);
+        try {
+            final String[] strings = JaplScript.cast(String[].class, new ReferenceImpl("{\"a\", \"b\", \"c\"}", "application \"DecodeApp\""));
+            assertArrayEquals(new String[] {"a", "b", "c"}, strings);
+            // nested elements of a list are not counted separately
+            assertEquals(1, metrics.snapshot().getDecodes().get("application \"DecodeApp\"").getCount());
+        } finally {
+            metrics.setEnabled(false);
+            metrics.reset();
+        }
+    }
+
 }
@@ -0,0 +1,76 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.language.ReferenceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestLazyList.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestLazyList {
+
+    @Test
+    public void testDecodeOnAccess() {
+        final LazyList<String> list = (LazyList<String>) JaplScript.castList(String.class, false,
+            new ReferenceImpl("{\"a\", \"b, c\", {\"d\"}}", null));
+        assertEquals(3, list.size());
+        assertEquals(0, list.getDecodedCount());
+        assertEquals("{\"d\"}", list.getObjectReference(2));
+        assertEquals("b, c", list.get(1));
+        assertEquals(1, list.getDecodedCount());
+        assertSame(list.get(1), list.get(1));
+        assertEquals(1, list.getDecodedCount());
+        assertEquals(Arrays.asList("a", "b, c", "{\"d\"}"), list);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, "x"));
+    }
+
+    @Test
+    public void testBoxedElements() {
+        final List<Integer> list = JaplScript.castList(Integer.class, false, new ReferenceImpl("{1, 2, 3}", null));
+        assertEquals(Arrays.asList(1, 2, 3), list);
+    }
+
+    @Test
+    public void testNestedArrays() {
+        final List<int[]> list = JaplScript.castList(int[].class, false, new ReferenceImpl("{{1, 2}, {}}", null));
+        assertArrayEquals(new int[]{1, 2}, list.get(0));
+        assertArrayEquals(new int[0], list.get(1));
+    }
+
+    @Test
+    public void testEmptyAndNull() {
+        assertTrue(JaplScript.castList(String.class, false, new ReferenceImpl("{}", null)).isEmpty());
+        assertNull(JaplScript.castList(String.class, false, new ReferenceImpl(null, null)));
+        assertNull(JaplScript.castList(String.class, false, null));
+    }
+
+    @Test
+    public void testElementGetter() {
+        ReplayFixture.replay("application \"Finder\"", "return items where name starts with \"a\"",
+            "{document file \"a.txt\" of folder \"Desktop\", folder \"ab\" of folder \"Desktop\"}");
+        try {
+            final TestObjectInvocationHandler.Finder finder = TestObjectInvocationHandler.Finder.getInstance();
+            final List<TestObjectInvocationHandler.Item> items = finder.getItemList("name starts with \"a\"");
+            assertEquals(2, items.size());
+            assertEquals(0, ((LazyList<?>) items).getDecodedCount());
+            assertEquals("folder \"ab\" of folder \"Desktop\"", items.get(1).getObjectReference());
+            assertEquals("application \"Finder\"", items.get(1).getApplicationReference());
+            assertEquals(1, ((LazyList<?>) items).getDecodedCount());
+        } finally {
+            ReplayFixture.reset();
+        }
+    }
+}
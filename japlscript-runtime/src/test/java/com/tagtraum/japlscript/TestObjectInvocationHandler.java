@@ -493,6 +493,14 @@ public class TestObjectInvocationHandler {
         @com.tagtraum.japlscript.Kind("element")
         Item getItem(int index);
 
+        /**
+         * @param filter AppleScript filter clause without the leading "whose" or "where"
+         * @return a lazily decoded, filtered list of {@link Item}s
+         */
+        @com.tagtraum.japlscript.Type("item")
+        @com.tagtraum.japlscript.Kind("element")
+        java.util.List<Item> getItemList(String filter);
+
         /**
          * @param id id of the item
          * @return the {@link Item} with the requested id
@@ -0,0 +1,114 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.execution.ReplayCorpus;
+import com.tagtraum.japlscript.execution.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestPipeline.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestPipeline {
+
+    private ReplayCorpus corpus;
+
+    @BeforeEach
+    public void setUp() {
+        corpus = ReplayFixture.replay("application \"Finder\"", "return «property pnam»", "\"Finder\"");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        final Session session = Session.get();
+        if (session != null) {
+            session.reset();
+            session.commit();
+        }
+        ReplayFixture.reset();
+    }
+
+    @Test
+    public void testSubmitWithoutSession() throws ExecutionException, InterruptedException {
+        final TestObjectInvocationHandler.Finder finder = TestObjectInvocationHandler.Finder.getInstance();
+        final CompletableFuture<String> name = Pipeline.submit(finder::getName);
+        assertTrue(name.isDone());
+        assertEquals("Finder", name.get());
+    }
+
+    @Test
+    public void testSubmit() throws ExecutionException, InterruptedException {
+        final TestObjectInvocationHandler.Finder finder = TestObjectInvocationHandler.Finder.getInstance();
+        final Session session = Session.startSession();
+        session.setPipelined(true);
+        final CompletableFuture<String> name = Pipeline.submit(finder::getName);
+        final CompletableFuture<Boolean> exists = Pipeline.submit(() -> finder.exists(finder));
+        assertFalse(name.isDone());
+        assertFalse(exists.isDone());
+
+        corpus.put(session.getScript(), "{\"Finder\", true}");
+        session.commit();
+        assertEquals("Finder", name.get());
+        assertTrue(exists.get());
+    }
+
+    @Test
+    public void testImplicitFlush() throws ExecutionException, InterruptedException {
+        final TestObjectInvocationHandler.Finder finder = TestObjectInvocationHandler.Finder.getInstance();
+        final Session session = Session.startSession();
+        session.setPipelined(true);
+        final CompletableFuture<String> first = Pipeline.submit(finder::getName);
+        final String script = session.getScript();
+        // calling a getter directly executes all pending fragments
+        corpus.put(script.replace("return japlscript_results", "script japlscript_fragment2\n"
+            + script.substring(script.indexOf("tell application"), script.indexOf("end script"))
+            + "end script\nset end of japlscript_results to (run japlscript_fragment2)\nreturn japlscript_results"),
+            "{\"first\", \"second\"}");
+        assertEquals("second", finder.getName());
+        assertEquals("first", first.get());
+        assertSame(session, Session.get());
+        assertTrue(session.getScript().isEmpty());
+    }
+
+    @Test
+    public void testUsePlaceholderInsideSubmit() {
+        final TestObjectInvocationHandler.Finder finder = TestObjectInvocationHandler.Finder.getInstance();
+        final Session session = Session.startSession();
+        session.setPipelined(true);
+        assertThrows(IllegalStateException.class, () -> Pipeline.submit(() -> finder.getName().trim()));
+        assertThrows(IllegalStateException.class, () -> Pipeline.submit(() -> finder.getName() + "!"));
+        assertThrows(IllegalStateException.class, () -> Pipeline.submit(() -> finder.exists(finder) || true));
+        assertThrows(IllegalStateException.class, () -> Pipeline.submit(() -> {
+            finder.getName();
+            return finder.getName();
+        }));
+        // processing the future is fine
+        final CompletableFuture<String> name = Pipeline.submit(finder::getName).thenApply(String::trim);
+        assertFalse(name.isDone());
+    }
+
+    @Test
+    public void testFailedCommit() {
+        final TestObjectInvocationHandler.Finder finder = TestObjectInvocationHandler.Finder.getInstance();
+        final Session session = Session.startSession();
+        session.setPipelined(true);
+        final CompletableFuture<String> name = Pipeline.submit(finder::getName);
+        assertThrows(JaplScriptException.class, session::commit);
+        final ExecutionException e = assertThrows(ExecutionException.class, name::get);
+        assertTrue(e.getCause() instanceof JaplScriptException);
+    }
+}
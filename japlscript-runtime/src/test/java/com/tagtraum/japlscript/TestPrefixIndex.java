@@ -0,0 +1,62 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestPrefixIndex.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestPrefixIndex {
+
+    @Test
+    public void testLongestPrefix() {
+        final PrefixIndex<String> index = new PrefixIndex<>();
+        index.put("file", "file");
+        index.put("file track", "file track");
+        index.put("track", "track");
+        index.put("url track", "url track");
+        assertEquals("file track", index.findLongestPrefix("file track id 1 of playlist id 2"));
+        assertEquals("file", index.findLongestPrefix("file \"a\" of disk \"b\""));
+        assertEquals("track", index.findLongestPrefix("track 1 of playlist id 2"));
+        assertEquals("url track", index.findLongestPrefix("url track id 3"));
+        assertEquals("file", index.findLongestPrefix("file"));
+        assertEquals("file", index.findLongestPrefix("file tr"));
+        assertNull(index.findLongestPrefix("fil"));
+        assertNull(index.findLongestPrefix("playlist id 2"));
+        assertNull(index.findLongestPrefix(""));
+        assertNull(index.findLongestPrefix(null));
+    }
+
+    @Test
+    public void testFirstOneWins() {
+        final PrefixIndex<String> index = new PrefixIndex<>();
+        index.put("item", "first");
+        index.put("item", "second");
+        index.put("", "empty");
+        index.put(null, "null");
+        assertEquals("first", index.findLongestPrefix("item 1"));
+        assertNull(index.findLongestPrefix("x"));
+    }
+
+    @Test
+    public void testWordBoundary() {
+        final PrefixIndex<String> index = new PrefixIndex<>();
+        index.put("file", "file");
+        index.put("file track", "file track");
+        index.put("track", "track");
+        assertEquals("file track", index.findLongestPrefix("file track id 5"));
+        assertEquals("file", index.findLongestPrefix("file tracks"));
+        assertNull(index.findLongestPrefix("tracks 1 of playlist id 2"));
+        assertNull(index.findLongestPrefix("filetrack id 5"));
+        assertEquals("track", index.findLongestPrefix("track"));
+    }
+}
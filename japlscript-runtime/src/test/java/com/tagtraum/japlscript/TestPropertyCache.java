@@ -0,0 +1,173 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.execution.JaplScriptException;
+import com.tagtraum.japlscript.language.ReferenceImpl;
+import com.tagtraum.japlscript.language.TypeClass;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestPropertyCache.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestPropertyCache {
+
+    private static final String FINDER = "application \"Finder\"";
+    private static final String ITEM = "item 1";
+
+    @AfterEach
+    public void tearDown() {
+        PropertyCache.getInstance().reset();
+        ReplayFixture.reset();
+    }
+
+    private static TestObjectInvocationHandler.Item item() {
+        return JaplScript.cast(TestObjectInvocationHandler.Item.class, new ReferenceImpl(ITEM, FINDER));
+    }
+
+    @Test
+    public void testInactiveByDefault() {
+        final PropertyCache cache = new PropertyCache(10, 0);
+        assertFalse(cache.isActive());
+        cache.setTtl("pnam", 0, TimeUnit.SECONDS);
+        assertFalse(cache.isActive());
+        cache.setTtl("pnam", 1, TimeUnit.SECONDS);
+        assertTrue(cache.isActive());
+    }
+
+    @Test
+    public void testTtlPrecedence() {
+        final PropertyCache cache = new PropertyCache(10, TimeUnit.SECONDS.toNanos(1));
+        final Reference item = new ReferenceImpl(ITEM, FINDER);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), cache.getTtl(item, "pnam"));
+        cache.setTtl("pnam", 2, TimeUnit.SECONDS);
+        assertEquals(TimeUnit.SECONDS.toNanos(2), cache.getTtl(item, "pnam"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), cache.getTtl(item, "ptsz"));
+    }
+
+    @Test
+    public void testTypeClassTtl() {
+        JaplScript.getApplication(TestObjectInvocationHandler.Finder.class, "Finder");
+        final PropertyCache cache = new PropertyCache(10, 0);
+        // applies to subclasses, too
+        cache.setTtl(TestObjectInvocationHandler.Container.CLASS, 3, TimeUnit.SECONDS);
+        assertEquals(TimeUnit.SECONDS.toNanos(3), cache.getTtl(new ReferenceImpl("folder \"a\"", FINDER), "pnam"));
+        assertEquals(0, cache.getTtl(new ReferenceImpl(ITEM, FINDER), "pnam"));
+        assertEquals(0, cache.getTtl(new ReferenceImpl("«class abcd» 1", FINDER), "pnam"));
+    }
+
+    @Test
+    public void testGetPutInvalidate() {
+        final PropertyCache cache = new PropertyCache(10, 0);
+        final Reference item = new ReferenceImpl(ITEM, FINDER);
+        assertNull(cache.get(item, "pnam"));
+        cache.put(item, "pnam", "a", Long.MAX_VALUE);
+        cache.put(item, "ptsz", null, Long.MAX_VALUE);
+        cache.put(item, "nope", "x", 0);
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get(new ReferenceImpl(ITEM, FINDER), "pnam").get());
+        assertNull(cache.get(item, "ptsz").get());
+        assertNull(cache.get(item, "nope"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+
+        cache.invalidate(item, "pnam");
+        assertNull(cache.get(item, "pnam"));
+        assertEquals(1, cache.size());
+        cache.invalidate(item);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        final PropertyCache cache = new PropertyCache(10, 0);
+        final Reference item = new ReferenceImpl(ITEM, FINDER);
+        cache.put(item, "pnam", "a", TimeUnit.MILLISECONDS.toNanos(1));
+        Thread.sleep(5);
+        assertNull(cache.get(item, "pnam"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final PropertyCache cache = new PropertyCache(3, 0);
+        final Reference item1 = new ReferenceImpl("item 1", FINDER);
+        final Reference item2 = new ReferenceImpl("item 2", FINDER);
+        final Reference item3 = new ReferenceImpl("item 3", FINDER);
+        cache.put(item1, "pnam", "1", Long.MAX_VALUE);
+        cache.put(item2, "pnam", "2", Long.MAX_VALUE);
+        cache.put(item2, "ptsz", "2", Long.MAX_VALUE);
+        // item 1 is used more recently than item 2
+        assertNotNull(cache.get(item1, "pnam"));
+        cache.put(item3, "pnam", "3", Long.MAX_VALUE);
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertNull(cache.get(item2, "pnam"));
+        assertNotNull(cache.get(item1, "pnam"));
+        assertNotNull(cache.get(item3, "pnam"));
+    }
+
+    @Test
+    public void testCachedGetter() {
+        PropertyCache.getInstance().setTtl("pnam", 1, TimeUnit.MINUTES);
+        ReplayFixture.replay(FINDER, "return «property pnam» of " + ITEM, "\"a\"");
+        final TestObjectInvocationHandler.Item item = item();
+        assertEquals("a", item.getName());
+        // no more scripts
+        ReplayFixture.replay(FINDER);
+        assertEquals("a", item.getName());
+        assertEquals("a", item().getName());
+        assertEquals(2, PropertyCache.getInstance().getHitCount());
+        assertEquals(1, PropertyCache.getInstance().getMissCount());
+    }
+
+    @Test
+    public void testSetterInvalidates() {
+        PropertyCache.getInstance().setTtl("pnam", 1, TimeUnit.MINUTES);
+        ReplayFixture.replay(FINDER, "return «property pnam» of " + ITEM, "\"a\"");
+        final TestObjectInvocationHandler.Item item = item();
+        assertEquals("a", item.getName());
+        ReplayFixture.replay(FINDER, "set «property pnam» of " + ITEM + " to (\"b\")", "");
+        item.setName("b");
+        assertEquals(0, PropertyCache.getInstance().size());
+        ReplayFixture.replay(FINDER);
+        assertThrows(JaplScriptException.class, item::getName);
+    }
+
+    @Test
+    public void testCommandInvalidates() {
+        PropertyCache.getInstance().setTtl("pnam", 1, TimeUnit.MINUTES);
+        final Reference other = new ReferenceImpl("item 2", FINDER);
+        PropertyCache.getInstance().put(other, "pnam", "b", Long.MAX_VALUE);
+        ReplayFixture.replay(FINDER, "return «property pnam» of " + ITEM, "\"a\"");
+        final TestObjectInvocationHandler.Item item = item();
+        assertEquals("a", item.getName());
+        assertEquals(2, PropertyCache.getInstance().size());
+
+        final TestObjectInvocationHandler.Finder finder = JaplScript.getApplication(TestObjectInvocationHandler.Finder.class, "Finder");
+        ReplayFixture.replay(FINDER, "exists  item 2 ", "true");
+        assertTrue(finder.exists(JaplScript.cast(TestObjectInvocationHandler.Item.class, other)));
+        assertEquals(1, PropertyCache.getInstance().size());
+        assertNull(PropertyCache.getInstance().get(other, "pnam"));
+    }
+
+    @Test
+    public void testTypeClassIsCached() {
+        PropertyCache.getInstance().setTtl("pcls", Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        ReplayFixture.replay(FINDER, "return class of " + ITEM, "«class cobj»");
+        final TypeClass typeClass = item().getTypeClass();
+        ReplayFixture.replay(FINDER);
+        assertSame(typeClass, item().getTypeClass());
+    }
+}
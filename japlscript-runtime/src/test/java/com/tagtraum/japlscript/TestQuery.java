@@ -0,0 +1,76 @@
+/*
+ * =================================================
+ * Copyright 2026 tagtraum industries incorporated
+ * All rights reserved.
+ * =================================================
+ */
+package com.tagtraum.japlscript;
+
+import com.tagtraum.japlscript.language.ReferenceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static com.tagtraum.japlscript.TestElements.Track;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestQuery.
+ *
+ * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
+ */
+public class TestQuery {
+
+    private static final String MUSIC = "application \"Music\"";
+    private static final Reference PLAYLIST = new ReferenceImpl("playlist id 1", MUSIC);
+
+    @AfterEach
+    public void tearDown() {
+        ReplayFixture.reset();
+    }
+
+    @Test
+    public void testBuild() {
+        final Query<Track> all = Track.query();
+        assertSame(Track.class, all.getElementType());
+        assertNull(all.getFilter());
+        assertEquals(-1, all.getLimit());
+        assertSame(all, all.where(null));
+        assertThrows(IllegalStateException.class, () -> all.or(Track.YEAR.is(2000)));
+        assertThrows(IllegalArgumentException.class, () -> all.limit(-1));
+
+        final Query<Track> query = all.where(Track.NAME.contains("x")).and(Track.YEAR.gt(2000)).limit(50);
+        assertEquals("(«property pnam» contains (\"x\")) and («property pYr » > 2000)", query.getFilter().toString());
+        assertEquals(50, query.getLimit());
+        assertEquals("Query{tracks where («property pnam» contains (\"x\")) and («property pYr » > 2000) limit 50}",
+            query.toString());
+        // immutable
+        assertNull(all.getFilter());
+    }
+
+    @Test
+    public void testIn() {
+        final Elements<Track> elements = Track.query().where(Track.YEAR.gt(2000)).limit(50).in(PLAYLIST);
+        assertSame(PLAYLIST, elements.getContainer());
+        assertEquals("«property pYr » > 2000", elements.getFilter());
+        assertEquals(50, elements.getLimit());
+        assertEquals(-1, Track.query().in(PLAYLIST).getLimit());
+    }
+
+    @Test
+    public void testExecute() {
+        ReplayFixture.replay(MUSIC,
+            "set n to count tracks of playlist id 1 where («property pnam» contains (\"x\")) or («property pYr » > 2000)\r\n"
+            + "if n > 1 then set n to 1\r\n"
+            + "if n < 1 then return {}\r\n"
+            + "return items 1 thru n of (tracks of playlist id 1 where («property pnam» contains (\"x\")) or («property pYr » > 2000))",
+            "{track id 3 of playlist id 1}");
+        final Track[] tracks = Track.query()
+            .where(Track.NAME.contains("x"))
+            .or(Track.YEAR.gt(2000))
+            .limit(1)
+            .in(PLAYLIST)
+            .toArray();
+        assertEquals(1, tracks.length);
+        assertEquals("track id 3 of playlist id 1", tracks[0].getObjectReference());
+    }
+}
@@ -22,7 +22,7 @@ public class TestTypeClass {
     public void testBasics() {
         final TypeClass typeClass0 = new TypeClass("objRef", "appRef");
         final TypeClass typeClass1 = new TypeClass(new Chevron("class", "text").toString(), "appRef");
-        assertEquals(1, typeClass0.hashCode());
+        assertEquals("objRef".hashCode(), typeClass0.hashCode());
         assertNull(typeClass0.getCode());
         assertNull(typeClass0.getSuperClass());
         assertEquals("objRef", typeClass0.getName());
@@ -61,4 +61,32 @@ public class TestTypeClass {
         assertTrue(typeClass0.isAssignableFrom(typeClass1));
         assertFalse(typeClass1.isAssignableFrom(typeClass0));
     }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        final TypeClass declared = new TypeClass("eqh0", Chevron.parse("«class eqh0»"));
+        final TypeClass byCode = new TypeClass("«class eqh0»", "appRef");
+        final TypeClass byKind = new TypeClass(null, Chevron.parse("«constant eqh0»"));
+        final TypeClass byName = new TypeClass("eqh0", "appRef");
+        assertEquals(declared, byCode);
+        assertEquals(declared, byKind);
+        assertEquals(declared.hashCode(), byCode.hashCode());
+        assertEquals(declared.hashCode(), byKind.hashCode());
+        // names are only resolved to codes per application, when interning
+        assertNotEquals(declared, byName);
+        assertNotEquals(byCode, byName);
+
+        // same name, but different code
+        assertNotEquals(declared, new TypeClass("eqh0", Chevron.parse("«class eqh1»")));
+        assertNotEquals(declared, new TypeClass("eqh1", "appRef"));
+    }
+
+    @Test
+    public void testUnresolvedName() {
+        final TypeClass name0 = new TypeClass("unresolved name", "appRef");
+        final TypeClass name1 = new TypeClass("unresolved name", "otherAppRef");
+        assertEquals(name0, name1);
+        assertEquals(name0.hashCode(), name1.hashCode());
+        assertNotEquals(name0, new TypeClass("«class unrs»", "appRef"));
+    }
 }